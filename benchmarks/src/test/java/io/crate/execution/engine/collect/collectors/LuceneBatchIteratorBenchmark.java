@@ -23,6 +23,7 @@
 package io.crate.execution.engine.collect.collectors;
 
 import io.crate.breaker.RamAccountingContext;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.IntegerColumnReference;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
@@ -89,7 +90,8 @@ public class LuceneBatchIteratorBenchmark {
             collectorContext,
             RAM_ACCOUNTING_CONTEXT,
             columnRefs,
-            columnRefs
+            columnRefs,
+            new ShardLoad()
         );
 
         while (it.moveNext()) {
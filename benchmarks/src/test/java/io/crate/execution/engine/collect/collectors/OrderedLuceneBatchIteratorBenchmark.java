@@ -29,6 +29,7 @@ import io.crate.breaker.RowAccounting;
 import io.crate.breaker.RowAccountingWithEstimators;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.execution.engine.sort.OrderingByPosition;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
@@ -147,7 +148,8 @@ public class OrderedLuceneBatchIteratorBenchmark {
             f -> null,
             new Sort(new SortedNumericSortField(sortByColumnName, SortField.Type.INT, reverseFlags[0])),
             expressions,
-            expressions
+            expressions,
+            new ShardLoad()
         );
     }
 
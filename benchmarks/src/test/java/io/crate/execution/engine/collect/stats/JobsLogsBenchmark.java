@@ -0,0 +1,104 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import io.crate.auth.user.User;
+import io.crate.breaker.SizeEstimator;
+import io.crate.common.collections.BlockingEvictingQueue;
+import io.crate.expression.reference.sys.job.JobContextLog;
+import io.crate.planner.Plan;
+import io.crate.planner.operators.StatementClassifier.Classification;
+import org.apache.logging.log4j.LogManager;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.MemoryCircuitBreaker;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of logging statements into the jobs log from many threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(64)
+@State(Scope.Benchmark)
+public class JobsLogsBenchmark {
+
+    private static final Classification CLASSIFICATION = new Classification(Plan.StatementType.SELECT);
+
+    private static final SizeEstimator<JobContextLog> ESTIMATOR = new SizeEstimator<JobContextLog>() {
+        @Override
+        public long estimateSize(@Nullable JobContextLog value) {
+            return 128L;
+        }
+    };
+
+    @Param({"queue", "ringbuffer"})
+    public String sink;
+
+    private JobsLogs jobsLogs;
+
+    @Setup
+    public void setup() {
+        jobsLogs = new JobsLogs(() -> true);
+        CircuitBreaker breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(1, ByteSizeUnit.GB), 1.0, LogManager.getLogger(JobsLogsBenchmark.class));
+        if (sink.equals("queue")) {
+            RamAccountingQueue<JobContextLog> q = new RamAccountingQueue<>(new BlockingEvictingQueue<>(10_000), breaker, ESTIMATOR);
+            jobsLogs.updateJobsLog(new QueueSink<>(q, q::close));
+        } else {
+            jobsLogs.updateJobsLog(new RingBufferLogSink<>(10_000, breaker, ESTIMATOR));
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        jobsLogs.close();
+    }
+
+    @Benchmark
+    public void measureLogExecution() {
+        UUID jobId = UUID.randomUUID();
+        jobsLogs.logExecutionStart(jobId, "select name from t where id = 1", User.CRATE_USER, CLASSIFICATION);
+        jobsLogs.logExecutionEnd(jobId, null);
+    }
+}
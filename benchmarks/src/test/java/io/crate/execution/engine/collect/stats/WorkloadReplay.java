@@ -0,0 +1,308 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import io.crate.sql.parser.StatementNormalizer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a workload recorded with the {@code stats.workload_capture_enabled} setting against a cluster
+ * over the PostgreSQL wire protocol and reports the throughput and latency percentiles per statement fingerprint.
+ *
+ * <pre>
+ *     WorkloadReplay &lt;jdbc-url&gt; &lt;speed&gt; &lt;connections&gt; &lt;capture-file&gt;...
+ *
+ *     WorkloadReplay jdbc:crate://localhost:5432/?user=crate 1.0 8 node1.capture node2.capture
+ * </pre>
+ *
+ * The statements of all capture files are merged by their arrival time and issued with the same delays
+ * between them as they originally arrived, divided by {@code speed}. A speed of 0 issues them as fast as possible.
+ * <p>
+ * Each captured session is pinned to one of the {@code connections}, in the order in which the sessions first
+ * appear in the capture. A connection executes its statements one after another, so the statements of a session
+ * are replayed in their original order, and the same capture always results in the same assignment.
+ * <p>
+ * The latency of a statement is measured from the point in time it was due to be issued, so that falling
+ * behind the original arrival rate shows up in the latencies instead of being hidden by the replay.
+ * Without a speed, the latency is measured from the point in time a connection starts executing it.
+ * <p>
+ * As several sessions may share a connection, the session settings are applied per statement on the
+ * connection executing it, which is why captured {@code SET} and {@code RESET} statements are skipped. All statements are executed as the
+ * user of the jdbc url.
+ */
+public class WorkloadReplay {
+
+    private final String url;
+    private final double speed;
+    private final ExecutorService[] executors;
+    private final Queue<Connection> connections = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ReplayConnection> connection;
+    private final Map<String, Stats> statsByFingerprint = new ConcurrentHashMap<>();
+
+    private WorkloadReplay(String url, double speed, int numConnections) {
+        this.url = url;
+        this.speed = speed;
+        // one thread per connection, so that the statements pinned to a connection are executed in order
+        this.executors = new ExecutorService[numConnections];
+        for (int i = 0; i < numConnections; i++) {
+            executors[i] = Executors.newSingleThreadExecutor();
+        }
+        this.connection = ThreadLocal.withInitial(this::connect);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: WorkloadReplay <jdbc-url> <speed> <connections> <capture-file>...");
+            System.exit(1);
+        }
+        List<ReplayStatement> statements = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            // session ids are only unique per node, so they're qualified by the capture file
+            long file = i;
+            for (CapturedStatement statement : WorkloadCapture.read(Paths.get(args[i]))) {
+                statements.add(new ReplayStatement(statement, (file << 32) | (statement.sessionId() & 0xFFFFFFFFL)));
+            }
+        }
+        // a stable sort keeps the captured order of statements which arrived within the same millisecond
+        statements.sort(Comparator.comparingLong(s -> s.statement.arrivalTime()));
+
+        WorkloadReplay replay = new WorkloadReplay(args[0], Double.parseDouble(args[1]), Integer.parseInt(args[2]));
+        long durationNanos = replay.run(statements);
+        replay.report(durationNanos);
+    }
+
+    private long run(List<ReplayStatement> statements) throws InterruptedException {
+        long start = System.nanoTime();
+        long firstArrival = statements.isEmpty() ? 0L : statements.get(0).statement.arrivalTime();
+        Map<Long, ExecutorService> executorBySession = new HashMap<>();
+        try {
+            for (ReplayStatement replayStatement : statements) {
+                CapturedStatement statement = replayStatement.statement;
+                ExecutorService executor = executorBySession.computeIfAbsent(
+                    replayStatement.session, s -> executors[executorBySession.size() % executors.length]);
+                String fingerprint = StatementNormalizer.normalize(statement.statement());
+                if (fingerprint.startsWith("SET ") || fingerprint.startsWith("RESET ")) {
+                    continue;
+                }
+                Stats stats = statsByFingerprint.computeIfAbsent(fingerprint, k -> new Stats());
+                if (speed > 0) {
+                    long dueTime = start + (long) (TimeUnit.MILLISECONDS.toNanos(statement.arrivalTime() - firstArrival) / speed);
+                    long delay;
+                    while ((delay = dueTime - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    executor.execute(() -> execute(statement, stats, dueTime));
+                } else {
+                    executor.execute(() -> execute(statement, stats, System.nanoTime()));
+                }
+            }
+            for (ExecutorService executor : executors) {
+                executor.shutdown();
+            }
+            for (ExecutorService executor : executors) {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            for (ExecutorService executor : executors) {
+                executor.shutdownNow();
+            }
+            for (Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    private void execute(CapturedStatement statement, Stats stats, long dueTime) {
+        try {
+            connection.get().execute(statement);
+        } catch (SQLException e) {
+            stats.errors.increment();
+        }
+        stats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueTime));
+    }
+
+    private void report(long durationNanos) {
+        double seconds = durationNanos / 1_000_000_000.0;
+        System.out.println(String.format(Locale.ENGLISH, "duration: %.3fs", seconds));
+        System.out.println(String.format(Locale.ENGLISH, "%10s %8s %10s %10s %10s %10s %10s  %s",
+            "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statement"));
+        statsByFingerprint.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().latencies.getTotalCount()).reversed())
+            .forEach(e -> {
+                Histogram latencies = e.getValue().latencies;
+                System.out.println(String.format(Locale.ENGLISH, "%10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f  %s",
+                    latencies.getTotalCount(),
+                    e.getValue().errors.sum(),
+                    latencies.getTotalCount() / seconds,
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(95) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getMaxValue() / 1000.0,
+                    e.getKey()));
+            });
+    }
+
+    private ReplayConnection connect() {
+        try {
+            Connection conn = DriverManager.getConnection(url);
+            connections.add(conn);
+            return new ReplayConnection(conn);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Couldn't connect to " + url, e);
+        }
+    }
+
+    /**
+     * Converts the positional parameters of a statement ({@code $1}) to jdbc placeholders
+     * and returns the parameter bound to each placeholder.
+     * Statements using {@code ?} placeholders bind the parameters in order.
+     */
+    static Object[] toJdbcStatement(String statement, Object[] params, StringBuilder sb) {
+        List<Object> boundParams = new ArrayList<>();
+        char quote = 0;
+        for (int i = 0; i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '$' && i + 1 < statement.length() && Character.isDigit(statement.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < statement.length() && Character.isDigit(statement.charAt(end))) {
+                    end++;
+                }
+                int paramIdx = Integer.parseInt(statement.substring(i + 1, end)) - 1;
+                boundParams.add(paramIdx < params.length ? params[paramIdx] : null);
+                sb.append('?');
+                i = end - 1;
+                continue;
+            }
+            sb.append(c);
+        }
+        return boundParams.isEmpty() ? params : boundParams.toArray();
+    }
+
+    private static class ReplayStatement {
+
+        private final CapturedStatement statement;
+        private final long session;
+
+        ReplayStatement(CapturedStatement statement, long session) {
+            this.statement = statement;
+            this.session = session;
+        }
+    }
+
+    private static class Stats {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * A connection which keeps track of its session settings to only change them if a statement
+     * was captured with different ones.
+     */
+    private static class ReplayConnection {
+
+        private final Connection conn;
+        private List<String> searchPath = null;
+        private Boolean hashJoinEnabled = null;
+        private Boolean semiJoinsRewriteEnabled = null;
+
+        ReplayConnection(Connection conn) {
+            this.conn = conn;
+        }
+
+        void execute(CapturedStatement statement) throws SQLException {
+            applySessionSettings(statement);
+            StringBuilder sb = new StringBuilder(statement.statement().length());
+            Object[] params = toJdbcStatement(statement.statement(), statement.params(), sb);
+            try (PreparedStatement stmt = conn.prepareStatement(sb.toString())) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                if (stmt.execute()) {
+                    try (ResultSet resultSet = stmt.getResultSet()) {
+                        while (resultSet.next()) {
+                            // consume all rows like the original client did
+                        }
+                    }
+                }
+            }
+        }
+
+        private void applySessionSettings(CapturedStatement statement) throws SQLException {
+            try (Statement stmt = conn.createStatement()) {
+                if (!statement.searchPath().equals(searchPath)) {
+                    stmt.execute("SET search_path TO " + String.join(", ", asLiterals(statement.searchPath())));
+                    searchPath = statement.searchPath();
+                }
+                if (hashJoinEnabled == null || hashJoinEnabled != statement.hashJoinEnabled()) {
+                    stmt.execute("SET enable_hashjoin = " + statement.hashJoinEnabled());
+                    hashJoinEnabled = statement.hashJoinEnabled();
+                }
+                if (semiJoinsRewriteEnabled == null || semiJoinsRewriteEnabled != statement.semiJoinsRewriteEnabled()) {
+                    stmt.execute("SET enable_semijoin = " + statement.semiJoinsRewriteEnabled());
+                    semiJoinsRewriteEnabled = statement.semiJoinsRewriteEnabled();
+                }
+            }
+        }
+
+        private static List<String> asLiterals(List<String> schemas) {
+            List<String> literals = new ArrayList<>(schemas.size());
+            for (String schema : schemas) {
+                literals.add('\'' + schema.replace("'", "''") + '\'');
+            }
+            return literals;
+        }
+    }
+}
@@ -26,8 +26,11 @@ import com.google.common.collect.ImmutableMap;
 import org.elasticsearch.search.profile.ProfileResult;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -40,9 +43,12 @@ import java.util.stream.Collectors;
  */
 public class ProfilingContext {
 
+    public static final String OPERATORS = "Operators";
+
     private static final double NS_TO_MS_FACTOR = 1_000_000.0d;
     private final ImmutableMap.Builder<String, Double> durationInMSByTimer;
     private final Supplier<List<ProfileResult>> queryProfilingResults;
+    private final Map<String, List<Supplier<Map<String, Object>>>> operatorStatsByPhase = new ConcurrentHashMap<>();
 
     public ProfilingContext(Supplier<List<ProfileResult>> queryProfilingResults) {
         this.queryProfilingResults = queryProfilingResults;
@@ -59,9 +65,41 @@ public class ProfilingContext {
         if (!queryTimings.isEmpty()) {
             builder.put("QueryBreakdown", queryTimings);
         }
+        if (!operatorStatsByPhase.isEmpty()) {
+            builder.put(OPERATORS, operatorStats());
+        }
         return builder.build();
     }
 
+    private Map<String, Object> operatorStats() {
+        Map<String, Object> statsByPhase = new HashMap<>(operatorStatsByPhase.size());
+        for (Map.Entry<String, List<Supplier<Map<String, Object>>>> entry : operatorStatsByPhase.entrySet()) {
+            List<Supplier<Map<String, Object>>> operators = entry.getValue();
+            List<Map<String, Object>> stats;
+            synchronized (operators) {
+                stats = new ArrayList<>(operators.size());
+                for (Supplier<Map<String, Object>> operator : operators) {
+                    stats.add(operator.get());
+                }
+            }
+            statsByPhase.put(entry.getKey(), stats);
+        }
+        return statsByPhase;
+    }
+
+    /**
+     * Registers the statistics of an operator of a phase.
+     * The statistics are retrieved once the timing results are collected, the operators of a phase are listed in
+     * the order they were registered.
+     *
+     * @param phaseKey the key of the phase, see {@link #generateProfilingKey(int, String)}
+     */
+    public void addOperatorStats(String phaseKey, Supplier<Map<String, Object>> operatorStats) {
+        operatorStatsByPhase
+            .computeIfAbsent(phaseKey, k -> Collections.synchronizedList(new ArrayList<>()))
+            .add(operatorStats);
+    }
+
     private static Map<String, Object> resultAsMap(ProfileResult profileResult) {
         ImmutableMap.Builder<String, Object> queryTimingsBuilder = ImmutableMap.<String, Object>builder()
             .put("QueryName", profileResult.getQueryName())
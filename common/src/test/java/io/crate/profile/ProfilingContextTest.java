@@ -22,8 +22,14 @@
 
 package io.crate.profile;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -40,4 +46,25 @@ public class ProfilingContextTest {
         String key = ProfilingContext.generateProfilingKey(1, null);
         assertThat(key, is("1-null"));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOperatorStatsAreListedPerPhaseInRegistrationOrder() {
+        ProfilingContext profilingContext = new ProfilingContext(Collections::emptyList);
+        profilingContext.addOperatorStats("0-collect", () -> ImmutableMap.of("Name", "COLLECT"));
+        profilingContext.addOperatorStats("0-collect", () -> ImmutableMap.of("Name", "SimpleTopNProjector"));
+
+        Map<String, Object> timings = profilingContext.getDurationInMSByTimer();
+        Map<String, List<Map<String, Object>>> operators =
+            (Map<String, List<Map<String, Object>>>) timings.get(ProfilingContext.OPERATORS);
+        assertThat(operators.get("0-collect"), contains(
+            ImmutableMap.<String, Object>of("Name", "COLLECT"),
+            ImmutableMap.<String, Object>of("Name", "SimpleTopNProjector")));
+    }
+
+    @Test
+    public void testNoOperatorsEntryIfNoOperatorStatsAreRegistered() {
+        ProfilingContext profilingContext = new ProfilingContext(Collections::emptyList);
+        assertThat(profilingContext.getDurationInMSByTimer().containsKey(ProfilingContext.OPERATORS), is(false));
+    }
 }
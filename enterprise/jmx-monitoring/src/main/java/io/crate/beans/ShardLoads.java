@@ -0,0 +1,189 @@
+/*
+ * This file is part of a module with proprietary Enterprise Features.
+ *
+ * Licensed to Crate.io Inc. ("Crate.io") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited.
+ *
+ * To use this file, Crate.io must have given you permission to enable and
+ * use such Enterprise Features and you must have a valid Enterprise or
+ * Subscription Agreement with Crate.io.  If you enable or use the Enterprise
+ * Features, you represent and warrant that you have a valid Enterprise or
+ * Subscription Agreement with Crate.io.  Your use of the Enterprise Features
+ * if governed by the terms and conditions of your Enterprise or Subscription
+ * Agreement with Crate.io.
+ */
+
+package io.crate.beans;
+
+import io.crate.execution.engine.collect.stats.ShardLoad;
+import io.crate.metadata.IndexParts;
+import org.elasticsearch.index.shard.ShardId;
+
+import java.beans.ConstructorProperties;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class ShardLoads implements ShardLoadsMXBean {
+
+    public static class ShardLoadInfo {
+
+        private final String schemaName;
+        private final String tableName;
+        private final String partitionIdent;
+        private final int shardId;
+        private final long indexedDocs;
+        private final double indexedDocsRate;
+        private final long collectedDocs;
+        private final double collectedDocsRate;
+        private final long fetchedDocs;
+        private final double fetchedDocsRate;
+        private final long pkLookups;
+        private final double pkLookupsRate;
+        private final long queryTime;
+        private final double queryTimeRate;
+
+        @ConstructorProperties({"schemaName", "tableName", "partitionIdent", "shardId",
+            "indexedDocs", "indexedDocsRate", "collectedDocs", "collectedDocsRate", "fetchedDocs", "fetchedDocsRate",
+            "pkLookups", "pkLookupsRate", "queryTime", "queryTimeRate"})
+        public ShardLoadInfo(String schemaName,
+                             String tableName,
+                             String partitionIdent,
+                             int shardId,
+                             long indexedDocs,
+                             double indexedDocsRate,
+                             long collectedDocs,
+                             double collectedDocsRate,
+                             long fetchedDocs,
+                             double fetchedDocsRate,
+                             long pkLookups,
+                             double pkLookupsRate,
+                             long queryTime,
+                             double queryTimeRate) {
+            this.schemaName = schemaName;
+            this.tableName = tableName;
+            this.partitionIdent = partitionIdent;
+            this.shardId = shardId;
+            this.indexedDocs = indexedDocs;
+            this.indexedDocsRate = indexedDocsRate;
+            this.collectedDocs = collectedDocs;
+            this.collectedDocsRate = collectedDocsRate;
+            this.fetchedDocs = fetchedDocs;
+            this.fetchedDocsRate = fetchedDocsRate;
+            this.pkLookups = pkLookups;
+            this.pkLookupsRate = pkLookupsRate;
+            this.queryTime = queryTime;
+            this.queryTimeRate = queryTimeRate;
+        }
+
+        @SuppressWarnings("unused")
+        public String getSchemaName() {
+            return schemaName;
+        }
+
+        @SuppressWarnings("unused")
+        public String getTableName() {
+            return tableName;
+        }
+
+        @SuppressWarnings("unused")
+        public String getPartitionIdent() {
+            return partitionIdent;
+        }
+
+        @SuppressWarnings("unused")
+        public int getShardId() {
+            return shardId;
+        }
+
+        @SuppressWarnings("unused")
+        public long getIndexedDocs() {
+            return indexedDocs;
+        }
+
+        @SuppressWarnings("unused")
+        public double getIndexedDocsRate() {
+            return indexedDocsRate;
+        }
+
+        @SuppressWarnings("unused")
+        public long getCollectedDocs() {
+            return collectedDocs;
+        }
+
+        @SuppressWarnings("unused")
+        public double getCollectedDocsRate() {
+            return collectedDocsRate;
+        }
+
+        @SuppressWarnings("unused")
+        public long getFetchedDocs() {
+            return fetchedDocs;
+        }
+
+        @SuppressWarnings("unused")
+        public double getFetchedDocsRate() {
+            return fetchedDocsRate;
+        }
+
+        @SuppressWarnings("unused")
+        public long getPkLookups() {
+            return pkLookups;
+        }
+
+        @SuppressWarnings("unused")
+        public double getPkLookupsRate() {
+            return pkLookupsRate;
+        }
+
+        @SuppressWarnings("unused")
+        public long getQueryTime() {
+            return queryTime;
+        }
+
+        public double getQueryTimeRate() {
+            return queryTimeRate;
+        }
+    }
+
+    public static final String NAME = "io.crate.monitoring:type=ShardLoads";
+
+    private final Supplier<Map<ShardId, ShardLoad>> loads;
+
+    public ShardLoads(Supplier<Map<ShardId, ShardLoad>> loads) {
+        this.loads = loads;
+    }
+
+    /**
+     * @return the load of the shards of this node, the shards with the highest query time rate first.
+     */
+    @Override
+    public ShardLoadInfo[] getShardLoads() {
+        return loads.get().entrySet().stream()
+            .map(entry -> {
+                ShardId shardId = entry.getKey();
+                ShardLoad load = entry.getValue();
+                IndexParts indexParts = new IndexParts(shardId.getIndexName());
+                return new ShardLoadInfo(
+                    indexParts.getSchema(),
+                    indexParts.getTable(),
+                    indexParts.isPartitioned() ? indexParts.getPartitionIdent() : "",
+                    shardId.id(),
+                    load.indexedDocs(),
+                    load.indexedDocsRate(),
+                    load.collectedDocs(),
+                    load.collectedDocsRate(),
+                    load.fetchedDocs(),
+                    load.fetchedDocsRate(),
+                    load.pkLookups(),
+                    load.pkLookupsRate(),
+                    load.queryTime(),
+                    load.queryTimeRate());
+            })
+            .sorted(Comparator.comparingDouble(ShardLoadInfo::getQueryTimeRate).reversed())
+            .toArray(ShardLoadInfo[]::new);
+    }
+}
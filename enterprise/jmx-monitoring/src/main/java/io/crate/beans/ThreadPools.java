@@ -48,15 +48,33 @@ public class ThreadPools implements ThreadPoolsMXBean {
         private final int active;
         private final long completed;
         private final long rejected;
+        private final long queueTimeP50;
+        private final long queueTimeP95;
+        private final long queueTimeP99;
+        private final long queueTimeMax;
+        private final long runTimeP50;
+        private final long runTimeP95;
+        private final long runTimeP99;
+        private final long runTimeMax;
 
-        @ConstructorProperties({"name", "poolSize", "queueSize", "largestPoolSize", "active", "completed", "rejected"})
+        @ConstructorProperties({"name", "poolSize", "queueSize", "largestPoolSize", "active", "completed", "rejected",
+            "queueTimeP50", "queueTimeP95", "queueTimeP99", "queueTimeMax",
+            "runTimeP50", "runTimeP95", "runTimeP99", "runTimeMax"})
         public ThreadPoolInfo(String name,
                               int poolSize,
                               int queueSize,
                               int largestPoolSize,
                               int active,
                               long completed,
-                              long rejected) {
+                              long rejected,
+                              long queueTimeP50,
+                              long queueTimeP95,
+                              long queueTimeP99,
+                              long queueTimeMax,
+                              long runTimeP50,
+                              long runTimeP95,
+                              long runTimeP99,
+                              long runTimeMax) {
             this.name = name;
             this.poolSize = poolSize;
             this.queueSize = queueSize;
@@ -64,6 +82,14 @@ public class ThreadPools implements ThreadPoolsMXBean {
             this.active = active;
             this.completed = completed;
             this.rejected = rejected;
+            this.queueTimeP50 = queueTimeP50;
+            this.queueTimeP95 = queueTimeP95;
+            this.queueTimeP99 = queueTimeP99;
+            this.queueTimeMax = queueTimeMax;
+            this.runTimeP50 = runTimeP50;
+            this.runTimeP95 = runTimeP95;
+            this.runTimeP99 = runTimeP99;
+            this.runTimeMax = runTimeMax;
         }
 
         @SuppressWarnings("unused")
@@ -100,6 +126,46 @@ public class ThreadPools implements ThreadPoolsMXBean {
         public long getRejected() {
             return rejected;
         }
+
+        @SuppressWarnings("unused")
+        public long getQueueTimeP50() {
+            return queueTimeP50;
+        }
+
+        @SuppressWarnings("unused")
+        public long getQueueTimeP95() {
+            return queueTimeP95;
+        }
+
+        @SuppressWarnings("unused")
+        public long getQueueTimeP99() {
+            return queueTimeP99;
+        }
+
+        @SuppressWarnings("unused")
+        public long getQueueTimeMax() {
+            return queueTimeMax;
+        }
+
+        @SuppressWarnings("unused")
+        public long getRunTimeP50() {
+            return runTimeP50;
+        }
+
+        @SuppressWarnings("unused")
+        public long getRunTimeP95() {
+            return runTimeP95;
+        }
+
+        @SuppressWarnings("unused")
+        public long getRunTimeP99() {
+            return runTimeP99;
+        }
+
+        @SuppressWarnings("unused")
+        public long getRunTimeMax() {
+            return runTimeMax;
+        }
     }
 
     public static final String NAME = "io.crate.monitoring:type=ThreadPools";
@@ -114,6 +180,9 @@ public class ThreadPools implements ThreadPoolsMXBean {
     private ThreadPoolInfo getThreadPoolInfo(String name) {
         for (ThreadPoolStats.Stats stats : threadPool.stats()) {
             if (stats.getName().equals(name)) {
+                // -1 for pools which don't track the time of their tasks
+                ThreadPoolStats.TaskTimes queueTimes = stats.getQueueTimes();
+                ThreadPoolStats.TaskTimes runTimes = stats.getRunTimes();
                 return new ThreadPoolInfo(
                     stats.getName(),
                     stats.getThreads(),
@@ -121,7 +190,15 @@ public class ThreadPools implements ThreadPoolsMXBean {
                     stats.getLargest(),
                     stats.getActive(),
                     stats.getCompleted(),
-                    stats.getRejected());
+                    stats.getRejected(),
+                    queueTimes == null ? -1L : queueTimes.getP50(),
+                    queueTimes == null ? -1L : queueTimes.getP95(),
+                    queueTimes == null ? -1L : queueTimes.getP99(),
+                    queueTimes == null ? -1L : queueTimes.getMax(),
+                    runTimes == null ? -1L : runTimes.getP50(),
+                    runTimes == null ? -1L : runTimes.getP95(),
+                    runTimes == null ? -1L : runTimes.getP99(),
+                    runTimes == null ? -1L : runTimes.getMax());
             }
         }
         return null;
@@ -0,0 +1,66 @@
+/*
+ * This file is part of a module with proprietary Enterprise Features.
+ *
+ * Licensed to Crate.io Inc. ("Crate.io") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited.
+ *
+ * To use this file, Crate.io must have given you permission to enable and
+ * use such Enterprise Features and you must have a valid Enterprise or
+ * Subscription Agreement with Crate.io.  If you enable or use the Enterprise
+ * Features, you represent and warrant that you have a valid Enterprise or
+ * Subscription Agreement with Crate.io.  Your use of the Enterprise Features
+ * if governed by the terms and conditions of your Enterprise or Subscription
+ * Agreement with Crate.io.
+ */
+
+package io.crate.beans;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.execution.engine.collect.stats.ShardLoad;
+import io.crate.metadata.PartitionName;
+import io.crate.metadata.RelationName;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ShardLoadsTest {
+
+    @Test
+    public void testShardLoadsAreExposedPerShard() {
+        ShardLoad load = new ShardLoad();
+        load.docsIndexed(3);
+        load.docsCollected(10);
+        load.pkLookups(1);
+        String partition = new PartitionName(new RelationName("doc", "p1"), Collections.singletonList("1")).asIndexName();
+        ShardLoads shardLoads = new ShardLoads(() -> ImmutableMap.of(
+            new ShardId("t1", "uuid", 1), load,
+            new ShardId(partition, "uuid", 0), new ShardLoad()
+        ));
+
+        ShardLoads.ShardLoadInfo[] infos = shardLoads.getShardLoads();
+        assertThat(infos.length, is(2));
+        Arrays.sort(infos, (a, b) -> a.getTableName().compareTo(b.getTableName()));
+
+        assertThat(infos[0].getSchemaName(), is("doc"));
+        assertThat(infos[0].getTableName(), is("p1"));
+        assertThat(infos[0].getPartitionIdent(), is("04132"));
+        assertThat(infos[0].getShardId(), is(0));
+        assertThat(infos[0].getIndexedDocs(), is(0L));
+
+        assertThat(infos[1].getTableName(), is("t1"));
+        assertThat(infos[1].getPartitionIdent(), is(""));
+        assertThat(infos[1].getShardId(), is(1));
+        assertThat(infos[1].getIndexedDocs(), is(3L));
+        assertThat(infos[1].getCollectedDocs(), is(10L));
+        assertThat(infos[1].getPkLookups(), is(1L));
+        assertThat(infos[1].getFetchedDocs(), is(0L));
+    }
+}
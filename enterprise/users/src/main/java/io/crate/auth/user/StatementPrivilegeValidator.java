@@ -25,6 +25,7 @@ import io.crate.analyze.AlterTableAnalyzedStatement;
 import io.crate.analyze.AlterTableOpenCloseAnalyzedStatement;
 import io.crate.analyze.AlterTableRenameAnalyzedStatement;
 import io.crate.analyze.AlterUserAnalyzedStatement;
+import io.crate.analyze.AnalyzeAnalyzedStatement;
 import io.crate.analyze.AnalyzedBegin;
 import io.crate.analyze.AnalyzedCommit;
 import io.crate.analyze.AnalyzedDeleteStatement;
@@ -73,6 +74,7 @@ import io.crate.exceptions.UnauthorizedException;
 import io.crate.metadata.IndexParts;
 import io.crate.metadata.PartitionName;
 import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
 import io.crate.sql.tree.SetStatement;
 
 import java.util.Locale;
@@ -360,6 +362,19 @@ class StatementPrivilegeValidator implements StatementAuthorizedValidator {
             return null;
         }
 
+        @Override
+        public Void visitAnalyzeAnalyzedStatement(AnalyzeAnalyzedStatement analysis, User user) {
+            for (DocTableInfo table : analysis.tables()) {
+                Privileges.ensureUserHasPrivilege(
+                    Privilege.Type.DQL,
+                    Privilege.Clazz.TABLE,
+                    table.ident().toString(),
+                    user,
+                    defaultSchema);
+            }
+            return null;
+        }
+
         @Override
         public Void visitKillAnalyzedStatement(KillAnalyzedStatement analysis, User user) {
             throwRequiresSuperUserPermission(user.name());
@@ -0,0 +1,86 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Records the durations of tasks into a histogram. Recording is wait-free, so it can be done by every task of
+ * a thread pool; only reading the histogram synchronizes.
+ * <p>
+ * The histogram covers a sliding window of the last {@link #NUM_SLOTS} minutes: the durations are kept in one
+ * histogram per minute, and the histograms of minutes which fell out of the window are reset.
+ * Durations recorded in between two reads are accounted to the minute of the latter read.
+ */
+public final class TaskTimeRecorder {
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+    private static final int NUM_SLOTS = 5;
+    private static final long SLOT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+    private final LongSupplier nanoTime;
+    private final Histogram[] slots = new Histogram[NUM_SLOTS];
+    private final long[] slotIds = new long[NUM_SLOTS];
+    private Histogram interval;
+
+    public TaskTimeRecorder() {
+        this(System::nanoTime);
+    }
+
+    TaskTimeRecorder(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            slots[i] = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        }
+        Arrays.fill(slotIds, Long.MIN_VALUE);
+    }
+
+    public void record(long nanos) {
+        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0L, nanos)));
+    }
+
+    /**
+     * @return the durations recorded within the last {@link #NUM_SLOTS} minutes, in microseconds
+     */
+    public synchronized Histogram histogram() {
+        long slotId = Math.floorDiv(nanoTime.getAsLong(), SLOT_NANOS);
+        int idx = (int) Math.floorMod(slotId, (long) NUM_SLOTS);
+        if (slotIds[idx] != slotId) {
+            slots[idx].reset();
+            slotIds[idx] = slotId;
+        }
+        interval = recorder.getIntervalHistogram(interval);
+        slots[idx].add(interval);
+
+        Histogram window = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            if (slotId - slotIds[i] < NUM_SLOTS) {
+                window.add(slots[i]);
+            }
+        }
+        return window;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link EsThreadPoolExecutor} tracking how long tasks wait in the queue before they run and how long they run.
+ */
+public final class TimedEsThreadPoolExecutor extends EsThreadPoolExecutor {
+
+    private final TaskTimeRecorder queueTimes = new TaskTimeRecorder();
+    private final TaskTimeRecorder runTimes = new TaskTimeRecorder();
+
+    TimedEsThreadPoolExecutor(String name, int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                              BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory,
+                              XRejectedExecutionHandler handler, ThreadContext contextHolder) {
+        super(name, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler, contextHolder);
+    }
+
+    @Override
+    protected Runnable wrapRunnable(Runnable command) {
+        return new TimedRunnable(super.wrapRunnable(command));
+    }
+
+    @Override
+    protected Runnable unwrap(Runnable runnable) {
+        if (runnable instanceof TimedRunnable) {
+            return super.unwrap(((TimedRunnable) runnable).unwrap());
+        }
+        return super.unwrap(runnable);
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (r instanceof TimedRunnable) {
+            TimedRunnable timedRunnable = (TimedRunnable) r;
+            long queueTimeNanos = timedRunnable.queueTimeNanos();
+            if (queueTimeNanos != -1) {
+                queueTimes.record(queueTimeNanos);
+                runTimes.record(timedRunnable.runTimeNanos());
+            }
+        }
+    }
+
+    /**
+     * The time tasks waited in the queue before they ran.
+     */
+    public TaskTimeRecorder queueTimes() {
+        return queueTimes;
+    }
+
+    /**
+     * The time tasks ran.
+     */
+    public TaskTimeRecorder runTimes() {
+        return runTimes;
+    }
+}
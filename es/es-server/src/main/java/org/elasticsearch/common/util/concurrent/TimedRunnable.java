@@ -0,0 +1,105 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+/**
+ * A runnable that records when it was created, started and finished, so that the time it waited in the queue
+ * of an executor and its run time can be tracked.
+ */
+class TimedRunnable extends AbstractRunnable {
+
+    private final Runnable original;
+    private final long creationTimeNanos;
+    private long startTimeNanos;
+    private long finishTimeNanos = -1;
+
+    TimedRunnable(Runnable original) {
+        this.original = original;
+        this.creationTimeNanos = System.nanoTime();
+    }
+
+    @Override
+    protected void doRun() {
+        startTimeNanos = System.nanoTime();
+        try {
+            original.run();
+        } finally {
+            finishTimeNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void onRejection(Exception e) {
+        if (original instanceof AbstractRunnable) {
+            ((AbstractRunnable) original).onRejection(e);
+        } else {
+            throw asRuntimeException(e);
+        }
+    }
+
+    @Override
+    public void onAfter() {
+        if (original instanceof AbstractRunnable) {
+            ((AbstractRunnable) original).onAfter();
+        }
+    }
+
+    @Override
+    public void onFailure(Exception e) {
+        if (original instanceof AbstractRunnable) {
+            ((AbstractRunnable) original).onFailure(e);
+        } else {
+            throw asRuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean isForceExecution() {
+        return original instanceof AbstractRunnable && ((AbstractRunnable) original).isForceExecution();
+    }
+
+    private static RuntimeException asRuntimeException(Exception e) {
+        return e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+    }
+
+    /**
+     * @return the nanoseconds between the creation and the start of the task, -1 if it didn't run
+     */
+    long queueTimeNanos() {
+        if (finishTimeNanos == -1) {
+            return -1;
+        }
+        return startTimeNanos - creationTimeNanos;
+    }
+
+    /**
+     * @return the nanoseconds the task ran, -1 if it didn't run
+     */
+    long runTimeNanos() {
+        if (finishTimeNanos == -1) {
+            return -1;
+        }
+        return finishTimeNanos - startTimeNanos;
+    }
+
+    Runnable unwrap() {
+        return original;
+    }
+}
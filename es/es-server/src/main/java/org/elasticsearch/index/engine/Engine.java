@@ -79,6 +79,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.NoSuchFileException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -573,6 +574,13 @@ public abstract class Engine implements Closeable {
 
     public abstract GetResult get(Get get, BiFunction<String, SearcherScope, Searcher> searcherFactory) throws EngineException;
 
+    /**
+     * Refreshes the internal reader if one of the documents with the given uids has been changed since the last
+     * refresh, so that a searcher acquired with {@link SearcherScope#INTERNAL} sees their latest version, like a
+     * realtime {@link #get(Get, BiFunction)} does for a single document.
+     */
+    public abstract void refreshForRealtimeGet(Collection<Term> uids) throws EngineException;
+
 
     /**
      * Returns a new searcher instance. The consumer of this
@@ -650,6 +650,24 @@ public class InternalEngine extends Engine {
         }
     }
 
+    @Override
+    public void refreshForRealtimeGet(Collection<Term> uids) throws EngineException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            for (Term uid : uids) {
+                assert Objects.equals(uid.field(), uidField) : uid.field();
+                VersionValue versionValue;
+                try (Releasable ignore = versionMap.acquireLock(uid.bytes())) {
+                    versionValue = getVersionFromMap(uid.bytes());
+                }
+                if (versionValue != null) {
+                    refresh("realtime_get", SearcherScope.INTERNAL);
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * the status of the current doc version in lucene, compared to the version in an incoming
      * operation
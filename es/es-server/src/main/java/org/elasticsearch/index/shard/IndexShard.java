@@ -123,6 +123,7 @@ import java.io.PrintStream;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -1045,6 +1046,17 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return acquireSearcher(source, Engine.SearcherScope.EXTERNAL);
     }
 
+    /**
+     * Acquires a searcher which sees the latest version of the documents with the given uids. Like a realtime
+     * {@link #get(Engine.Get)}, the shard is only refreshed if one of these documents has been changed since the
+     * last refresh.
+     */
+    public Engine.Searcher acquireRealtimeSearcher(String source, Collection<Term> uids) {
+        readAllowed();
+        getEngine().refreshForRealtimeGet(uids);
+        return acquireSearcher(source, Engine.SearcherScope.INTERNAL);
+    }
+
     private Engine.Searcher acquireSearcher(String source, Engine.SearcherScope scope) {
         readAllowed();
         final Engine engine = getEngine();
@@ -34,6 +34,7 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsThreadPoolExecutor;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.common.util.concurrent.TimedEsThreadPoolExecutor;
 import org.elasticsearch.common.util.concurrent.XRejectedExecutionHandler;
 import org.elasticsearch.core.internal.io.IOUtils;
 import org.elasticsearch.node.Node;
@@ -239,6 +240,8 @@ public class ThreadPool implements Scheduler, Closeable {
             long rejected = -1;
             int largest = -1;
             long completed = -1;
+            ThreadPoolStats.TaskTimes queueTimes = null;
+            ThreadPoolStats.TaskTimes runTimes = null;
             if (holder.executor() instanceof ThreadPoolExecutor) {
                 ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) holder.executor();
                 threads = threadPoolExecutor.getPoolSize();
@@ -250,8 +253,14 @@ public class ThreadPool implements Scheduler, Closeable {
                 if (rejectedExecutionHandler instanceof XRejectedExecutionHandler) {
                     rejected = ((XRejectedExecutionHandler) rejectedExecutionHandler).rejected();
                 }
+                if (threadPoolExecutor instanceof TimedEsThreadPoolExecutor) {
+                    TimedEsThreadPoolExecutor timedExecutor = (TimedEsThreadPoolExecutor) threadPoolExecutor;
+                    queueTimes = new ThreadPoolStats.TaskTimes(timedExecutor.queueTimes().histogram());
+                    runTimes = new ThreadPoolStats.TaskTimes(timedExecutor.runTimes().histogram());
+                }
             }
-            stats.add(new ThreadPoolStats.Stats(name, threads, queue, active, rejected, largest, completed));
+            stats.add(new ThreadPoolStats.Stats(
+                name, threads, queue, active, rejected, largest, completed, queueTimes, runTimes));
         }
         return new ThreadPoolStats(stats);
     }
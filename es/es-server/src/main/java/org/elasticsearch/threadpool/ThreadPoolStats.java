@@ -19,6 +19,8 @@
 
 package org.elasticsearch.threadpool;
 
+import org.HdrHistogram.Histogram;
+import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -30,6 +32,63 @@ import java.util.List;
 
 public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stats> {
 
+    /**
+     * Percentiles of the durations of the tasks of a thread pool, in microseconds.
+     */
+    public static class TaskTimes implements Writeable {
+
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        public TaskTimes(Histogram histogram) {
+            this(
+                histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(95.0),
+                histogram.getValueAtPercentile(99.0),
+                histogram.getMaxValue());
+        }
+
+        public TaskTimes(long p50, long p95, long p99, long max) {
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public TaskTimes(StreamInput in) throws IOException {
+            p50 = in.readVLong();
+            p95 = in.readVLong();
+            p99 = in.readVLong();
+            max = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(p50);
+            out.writeVLong(p95);
+            out.writeVLong(p99);
+            out.writeVLong(max);
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+
     public static class Stats implements Writeable, Comparable<Stats> {
 
         private final String name;
@@ -39,8 +98,17 @@ public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stat
         private final long rejected;
         private final int largest;
         private final long completed;
+        @Nullable
+        private final TaskTimes queueTimes;
+        @Nullable
+        private final TaskTimes runTimes;
 
         public Stats(String name, int threads, int queue, int active, long rejected, int largest, long completed) {
+            this(name, threads, queue, active, rejected, largest, completed, null, null);
+        }
+
+        public Stats(String name, int threads, int queue, int active, long rejected, int largest, long completed,
+                     @Nullable TaskTimes queueTimes, @Nullable TaskTimes runTimes) {
             this.name = name;
             this.threads = threads;
             this.queue = queue;
@@ -48,6 +116,8 @@ public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stat
             this.rejected = rejected;
             this.largest = largest;
             this.completed = completed;
+            this.queueTimes = queueTimes;
+            this.runTimes = runTimes;
         }
 
         public Stats(StreamInput in) throws IOException {
@@ -58,6 +128,8 @@ public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stat
             rejected = in.readLong();
             largest = in.readInt();
             completed = in.readLong();
+            queueTimes = in.readOptionalWriteable(TaskTimes::new);
+            runTimes = in.readOptionalWriteable(TaskTimes::new);
         }
 
         @Override
@@ -69,6 +141,8 @@ public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stat
             out.writeLong(rejected);
             out.writeInt(largest);
             out.writeLong(completed);
+            out.writeOptionalWriteable(queueTimes);
+            out.writeOptionalWriteable(runTimes);
         }
 
         public String getName() {
@@ -99,6 +173,22 @@ public class ThreadPoolStats implements Writeable, Iterable<ThreadPoolStats.Stat
             return this.completed;
         }
 
+        /**
+         * @return the time tasks waited in the queue before they ran, null if the pool doesn't track it
+         */
+        @Nullable
+        public TaskTimes getQueueTimes() {
+            return queueTimes;
+        }
+
+        /**
+         * @return the time tasks ran, null if the pool doesn't track it
+         */
+        @Nullable
+        public TaskTimes getRunTimes() {
+            return runTimes;
+        }
+
         @Override
         public int compareTo(Stats other) {
             if ((getName() == null) && (other.getName() == null)) {
@@ -39,6 +39,7 @@ import io.crate.sql.tree.AlterTableOpenClose;
 import io.crate.sql.tree.AlterTableRename;
 import io.crate.sql.tree.AlterTableReroute;
 import io.crate.sql.tree.AlterUser;
+import io.crate.sql.tree.AnalyzeStatement;
 import io.crate.sql.tree.AnalyzerElement;
 import io.crate.sql.tree.ArithmeticExpression;
 import io.crate.sql.tree.ArrayComparisonExpression;
@@ -672,6 +673,14 @@ class AstBuilder extends SqlBaseBaseVisitor<Node> {
         return new RefreshStatement(visitCollection(context.tableWithPartitions().tableWithPartition(), Table.class));
     }
 
+    @Override
+    public Node visitAnalyze(SqlBaseParser.AnalyzeContext context) {
+        if (context.tables == null) {
+            return new AnalyzeStatement(Collections.emptyList());
+        }
+        return new AnalyzeStatement(getQualifiedNames(context.tables));
+    }
+
     @Override
     public Node visitTableOnly(SqlBaseParser.TableOnlyContext context) {
         return new Table(getQualifiedName(context.qname()));
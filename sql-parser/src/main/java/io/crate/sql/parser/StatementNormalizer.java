@@ -0,0 +1,133 @@
+/*
+ * Licensed to Crate.io Inc. or its affiliates ("Crate.io") under one or
+ * more contributor license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Crate.io licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement with
+ * Crate.io these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.sql.parser;
+
+import io.crate.sql.parser.antlr.v4.SqlBaseLexer;
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalizes statements so that statements which only differ in their literal values,
+ * parameter placeholders, whitespace, comments or the case of keywords result in the same text.
+ *
+ * <pre>
+ *     select * from t where x = 10 and name = 'foo' limit $1
+ *     SELECT * FROM t WHERE x = ? AND name = ? LIMIT ?
+ * </pre>
+ *
+ * This works on the tokens of the statement instead of the syntax tree, so it is
+ * cheap and also works for statements which fail to parse.
+ */
+public final class StatementNormalizer {
+
+    public static final String PLACEHOLDER = "?";
+
+    private StatementNormalizer() {
+    }
+
+    public static String normalize(String statement) {
+        SqlBaseLexer lexer = new SqlBaseLexer(new CaseInsensitiveStream(new ANTLRInputStream(statement)));
+        lexer.removeErrorListeners();
+
+        List<Token> tokens = new ArrayList<>();
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            if (token.getChannel() == Token.DEFAULT_CHANNEL && token.getType() != SqlBaseLexer.SEMICOLON) {
+                tokens.add(token);
+            }
+        }
+        StringBuilder sb = new StringBuilder(statement.length());
+        String previous = null;
+        int previousType = Token.INVALID_TYPE;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            int type = token.getType();
+            String text = token.getText();
+            switch (type) {
+                case SqlBaseLexer.STRING:
+                case SqlBaseLexer.INTEGER_VALUE:
+                case SqlBaseLexer.DECIMAL_VALUE:
+                    text = PLACEHOLDER;
+                    break;
+
+                case SqlBaseLexer.IDENTIFIER:
+                    text = text.toLowerCase(Locale.ENGLISH);
+                    break;
+
+                default:
+                    int nextType = i + 1 < tokens.size() ? tokens.get(i + 1).getType() : Token.EOF;
+                    // E'..' escaped strings and $n positional parameters consist of two tokens
+                    if ((type == SqlBaseLexer.EPSILON && nextType == SqlBaseLexer.STRING)
+                        || (text.equals("$") && nextType == SqlBaseLexer.INTEGER_VALUE)) {
+                        text = PLACEHOLDER;
+                        i++;
+                    } else if (!text.equals(PLACEHOLDER) && SqlBaseLexer.VOCABULARY.getLiteralName(type) != null) {
+                        text = text.toUpperCase(Locale.ENGLISH);
+                    }
+            }
+            if (previous != null && needsSpace(previous, previousType, text)) {
+                sb.append(' ');
+            }
+            sb.append(text);
+            previous = text;
+            previousType = type;
+        }
+        return sb.toString();
+    }
+
+    private static boolean needsSpace(String previous, int previousType, String current) {
+        switch (previous) {
+            case "(":
+            case "[":
+            case ".":
+                return false;
+
+            default:
+                switch (current) {
+                    case ")":
+                    case "]":
+                    case ",":
+                    case ".":
+                        return false;
+
+                    case "(":
+                        // function calls and column lists
+                        return !isIdentifier(previousType);
+
+                    case "[":
+                        // subscripts
+                        return !(isIdentifier(previousType) || previous.equals("]") || previous.equals(")"));
+
+                    default:
+                        return true;
+                }
+        }
+    }
+
+    private static boolean isIdentifier(int type) {
+        return type == SqlBaseLexer.IDENTIFIER || type == SqlBaseLexer.QUOTED_IDENTIFIER;
+    }
+}
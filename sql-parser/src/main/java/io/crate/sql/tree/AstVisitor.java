@@ -421,6 +421,10 @@ public abstract class AstVisitor<R, C> {
         return visitStatement(node, context);
     }
 
+    public R visitAnalyzeStatement(AnalyzeStatement node, C context) {
+        return visitStatement(node, context);
+    }
+
     public R visitOptimizeStatement(OptimizeStatement node, C context) {
         return visitStatement(node, context);
     }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to Crate.io Inc. or its affiliates ("Crate.io") under one or
+ * more contributor license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Crate.io licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement with
+ * Crate.io these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.sql.parser;
+
+import org.junit.Test;
+
+import static io.crate.sql.parser.StatementNormalizer.normalize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class StatementNormalizerTest {
+
+    @Test
+    public void testLiteralsAreReplacedByPlaceholders() {
+        assertThat(normalize("select * from t where x = 10 and name = 'foo' and d > 1.5 limit 20"),
+            is("SELECT * FROM t WHERE x = ? AND name = ? AND d > ? LIMIT ?"));
+    }
+
+    @Test
+    public void testParametersAreReplacedByPlaceholders() {
+        assertThat(normalize("select name from t where x = $1 or y = ?"),
+            is("SELECT name FROM t WHERE x = ? OR y = ?"));
+    }
+
+    @Test
+    public void testEscapedStringIsReplacedByASinglePlaceholder() {
+        assertThat(normalize("select E'\\t' from t"), is("SELECT ? FROM t"));
+    }
+
+    @Test
+    public void testWhitespaceCommentsAndCaseAreNormalized() {
+        assertThat(normalize("SELECT  Name,\n  count(*) -- comment\nFROM doc.T group by 1;"),
+            is("SELECT name, count(*) FROM doc.t GROUP BY ?"));
+    }
+
+    @Test
+    public void testQuotedIdentifiersAreKept() {
+        assertThat(normalize("insert into \"Users\" (\"Name\", o) values ('a', [1, 2])"),
+            is("INSERT INTO \"Users\"(\"Name\", o) VALUES (?, [?, ?])"));
+    }
+
+    @Test
+    public void testStatementsDifferingOnlyInLiteralsHaveTheSameNormalization() {
+        assertThat(normalize("update t set x = 1 where id in (1, 2)"),
+            is(normalize("UPDATE t SET x = 42 WHERE id IN ($1, $2)")));
+    }
+
+    @Test
+    public void testStatementsWhichCannotBeParsedAreNormalized() {
+        assertThat(normalize("selec x frm t where y = 1"), is("selec x frm t WHERE y = ?"));
+    }
+}
@@ -26,6 +26,7 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import io.crate.sql.Literals;
 import io.crate.sql.SqlFormatter;
+import io.crate.sql.tree.AnalyzeStatement;
 import io.crate.sql.tree.ArrayComparisonExpression;
 import io.crate.sql.tree.ArrayLikePredicate;
 import io.crate.sql.tree.ArrayLiteral;
@@ -67,6 +68,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Strings.repeat;
@@ -291,6 +293,19 @@ public class TestStatementBuilder {
         printStatement("kill $1");
     }
 
+    @Test
+    public void testAnalyzeStmtBuilder() {
+        printStatement("analyze");
+        printStatement("analyze t1");
+        printStatement("analyze doc.t1, t2");
+    }
+
+    @Test
+    public void testAnalyzeWithTables() {
+        AnalyzeStatement stmt = (AnalyzeStatement) SqlParser.createStatement("ANALYZE doc.t1, t2");
+        assertThat(stmt.tables(), is(Arrays.asList(QualifiedName.of("doc", "t1"), QualifiedName.of("t2"))));
+    }
+
     @Test
     public void testKillJob() {
         KillStatement stmt = (KillStatement) SqlParser.createStatement("KILL $1");
@@ -28,20 +28,45 @@ import io.crate.data.RowConsumer;
 import io.crate.exceptions.SQLExceptions;
 
 import javax.annotation.Nullable;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjLongConsumer;
 
 public class RowConsumerToResultReceiver implements RowConsumer {
 
     private ResultReceiver resultReceiver;
     private int maxRows;
-    private final Consumer<Throwable> onCompletion;
+    /**
+     * Called with the failure, or null on success, and the number of rows passed to the resultReceiver.
+     */
+    private final ObjLongConsumer<Throwable> onCompletion;
+    private final CompletableFuture<Void> completionFuture = new CompletableFuture<>();
     private long rowCount = 0;
     private BatchIterator<Row> activeIt;
 
-    public RowConsumerToResultReceiver(ResultReceiver resultReceiver, int maxRows, Consumer<Throwable> onCompletion) {
+    public RowConsumerToResultReceiver(ResultReceiver resultReceiver, int maxRows, ObjLongConsumer<Throwable> onCompletion) {
         this.resultReceiver = resultReceiver;
         this.maxRows = maxRows;
         this.onCompletion = onCompletion;
+        completeWith(resultReceiver);
+    }
+
+    /**
+     * Completes once the consumption finished, which is signaled by the completion of the result receiver
+     * active at that time; result receivers passed to {@link #replaceResultReceiver(ResultReceiver, int)}
+     * are taken into account.
+     */
+    public CompletableFuture<Void> completionFuture() {
+        return completionFuture;
+    }
+
+    private void completeWith(ResultReceiver<?> resultReceiver) {
+        resultReceiver.completionFuture().whenComplete((result, failure) -> {
+            if (failure == null) {
+                completionFuture.complete(null);
+            } else {
+                completionFuture.completeExceptionally(failure);
+            }
+        });
     }
 
     @Override
@@ -52,7 +77,7 @@ public class RowConsumerToResultReceiver implements RowConsumer {
             if (iterator != null) {
                 iterator.close();
             }
-            onCompletion.accept(failure);
+            onCompletion.accept(failure, rowCount);
             resultReceiver.fail(failure);
         }
     }
@@ -73,12 +98,12 @@ public class RowConsumerToResultReceiver implements RowConsumer {
             allLoaded = iterator.allLoaded();
         } catch (Throwable t) {
             iterator.close();
-            onCompletion.accept(t);
+            onCompletion.accept(t, rowCount);
             resultReceiver.fail(t);
             return;
         }
         if (allLoaded) {
-            onCompletion.accept(null);
+            onCompletion.accept(null, rowCount);
             iterator.close();
             resultReceiver.allFinished(false);
         } else {
@@ -88,7 +113,7 @@ public class RowConsumerToResultReceiver implements RowConsumer {
                 } else {
                     Throwable t = SQLExceptions.unwrap(f);
                     iterator.close();
-                    onCompletion.accept(t);
+                    onCompletion.accept(t, rowCount);
                     resultReceiver.fail(t);
                 }
             });
@@ -102,7 +127,7 @@ public class RowConsumerToResultReceiver implements RowConsumer {
     public void closeAndFinishIfSuspended() {
         if (activeIt != null) {
             activeIt.close();
-            onCompletion.accept(null);
+            onCompletion.accept(null, rowCount);
             resultReceiver.allFinished(true);
         }
     }
@@ -114,6 +139,7 @@ public class RowConsumerToResultReceiver implements RowConsumer {
     public void replaceResultReceiver(ResultReceiver resultReceiver, int maxRows) {
         this.resultReceiver = resultReceiver;
         this.maxRows = maxRows;
+        completeWith(resultReceiver);
     }
 
     public void resume() {
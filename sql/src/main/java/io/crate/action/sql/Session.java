@@ -46,6 +46,7 @@ import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.Planner;
 import io.crate.planner.PlannerContext;
+import io.crate.planner.operators.ExplainLogicalPlan;
 import io.crate.planner.operators.StatementClassifier;
 import io.crate.planner.operators.SubQueryResults;
 import io.crate.protocols.postgres.FormatCodes;
@@ -188,7 +189,15 @@ public class Session implements AutoCloseable {
         }
 
         StatementClassifier.Classification classification = StatementClassifier.classify(plan);
-        jobsLogs.logExecutionStart(jobId, statement, sessionContext.user(), classification);
+        jobsLogs.logExecutionStart(
+            jobId,
+            statement,
+            sessionContext.user(),
+            classification,
+            jobsLogs.isSlowQueriesLogEnabled()
+                ? ExplainLogicalPlan.lazyExplainMap(plan, plannerContext, executor.projectionBuilder())
+                : null
+        );
         JobsLogsUpdateListener jobsLogsUpdateListener = new JobsLogsUpdateListener(jobId, jobsLogs);
         if (!analyzedStatement.isWriteOperation()) {
             resultReceiver = new RetryOnFailureResultReceiver(
@@ -211,7 +220,13 @@ public class Session implements AutoCloseable {
             );
         }
         RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(resultReceiver, 0, jobsLogsUpdateListener);
-        plan.execute(executor, plannerContext, consumer, params, SubQueryResults.EMPTY);
+        executor.admissionControl().execute(
+            sessionContext.user().name(),
+            classification.type(),
+            consumer,
+            consumer.completionFuture(),
+            () -> plan.execute(executor, plannerContext, consumer, params, SubQueryResults.EMPTY)
+        );
     }
 
     private void retryQuery(UUID jobId,
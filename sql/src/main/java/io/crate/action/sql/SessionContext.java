@@ -30,6 +30,7 @@ import io.crate.exceptions.MissingPrivilegeException;
 import io.crate.metadata.SearchPath;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.crate.metadata.SearchPath.createSearchPathFrom;
 import static io.crate.metadata.SearchPath.pathWithPGCatalogAndDoc;
@@ -37,6 +38,9 @@ import static java.util.Objects.requireNonNull;
 
 public class SessionContext implements StatementAuthorizedValidator, ExceptionAuthorizedValidator {
 
+    private static final AtomicInteger ID_GENERATOR = new AtomicInteger(0);
+
+    private final int id = ID_GENERATOR.incrementAndGet();
     private final int defaultLimit;
     private final Set<Option> options;
     private final User user;
@@ -111,6 +115,13 @@ public class SessionContext implements StatementAuthorizedValidator, ExceptionAu
         return user;
     }
 
+    /**
+     * An identifier of the session, unique on this node.
+     */
+    public int id() {
+        return id;
+    }
+
     public int defaultLimit() {
         return defaultLimit;
     }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to Crate.IO GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import io.crate.exceptions.OperationOnInaccessibleRelationException;
+import io.crate.metadata.Schemas;
+import io.crate.metadata.SearchPath;
+import io.crate.metadata.doc.DocSchemaInfo;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.metadata.table.Operation;
+import io.crate.metadata.table.SchemaInfo;
+import io.crate.metadata.table.TableInfo;
+import io.crate.sql.tree.AnalyzeStatement;
+import io.crate.sql.tree.QualifiedName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class AnalyzeAnalyzer {
+
+    private AnalyzeAnalyzer() {
+    }
+
+    static AnalyzeAnalyzedStatement analyze(AnalyzeStatement analyzeStatement, Schemas schemas, SearchPath searchPath) {
+        List<QualifiedName> tableNames = analyzeStatement.tables();
+        if (tableNames.isEmpty()) {
+            return new AnalyzeAnalyzedStatement(allOpenUserTables(schemas));
+        }
+        List<DocTableInfo> tables = new ArrayList<>(tableNames.size());
+        for (QualifiedName tableName : tableNames) {
+            TableInfo tableInfo = schemas.resolveTableInfo(tableName, Operation.READ, searchPath);
+            if (!(tableInfo instanceof DocTableInfo)) {
+                throw new OperationOnInaccessibleRelationException(
+                    tableInfo.ident(),
+                    String.format(Locale.ENGLISH, "ANALYZE is not supported on relation \"%s\"", tableInfo.ident()));
+            }
+            tables.add((DocTableInfo) tableInfo);
+        }
+        return new AnalyzeAnalyzedStatement(tables);
+    }
+
+    private static List<DocTableInfo> allOpenUserTables(Schemas schemas) {
+        List<DocTableInfo> tables = new ArrayList<>();
+        for (SchemaInfo schemaInfo : schemas) {
+            if (schemaInfo instanceof DocSchemaInfo) {
+                for (TableInfo tableInfo : schemaInfo.getTables()) {
+                    DocTableInfo docTableInfo = (DocTableInfo) tableInfo;
+                    if (!docTableInfo.isClosed()) {
+                        tables.add(docTableInfo);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+}
@@ -147,6 +147,10 @@ public class AnalyzedStatementVisitor<C, R> {
         return visitDDLStatement(analysis, context);
     }
 
+    public R visitAnalyzeAnalyzedStatement(AnalyzeAnalyzedStatement analysis, C context) {
+        return visitAnalyzedStatement(analysis, context);
+    }
+
     public R visitKillAnalyzedStatement(KillAnalyzedStatement analysis, C context) {
         return visitAnalyzedStatement(analysis, context);
     }
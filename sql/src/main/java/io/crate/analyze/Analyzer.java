@@ -41,6 +41,7 @@ import io.crate.sql.tree.AlterTableOpenClose;
 import io.crate.sql.tree.AlterTableRename;
 import io.crate.sql.tree.AlterTableReroute;
 import io.crate.sql.tree.AlterUser;
+import io.crate.sql.tree.AnalyzeStatement;
 import io.crate.sql.tree.AstVisitor;
 import io.crate.sql.tree.BeginStatement;
 import io.crate.sql.tree.CommitStatement;
@@ -393,6 +394,11 @@ public class Analyzer {
             return SetStatementAnalyzer.analyze(node);
         }
 
+        @Override
+        public AnalyzedStatement visitAnalyzeStatement(AnalyzeStatement node, Analysis context) {
+            return AnalyzeAnalyzer.analyze(node, schemas, context.sessionContext().searchPath());
+        }
+
         @Override
         public AnalyzedStatement visitKillStatement(KillStatement node, Analysis context) {
             return KillAnalyzer.analyze(node, context.parameterContext());
@@ -96,6 +96,13 @@ public class Id {
     }
 
 
+    /**
+     * returns true if the ids of a table with the given primary key columns are randomly generated and therefore unique.
+     */
+    public static boolean isAutoGenerated(List<ColumnIdent> pkColumns) {
+        return pkColumns.isEmpty() || (pkColumns.size() == 1 && pkColumns.get(0).equals(DocSysColumns.ID));
+    }
+
     @Nonnull
     private static <T> T ensureNonNull(@Nullable T pkValue) throws IllegalArgumentException {
         if (pkValue == null) {
@@ -93,6 +93,7 @@ import io.crate.sql.tree.ComparisonExpression;
 import io.crate.sql.tree.CurrentTime;
 import io.crate.sql.tree.DoubleLiteral;
 import io.crate.sql.tree.EscapedCharStringLiteral;
+import io.crate.sql.tree.ExistsPredicate;
 import io.crate.sql.tree.Expression;
 import io.crate.sql.tree.Extract;
 import io.crate.sql.tree.FrameBound;
@@ -933,6 +934,15 @@ public class ExpressionAnalyzer {
             }
             return new SelectSymbol(relation, dataType, resultType);
         }
+
+        @Override
+        protected Symbol visitExists(ExistsPredicate node, ExpressionAnalysisContext context) {
+            if (subQueryAnalyzer == null) {
+                throw new UnsupportedOperationException("Subquery not supported in this statement");
+            }
+            QueriedRelation relation = subQueryAnalyzer.analyze(node.getSubquery());
+            return new SelectSymbol(relation, new ArrayType(DataTypes.BOOLEAN), SelectSymbol.ResultType.EXISTS);
+        }
     }
 
     private Symbol allocateBuiltinOrUdfFunction(String schema,
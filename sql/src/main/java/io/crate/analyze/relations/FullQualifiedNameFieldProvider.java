@@ -120,6 +120,10 @@ public class FullQualifiedNameFieldProvider implements FieldProvider<Field> {
         if (lastField == null) {
             if (!schemaMatched || !tableNameMatched) {
                 String schema = columnSchema == null ? defaultSchema : columnSchema;
+                Field correlatedField = resolveCorrelatedField(columnSchema, columnTableName, schema, columnIdent, operation);
+                if (correlatedField != null) {
+                    return correlatedField;
+                }
                 raiseUnsupportedFeatureIfInParentScope(columnSchema, columnTableName, schema);
                 throw new RelationUnknown(new RelationName(schema, columnTableName));
             }
@@ -130,6 +134,30 @@ public class FullQualifiedNameFieldProvider implements FieldProvider<Field> {
         return lastField;
     }
 
+    /**
+     * Resolves a column of a relation of the parent query if it is referenced from within a correlated subquery.
+     */
+    @Nullable
+    private Field resolveCorrelatedField(@Nullable String columnSchema,
+                                         String columnTableName,
+                                         String schema,
+                                         ColumnIdent columnIdent,
+                                         Operation operation) {
+        AnalyzedRelation relation = parents.getCorrelatedRelation(
+            new QualifiedName(Arrays.asList(schema, columnTableName)));
+        if (relation == null && columnSchema == null) {
+            relation = parents.getCorrelatedRelation(new QualifiedName(columnTableName));
+        }
+        if (relation == null) {
+            return null;
+        }
+        Field field = relation.getField(columnIdent, operation);
+        if (field == null) {
+            throw new ColumnUnknownException(columnIdent.sqlFqn(), RelationName.fromIndexName(relation.getQualifiedName().toString()));
+        }
+        return field;
+    }
+
     private void raiseUnsupportedFeatureIfInParentScope(String columnSchema, String columnTableName, String schema) {
         QualifiedName qn = new QualifiedName(Arrays.asList(schema, columnTableName));
         if (parents.containsRelation(qn)) {
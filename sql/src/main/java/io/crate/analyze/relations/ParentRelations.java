@@ -24,6 +24,7 @@ package io.crate.analyze.relations;
 
 import io.crate.sql.tree.QualifiedName;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -35,18 +36,29 @@ public class ParentRelations {
 
     private final List<Map<QualifiedName, AnalyzedRelation>> sourcesTree;
 
+    /**
+     * true if columns of the relations of the innermost level may be referenced by a correlated subquery
+     */
+    private final boolean allowsCorrelation;
+
     private ParentRelations() {
         sourcesTree = Collections.emptyList();
+        allowsCorrelation = false;
     }
 
-    private ParentRelations(ArrayList<Map<QualifiedName, AnalyzedRelation>> sourcesTree) {
+    private ParentRelations(ArrayList<Map<QualifiedName, AnalyzedRelation>> sourcesTree, boolean allowsCorrelation) {
         this.sourcesTree = sourcesTree;
+        this.allowsCorrelation = allowsCorrelation;
     }
 
     public ParentRelations newLevel(Map<QualifiedName, AnalyzedRelation> sources) {
+        return newLevel(sources, false);
+    }
+
+    public ParentRelations newLevel(Map<QualifiedName, AnalyzedRelation> sources, boolean allowsCorrelation) {
         ArrayList<Map<QualifiedName, AnalyzedRelation>> newSourcesTree = new ArrayList<>(sourcesTree);
         newSourcesTree.add(sources);
-        return new ParentRelations(newSourcesTree);
+        return new ParentRelations(newSourcesTree, allowsCorrelation);
     }
 
     public boolean containsRelation(QualifiedName qualifiedName) {
@@ -57,4 +69,16 @@ public class ParentRelations {
         }
         return false;
     }
+
+    /**
+     * @return the relation of the direct parent which can be referenced from within a correlated subquery,
+     *         or null if there is no such relation.
+     */
+    @Nullable
+    public AnalyzedRelation getCorrelatedRelation(QualifiedName qualifiedName) {
+        if (!allowsCorrelation) {
+            return null;
+        }
+        return sourcesTree.get(sourcesTree.size() - 1).get(qualifiedName);
+    }
 }
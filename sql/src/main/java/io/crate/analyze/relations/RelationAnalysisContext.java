@@ -49,6 +49,8 @@ public class RelationAnalysisContext {
     @Nullable
     private List<JoinPair> joinPairs;
 
+    private boolean allowsCorrelatedSubqueries = false;
+
     RelationAnalysisContext(boolean aliasedRelation,
                             ParentRelations parents) {
         this.aliasedRelation = aliasedRelation;
@@ -123,4 +125,15 @@ public class RelationAnalysisContext {
     public ParentRelations parentSources() {
         return parents;
     }
+
+    /**
+     * @return true if subqueries which are analyzed within this context may reference the sources of this context
+     */
+    boolean allowsCorrelatedSubqueries() {
+        return allowsCorrelatedSubqueries;
+    }
+
+    void allowsCorrelatedSubqueries(boolean allowsCorrelatedSubqueries) {
+        this.allowsCorrelatedSubqueries = allowsCorrelatedSubqueries;
+    }
 }
@@ -66,6 +66,7 @@ import io.crate.metadata.table.Operation;
 import io.crate.metadata.table.TableInfo;
 import io.crate.metadata.tablefunctions.TableFunctionImplementation;
 import io.crate.metadata.view.ViewMetaData;
+import io.crate.planner.consumer.Decorrelator;
 import io.crate.planner.consumer.OrderByWithAggregationValidator;
 import io.crate.planner.node.dql.join.JoinType;
 import io.crate.sql.parser.SqlParser;
@@ -312,7 +313,15 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
         }
 
         boolean isDistinct = node.getSelect().isDistinct();
+        // Subqueries within the WHERE clause may be correlated with a single table; the planner rewrites them into joins
+        AnalyzedRelation onlySource = context.sources().size() == 1 ? Iterables.getOnlyElement(context.sources().values()) : null;
+        boolean allowsCorrelation = onlySource instanceof AbstractTableRelation;
+        context.allowsCorrelatedSubqueries(allowsCorrelation);
         Symbol querySymbol = expressionAnalyzer.generateQuerySymbol(node.getWhere(), expressionAnalysisContext);
+        context.allowsCorrelatedSubqueries(false);
+        if (allowsCorrelation) {
+            Decorrelator.ensureDecorrelatable(querySymbol, (AbstractTableRelation<?>) onlySource);
+        }
         WhereClause whereClause = new WhereClause(querySymbol);
         QuerySpec querySpec = new QuerySpec()
             .orderBy(analyzeOrderBy(
@@ -0,0 +1,77 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.breaker;
+
+import io.crate.expression.reference.sys.job.SlowQueryLog;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+
+public class SlowQueryLogSizeEstimator extends SizeEstimator<SlowQueryLog> {
+
+    private static final JobContextLogSizeEstimator JOB_CONTEXT_LOG_ESTIMATOR = new JobContextLogSizeEstimator();
+
+    @Override
+    public long estimateSize(@Nullable SlowQueryLog value) {
+        long size = 0L;
+
+        // SlowQueryLog
+        size += 24L; // 24 bytes (ref+headers)
+        size += JOB_CONTEXT_LOG_ESTIMATOR.estimateSize(value.jobContextLog());
+        size += estimateObjectSize(value.plan());
+        size += estimateObjectSize(value.operations());
+
+        return RamAccountingContext.roundUp(size);
+    }
+
+    /**
+     * Rough estimate of the maps, lists and strings making up the plan and operations; only slow queries are
+     * logged, so walking them is affordable.
+     */
+    private static long estimateObjectSize(@Nullable Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Map) {
+            long size = 48L; // map headers and table
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 32L; // entry
+                size += estimateObjectSize(entry.getKey());
+                size += estimateObjectSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 32L; // collection headers and array
+            for (Object element : (Collection<?>) value) {
+                size += 8L + estimateObjectSize(element);
+            }
+            return size;
+        }
+        if (value instanceof String) {
+            return 40L + ((String) value).length();
+        }
+        return 16L; // boxed primitive
+    }
+}
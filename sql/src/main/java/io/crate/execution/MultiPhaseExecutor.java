@@ -75,6 +75,9 @@ public final class MultiPhaseExecutor {
             case SINGLE_COLUMN_MULTIPLE_VALUES:
                 return FirstColumnConsumers.createAllRowsConsumer();
 
+            case EXISTS:
+                return FirstColumnConsumers.createExistsConsumer();
+
             default:
                 throw new IllegalStateException("Can't create consumer: Unknown ResultType");
         }
@@ -0,0 +1,233 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution;
+
+import com.google.common.collect.Iterables;
+import io.crate.Streamer;
+import io.crate.data.BatchIterator;
+import io.crate.data.Bucket;
+import io.crate.data.CollectingBatchIterator;
+import io.crate.data.Row;
+import io.crate.data.RowConsumer;
+import io.crate.data.RowN;
+import io.crate.execution.jobs.PageBucketReceiver;
+import io.crate.execution.jobs.PageResultListener;
+import io.crate.execution.support.ThreadPools;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * A {@link PageBucketReceiver} which accumulates the incoming rows into multiple independent states.
+ * <p>
+ * The rows are partitioned using {@code partitioner}, each partition is accumulated by a separate collector
+ * and the partitions are accumulated concurrently.
+ * Rows which must end up in the same state (e.g. rows with the same group key) must be assigned to the same
+ * partition. The result is the concatenation of the results of all partitions.
+ * </p>
+ */
+public class PartitionedPageBucketReceiver implements PageBucketReceiver {
+
+    private final List<Partition<?>> partitions;
+    private final ToIntFunction<Row> partitioner;
+    private final AtomicInteger remainingUpstreams;
+    private final CompletableFuture<Iterable<Row>> processingFuture = new CompletableFuture<>();
+    private final Executor executor;
+    private final Streamer<?>[] streamers;
+    private final BatchIterator<Row> lazyBatchIterator;
+
+    private volatile Throwable lastThrowable = null;
+
+    /**
+     * @param collectors one collector per partition
+     * @param partitioner returns a hash for a row; rows with the same hash end up in the same partition.
+     */
+    public PartitionedPageBucketReceiver(List<Collector<Row, ?, Iterable<Row>>> collectors,
+                                         ToIntFunction<Row> partitioner,
+                                         RowConsumer rowConsumer,
+                                         Executor executor,
+                                         Streamer<?>[] streamers,
+                                         int upstreamsCount) {
+        this.partitions = new ArrayList<>(collectors.size());
+        for (Collector<Row, ?, Iterable<Row>> collector : collectors) {
+            partitions.add(newPartition(collector));
+        }
+        this.partitioner = partitioner;
+        // the accumulation must not get lost if the executor rejects it
+        this.executor = runnable -> ThreadPools.forceExecute(executor, runnable);
+        this.streamers = streamers;
+        this.remainingUpstreams = new AtomicInteger(upstreamsCount);
+        lazyBatchIterator = CollectingBatchIterator.newInstance(
+            () -> {},
+            t -> {},
+            () -> processingFuture,
+            true);
+        rowConsumer.accept(lazyBatchIterator, null);
+    }
+
+    /**
+     * Creates a partitioner which hashes the values at the given positions of a row
+     */
+    public static ToIntFunction<Row> hashOf(int[] positions) {
+        return row -> {
+            int hash = 1;
+            for (int position : positions) {
+                Object value = row.get(position);
+                hash = 31 * hash + (value instanceof Object[] ? Arrays.deepHashCode((Object[]) value) : Objects.hashCode(value));
+            }
+            return hash;
+        };
+    }
+
+    @Override
+    public void setBucket(int bucketIdx, Bucket rows, boolean isLast, PageResultListener pageResultListener) {
+        pageResultListener.needMore(!isLast);
+
+        int numPartitions = partitions.size();
+        List<List<Row>> rowsByPartition = new ArrayList<>(numPartitions);
+        for (int i = 0; i < numPartitions; i++) {
+            rowsByPartition.add(new ArrayList<>());
+        }
+        try {
+            for (Row row : rows) {
+                int partition = Math.floorMod(spread(partitioner.applyAsInt(row)), numPartitions);
+                // the row instance may be re-used by the bucket
+                rowsByPartition.get(partition).add(new RowN(row.materialize()));
+            }
+        } catch (Throwable t) {
+            lastThrowable = t;
+        }
+        for (int i = 0; i < numPartitions; i++) {
+            List<Row> partitionRows = rowsByPartition.get(i);
+            if (!partitionRows.isEmpty()) {
+                partitions.get(i).accumulate(partitionRows);
+            }
+        }
+
+        if (isLast) {
+            if (remainingUpstreams.decrementAndGet() == 0) {
+                CompletableFuture<?>[] accumulating = new CompletableFuture[numPartitions];
+                for (int i = 0; i < numPartitions; i++) {
+                    accumulating[i] = partitions.get(i).currentlyAccumulating();
+                }
+                CompletableFuture.allOf(accumulating).whenComplete((r, t) -> consumeRows());
+            }
+        }
+    }
+
+    /**
+     * Spreads the higher bits of the hash to the lower ones, like {@link java.util.HashMap} does.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public Streamer<?>[] streamers() {
+        return streamers;
+    }
+
+    @Override
+    public CompletableFuture<?> completionFuture() {
+        return processingFuture;
+    }
+
+    @Override
+    public void consumeRows() {
+        if (lastThrowable == null) {
+            List<Iterable<Row>> results = new ArrayList<>(partitions.size());
+            for (Partition<?> partition : partitions) {
+                results.add(partition.finish());
+            }
+            processingFuture.complete(Iterables.concat(results));
+        } else {
+            processingFuture.completeExceptionally(lastThrowable);
+        }
+    }
+
+    @Override
+    public void kill(@Nonnull Throwable t) {
+        lastThrowable = t;
+        lazyBatchIterator.kill(t);
+        processingFuture.completeExceptionally(t);
+    }
+
+    private <S> Partition<S> newPartition(Collector<Row, S, Iterable<Row>> collector) {
+        return new Partition<>(collector);
+    }
+
+    private final class Partition<S> {
+
+        private final S state;
+        private final BiConsumer<S, Row> accumulator;
+        private final Function<S, Iterable<Row>> finisher;
+
+        @GuardedBy("this")
+        private CompletableFuture<?> currentlyAccumulating = CompletableFuture.completedFuture(null);
+
+        Partition(Collector<Row, S, Iterable<Row>> collector) {
+            this.state = collector.supplier().get();
+            this.accumulator = collector.accumulator();
+            this.finisher = collector.finisher();
+        }
+
+        /**
+         * Accumulates the rows asynchronously; only one accumulation per partition runs at a time
+         * because the state is not thread-safe.
+         */
+        synchronized void accumulate(List<Row> rows) {
+            currentlyAccumulating = currentlyAccumulating.thenRunAsync(() -> {
+                if (lastThrowable != null) {
+                    return;
+                }
+                try {
+                    for (Row row : rows) {
+                        accumulator.accept(state, row);
+                    }
+                } catch (Throwable t) {
+                    lastThrowable = t;
+                    throw t;
+                }
+            }, executor);
+        }
+
+        synchronized CompletableFuture<?> currentlyAccumulating() {
+            return currentlyAccumulating;
+        }
+
+        Iterable<Row> finish() {
+            return finisher.apply(state);
+        }
+    }
+}
@@ -28,12 +28,14 @@ import io.crate.execution.dml.ShardRequest;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.Symbols;
 import io.crate.metadata.Reference;
+import org.elasticsearch.Version;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.lucene.uid.Versions;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.translog.Translog;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
@@ -179,6 +181,12 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
 
         userName = in.readString();
         currentSchema = in.readString();
+        if (in.getVersion().onOrAfter(Version.V_4_0_0)) {
+            isRetry = in.readBoolean();
+        } else {
+            // older nodes don't stream the flag; assume a retry so that no append-only optimization is used
+            isRetry = true;
+        }
 
         int numItems = in.readVInt();
         readItems(in, numItems);
@@ -210,6 +218,9 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
 
         out.writeString(userName);
         out.writeString(currentSchema);
+        if (out.getVersion().onOrAfter(Version.V_4_0_0)) {
+            out.writeBoolean(isRetry);
+        }
 
         out.writeVInt(items.size());
         for (Item item : items) {
@@ -232,6 +243,7 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
         return continueOnError == items.continueOnError &&
                duplicateKeyAction == items.duplicateKeyAction &&
                validateConstraints == items.validateConstraints &&
+               isRetry == items.isRetry &&
                Arrays.equals(updateColumns, items.updateColumns) &&
                Arrays.equals(insertColumns, items.insertColumns) &&
                Arrays.equals(insertValuesStreamer, items.insertValuesStreamer);
@@ -239,7 +251,7 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(super.hashCode(), continueOnError, duplicateKeyAction, validateConstraints, updateColumns, insertColumns, insertValuesStreamer);
+        return Objects.hashCode(super.hashCode(), continueOnError, duplicateKeyAction, validateConstraints, isRetry, updateColumns, insertColumns, insertValuesStreamer);
     }
 
     /**
@@ -262,6 +274,12 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
         @Nullable
         private Object[] insertValues;
 
+        /**
+         * Timestamp of the creation of an item with an auto generated id.
+         * Only set for items of tables without primary key, see {@link #autoGeneratedTimestamp(long)}
+         */
+        private long autoGeneratedTimestamp = Translog.UNSET_AUTO_GENERATED_TIMESTAMP;
+
         public Item(String id,
                     @Nullable Symbol[] updateAssignments,
                     @Nullable Object[] insertValues,
@@ -297,6 +315,18 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
             return insertValues;
         }
 
+        public long autoGeneratedTimestamp() {
+            return autoGeneratedTimestamp;
+        }
+
+        /**
+         * Marks the item as having an auto generated, unique id.
+         * This allows the engine to add the document without looking up a possibly existing version (append-only).
+         */
+        public void autoGeneratedTimestamp(long autoGeneratedTimestamp) {
+            this.autoGeneratedTimestamp = autoGeneratedTimestamp;
+        }
+
         public Item(StreamInput in, @Nullable Streamer[] insertValueStreamers) throws IOException {
             super(in);
             if (in.readBoolean()) {
@@ -317,6 +347,9 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
             if (in.readBoolean()) {
                 source = in.readBytesReference();
             }
+            if (in.getVersion().onOrAfter(Version.V_4_0_0)) {
+                autoGeneratedTimestamp = in.readLong();
+            }
         }
 
         public void writeTo(StreamOutput out, @Nullable Streamer[] insertValueStreamers) throws IOException {
@@ -346,6 +379,9 @@ public class ShardUpsertRequest extends ShardRequest<ShardUpsertRequest, ShardUp
             if (sourceAvailable) {
                 out.writeBytesReference(source);
             }
+            if (out.getVersion().onOrAfter(Version.V_4_0_0)) {
+                out.writeLong(autoGeneratedTimestamp);
+            }
         }
     }
 
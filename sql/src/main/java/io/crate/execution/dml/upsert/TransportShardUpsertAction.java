@@ -29,6 +29,7 @@ import io.crate.execution.dml.ShardResponse;
 import io.crate.execution.dml.TransportShardAction;
 import io.crate.execution.dml.upsert.ShardUpsertRequest.DuplicateKeyAction;
 import io.crate.execution.engine.collect.PKLookupOperation;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.jobs.TasksService;
 import io.crate.expression.reference.Doc;
 import io.crate.expression.symbol.Symbol;
@@ -87,6 +88,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
 
     private final Schemas schemas;
     private final Functions functions;
+    private final ShardLoadStats shardLoadStats;
 
     @Inject
     public TransportShardUpsertAction(Settings settings,
@@ -99,11 +101,13 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                                       ShardStateAction shardStateAction,
                                       Functions functions,
                                       Schemas schemas,
-                                      IndexNameExpressionResolver indexNameExpressionResolver) {
+                                      IndexNameExpressionResolver indexNameExpressionResolver,
+                                      ShardLoadStats shardLoadStats) {
         super(settings, ACTION_NAME, transportService, indexNameExpressionResolver, clusterService,
             indicesService, threadPool, shardStateAction, ShardUpsertRequest::new, schemaUpdateClient);
         this.schemas = schemas;
         this.functions = functions;
+        this.shardLoadStats = shardLoadStats;
         tasksService.addListener(this);
     }
 
@@ -129,6 +133,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
             : new UpdateSourceGen(functions, txnCtx, tableInfo, request.updateColumns());
 
         Translog.Location translogLocation = null;
+        long numIndexed = 0;
         for (ShardUpsertRequest.Item item : request.items()) {
             int location = item.location();
             if (killed.get()) {
@@ -149,6 +154,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 );
                 if (translogLocation != null) {
                     shardResponse.add(location);
+                    numIndexed++;
                 }
             } catch (Exception e) {
                 if (retryPrimaryException(e)) {
@@ -176,12 +182,14 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                         (e instanceof VersionConflictEngineException)));
             }
         }
+        shardLoadStats.get(indexShard.shardId()).docsIndexed(numIndexed);
         return new WritePrimaryResult<>(request, shardResponse, translogLocation, null, indexShard, logger);
     }
 
     @Override
     protected WriteReplicaResult<ShardUpsertRequest> processRequestItemsOnReplica(IndexShard indexShard, ShardUpsertRequest request) throws IOException {
         Translog.Location location = null;
+        long numIndexed = 0;
         for (ShardUpsertRequest.Item item : request.items()) {
             if (item.source() == null) {
                 if (logger.isTraceEnabled()) {
@@ -197,8 +205,8 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 item.seqNo(),
                 item.version(),
                 VersionType.EXTERNAL,
-                Translog.UNSET_AUTO_GENERATED_TIMESTAMP,
-                false,
+                item.autoGeneratedTimestamp(),
+                request.isRetry(),
                 sourceToParse
             );
             if (indexResult.getResultType() == Engine.Result.Type.MAPPING_UPDATE_REQUIRED) {
@@ -214,7 +222,9 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                     "Mappings are not available on the replica yet, triggered update: " + indexResult.getRequiredMappingUpdate());
             }
             location = indexResult.getTranslogLocation();
+            numIndexed++;
         }
+        shardLoadStats.get(indexShard.shardId()).docsIndexed(numIndexed);
         return new WriteReplicaResult<>(request, location, null, indexShard, logger);
     }
 
@@ -276,6 +286,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                                           InsertSourceGen insertSourceGen,
                                           boolean isRetry) throws Exception {
         long version;
+        long autoGeneratedTimestamp = Translog.UNSET_AUTO_GENERATED_TIMESTAMP;
         // try insert first without fetching the document
         if (tryInsertFirst) {
             // set version so it will fail if already exists (will be overwritten for updates, see below)
@@ -289,7 +300,15 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
             if (request.duplicateKeyAction() == DuplicateKeyAction.OVERWRITE) {
                 version = Versions.MATCH_ANY;
             }
+            if (item.autoGeneratedTimestamp() != Translog.UNSET_AUTO_GENERATED_TIMESTAMP) {
+                // auto generated ids are unique, the engine can skip the version lookup (append-only).
+                // Retries are still safe as the engine falls back to an update of the document if `isRetry` is set.
+                version = Versions.MATCH_ANY;
+                autoGeneratedTimestamp = item.autoGeneratedTimestamp();
+            }
         } else {
+            // the replica must not use the append-only optimization if the primary didn't
+            item.autoGeneratedTimestamp(Translog.UNSET_AUTO_GENERATED_TIMESTAMP);
             Doc currentDoc = getDocument(indexShard, item.id(), item.version());
             BytesReference updatedSource = updateSourceGen.generateSource(
                 currentDoc,
@@ -301,6 +320,8 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
         }
 
         long finalVersion = version;
+        long finalAutoGeneratedTimestamp = autoGeneratedTimestamp;
+        boolean finalIsRetry = isRetry || request.isRetry();
         SourceToParse sourceToParse = SourceToParse.source(
             request.index(), Constants.DEFAULT_MAPPING_TYPE, item.id(), item.source(), XContentType.JSON);
         Engine.IndexResult indexResult = executeOnPrimaryHandlingMappingUpdate(
@@ -309,8 +330,8 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 finalVersion,
                 VersionType.INTERNAL,
                 sourceToParse,
-                Translog.UNSET_AUTO_GENERATED_TIMESTAMP,
-                isRetry
+                finalAutoGeneratedTimestamp,
+                finalIsRetry
             ),
             e -> indexShard.getFailedIndexResult(e, finalVersion)
         );
@@ -43,7 +43,8 @@ public enum ProjectionType {
     TOPN_ORDERED(OrderedTopNProjection::new),
     EVAL(EvalProjection::new),
     PROJECT_SET(ProjectSetProjection::new),
-    WINDOW_AGGREGATION(WindowAggProjection::new);
+    WINDOW_AGGREGATION(WindowAggProjection::new),
+    SORTED_GROUP(SortedGroupProjection::new);
 
     private final Projection.ProjectionFactory factory;
 
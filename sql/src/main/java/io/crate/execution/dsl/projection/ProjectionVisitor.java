@@ -42,6 +42,10 @@ public class ProjectionVisitor<C, R> {
         return visitProjection(projection, context);
     }
 
+    public R visitSortedGroupProjection(SortedGroupProjection projection, C context) {
+        return visitGroupProjection(projection, context);
+    }
+
     public R visitAggregationProjection(AggregationProjection projection, C context) {
         return visitProjection(projection, context);
     }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.execution.dsl.projection;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.expression.symbol.AggregateMode;
+import io.crate.expression.symbol.Aggregation;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.RowGranularity;
+import io.crate.planner.ExplainLeaf;
+import org.elasticsearch.common.io.stream.StreamInput;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link GroupProjection} for inputs which are sorted by the group keys.
+ * Each group is complete once the key changes, so only one group at a time is kept in memory.
+ */
+public class SortedGroupProjection extends GroupProjection {
+
+    public SortedGroupProjection(List<Symbol> keys,
+                                 List<Aggregation> values,
+                                 AggregateMode mode,
+                                 RowGranularity requiredGranularity) {
+        super(keys, values, mode, requiredGranularity);
+    }
+
+    public SortedGroupProjection(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    public ProjectionType projectionType() {
+        return ProjectionType.SORTED_GROUP;
+    }
+
+    @Override
+    public <C, R> R accept(ProjectionVisitor<C, R> visitor, C context) {
+        return visitor.visitSortedGroupProjection(this, context);
+    }
+
+    @Override
+    public Map<String, Object> mapRepresentation() {
+        return ImmutableMap.of(
+            "type", "SortedAggregation",
+            "keys", ExplainLeaf.printList(keys()),
+            "aggregations", ExplainLeaf.printList(values())
+        );
+    }
+}
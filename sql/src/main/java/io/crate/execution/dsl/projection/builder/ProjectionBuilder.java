@@ -27,6 +27,7 @@ import io.crate.execution.dsl.projection.EvalProjection;
 import io.crate.execution.dsl.projection.FilterProjection;
 import io.crate.execution.dsl.projection.GroupProjection;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.dsl.projection.SortedGroupProjection;
 import io.crate.execution.dsl.projection.TopNProjection;
 import io.crate.execution.dsl.projection.WriterProjection;
 import io.crate.execution.engine.aggregation.AggregationFunction;
@@ -77,6 +78,22 @@ public class ProjectionBuilder {
         return new GroupProjection(InputColumns.create(keys, sourceSymbols), aggregations, mode, requiredGranularity);
     }
 
+    /**
+     * Like {@link #groupProjection(Collection, Collection, Collection, AggregateMode, RowGranularity)} but for inputs
+     * which are sorted by the {@code keys}.
+     */
+    public SortedGroupProjection sortedGroupProjection(
+        Collection<? extends Symbol> inputs,
+        Collection<? extends Symbol> keys,
+        Collection<Function> values,
+        AggregateMode mode,
+        RowGranularity requiredGranularity) {
+
+        InputColumns.SourceSymbols sourceSymbols = new InputColumns.SourceSymbols(inputs);
+        ArrayList<Aggregation> aggregations = getAggregations(values, mode, sourceSymbols);
+        return new SortedGroupProjection(InputColumns.create(keys, sourceSymbols), aggregations, mode, requiredGranularity);
+    }
+
     private ArrayList<Aggregation> getAggregations(Collection<Function> functions,
                                                    AggregateMode mode,
                                                    InputColumns.SourceSymbols sourceSymbols) {
@@ -36,7 +36,8 @@ import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 /**
- * Collectors to retrieve either {@link AllValues} or a {@link SingleValue} of the first column of each row.
+ * Collectors to retrieve either {@link AllValues} or a {@link SingleValue} of the first column of each row,
+ * or to check if there is {@link AnyRow} at all.
  */
 public class FirstColumnConsumers {
 
@@ -121,6 +122,38 @@ public class FirstColumnConsumers {
 
     }
 
+    private static class AnyRow implements Collector<Row, boolean[], Boolean> {
+
+        private static final AnyRow INSTANCE = new AnyRow();
+
+        private AnyRow() {}
+
+        @Override
+        public Supplier<boolean[]> supplier() {
+            return () -> new boolean[] { false };
+        }
+
+        @Override
+        public BiConsumer<boolean[], Row> accumulator() {
+            return (agg, row) -> agg[0] = true;
+        }
+
+        @Override
+        public BinaryOperator<boolean[]> combiner() {
+            throw new IllegalStateException("Combine is not implemented on this collector");
+        }
+
+        @Override
+        public Function<boolean[], Boolean> finisher() {
+            return agg -> agg[0];
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return Collections.emptySet();
+        }
+    }
+
     public static CollectingRowConsumer<Object[], Object> createSingleRowConsumer() {
         return new CollectingRowConsumer<>(SingleValue.INSTANCE);
     }
@@ -128,4 +161,8 @@ public class FirstColumnConsumers {
     public static CollectingRowConsumer<Collection<Object>, Object[]> createAllRowsConsumer() {
         return new CollectingRowConsumer<>(AllValues.INSTANCE);
     }
+
+    public static CollectingRowConsumer<boolean[], Boolean> createExistsConsumer() {
+        return new CollectingRowConsumer<>(AnyRow.INSTANCE);
+    }
 }
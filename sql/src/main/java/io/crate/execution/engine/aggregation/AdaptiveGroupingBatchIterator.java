@@ -0,0 +1,183 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.aggregation;
+
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * A BatchIterator which groups the rows of the source into partial aggregation states.
+ * <p>
+ * The first {@code sampleSize} rows are grouped using {@code collector}. If the number of groups is more than
+ * {@code maxGroupRatio} of the number of rows, grouping hardly reduces the number of rows. In that case the groups
+ * are emitted and all remaining rows are streamed through as partial states of a single row.
+ * This is only valid for partial aggregations as the states are merged again downstream.
+ *
+ * <pre>
+ *     source BatchIterator (partial count(*) grouped by the value, sampleSize = 4, maxGroupRatio = 0.5):
+ *     [ a, b, c, d, e, a ]
+ *
+ *     output:
+ *     [ (a, 1), (b, 1), (c, 1), (d, 1), (e, 1), (a, 1) ]
+ * </pre>
+ */
+final class AdaptiveGroupingBatchIterator<A> implements BatchIterator<Row> {
+
+    private final BatchIterator<Row> source;
+    private final Collector<Row, A, Iterable<Row>> collector;
+    private final ToIntFunction<A> numGroups;
+    private final Function<Row, Row> toPartialStates;
+    private final int sampleSize;
+    private final double maxGroupRatio;
+
+    private A groups;
+    private long numRows;
+    private Iterator<Row> groupedRows;
+    private boolean streaming;
+    private boolean sourceExhausted;
+    private Row current;
+
+    AdaptiveGroupingBatchIterator(BatchIterator<Row> source,
+                                  Collector<Row, A, Iterable<Row>> collector,
+                                  ToIntFunction<A> numGroups,
+                                  Function<Row, Row> toPartialStates,
+                                  int sampleSize,
+                                  double maxGroupRatio) {
+        this.source = source;
+        this.collector = collector;
+        this.numGroups = numGroups;
+        this.toPartialStates = toPartialStates;
+        this.sampleSize = sampleSize;
+        this.maxGroupRatio = maxGroupRatio;
+        reset();
+    }
+
+    private void reset() {
+        groups = collector.supplier().get();
+        numRows = 0;
+        groupedRows = null;
+        streaming = false;
+        sourceExhausted = false;
+        current = null;
+    }
+
+    /**
+     * @return true if rows are streamed through instead of being grouped
+     */
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    @Override
+    public Row currentElement() {
+        return current;
+    }
+
+    @Override
+    public void moveToStart() {
+        source.moveToStart();
+        reset();
+    }
+
+    @Override
+    public boolean moveNext() {
+        while (true) {
+            if (groupedRows != null) {
+                if (groupedRows.hasNext()) {
+                    current = groupedRows.next();
+                    return true;
+                }
+                groupedRows = null;
+            }
+            if (sourceExhausted) {
+                current = null;
+                return false;
+            }
+            if (streaming) {
+                if (source.moveNext()) {
+                    current = toPartialStates.apply(source.currentElement());
+                    return true;
+                }
+                current = null;
+                return false;
+            }
+            BiConsumer<A, Row> accumulator = collector.accumulator();
+            while (source.moveNext()) {
+                accumulator.accept(groups, source.currentElement());
+                numRows++;
+                if (numRows == sampleSize && numGroups.applyAsInt(groups) > numRows * maxGroupRatio) {
+                    streaming = true;
+                    break;
+                }
+            }
+            if (streaming) {
+                groupedRows = finishGroups();
+            } else if (source.allLoaded()) {
+                sourceExhausted = true;
+                groupedRows = finishGroups();
+            } else {
+                current = null;
+                return false;
+            }
+        }
+    }
+
+    private Iterator<Row> finishGroups() {
+        Iterator<Row> rows = collector.finisher().apply(groups).iterator();
+        groups = null;
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+
+    @Override
+    public CompletionStage<?> loadNextBatch() {
+        return source.loadNextBatch();
+    }
+
+    @Override
+    public boolean allLoaded() {
+        return source.allLoaded();
+    }
+
+    @Override
+    public void kill(@Nonnull Throwable throwable) {
+        source.kill(throwable);
+    }
+
+    @Override
+    public boolean involvesIO() {
+        return source.involvesIO();
+    }
+}
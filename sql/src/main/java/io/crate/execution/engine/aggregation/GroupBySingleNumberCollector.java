@@ -103,6 +103,10 @@ public final class GroupBySingleNumberCollector implements Collector<Row, GroupB
             this.statesByKey = statesByKey;
             this.entryOverhead = entryOverhead;
         }
+
+        int size() {
+            return statesByKey.size() + (statesByNullValue == null ? 0 : 1);
+        }
     }
 
     @Override
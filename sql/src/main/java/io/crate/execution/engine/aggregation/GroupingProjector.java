@@ -24,28 +24,56 @@ package io.crate.execution.engine.aggregation;
 
 import io.crate.breaker.RamAccountingContext;
 import io.crate.data.BatchIterator;
+import io.crate.data.CloseAssertingBatchIterator;
 import io.crate.data.CollectingBatchIterator;
 import io.crate.data.Input;
 import io.crate.data.Projector;
 import io.crate.data.Row;
+import io.crate.data.RowN;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.expression.symbol.AggregateMode;
 import io.crate.expression.symbol.Symbol;
 import io.crate.types.CollectionType;
 import io.crate.types.DataType;
 import io.crate.types.DataTypes;
+import io.crate.types.FixedWidthType;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.util.BigArrays;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collector;
 
 import static io.crate.expression.symbol.Symbols.typeView;
 
 public class GroupingProjector implements Projector {
 
-    private final Collector<Row, ?, Iterable<Row>> collector;
+    /**
+     * Number of rows after which a partial aggregation checks if grouping reduces the number of rows.
+     */
+    static final int PARTIAL_SAMPLE_SIZE = 100_000;
+
+    /**
+     * A partial aggregation stops grouping if there are more groups than this fraction of the sampled rows.
+     */
+    static final double PARTIAL_MAX_GROUP_RATIO = 0.8;
 
+    private final Collector<Row, ?, Iterable<Row>> collector;
+    private final ToIntFunction<?> numGroups;
+    private final List<Input<?>> keyInputs;
+    private final CollectExpression<Row, ?>[] collectExpressions;
+    private final AggregateMode mode;
+    private final AggregationFunction[] functions;
+    private final Input[][] inputs;
+    private final RamAccountingContext ramAccountingContext;
+    private final boolean streamSingleRowStates;
+    private final Version indexVersionCreated;
+    private final BigArrays bigArrays;
+    private final int partialSampleSize;
+    private final Object[] singleRowCells;
+    private final Row singleRow;
+    private long singleRowStatesBytes = 0L;
 
     public GroupingProjector(List<? extends Symbol> keys,
                              List<Input<?>> keyInputs,
@@ -55,6 +83,26 @@ public class GroupingProjector implements Projector {
                              RamAccountingContext ramAccountingContext,
                              Version indexVersionCreated,
                              BigArrays bigArrays) {
+        this(keys,
+            keyInputs,
+            collectExpressions,
+            mode,
+            aggregations,
+            ramAccountingContext,
+            indexVersionCreated,
+            bigArrays,
+            PARTIAL_SAMPLE_SIZE);
+    }
+
+    GroupingProjector(List<? extends Symbol> keys,
+                      List<Input<?>> keyInputs,
+                      CollectExpression<Row, ?>[] collectExpressions,
+                      AggregateMode mode,
+                      AggregationContext[] aggregations,
+                      RamAccountingContext ramAccountingContext,
+                      Version indexVersionCreated,
+                      BigArrays bigArrays,
+                      int partialSampleSize) {
         assert keys.size() == keyInputs.size() : "number of key types must match with number of key inputs";
         ensureAllTypesSupported(keys);
 
@@ -66,6 +114,18 @@ public class GroupingProjector implements Projector {
             functions[i] = aggregation.function();
             inputs[i] = aggregation.inputs();
         }
+        this.keyInputs = keyInputs;
+        this.collectExpressions = collectExpressions;
+        this.mode = mode;
+        this.functions = functions;
+        this.inputs = inputs;
+        this.ramAccountingContext = ramAccountingContext;
+        this.streamSingleRowStates = mode == AggregateMode.ITER_PARTIAL && hasFixedWidthPartialStates(functions);
+        this.indexVersionCreated = indexVersionCreated;
+        this.bigArrays = bigArrays;
+        this.partialSampleSize = partialSampleSize;
+        this.singleRowCells = new Object[keyInputs.size() + aggregations.length];
+        this.singleRow = new RowN(singleRowCells);
         if (keys.size() == 1) {
             Symbol key = keys.get(0);
             if (DataTypes.NUMERIC_PRIMITIVE_TYPES.contains(key.valueType()) &&
@@ -82,6 +142,7 @@ public class GroupingProjector implements Projector {
                     indexVersionCreated,
                     bigArrays
                 );
+                numGroups = (ToIntFunction<GroupBySingleNumberCollector.Groups>) GroupBySingleNumberCollector.Groups::size;
             } else {
                 collector = GroupingCollector.singleKey(
                     collectExpressions,
@@ -94,6 +155,7 @@ public class GroupingProjector implements Projector {
                     indexVersionCreated,
                     bigArrays
                 );
+                numGroups = (ToIntFunction<Map<?, ?>>) Map::size;
             }
         } else {
             //noinspection unchecked
@@ -108,9 +170,23 @@ public class GroupingProjector implements Projector {
                 indexVersionCreated,
                 bigArrays
             );
+            numGroups = (ToIntFunction<Map<?, ?>>) Map::size;
         }
     }
 
+    /**
+     * Passing on one partial state per row is only cheap if the states are small and of a fixed size.
+     * Other states, like the t-digest of percentile or a collected set, are a lot larger than a single row.
+     */
+    private static boolean hasFixedWidthPartialStates(AggregationFunction[] functions) {
+        for (AggregationFunction function : functions) {
+            if (!(function.partialType() instanceof FixedWidthType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static void ensureAllTypesSupported(Iterable<? extends Symbol> keys) {
         for (Symbol key : keys) {
             DataType type = key.valueType();
@@ -122,15 +198,58 @@ public class GroupingProjector implements Projector {
 
     @Override
     public BatchIterator<Row> apply(BatchIterator<Row> batchIterator) {
+        if (streamSingleRowStates) {
+            //noinspection unchecked
+            return new CloseAssertingBatchIterator<>(new AdaptiveGroupingBatchIterator<>(
+                batchIterator,
+                (Collector<Row, Object, Iterable<Row>>) collector,
+                (ToIntFunction<Object>) numGroups,
+                this::singleRowStates,
+                partialSampleSize,
+                PARTIAL_MAX_GROUP_RATIO
+            ));
+        }
         return CollectingBatchIterator.newInstance(batchIterator, collector);
     }
 
+    /**
+     * Creates the partial states of a single row. The states are passed on right away, so the memory accounted for
+     * them is released once the states of the next row are created.
+     */
+    private Row singleRowStates(Row row) {
+        ramAccountingContext.addBytes(-singleRowStatesBytes);
+        long bytesBefore = ramAccountingContext.totalBytes();
+        for (CollectExpression<Row, ?> expression : collectExpressions) {
+            expression.setNextRow(row);
+        }
+        int c = 0;
+        for (Input<?> keyInput : keyInputs) {
+            singleRowCells[c] = keyInput.value();
+            c++;
+        }
+        for (int i = 0; i < functions.length; i++) {
+            AggregationFunction function = functions[i];
+            //noinspection unchecked
+            Object state = function.iterate(
+                ramAccountingContext,
+                function.newState(ramAccountingContext, indexVersionCreated, bigArrays),
+                inputs[i]
+            );
+            //noinspection unchecked
+            singleRowCells[c] = mode.finishCollect(ramAccountingContext, function, state);
+            c++;
+        }
+        singleRowStatesBytes = ramAccountingContext.totalBytes() - bytesBefore;
+        return singleRow;
+    }
+
     public Collector<Row, ?, Iterable<Row>> getCollector() {
         return collector;
     }
 
     @Override
     public boolean providesIndependentScroll() {
-        return true;
+        // partial aggregations may stream rows of the source through
+        return !streamSingleRowStates;
     }
 }
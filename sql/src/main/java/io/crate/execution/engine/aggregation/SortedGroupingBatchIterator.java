@@ -0,0 +1,214 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.aggregation;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.Input;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.execution.engine.collect.CollectExpression;
+import io.crate.expression.symbol.AggregateMode;
+import org.elasticsearch.Version;
+import org.elasticsearch.common.util.BigArrays;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BatchIterator which aggregates the rows of a source which is sorted by the group keys.
+ *
+ * <pre>
+ *     source BatchIterator (count(*) grouped by the value):
+ *     [ a, a, b, c, c, c ]
+ *
+ *     output:
+ *     [ (a, 2), (b, 1), (c, 3) ]
+ * </pre>
+ */
+final class SortedGroupingBatchIterator implements BatchIterator<Row> {
+
+    private final BatchIterator<Row> source;
+    private final List<Input<?>> keyInputs;
+    private final CollectExpression<Row, ?>[] collectExpressions;
+    private final AggregateMode mode;
+    private final AggregationFunction[] functions;
+    private final Input[][] inputs;
+    private final RamAccountingContext ramAccountingContext;
+    private final Version indexVersionCreated;
+    private final BigArrays bigArrays;
+    private final Object[] cells;
+    private final Row row;
+
+    private Object[] groupKey;
+    private Object[] groupStates;
+    private boolean sourceExhausted;
+    private Row current;
+
+    SortedGroupingBatchIterator(BatchIterator<Row> source,
+                                List<Input<?>> keyInputs,
+                                CollectExpression<Row, ?>[] collectExpressions,
+                                AggregateMode mode,
+                                AggregationFunction[] functions,
+                                Input[][] inputs,
+                                RamAccountingContext ramAccountingContext,
+                                Version indexVersionCreated,
+                                BigArrays bigArrays) {
+        this.source = source;
+        this.keyInputs = keyInputs;
+        this.collectExpressions = collectExpressions;
+        this.mode = mode;
+        this.functions = functions;
+        this.inputs = inputs;
+        this.ramAccountingContext = ramAccountingContext;
+        this.indexVersionCreated = indexVersionCreated;
+        this.bigArrays = bigArrays;
+        this.cells = new Object[keyInputs.size() + functions.length];
+        this.row = new RowN(cells);
+    }
+
+    @Override
+    public Row currentElement() {
+        return current;
+    }
+
+    @Override
+    public void moveToStart() {
+        source.moveToStart();
+        groupKey = null;
+        groupStates = null;
+        sourceExhausted = false;
+        current = null;
+    }
+
+    @Override
+    public boolean moveNext() {
+        if (sourceExhausted) {
+            current = null;
+            return false;
+        }
+        while (source.moveNext()) {
+            Row sourceRow = source.currentElement();
+            for (CollectExpression<Row, ?> expression : collectExpressions) {
+                expression.setNextRow(sourceRow);
+            }
+            Object[] key = evalKey();
+            if (groupKey == null) {
+                startGroup(key);
+            } else if (Arrays.equals(groupKey, key)) {
+                addToGroup();
+            } else {
+                finishGroup();
+                startGroup(key);
+                current = row;
+                return true;
+            }
+        }
+        if (source.allLoaded()) {
+            sourceExhausted = true;
+            if (groupKey != null) {
+                finishGroup();
+                groupKey = null;
+                groupStates = null;
+                current = row;
+                return true;
+            }
+        }
+        current = null;
+        return false;
+    }
+
+    private Object[] evalKey() {
+        Object[] key = new Object[keyInputs.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = keyInputs.get(i).value();
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startGroup(Object[] key) {
+        groupKey = key;
+        groupStates = new Object[functions.length];
+        for (int i = 0; i < functions.length; i++) {
+            AggregationFunction function = functions[i];
+            if (mode == AggregateMode.PARTIAL_FINAL) {
+                groupStates[i] = inputs[i][0].value();
+            } else {
+                groupStates[i] = function.iterate(
+                    ramAccountingContext,
+                    function.newState(ramAccountingContext, indexVersionCreated, bigArrays),
+                    inputs[i]
+                );
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToGroup() {
+        for (int i = 0; i < functions.length; i++) {
+            if (mode == AggregateMode.PARTIAL_FINAL) {
+                groupStates[i] = functions[i].reduce(ramAccountingContext, groupStates[i], inputs[i][0].value());
+            } else {
+                groupStates[i] = functions[i].iterate(ramAccountingContext, groupStates[i], inputs[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void finishGroup() {
+        System.arraycopy(groupKey, 0, cells, 0, groupKey.length);
+        int c = groupKey.length;
+        for (int i = 0; i < functions.length; i++) {
+            cells[c] = mode.finishCollect(ramAccountingContext, functions[i], groupStates[i]);
+            c++;
+        }
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+
+    @Override
+    public CompletionStage<?> loadNextBatch() {
+        return source.loadNextBatch();
+    }
+
+    @Override
+    public boolean allLoaded() {
+        return source.allLoaded();
+    }
+
+    @Override
+    public void kill(@Nonnull Throwable throwable) {
+        source.kill(throwable);
+    }
+
+    @Override
+    public boolean involvesIO() {
+        return source.involvesIO();
+    }
+}
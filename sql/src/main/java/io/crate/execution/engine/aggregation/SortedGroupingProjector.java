@@ -0,0 +1,94 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.aggregation;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.CloseAssertingBatchIterator;
+import io.crate.data.Input;
+import io.crate.data.Projector;
+import io.crate.data.Row;
+import io.crate.execution.engine.collect.CollectExpression;
+import io.crate.expression.symbol.AggregateMode;
+import org.elasticsearch.Version;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.util.BigArrays;
+
+import java.util.List;
+
+/**
+ * Projector which groups rows which are sorted by the group keys.
+ * <p>
+ * A group is emitted as soon as the key changes, so there is only one group in memory at a time
+ * and consumers can stop early (e.g. on a LIMIT) without consuming all rows of the source.
+ */
+public class SortedGroupingProjector implements Projector {
+
+    private final List<Input<?>> keyInputs;
+    private final CollectExpression<Row, ?>[] collectExpressions;
+    private final AggregateMode mode;
+    private final AggregationFunction[] functions;
+    private final Input[][] inputs;
+    private final RamAccountingContext ramAccountingContext;
+    private final Version indexVersionCreated;
+    private final BigArrays bigArrays;
+
+    public SortedGroupingProjector(List<Input<?>> keyInputs,
+                                   CollectExpression<Row, ?>[] collectExpressions,
+                                   AggregateMode mode,
+                                   AggregationContext[] aggregations,
+                                   RamAccountingContext ramAccountingContext,
+                                   Version indexVersionCreated,
+                                   BigArrays bigArrays) {
+        this.keyInputs = keyInputs;
+        this.collectExpressions = collectExpressions;
+        this.mode = mode;
+        this.functions = new AggregationFunction[aggregations.length];
+        this.inputs = new Input[aggregations.length][];
+        for (int i = 0; i < aggregations.length; i++) {
+            functions[i] = aggregations[i].function();
+            inputs[i] = aggregations[i].inputs();
+        }
+        // Only the states of the current group are kept in memory, there is no need to account the states of all groups
+        this.ramAccountingContext = new RamAccountingContext(
+            ramAccountingContext.contextId(), new NoopCircuitBreaker(CircuitBreaker.FIELDDATA));
+        this.indexVersionCreated = indexVersionCreated;
+        this.bigArrays = bigArrays;
+    }
+
+    @Override
+    public BatchIterator<Row> apply(BatchIterator<Row> batchIterator) {
+        return new CloseAssertingBatchIterator<>(new SortedGroupingBatchIterator(
+            batchIterator,
+            keyInputs,
+            collectExpressions,
+            mode,
+            functions,
+            inputs,
+            ramAccountingContext,
+            indexVersionCreated,
+            bigArrays
+        ));
+    }
+}
@@ -39,7 +39,7 @@ import java.util.Arrays;
 
 class PercentileAggregation extends AggregationFunction<TDigestState, Object> {
 
-    private static final String NAME = "percentile";
+    public static final String NAME = "percentile";
 
     static {
         DataTypes.register(TDigestStateType.ID, () -> TDigestStateType.INSTANCE);
@@ -32,6 +32,7 @@ import io.crate.execution.TransportActionProvider;
 import io.crate.execution.dsl.phases.RoutedCollectPhase;
 import io.crate.execution.engine.collect.collectors.BlobOrderedDocCollector;
 import io.crate.execution.engine.collect.collectors.OrderedDocCollector;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.execution.jobs.NodeJobsCounter;
 import io.crate.execution.jobs.SharedShardContext;
 import io.crate.expression.InputFactory;
@@ -61,9 +62,10 @@ public class BlobShardCollectorProvider extends ShardCollectorProvider {
                                       ThreadPool threadPool,
                                       Settings settings,
                                       TransportActionProvider transportActionProvider,
-                                      BigArrays bigArrays) {
+                                      BigArrays bigArrays,
+                                      ShardLoad shardLoad) {
         super(clusterService, schemas, nodeJobsCounter, functions, threadPool, settings, transportActionProvider,
-            blobShard.indexShard(), new ShardRowContext(blobShard, clusterService), bigArrays);
+            blobShard.indexShard(), new ShardRowContext(blobShard, clusterService, shardLoad), bigArrays);
         inputFactory = new InputFactory(functions);
         this.blobShard = blobShard;
     }
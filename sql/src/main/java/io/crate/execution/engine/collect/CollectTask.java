@@ -31,18 +31,36 @@ import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.dsl.phases.CollectPhase;
 import io.crate.execution.dsl.phases.RoutedCollectPhase;
+import io.crate.execution.dsl.projection.EvalProjection;
+import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.dsl.projection.TopNProjection;
 import io.crate.execution.jobs.AbstractTask;
 import io.crate.execution.jobs.SharedShardContexts;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.operator.any.AnyOperators;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.Reference;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.RowGranularity;
+import io.crate.metadata.doc.DocSysColumns;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Locale;
 
 public class CollectTask extends AbstractTask {
 
+    /**
+     * Maximum number of rows a collect phase may have to provide on a node to be executed in the interactive lane.
+     */
+    static final int INTERACTIVE_MAX_ROWS = 1_000;
+
     private final CollectPhase collectPhase;
     private final TransactionContext txnCtx;
     private final MapSideDataCollectOperation collectOperation;
@@ -139,7 +157,7 @@ public class CollectTask extends AbstractTask {
 
     @Override
     protected void innerStart() {
-        collectOperation.launch(() -> consumer.accept(batchIterator, null), threadPoolName);
+        collectOperation.launch(progress().accounted(() -> consumer.accept(batchIterator, null)), threadPoolName);
     }
 
     public TransactionContext txnCtx() {
@@ -163,9 +181,75 @@ public class CollectTask extends AbstractTask {
                 // Node or Shard system table collector
                 return ThreadPool.Names.GET;
             }
+            if (isInteractive(collectPhase)) {
+                // Small lookups run in the same lane as primary key lookups so that they don't
+                // have to wait for long running scans occupying the search thread pool
+                return ThreadPool.Names.GET;
+            }
         }
 
         // Anything else like doc tables, INFORMATION_SCHEMA tables or sys.cluster table collector, partition collector
         return ThreadPool.Names.SEARCH;
     }
+
+    /**
+     * A collect phase is interactive if it is limited to a few rows which are emitted as they are collected
+     * and the limit also bounds the number of documents which have to be visited.
+     * Collect phases which have to sort or aggregate all matching documents are not interactive.
+     */
+    static boolean isInteractive(RoutedCollectPhase collectPhase) {
+        Integer nodePageSizeHint = collectPhase.nodePageSizeHint();
+        if (collectPhase.maxRowGranularity() != RowGranularity.DOC
+            || collectPhase.orderBy() != null
+            || nodePageSizeHint == null
+            || nodePageSizeHint > INTERACTIVE_MAX_ROWS
+            || !isBoundedByQuery(collectPhase.where())) {
+            return false;
+        }
+        for (Projection projection : collectPhase.projections()) {
+            if (!(projection instanceof TopNProjection || projection instanceof EvalProjection)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A limit only bounds the number of visited documents if every document matches the query, or if
+     * the query only matches the documents of a few ids. A selective filter may have to scan the
+     * whole table to find the few rows of a limit.
+     */
+    private static boolean isBoundedByQuery(@Nullable Symbol where) {
+        if (where instanceof Literal) {
+            return Boolean.TRUE.equals(((Literal) where).value());
+        }
+        if (!(where instanceof Function)) {
+            return false;
+        }
+        Function function = (Function) where;
+        if (function.info().ident().name().equals(AndOperator.NAME)) {
+            for (Symbol argument : function.arguments()) {
+                if (isIdLookup(argument)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return isIdLookup(function);
+    }
+
+    private static boolean isIdLookup(Symbol symbol) {
+        if (!(symbol instanceof Function)) {
+            return false;
+        }
+        Function function = (Function) symbol;
+        String name = function.info().ident().name();
+        if (!name.equals(EqOperator.NAME) && !name.equals(AnyOperators.Names.EQ)) {
+            return false;
+        }
+        List<Symbol> arguments = function.arguments();
+        return arguments.get(0) instanceof Reference
+               && ((Reference) arguments.get(0)).column().equals(DocSysColumns.ID)
+               && arguments.get(1) instanceof Literal;
+    }
 }
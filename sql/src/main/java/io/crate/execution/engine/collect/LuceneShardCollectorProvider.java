@@ -30,6 +30,7 @@ import io.crate.execution.engine.collect.collectors.LuceneBatchIterator;
 import io.crate.execution.engine.collect.collectors.LuceneOrderedDocCollector;
 import io.crate.execution.engine.collect.collectors.OptimizeQueryForSearchAfter;
 import io.crate.execution.engine.collect.collectors.OrderedDocCollector;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.execution.engine.sort.LuceneSortGenerator;
 import io.crate.execution.jobs.NodeJobsCounter;
 import io.crate.execution.jobs.SharedShardContext;
@@ -73,6 +74,7 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
     private final DocInputFactory docInputFactory;
     private final BigArrays bigArrays;
     private final FieldTypeLookup fieldTypeLookup;
+    private final ShardLoad shardLoad;
 
     public LuceneShardCollectorProvider(Schemas schemas,
                                         LuceneQueryBuilder luceneQueryBuilder,
@@ -83,9 +85,10 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
                                         Settings settings,
                                         TransportActionProvider transportActionProvider,
                                         IndexShard indexShard,
-                                        BigArrays bigArrays) {
+                                        BigArrays bigArrays,
+                                        ShardLoad shardLoad) {
         super(clusterService, schemas, nodeJobsCounter, functions, threadPool, settings, transportActionProvider, indexShard,
-            new ShardRowContext(indexShard, clusterService), bigArrays);
+            new ShardRowContext(indexShard, clusterService, shardLoad), bigArrays);
         this.luceneQueryBuilder = luceneQueryBuilder;
         this.functions = functions;
         this.indexShard = indexShard;
@@ -97,6 +100,7 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
             new LuceneReferenceResolver(fieldTypeLookup, indexShard.indexSettings())
         );
         this.bigArrays = bigArrays;
+        this.shardLoad = shardLoad;
     }
 
     @Override
@@ -129,7 +133,8 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
                 getCollectorContext(sharedShardContext.readerId(), docCtx, queryShardContext::getForField),
                 collectTask.queryPhaseRamAccountingContext(),
                 docCtx.topLevelInputs(),
-                docCtx.expressions()
+                docCtx.expressions(),
+                shardLoad
             );
         } catch (Throwable t) {
             searcher.close();
@@ -206,7 +211,8 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
             optimizeQueryForSearchAfter,
             LuceneSortGenerator.generateLuceneSort(collectTask.txnCtx(), collectorContext, collectPhase.orderBy(), docInputFactory, fieldTypeLookup),
             ctx.topLevelInputs(),
-            ctx.expressions()
+            ctx.expressions(),
+            shardLoad
         );
     }
 
@@ -22,30 +22,45 @@
 
 package io.crate.execution.engine.collect;
 
+import com.google.common.collect.Iterables;
 import io.crate.Constants;
 import io.crate.breaker.RamAccountingContext;
+import io.crate.concurrent.CompletableFutures;
+import io.crate.data.AsyncCompositeBatchIterator;
 import io.crate.data.BatchIterator;
-import io.crate.data.CompositeBatchIterator;
+import io.crate.data.BatchIterators;
+import io.crate.data.CollectingBatchIterator;
 import io.crate.data.InMemoryBatchIterator;
 import io.crate.data.Row;
-import io.crate.data.RowConsumer;
-import io.crate.data.RowN;
-import io.crate.data.SentinelRow;
 import io.crate.execution.dsl.projection.Projection;
 import io.crate.execution.engine.collect.sources.ShardCollectSource;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.engine.pipeline.ProjectorFactory;
 import io.crate.execution.engine.pipeline.Projectors;
 import io.crate.expression.reference.Doc;
 import io.crate.expression.reference.doc.lucene.SourceFieldVisitor;
 import io.crate.metadata.TransactionContext;
 import io.crate.planner.operators.PKAndVersion;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.lucene.uid.Versions;
 import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.VersionFieldMapper;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.shard.ShardNotFoundException;
@@ -54,14 +69,17 @@ import org.elasticsearch.indices.IndicesService;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.IntSupplier;
 
 import static org.elasticsearch.common.xcontent.XContentHelper.convertToMap;
 
@@ -69,43 +87,238 @@ public final class PKLookupOperation {
 
     private final IndicesService indicesService;
     private final ShardCollectSource shardCollectSource;
+    private final Executor executor;
+    private final IntSupplier availableThreads;
+    private final ShardLoadStats shardLoadStats;
 
-    public PKLookupOperation(IndicesService indicesService, ShardCollectSource shardCollectSource) {
+    /**
+     * @param executor used to look up the documents of several shards concurrently.
+     * @param availableThreads the number of threads of the {@code executor} which may be used by one lookup.
+     */
+    public PKLookupOperation(IndicesService indicesService,
+                             ShardCollectSource shardCollectSource,
+                             Executor executor,
+                             IntSupplier availableThreads,
+                             ShardLoadStats shardLoadStats) {
         this.indicesService = indicesService;
         this.shardCollectSource = shardCollectSource;
+        this.executor = executor;
+        this.availableThreads = availableThreads;
+        this.shardLoadStats = shardLoadStats;
     }
 
+    /**
+     * Creates a BatchIterator which emits the documents of one shard after another.
+     * <p>
+     * The documents are looked up once the first batch is loaded; the shards are then looked up concurrently.
+     * The looked up sources are accounted with the {@code ramAccountingContext} and retained until the iterator
+     * is closed.
+     * </p>
+     */
     public BatchIterator<Doc> lookup(boolean ignoreMissing,
                                      Map<ShardId, List<PKAndVersion>> idsByShard,
-                                     boolean consumerRequiresRepeat) {
-        Stream<Doc> getResultStream = idsByShard.entrySet().stream()
-            .flatMap(entry -> {
-                ShardId shardId = entry.getKey();
-                IndexService indexService = indicesService.indexService(shardId.getIndex());
-                if (indexService == null) {
-                    if (ignoreMissing) {
-                        return Stream.empty();
+                                     RamAccountingContext ramAccountingContext) {
+        ArrayList<BatchIterator<Doc>> iterators = new ArrayList<>(idsByShard.size());
+        for (Map.Entry<ShardId, List<PKAndVersion>> entry : idsByShard.entrySet()) {
+            IndexShard shard = getShard(entry.getKey(), ignoreMissing);
+            if (shard == null) {
+                continue;
+            }
+            iterators.add(lookupDocs(shard, entry.getValue(), ramAccountingContext));
+        }
+        return concat(iterators);
+    }
+
+    private <T> BatchIterator<T> concat(List<BatchIterator<T>> iterators) {
+        switch (iterators.size()) {
+            case 0:
+                return InMemoryBatchIterator.empty(null);
+
+            case 1:
+                return iterators.get(0);
+
+            default:
+                //noinspection unchecked
+                return new AsyncCompositeBatchIterator<>(
+                    executor, availableThreads, iterators.toArray(new BatchIterator[0]));
+        }
+    }
+
+    @Nullable
+    private IndexShard getShard(ShardId shardId, boolean ignoreMissing) {
+        IndexService indexService = indicesService.indexService(shardId.getIndex());
+        if (indexService == null) {
+            if (ignoreMissing) {
+                return null;
+            }
+            throw new IndexNotFoundException(shardId.getIndex());
+        }
+        IndexShard shard = indexService.getShardOrNull(shardId.id());
+        if (shard == null) {
+            if (ignoreMissing) {
+                return null;
+            }
+            throw new ShardNotFoundException(shardId);
+        }
+        return shard;
+    }
+
+    /**
+     * @return a BatchIterator which looks up the documents of the shard once its first batch is loaded.
+     *         Missing documents are skipped.
+     */
+    private BatchIterator<Doc> lookupDocs(IndexShard shard,
+                                          List<PKAndVersion> pkAndVersions,
+                                          RamAccountingContext ramAccountingContext) {
+        return CollectingBatchIterator.newInstance(
+            () -> { },
+            t -> { },
+            () -> {
+                try {
+                    shardLoadStats.get(shard.shardId()).pkLookups(pkAndVersions.size());
+                    List<Doc> docs = lookupDocs(shard, pkAndVersions, ramAccountingContext);
+                    return CompletableFuture.completedFuture(Iterables.filter(docs, Objects::nonNull));
+                } catch (Exception e) {
+                    return CompletableFutures.failedFuture(e);
+                }
+            },
+            true
+        );
+    }
+
+    /**
+     * Looks up the documents of all given ids of one shard.
+     * <p>
+     * Like a realtime get, the shard is refreshed first if one of the documents has been changed since the last
+     * refresh. The ids are then looked up in each segment in the order of their uid terms, so that the terms enum
+     * of the segment only has to seek forward, and the sources are read in the order of the documents.
+     * </p>
+     *
+     * @param ramAccountingContext used to account the sources of the found documents.
+     * @return the documents in the order of the given ids; null for documents which don't exist.
+     * @throws VersionConflictEngineException if a document exists with a version other than the requested one.
+     */
+    static List<Doc> lookupDocs(IndexShard shard,
+                                List<PKAndVersion> pkAndVersions,
+                                @Nullable RamAccountingContext ramAccountingContext) throws IOException {
+        int numIds = pkAndVersions.size();
+        if (numIds == 0) {
+            return Collections.emptyList();
+        }
+        MapperService mapperService = shard.mapperService();
+        Term[] uidTerms = new Term[numIds];
+        Integer[] lookupOrder = new Integer[numIds];
+        for (int i = 0; i < numIds; i++) {
+            uidTerms[i] = mapperService.createUidTerm(Constants.DEFAULT_MAPPING_TYPE, pkAndVersions.get(i).id());
+            lookupOrder[i] = i;
+        }
+        Arrays.sort(lookupOrder, (a, b) -> uidTerms[a].compareTo(uidTerms[b]));
+
+        Doc[] docs = new Doc[numIds];
+        try (Engine.Searcher searcher = shard.acquireRealtimeSearcher("pk_lookup", Arrays.asList(uidTerms))) {
+            List<LeafReaderContext> leaves = searcher.reader().leaves();
+            int[] leafOrds = new int[numIds];
+            int[] docIds = new int[numIds];
+            Arrays.fill(leafOrds, -1);
+            int numFound = findDocs(leaves, uidTerms, lookupOrder, leafOrds, docIds);
+
+            Integer[] readOrder = new Integer[numFound];
+            for (int i = 0, j = 0; i < numIds; i++) {
+                if (leafOrds[i] != -1) {
+                    readOrder[j++] = i;
+                }
+            }
+            Arrays.sort(readOrder, (a, b) -> leafOrds[a] == leafOrds[b]
+                ? Integer.compare(docIds[a], docIds[b])
+                : Integer.compare(leafOrds[a], leafOrds[b]));
+
+            String indexName = shard.shardId().getIndexName();
+            LeafReader reader = null;
+            NumericDocValues versions = null;
+            int lastDocId = -1;
+            long version = Versions.NOT_FOUND;
+            for (int i : readOrder) {
+                LeafReader leafReader = leaves.get(leafOrds[i]).reader();
+                if (leafReader != reader) {
+                    reader = leafReader;
+                    versions = reader.getNumericDocValues(VersionFieldMapper.NAME);
+                    lastDocId = -1;
+                }
+                int docId = docIds[i];
+                // the same id may be requested several times, but doc values can only be advanced forward
+                if (docId != lastDocId) {
+                    if (versions == null || versions.advanceExact(docId) == false) {
+                        throw new IllegalStateException(
+                            "Document [" + docId + "] misses the [" + VersionFieldMapper.NAME + "] field");
                     }
-                    throw new IndexNotFoundException(shardId.getIndex());
+                    version = versions.longValue();
+                    lastDocId = docId;
+                }
+                PKAndVersion pkAndVersion = pkAndVersions.get(i);
+                if (VersionType.EXTERNAL.isVersionConflictForReads(version, pkAndVersion.version())) {
+                    throw new VersionConflictEngineException(
+                        shard.shardId(),
+                        Constants.DEFAULT_MAPPING_TYPE,
+                        pkAndVersion.id(),
+                        VersionType.EXTERNAL.explainConflictForReads(version, pkAndVersion.version()));
+                }
+                SourceFieldVisitor visitor = new SourceFieldVisitor();
+                reader.document(docId, visitor);
+                BytesReference source = visitor.source();
+                if (ramAccountingContext != null) {
+                    ramAccountingContext.addBytes(source.length());
+                }
+                docs[i] = new Doc(
+                    indexName,
+                    pkAndVersion.id(),
+                    version,
+                    () -> convertToMap(source, false, XContentType.JSON).v2(),
+                    source::utf8ToString
+                );
+            }
+        }
+        return Arrays.asList(docs);
+    }
+
+    /**
+     * Seeks the uid terms in the given {@code lookupOrder} within each segment and stores the segment and the id
+     * of the live document of each found uid in {@code leafOrds} and {@code docIds}.
+     *
+     * @return the number of found documents
+     */
+    private static int findDocs(List<LeafReaderContext> leaves,
+                                Term[] uidTerms,
+                                Integer[] lookupOrder,
+                                int[] leafOrds,
+                                int[] docIds) throws IOException {
+        int numFound = 0;
+        PostingsEnum postings = null;
+        for (LeafReaderContext leaf : leaves) {
+            LeafReader reader = leaf.reader();
+            // segments which only contain no-ops don't have any uid terms
+            Terms terms = reader.terms(uidTerms[0].field());
+            if (terms == null) {
+                continue;
+            }
+            TermsEnum termsEnum = terms.iterator();
+            Bits liveDocs = reader.getLiveDocs();
+            for (int i : lookupOrder) {
+                if (leafOrds[i] != -1 || termsEnum.seekExact(uidTerms[i].bytes()) == false) {
+                    continue;
                 }
-                IndexShard shard = indexService.getShardOrNull(shardId.id());
-                if (shard == null) {
-                    if (ignoreMissing) {
-                        return Stream.empty();
+                postings = termsEnum.postings(postings, PostingsEnum.NONE);
+                for (int doc = postings.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        leafOrds[i] = leaf.ord;
+                        docIds[i] = doc;
                     }
-                    throw new ShardNotFoundException(shardId);
                 }
-                return entry.getValue().stream()
-                    .map(pkAndVersion -> lookupDoc(shard, pkAndVersion.id(), pkAndVersion.version()))
-                    .filter(Objects::nonNull);
-            });
-        final Iterable<Doc> getResultIterable;
-        if (consumerRequiresRepeat) {
-            getResultIterable = getResultStream.collect(Collectors.toList());
-        } else {
-            getResultIterable = getResultStream::iterator;
+                if (leafOrds[i] != -1) {
+                    numFound++;
+                }
+            }
         }
-        return InMemoryBatchIterator.of(getResultIterable, null);
+        return numFound;
     }
 
     @Nullable
@@ -130,12 +343,13 @@ public final class PKLookupOperation {
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                BytesReference source = visitor.source();
                 return new Doc(
                     shard.shardId().getIndexName(),
                     id,
                     docIdAndVersion.version,
-                    convertToMap(visitor.source(), false, XContentType.JSON).v2(),
-                    () -> visitor.source().utf8ToString()
+                    () -> convertToMap(source, false, XContentType.JSON).v2(),
+                    source::utf8ToString
                 );
             } finally {
                 getResult.release();
@@ -145,31 +359,23 @@ public final class PKLookupOperation {
         }
     }
 
-    public void runWithShardProjections(UUID jobId,
-                                        TransactionContext txnCtx,
-                                        RamAccountingContext ramAccountingContext,
-                                        boolean ignoreMissing,
-                                        Map<ShardId, List<PKAndVersion>> idsByShard,
-                                        Collection<? extends Projection> projections,
-                                        RowConsumer nodeConsumer,
-                                        Function<Doc, Row> resultToRow) {
-        String[] emptyFields = new String[0];
+    /**
+     * Like {@link #lookup(boolean, Map, RamAccountingContext)}, but applies the shard projections to the rows of
+     * each shard.
+     */
+    public BatchIterator<Row> lookupWithShardProjections(UUID jobId,
+                                                         TransactionContext txnCtx,
+                                                         RamAccountingContext ramAccountingContext,
+                                                         boolean ignoreMissing,
+                                                         Map<ShardId, List<PKAndVersion>> idsByShard,
+                                                         Collection<? extends Projection> projections,
+                                                         Function<Doc, Row> resultToRow) {
         ArrayList<ShardAndIds> shardAndIdsList = new ArrayList<>(idsByShard.size());
         for (Map.Entry<ShardId, List<PKAndVersion>> idsByShardEntry : idsByShard.entrySet()) {
             ShardId shardId = idsByShardEntry.getKey();
-            IndexService indexService = indicesService.indexService(shardId.getIndex());
-            if (indexService == null) {
-                if (ignoreMissing) {
-                    continue;
-                }
-                throw new IndexNotFoundException(shardId.getIndex());
-            }
-            IndexShard shard = indexService.getShardOrNull(shardId.id());
+            IndexShard shard = getShard(shardId, ignoreMissing);
             if (shard == null) {
-                if (ignoreMissing) {
-                    continue;
-                }
-                throw new ShardNotFoundException(shardId);
+                continue;
             }
             try {
                 shardAndIdsList.add(
@@ -187,22 +393,12 @@ public final class PKLookupOperation {
         }
         ArrayList<BatchIterator<Row>> iterators = new ArrayList<>(shardAndIdsList.size());
         for (ShardAndIds shardAndIds : shardAndIdsList) {
-            Stream<Row> rowStream = shardAndIds.value.stream()
-                .map(pkAndVersion -> lookupDoc(shardAndIds.shard, pkAndVersion.id(), pkAndVersion.version()))
-                .map(resultToRow);
-
             Projectors projectors = new Projectors(
                 projections, jobId, txnCtx, ramAccountingContext, shardAndIds.projectorFactory);
-            final Iterable<Row> rowIterable;
-            if (nodeConsumer.requiresScroll() && !projectors.providesIndependentScroll()) {
-                rowIterable = rowStream.map(row -> new RowN(row.materialize())).collect(Collectors.toList());
-            } else {
-                rowIterable = rowStream::iterator;
-            }
-            iterators.add(projectors.wrap(InMemoryBatchIterator.of(rowIterable, SentinelRow.SENTINEL)));
+            BatchIterator<Doc> docs = lookupDocs(shardAndIds.shard, shardAndIds.value, ramAccountingContext);
+            iterators.add(projectors.wrap(BatchIterators.map(docs, resultToRow)));
         }
-        CompositeBatchIterator<Row> batchIterator = new CompositeBatchIterator<>(iterators.toArray(new BatchIterator[0]));
-        nodeConsumer.accept(batchIterator, null);
+        return concat(iterators);
     }
 
     private static class ShardAndIds {
@@ -0,0 +1,102 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect;
+
+import io.crate.data.BatchIterator;
+import io.crate.data.ForwardingBatchIterator;
+import io.crate.data.Row;
+import io.crate.execution.jobs.OperationProgress;
+
+/**
+ * BatchIterator which reports the rows it emits to the {@link OperationProgress} of an operation.
+ * <p>
+ * The rows are counted locally and added to the progress in chunks to keep the overhead per row low.
+ * If the iterator collects a shard, the shard is reported as completed once the iterator is exhausted.
+ * </p>
+ */
+public final class ProgressBatchIterator extends ForwardingBatchIterator<Row> {
+
+    static final int REPORT_INTERVAL = 1_000;
+
+    private final BatchIterator<Row> delegate;
+    private final OperationProgress progress;
+    private final boolean collectsShard;
+
+    private int unreportedRows = 0;
+    private boolean completed = false;
+
+    public static ProgressBatchIterator forShard(BatchIterator<Row> delegate, OperationProgress progress) {
+        return new ProgressBatchIterator(delegate, progress, true);
+    }
+
+    public ProgressBatchIterator(BatchIterator<Row> delegate, OperationProgress progress) {
+        this(delegate, progress, false);
+    }
+
+    private ProgressBatchIterator(BatchIterator<Row> delegate, OperationProgress progress, boolean collectsShard) {
+        this.delegate = delegate;
+        this.progress = progress;
+        this.collectsShard = collectsShard;
+    }
+
+    @Override
+    protected BatchIterator<Row> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean moveNext() {
+        if (delegate.moveNext()) {
+            unreportedRows++;
+            if (unreportedRows == REPORT_INTERVAL) {
+                reportRows();
+            }
+            return true;
+        }
+        reportRows();
+        if (collectsShard && !completed && delegate.allLoaded()) {
+            completed = true;
+            progress.shardCompleted();
+        }
+        return false;
+    }
+
+    @Override
+    public void moveToStart() {
+        reportRows();
+        super.moveToStart();
+    }
+
+    @Override
+    public void close() {
+        reportRows();
+        super.close();
+    }
+
+    private void reportRows() {
+        if (unreportedRows > 0) {
+            progress.addProcessedRows(unreportedRows);
+            unreportedRows = 0;
+        }
+    }
+}
@@ -106,7 +106,7 @@ public abstract class ShardCollectorProvider {
         RoutedCollectPhase normalizedCollectNode = collectPhase.normalize(shardNormalizer, null);
         BatchIterator<Row> fusedIterator = getProjectionFusedIterator(normalizedCollectNode, collectTask);
         if (fusedIterator != null) {
-            return fusedIterator;
+            return ProgressBatchIterator.forShard(fusedIterator, collectTask.progress());
         }
         final BatchIterator<Row> iterator;
         if (QueryClause.canMatch(normalizedCollectNode.where())) {
@@ -120,7 +120,8 @@ public abstract class ShardCollectorProvider {
             collectTask.txnCtx(),
             collectTask.queryPhaseRamAccountingContext(),
             projectorFactory,
-            iterator
+            collectTask.progress(),
+            ProgressBatchIterator.forShard(iterator, collectTask.progress())
         );
     }
 
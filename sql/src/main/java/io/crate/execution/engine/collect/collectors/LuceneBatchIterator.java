@@ -29,6 +29,7 @@ import io.crate.data.BatchIterator;
 import io.crate.data.Input;
 import io.crate.data.Row;
 import io.crate.exceptions.Exceptions;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.InputRow;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
@@ -55,9 +56,15 @@ import java.util.concurrent.CompletionStage;
  * It supports filtering the data using a lucene {@link Query} or via {@code minScore}.
  * <p>
  * Row data depends on {@code inputs} and {@code expressions}. The data is unordered.
+ * <p>
+ * The collected documents and the time spent within {@link #moveNext()} are recorded in the {@link ShardLoad} of
+ * the shard once the iterator is exhausted or closed. To keep the per row overhead low, only every
+ * {@link #TIMING_SAMPLE_INTERVAL}th call is timed and the time of the others is extrapolated from them.
  */
 public class LuceneBatchIterator implements BatchIterator<Row> {
 
+    static final int TIMING_SAMPLE_INTERVAL = 128;
+
     private final IndexSearcher indexSearcher;
     private final Query query;
     private final CollectorContext collectorContext;
@@ -69,6 +76,7 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
     private Weight weight;
     private final CollectorFieldsVisitor visitor;
     private final Float minScore;
+    private final ShardLoad shardLoad;
 
     private Iterator<LeafReaderContext> leavesIt;
     private LeafReaderContext currentLeaf;
@@ -76,6 +84,13 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
     private DocIdSetIterator currentDocIdSetIt;
     private boolean closed = false;
     private volatile Throwable killed;
+    private long collectedDocs = 0;
+    private long moveNextCalls = 0;
+    private long timedCalls = 0;
+    /**
+     * Time spent within the timed {@link #moveNext()} calls, excluding the time the consumer spends between them.
+     */
+    private long timedNanos = 0;
 
     public LuceneBatchIterator(IndexSearcher indexSearcher,
                                Query query,
@@ -84,7 +99,8 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
                                CollectorContext collectorContext,
                                RamAccountingContext ramAccountingContext,
                                List<? extends Input<?>> inputs,
-                               Collection<? extends LuceneCollectorExpression<?>> expressions) {
+                               Collection<? extends LuceneCollectorExpression<?>> expressions,
+                               ShardLoad shardLoad) {
         this.indexSearcher = indexSearcher;
         this.query = query;
         this.doScores = doScores || minScore != null;
@@ -94,6 +110,7 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
         this.ramAccountingContext = ramAccountingContext;
         this.row = new InputRow(inputs);
         this.expressions = expressions.toArray(new LuceneCollectorExpression[0]);
+        this.shardLoad = shardLoad;
         leaves = indexSearcher.getTopReaderContext().leaves();
         leavesIt = leaves.iterator();
     }
@@ -112,19 +129,26 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
     @Override
     public boolean moveNext() {
         raiseIfClosedOrKilled();
-        if (weight == null) {
-            try {
+        boolean timed = moveNextCalls++ % TIMING_SAMPLE_INTERVAL == 0;
+        long startNanos = timed ? System.nanoTime() : 0L;
+        boolean hasNext;
+        try {
+            if (weight == null) {
                 weight = createWeight();
-            } catch (IOException e) {
-                Exceptions.rethrowUnchecked(e);
             }
-        }
-
-        try {
-            return innerMoveNext();
+            hasNext = innerMoveNext();
         } catch (IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (timed) {
+                timedNanos += System.nanoTime() - startNanos;
+                timedCalls++;
+            }
+        }
+        if (!hasNext) {
+            recordLoad();
         }
+        return hasNext;
     }
 
     private boolean innerMoveNext() throws IOException {
@@ -177,10 +201,23 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
         currentLeaf = null;
     }
 
+    private void recordLoad() {
+        if (timedCalls == 0) {
+            return;
+        }
+        shardLoad.docsCollected(collectedDocs);
+        shardLoad.queryTime(timedNanos / timedCalls * moveNextCalls);
+        collectedDocs = 0;
+        moveNextCalls = 0;
+        timedCalls = 0;
+        timedNanos = 0;
+    }
+
     @Override
     public void close() {
         closed = true;
         clearState();
+        recordLoad();
     }
 
     @Override
@@ -226,6 +263,7 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
 
     private void onDoc(int doc, LeafReader reader) throws IOException {
         checkCircuitBreaker();
+        collectedDocs++;
         if (visitor.required()) {
             visitor.reset();
             reader.document(doc, visitor);
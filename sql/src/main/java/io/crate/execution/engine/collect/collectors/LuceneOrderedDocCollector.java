@@ -25,6 +25,7 @@ package io.crate.execution.engine.collect.collectors;
 import com.google.common.collect.Iterables;
 import io.crate.data.Input;
 import io.crate.data.Row;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.execution.engine.distribution.merge.KeyIterable;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
@@ -64,7 +65,7 @@ public class LuceneOrderedDocCollector extends OrderedDocCollector {
     private final ScoreDocRowFunction rowFunction;
     private final DummyScorer scorer;
     private final IndexSearcher searcher;
-
+    private final ShardLoad shardLoad;
 
     @Nullable
     private volatile FieldDoc lastDoc = null;
@@ -79,7 +80,8 @@ public class LuceneOrderedDocCollector extends OrderedDocCollector {
                                      Function<FieldDoc, Query> searchAfterQueryOptimize,
                                      Sort sort,
                                      List<? extends Input<?>> inputs,
-                                     Collection<? extends LuceneCollectorExpression<?>> expressions) {
+                                     Collection<? extends LuceneCollectorExpression<?>> expressions,
+                                     ShardLoad shardLoad) {
         super(shardId);
         this.searcher = searcher;
         this.query = query;
@@ -91,6 +93,7 @@ public class LuceneOrderedDocCollector extends OrderedDocCollector {
         this.sort = sort;
         this.scorer = new DummyScorer();
         this.expressions = expressions;
+        this.shardLoad = shardLoad;
         this.rowFunction = new ScoreDocRowFunction(
             searcher.getIndexReader(),
             inputs,
@@ -167,8 +170,12 @@ public class LuceneOrderedDocCollector extends OrderedDocCollector {
         if (minScore != null) {
             collector = new MinimumScoreCollector(collector, minScore);
         }
+        long startNanos = System.nanoTime();
         searcher.search(query, collector);
-        return scoreDocToIterable(topFieldCollector.topDocs().scoreDocs);
+        ScoreDoc[] scoreDocs = topFieldCollector.topDocs().scoreDocs;
+        shardLoad.queryTime(System.nanoTime() - startNanos);
+        shardLoad.docsCollected(scoreDocs.length);
+        return scoreDocToIterable(scoreDocs);
     }
 
     private KeyIterable<ShardId, Row> scoreDocToIterable(ScoreDoc[] scoreDocs) {
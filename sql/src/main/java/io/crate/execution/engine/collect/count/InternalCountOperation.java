@@ -24,6 +24,7 @@ package io.crate.execution.engine.collect.count;
 import com.carrotsearch.hppc.IntIndexedContainer;
 import com.carrotsearch.hppc.cursors.IntCursor;
 import io.crate.execution.support.ThreadPools;
+import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.Symbol;
 import io.crate.lucene.LuceneQueryBuilder;
 import io.crate.metadata.IndexParts;
@@ -59,6 +60,7 @@ public class InternalCountOperation implements CountOperation {
     private final IndicesService indicesService;
     private final ClusterService clusterService;
     private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor interactiveExecutor;
     private final int numProcessors;
 
     @Inject
@@ -70,6 +72,7 @@ public class InternalCountOperation implements CountOperation {
         this.queryBuilder = queryBuilder;
         this.clusterService = clusterService;
         executor = (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.SEARCH);
+        interactiveExecutor = (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.GET);
         this.indicesService = indicesService;
         this.numProcessors = EsExecutors.numberOfProcessors(settings);
     }
@@ -100,9 +103,12 @@ public class InternalCountOperation implements CountOperation {
             }
         }
         MergePartialCountFunction mergeFunction = new MergePartialCountFunction();
+        // Counting all documents only reads the number of documents of the segments,
+        // so it doesn't need to wait for long running scans on the search thread pool.
+        ThreadPoolExecutor countExecutor = Literal.BOOLEAN_TRUE.equals(filter) ? interactiveExecutor : executor;
         CompletableFuture<List<Long>> futurePartialCounts = ThreadPools.runWithAvailableThreads(
-            executor,
-            ThreadPools.numIdleThreads(executor, numProcessors),
+            countExecutor,
+            ThreadPools.numIdleThreads(countExecutor, numProcessors),
             suppliers
         );
         return futurePartialCounts.thenApply(mergeFunction);
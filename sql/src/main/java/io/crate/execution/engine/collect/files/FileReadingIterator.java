@@ -23,12 +23,14 @@ package io.crate.execution.engine.collect.files;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.CountingInputStream;
 import io.crate.concurrent.CompletableFutures;
 import io.crate.data.BatchIterator;
 import io.crate.data.CloseAssertingBatchIterator;
 import io.crate.data.Input;
 import io.crate.data.Row;
 import io.crate.execution.dsl.phases.FileUriCollectPhase;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.InputRow;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.common.collect.Tuple;
@@ -63,6 +65,7 @@ public class FileReadingIterator implements BatchIterator<Row> {
 
     private static final Logger LOGGER = LogManager.getLogger(FileReadingIterator.class);
     private static final int MAX_SOCKET_TIMEOUT_RETRIES = 5;
+    private static final int PROGRESS_REPORT_INTERVAL = 1_000;
     private final Map<String, FileInputFactory> fileInputFactories;
     private final Boolean shared;
     private final int numReaders;
@@ -83,6 +86,10 @@ public class FileReadingIterator implements BatchIterator<Row> {
     private long currentLineNumber;
     private final Row row;
     private LineProcessor lineProcessor;
+    private final OperationProgress progress;
+    private CountingInputStream currentStream = null;
+    private long reportedBytes = 0L;
+    private int unreportedRows = 0;
 
     private FileReadingIterator(Collection<String> fileUris,
                                 List<? extends Input<?>> inputs,
@@ -92,7 +99,8 @@ public class FileReadingIterator implements BatchIterator<Row> {
                                 Boolean shared,
                                 int numReaders,
                                 int readerNumber,
-                                FileUriCollectPhase.InputFormat inputFormat) {
+                                FileUriCollectPhase.InputFormat inputFormat,
+                                OperationProgress progress) {
         this.compressed = compression != null && compression.equalsIgnoreCase("gzip");
         this.row = new InputRow(inputs);
         this.fileInputFactories = fileInputFactories;
@@ -102,6 +110,7 @@ public class FileReadingIterator implements BatchIterator<Row> {
         this.urisWithGlob = getUrisWithGlob(fileUris);
         this.collectorExpressions = collectorExpressions;
         this.inputFormat = inputFormat;
+        this.progress = progress;
         initCollectorState();
     }
 
@@ -123,9 +132,10 @@ public class FileReadingIterator implements BatchIterator<Row> {
                                                  Boolean shared,
                                                  int numReaders,
                                                  int readerNumber,
-                                                 FileUriCollectPhase.InputFormat inputFormat) {
+                                                 FileUriCollectPhase.InputFormat inputFormat,
+                                                 OperationProgress progress) {
         return new CloseAssertingBatchIterator<>(new FileReadingIterator(fileUris, inputs, collectorExpressions,
-            compression, fileInputFactories, shared, numReaders, readerNumber, inputFormat));
+            compression, fileInputFactories, shared, numReaders, readerNumber, inputFormat, progress));
     }
 
     private void initCollectorState() {
@@ -155,6 +165,10 @@ public class FileReadingIterator implements BatchIterator<Row> {
                     return moveNext();
                 }
                 lineProcessor.process(line);
+                unreportedRows++;
+                if (unreportedRows == PROGRESS_REPORT_INTERVAL) {
+                    reportProgress();
+                }
                 return true;
             } else if (currentInputIterator != null && currentInputIterator.hasNext()) {
                 advanceToNextUri(currentInput.v1());
@@ -195,13 +209,31 @@ public class FileReadingIterator implements BatchIterator<Row> {
 
     private void initCurrentReader(FileInput fileInput, URI uri) throws IOException {
         lineProcessor.startWithUri(uri);
-        InputStream stream = fileInput.getStream(uri);
-        currentReader = createBufferedReader(stream);
+        currentStream = new CountingInputStream(fileInput.getStream(uri));
+        reportedBytes = 0L;
+        currentReader = createBufferedReader(currentStream);
         currentLineNumber = 0;
         lineProcessor.readFirstLine(currentUri, inputFormat, currentReader);
     }
 
+    /**
+     * Adds the lines processed and the bytes read since the last report to the progress of the operation.
+     */
+    private void reportProgress() {
+        if (unreportedRows > 0) {
+            progress.addProcessedRows(unreportedRows);
+            unreportedRows = 0;
+        }
+        if (currentStream != null) {
+            long readBytes = currentStream.getCount();
+            progress.addProcessedBytes(readBytes - reportedBytes);
+            reportedBytes = readBytes;
+        }
+    }
+
     private void closeCurrentReader() {
+        reportProgress();
+        currentStream = null;
         if (currentReader != null) {
             try {
                 currentReader.close();
@@ -86,7 +86,8 @@ public class FileCollectSource implements CollectSource {
             fileUriCollectPhase.sharedStorage(),
             fileUriCollectPhase.nodeIds().size(),
             getReaderNumber(fileUriCollectPhase.nodeIds(), clusterService.state().nodes().getLocalNodeId()),
-            fileUriCollectPhase.inputFormat()
+            fileUriCollectPhase.inputFormat(),
+            collectTask.progress()
         );
     }
 
@@ -50,6 +50,7 @@ public class ProjectorSetupCollectSource implements CollectSource {
             collectTask.txnCtx(),
             collectTask.queryPhaseRamAccountingContext(),
             projectorFactory,
+            collectTask.progress(),
             sourceDelegate.getIterator(txnCtx, collectPhase, collectTask, supportMoveToStart)
         );
     }
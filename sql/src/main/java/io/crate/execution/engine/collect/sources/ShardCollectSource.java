@@ -40,16 +40,19 @@ import io.crate.execution.dsl.phases.CollectPhase;
 import io.crate.execution.dsl.phases.RoutedCollectPhase;
 import io.crate.execution.dsl.projection.Projections;
 import io.crate.execution.engine.collect.CollectTask;
+import io.crate.execution.engine.collect.ProgressBatchIterator;
 import io.crate.execution.engine.collect.RemoteCollectorFactory;
 import io.crate.execution.engine.collect.RowsTransformer;
 import io.crate.execution.engine.collect.ShardCollectorProvider;
 import io.crate.execution.engine.collect.collectors.OrderedDocCollector;
 import io.crate.execution.engine.collect.collectors.OrderedLuceneBatchIteratorFactory;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.engine.pipeline.ProjectionToProjectorVisitor;
 import io.crate.execution.engine.pipeline.ProjectorFactory;
 import io.crate.execution.engine.pipeline.Projectors;
 import io.crate.execution.engine.sort.OrderingByPosition;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.execution.jobs.SharedShardContext;
 import io.crate.execution.jobs.SharedShardContexts;
 import io.crate.expression.InputFactory;
@@ -61,12 +64,14 @@ import io.crate.lucene.LuceneQueryBuilder;
 import io.crate.metadata.Functions;
 import io.crate.metadata.IndexParts;
 import io.crate.metadata.MapBackedRefResolver;
+import io.crate.metadata.RelationName;
 import io.crate.metadata.RowGranularity;
 import io.crate.metadata.Schemas;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.doc.DocSysColumns;
 import io.crate.metadata.shard.unassigned.UnassignedShard;
 import io.crate.metadata.sys.SysShardsTableInfo;
+import io.crate.planner.TableStats;
 import io.crate.planner.consumer.OrderByPositionVisitor;
 import io.crate.plugin.IndexEventListenerProxy;
 import io.crate.types.DataType;
@@ -94,6 +99,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -151,6 +157,8 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
     private final StaticTableReferenceResolver<UnassignedShard> unassignedShardReferenceResolver;
     private final StaticTableReferenceResolver<ShardRowContext> shardReferenceResolver;
     private final IntSupplier availableThreads;
+    private final TableStats tableStats;
+    private final ShardLoadStats shardLoadStats;
 
     @Inject
     public ShardCollectSource(Settings settings,
@@ -166,8 +174,12 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
                               SystemCollectSource systemCollectSource,
                               IndexEventListenerProxy indexEventListenerProxy,
                               BlobIndicesService blobIndicesService,
-                              BigArrays bigArrays) {
+                              BigArrays bigArrays,
+                              TableStats tableStats,
+                              ShardLoadStats shardLoadStats) {
         super(settings);
+        this.tableStats = tableStats;
+        this.shardLoadStats = shardLoadStats;
         this.unassignedShardReferenceResolver = new StaticTableReferenceResolver<>(
             SysShardsTableInfo.unassignedShardsExpressions());
         this.shardReferenceResolver = new StaticTableReferenceResolver<>(SysShardsTableInfo.expressions());
@@ -188,7 +200,8 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
             functions,
             luceneQueryBuilder,
             nodeJobsCounter,
-            bigArrays);
+            bigArrays,
+            shardLoadStats);
         EvaluatingNormalizer nodeNormalizer = new EvaluatingNormalizer(
             functions,
             RowGranularity.DOC,
@@ -223,6 +236,7 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
         public void afterIndexShardCreated(IndexShard indexShard) {
             logger.debug("creating shard in {} {} {}", ShardCollectSource.this, indexShard.shardId(), shards.size());
             assert !shards.containsKey(indexShard.shardId()) : "shard entry already exists upon add";
+            shardLoadStats.add(indexShard.shardId());
 
             /* The creation of a ShardCollectorProvider accesses the clusterState, which leads to an
              * assertionError if accessed within a ClusterState-Update thread.
@@ -242,10 +256,12 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
             logger.debug("removing shard upon close in {} shard={} numShards={}", ShardCollectSource.this, shardId, shards.size());
             assert shards.containsKey(shardId) : "shard entry missing upon close";
             shards.remove(shardId);
+            shardLoadStats.remove(shardId);
         }
 
         @Override
         public void beforeIndexShardDeleted(ShardId shardId, Settings indexSettings) {
+            shardLoadStats.remove(shardId);
             if (shards.remove(shardId) != null) {
                 logger.debug("removed shard upon delete in {} shard={} remainingShards={}", ShardCollectSource.this, shardId, shards.size());
             } else {
@@ -268,7 +284,8 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
             collectPhase.jobId(),
             collectTask.txnCtx(),
             collectTask.queryPhaseRamAccountingContext(),
-            sharedProjectorFactory
+            sharedProjectorFactory,
+            collectTask.progress()
         );
         boolean requireMoveToStartSupport = supportMoveToStart && !projectors.providesIndependentScroll();
 
@@ -276,13 +293,18 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
             return projectors.wrap(InMemoryBatchIterator.of(
                 getShardsIterator(collectTask.txnCtx(), collectPhase, localNodeId), SentinelRow.SENTINEL));
         }
+        OperationProgress progress = collectTask.progress();
+        progress.estimatedRows(estimatedRows(collectPhase, localNodeId));
         OrderBy orderBy = collectPhase.orderBy();
         if (collectPhase.maxRowGranularity() == RowGranularity.DOC && orderBy != null) {
-            return projectors.wrap(createMultiShardScoreDocCollector(
-                collectPhase,
-                requireMoveToStartSupport,
-                collectTask,
-                localNodeId
+            return projectors.wrap(new ProgressBatchIterator(
+                createMultiShardScoreDocCollector(
+                    collectPhase,
+                    requireMoveToStartSupport,
+                    collectTask,
+                    localNodeId
+                ),
+                progress
             ));
         }
 
@@ -291,6 +313,7 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
         List<BatchIterator<Row>> iterators = indexShards == null
             ? Collections.emptyList()
             : getIterators(collectTask, collectPhase, requireMoveToStartSupport, indexShards);
+        progress.numShards(iterators.size());
 
         final BatchIterator<Row> result;
         switch (iterators.size()) {
@@ -309,7 +332,7 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
 
                     //noinspection unchecked
                     result = new AsyncCompositeBatchIterator<>(
-                        executor, availableThreads, iterators.toArray(new BatchIterator[0]));
+                        progress.accounted(executor), availableThreads, iterators.toArray(new BatchIterator[0]));
                 } else {
                     //noinspection unchecked
                     result = new CompositeBatchIterator<>(iterators.toArray(new BatchIterator[0]));
@@ -370,12 +393,42 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
                 orderBy.nullsFirst()
             ),
             new RowAccountingWithEstimators(columnTypes, collectTask.queryPhaseRamAccountingContext()),
-            executor,
+            collectTask.progress().accounted(executor),
             availableThreads,
             supportMoveToStart
         );
     }
 
+    /**
+     * Estimates the number of rows of the shards collected on this node based on the {@link TableStats},
+     * assuming the rows of a table are evenly distributed across its shards.
+     *
+     * @return the estimated number of rows or {@link OperationProgress#UNKNOWN} if there are no statistics.
+     */
+    private long estimatedRows(RoutedCollectPhase collectPhase, String localNodeId) {
+        Map<String, Map<String, IntIndexedContainer>> locations = collectPhase.routing().locations();
+        Map<String, IntIndexedContainer> localIndexShards = locations.get(localNodeId);
+        if (localIndexShards == null) {
+            return 0L;
+        }
+        Map<RelationName, Integer> numShardsByRelation = new HashMap<>();
+        for (Map<String, IntIndexedContainer> indexShards : locations.values()) {
+            for (Map.Entry<String, IntIndexedContainer> entry : indexShards.entrySet()) {
+                numShardsByRelation.merge(RelationName.fromIndexName(entry.getKey()), entry.getValue().size(), Integer::sum);
+            }
+        }
+        double estimatedRows = 0.0d;
+        for (Map.Entry<String, IntIndexedContainer> entry : localIndexShards.entrySet()) {
+            RelationName relationName = RelationName.fromIndexName(entry.getKey());
+            long numDocs = tableStats.numDocs(relationName);
+            if (numDocs < 0) {
+                return OperationProgress.UNKNOWN;
+            }
+            estimatedRows += numDocs * ((double) entry.getValue().size() / numShardsByRelation.get(relationName));
+        }
+        return Math.round(estimatedRows);
+    }
+
     private ShardCollectorProvider getCollectorProviderSafe(ShardId shardId) {
         Supplier<ShardCollectorProvider> supplier = shards.get(shardId);
         if (supplier == null) {
@@ -430,7 +483,9 @@ public class ShardCollectSource extends AbstractComponent implements CollectSour
                     if (Symbols.containsColumn(collectPhase.toCollect(), DocSysColumns.FETCHID)) {
                         throw e;
                     }
-                    iterators.add(remoteCollectorFactory.createCollector(shardId, collectPhase, collectTask, shardCollectorProviderFactory));
+                    iterators.add(ProgressBatchIterator.forShard(
+                        remoteCollectorFactory.createCollector(shardId, collectPhase, collectTask, shardCollectorProviderFactory),
+                        collectTask.progress()));
                 } catch (InterruptedException e) {
                     throw new RuntimeException(e);
                 } catch (IndexNotFoundException e) {
@@ -28,6 +28,7 @@ import io.crate.execution.TransportActionProvider;
 import io.crate.execution.engine.collect.BlobShardCollectorProvider;
 import io.crate.execution.engine.collect.LuceneShardCollectorProvider;
 import io.crate.execution.engine.collect.ShardCollectorProvider;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.jobs.NodeJobsCounter;
 import io.crate.lucene.LuceneQueryBuilder;
 import io.crate.metadata.Functions;
@@ -53,6 +54,7 @@ public class ShardCollectorProviderFactory {
     private final NodeJobsCounter nodeJobsCounter;
     private final BigArrays bigArrays;
     private final Settings settings;
+    private final ShardLoadStats shardLoadStats;
 
     ShardCollectorProviderFactory(ClusterService clusterService,
                                   Settings settings,
@@ -63,8 +65,10 @@ public class ShardCollectorProviderFactory {
                                   Functions functions,
                                   LuceneQueryBuilder luceneQueryBuilder,
                                   NodeJobsCounter nodeJobsCounter,
-                                  BigArrays bigArrays) {
+                                  BigArrays bigArrays,
+                                  ShardLoadStats shardLoadStats) {
         this.settings = settings;
+        this.shardLoadStats = shardLoadStats;
         this.schemas = schemas;
         this.clusterService = clusterService;
         this.threadPool = threadPool;
@@ -88,7 +92,8 @@ public class ShardCollectorProviderFactory {
                 threadPool,
                 settings,
                 transportActionProvider,
-                bigArrays);
+                bigArrays,
+                shardLoadStats.get(indexShard.shardId()));
         } else {
             return new LuceneShardCollectorProvider(
                 schemas,
@@ -100,7 +105,8 @@ public class ShardCollectorProviderFactory {
                 settings,
                 transportActionProvider,
                 indexShard,
-                bigArrays);
+                bigArrays,
+                shardLoadStats.get(indexShard.shardId()));
         }
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A statement recorded by the {@link WorkloadCapture} together with everything needed to replay it:
+ * its parameters, the session it was executed in and the session settings at that time and the time it arrived.
+ */
+public final class CapturedStatement implements Writeable {
+
+    private final long arrivalTime;
+    private final int sessionId;
+    private final String username;
+    private final List<String> searchPath;
+    private final boolean hashJoinEnabled;
+    private final boolean semiJoinsRewriteEnabled;
+    private final String statement;
+    private final Object[] params;
+
+    public CapturedStatement(long arrivalTime,
+                             int sessionId,
+                             String username,
+                             List<String> searchPath,
+                             boolean hashJoinEnabled,
+                             boolean semiJoinsRewriteEnabled,
+                             String statement,
+                             Object[] params) {
+        this.arrivalTime = arrivalTime;
+        this.sessionId = sessionId;
+        this.username = username;
+        this.searchPath = searchPath;
+        this.hashJoinEnabled = hashJoinEnabled;
+        this.semiJoinsRewriteEnabled = semiJoinsRewriteEnabled;
+        this.statement = statement;
+        this.params = params;
+    }
+
+    public CapturedStatement(StreamInput in) throws IOException {
+        arrivalTime = in.readVLong();
+        sessionId = in.readVInt();
+        username = in.readString();
+        int numSchemas = in.readVInt();
+        searchPath = new ArrayList<>(numSchemas);
+        for (int i = 0; i < numSchemas; i++) {
+            searchPath.add(in.readString());
+        }
+        hashJoinEnabled = in.readBoolean();
+        semiJoinsRewriteEnabled = in.readBoolean();
+        statement = in.readString();
+        int numParams = in.readVInt();
+        params = new Object[numParams];
+        for (int i = 0; i < numParams; i++) {
+            params[i] = in.readGenericValue();
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(arrivalTime);
+        out.writeVInt(sessionId);
+        out.writeString(username);
+        out.writeVInt(searchPath.size());
+        for (String schema : searchPath) {
+            out.writeString(schema);
+        }
+        out.writeBoolean(hashJoinEnabled);
+        out.writeBoolean(semiJoinsRewriteEnabled);
+        out.writeString(statement);
+        out.writeVInt(params.length);
+        for (Object param : params) {
+            out.writeGenericValue(param);
+        }
+    }
+
+    /**
+     * The point in time in milliseconds since epoch when the statement arrived on the node.
+     */
+    public long arrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * The id of the session which executed the statement, unique within the node that captured it.
+     */
+    public int sessionId() {
+        return sessionId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public List<String> searchPath() {
+        return searchPath;
+    }
+
+    public boolean hashJoinEnabled() {
+        return hashJoinEnabled;
+    }
+
+    public boolean semiJoinsRewriteEnabled() {
+        return semiJoinsRewriteEnabled;
+    }
+
+    public String statement() {
+        return statement;
+    }
+
+    public Object[] params() {
+        return params;
+    }
+}
@@ -32,7 +32,7 @@ import io.crate.breaker.CrateCircuitBreakerService;
 import io.crate.breaker.JobContextLogSizeEstimator;
 import io.crate.breaker.OperationContextLogSizeEstimator;
 import io.crate.breaker.SizeEstimator;
-import io.crate.common.collections.BlockingEvictingQueue;
+import io.crate.breaker.SlowQueryLogSizeEstimator;
 import io.crate.data.Input;
 import io.crate.execution.engine.collect.NestableCollectExpression;
 import io.crate.expression.ExpressionsInput;
@@ -41,6 +41,7 @@ import io.crate.expression.eval.EvaluatingNormalizer;
 import io.crate.expression.reference.StaticTableReferenceResolver;
 import io.crate.expression.reference.sys.job.ContextLog;
 import io.crate.expression.reference.sys.job.JobContextLog;
+import io.crate.expression.reference.sys.job.SlowQueryLog;
 import io.crate.expression.reference.sys.operation.OperationContextLog;
 import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.CoordinatorTxnCtx;
@@ -62,6 +63,11 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
@@ -109,14 +115,31 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
             Setting.Property.Dynamic),
         DataTypes.STRING
     );
+    public static final CrateSetting<Integer> STATS_JOBS_STATEMENTS_SIZE_SETTING = CrateSetting.of(Setting.intSetting(
+        "stats.jobs_statements_size", 500, 0, Setting.Property.NodeScope, Setting.Property.Dynamic), DataTypes.INTEGER);
     public static final CrateSetting<Integer> STATS_OPERATIONS_LOG_SIZE_SETTING = CrateSetting.of(Setting.intSetting(
         "stats.operations_log_size", 10_000, 0, Setting.Property.NodeScope, Setting.Property.Dynamic), DataTypes.INTEGER);
     public static final CrateSetting<TimeValue> STATS_OPERATIONS_LOG_EXPIRATION_SETTING = CrateSetting.of(Setting.timeSetting(
         "stats.operations_log_expiration", TimeValue.timeValueSeconds(0L), Setting.Property.NodeScope, Setting.Property.Dynamic),
         DataTypes.STRING);
+    public static final CrateSetting<TimeValue> STATS_SLOW_QUERIES_THRESHOLD_SETTING = CrateSetting.of(Setting.timeSetting(
+        "stats.slow_queries_threshold", TimeValue.timeValueSeconds(0L), Setting.Property.NodeScope, Setting.Property.Dynamic),
+        DataTypes.STRING);
+    public static final CrateSetting<Integer> STATS_SLOW_QUERIES_SIZE_SETTING = CrateSetting.of(Setting.intSetting(
+        "stats.slow_queries_size", 100, 0, Setting.Property.NodeScope, Setting.Property.Dynamic), DataTypes.INTEGER);
+    public static final CrateSetting<Boolean> STATS_WORKLOAD_CAPTURE_ENABLED_SETTING = CrateSetting.of(Setting.boolSetting(
+        "stats.workload_capture_enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic), DataTypes.BOOLEAN);
+
+    /**
+     * The directory into which the workload is captured. Only configurable in the node settings,
+     * so that statements can't make the node write files at arbitrary locations.
+     */
+    public static final Setting<String> STATS_WORKLOAD_CAPTURE_PATH_SETTING = Setting.simpleString(
+        "stats.workload_capture_path", Setting.Property.NodeScope);
 
     private static final JobContextLogSizeEstimator JOB_CONTEXT_LOG_ESTIMATOR = new JobContextLogSizeEstimator();
     private static final OperationContextLogSizeEstimator OPERATION_CONTEXT_LOG_SIZE_ESTIMATOR = new OperationContextLogSizeEstimator();
+    private static final SlowQueryLogSizeEstimator SLOW_QUERY_LOG_SIZE_ESTIMATOR = new SlowQueryLogSizeEstimator();
 
     private final ScheduledExecutorService scheduler;
     private final CrateCircuitBreakerService breakerService;
@@ -125,6 +148,7 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
     private final ExpressionAnalyzer expressionAnalyzer;
     private final EvaluatingNormalizer normalizer;
     private final CoordinatorTxnCtx systemTransactionCtx;
+    private final String workloadCapturePath;
 
     private JobsLogs jobsLogs;
 
@@ -136,6 +160,7 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
     volatile TimeValue jobsLogExpiration;
     volatile int operationsLogSize;
     volatile TimeValue operationsLogExpiration;
+    volatile int slowQueriesSize;
 
     @Inject
     public JobsLogService(Settings settings,
@@ -183,6 +208,11 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
         );
         setOperationsLogSink(
             STATS_OPERATIONS_LOG_SIZE_SETTING.setting().get(settings), STATS_OPERATIONS_LOG_EXPIRATION_SETTING.setting().get(settings));
+        jobsLogs.updateStatementMetricsSize(STATS_JOBS_STATEMENTS_SIZE_SETTING.setting().get(settings));
+        setSlowQueriesLogSink(STATS_SLOW_QUERIES_SIZE_SETTING.setting().get(settings));
+        setSlowQueriesThreshold(STATS_SLOW_QUERIES_THRESHOLD_SETTING.setting().get(settings));
+        workloadCapturePath = STATS_WORKLOAD_CAPTURE_PATH_SETTING.get(settings);
+        setWorkloadCaptureEnabled(STATS_WORKLOAD_CAPTURE_ENABLED_SETTING.setting().get(settings));
 
         clusterSettings.addSettingsUpdateConsumer(STATS_JOBS_LOG_FILTER.setting(), filter -> {
             JobsLogService.this.memoryFilter = createFilter(filter, STATS_JOBS_LOG_FILTER.getKey());
@@ -199,6 +229,13 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
             this::setJobsLogSink);
         clusterSettings.addSettingsUpdateConsumer(
             STATS_OPERATIONS_LOG_SIZE_SETTING.setting(), STATS_OPERATIONS_LOG_EXPIRATION_SETTING.setting(), this::setOperationsLogSink);
+        clusterSettings.addSettingsUpdateConsumer(
+            STATS_JOBS_STATEMENTS_SIZE_SETTING.setting(), jobsLogs::updateStatementMetricsSize);
+        clusterSettings.addSettingsUpdateConsumer(STATS_SLOW_QUERIES_SIZE_SETTING.setting(), this::setSlowQueriesLogSink);
+        clusterSettings.addSettingsUpdateConsumer(
+            STATS_SLOW_QUERIES_THRESHOLD_SETTING.setting(), this::setSlowQueriesThreshold);
+        clusterSettings.addSettingsUpdateConsumer(
+            STATS_WORKLOAD_CAPTURE_ENABLED_SETTING.setting(), this::setWorkloadCaptureEnabled);
     }
 
     private Symbol asSymbol(String expression) {
@@ -267,32 +304,25 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
     }
 
     private <E extends ContextLog> LogSink<E> createSink(int size, TimeValue expiration, SizeEstimator<E> sizeEstimator, String breaker) {
-        Queue<E> q;
         long expirationMillis = expiration.getMillis();
-        final Runnable onClose;
         if (size == 0 && expirationMillis == 0) {
             return NoopLogSink.instance();
-        } else if (expirationMillis > 0) {
-            q = new ConcurrentLinkedDeque<>();
-            long delay = 0L;
-            ScheduledFuture<?> scheduledFuture = TimeBasedQEviction.scheduleTruncate(
-                delay,
-                clearInterval(expiration),
-                q,
-                scheduler,
-                expiration
-            );
-            onClose = () -> scheduledFuture.cancel(false);
-        } else {
-            q = new BlockingEvictingQueue<>(size);
-            onClose = () -> {
-            };
+        } else if (expirationMillis == 0) {
+            return new RingBufferLogSink<>(size, breakerService.getBreaker(breaker), sizeEstimator);
         }
-
+        Queue<E> q = new ConcurrentLinkedDeque<>();
+        long delay = 0L;
+        ScheduledFuture<?> scheduledFuture = TimeBasedQEviction.scheduleTruncate(
+            delay,
+            clearInterval(expiration),
+            q,
+            scheduler,
+            expiration
+        );
         RamAccountingQueue<E> accountingQueue = new RamAccountingQueue<>(q, breakerService.getBreaker(breaker), sizeEstimator);
         return new QueueSink<>(accountingQueue, () -> {
             accountingQueue.close();
-            onClose.run();
+            scheduledFuture.cancel(false);
         });
     }
 
@@ -312,15 +342,60 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
         jobsLogs.updateOperationsLog(newSink);
     }
 
+    private void setSlowQueriesLogSink(int size) {
+        slowQueriesSize = size;
+        if (!isEnabled) {
+            return;
+        }
+        updateSlowQueriesSink(size);
+    }
+
+    @VisibleForTesting
+    void updateSlowQueriesSink(int size) {
+        LogSink<SlowQueryLog> newSink = createSink(size, TimeValue.timeValueSeconds(0), SLOW_QUERY_LOG_SIZE_ESTIMATOR,
+            CrateCircuitBreakerService.JOBS_LOG);
+        jobsLogs.updateSlowQueriesLog(newSink);
+    }
+
+    private void setSlowQueriesThreshold(TimeValue threshold) {
+        jobsLogs.updateSlowQueriesThreshold(Math.max(0L, threshold.millis()));
+    }
+
+    private void setWorkloadCaptureEnabled(boolean enabled) {
+        if (enabled == false) {
+            jobsLogs.updateWorkloadCapture(null);
+            return;
+        }
+        if (workloadCapturePath.isEmpty()) {
+            logger.warn("Setting [{}] is enabled, but [{}] isn't configured, statements are not captured",
+                STATS_WORKLOAD_CAPTURE_ENABLED_SETTING.getKey(), STATS_WORKLOAD_CAPTURE_PATH_SETTING.getKey());
+            jobsLogs.updateWorkloadCapture(null);
+            return;
+        }
+        Path file = null;
+        try {
+            Path dir = Paths.get(workloadCapturePath);
+            Files.createDirectories(dir);
+            file = dir.resolve("workload-" + System.currentTimeMillis() + ".capture");
+            jobsLogs.updateWorkloadCapture(WorkloadCapture.open(file));
+        } catch (IOException | InvalidPathException e) {
+            logger.warn("Couldn't open workload capture file " + (file == null ? workloadCapturePath : file) +
+                        ", statements are not captured", e);
+            jobsLogs.updateWorkloadCapture(null);
+        }
+    }
+
     private void setStatsEnabled(boolean enableStats) {
         if (enableStats) {
             isEnabled = true;
             setOperationsLogSink(operationsLogSize, operationsLogExpiration);
             setJobsLogSink(jobsLogSize, jobsLogExpiration);
+            setSlowQueriesLogSink(slowQueriesSize);
         } else {
             isEnabled = false;
             updateOperationSink(0, TimeValue.timeValueSeconds(0));
             updateJobSink(0, TimeValue.timeValueSeconds(0));
+            updateSlowQueriesSink(0);
             jobsLogs.resetMetrics();
         }
     }
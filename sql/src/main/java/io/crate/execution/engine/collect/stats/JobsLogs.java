@@ -22,24 +22,32 @@
 
 package io.crate.execution.engine.collect.stats;
 
+import com.google.common.collect.ImmutableList;
+import io.crate.action.sql.SessionContext;
 import io.crate.auth.user.User;
+import io.crate.data.Row;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.reference.sys.job.JobContext;
 import io.crate.expression.reference.sys.job.JobContextLog;
+import io.crate.expression.reference.sys.job.SlowQueryLog;
 import io.crate.expression.reference.sys.operation.OperationContext;
 import io.crate.expression.reference.sys.operation.OperationContextLog;
 import io.crate.metadata.sys.ClassifiedMetrics;
+import io.crate.metadata.sys.StatementMetrics;
 import io.crate.planner.operators.StatementClassifier;
 import org.elasticsearch.common.collect.Tuple;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import static io.crate.planner.Plan.StatementType.UNDEFINED;
 
@@ -47,7 +55,7 @@ import static io.crate.planner.Plan.StatementType.UNDEFINED;
 /**
  * JobsLogs is responsible for adding jobs and operations of that node.
  * It also provides the functionality to expose that data for system tables,
- * such as sys.jobs, sys.jobs_log, sys.operations and sys.operations_log;
+ * such as sys.jobs, sys.jobs_log, sys.operations, sys.operations_log and sys.slow_queries;
  * <p>
  * The data is exposed via the properties
  *
@@ -55,6 +63,7 @@ import static io.crate.planner.Plan.StatementType.UNDEFINED;
  *   - {@link #jobsLog()} ()}
  *   - {@link #activeOperations()} ()}
  *   - {@link #operationsLog()} ()}
+ *   - {@link #slowQueriesLog()}
  *
  * Note that on configuration updates (E.g.: resizing of jobs-log size, etc.) the Iterable instances previously returned
  * from the properties may become obsolete.
@@ -67,15 +76,29 @@ public class JobsLogs {
     private final Map<UUID, JobContext> jobsTable = new ConcurrentHashMap<>();
     private final Map<Tuple<Integer, UUID>, OperationContext> operationsTable = new ConcurrentHashMap<>();
 
-    private LogSink<JobContextLog> jobsLog = NoopLogSink.instance();
-    private LogSink<OperationContextLog> operationsLog = NoopLogSink.instance();
+    /**
+     * The sinks are written without a lock to not serialize all statements.
+     * An entry added concurrently to replacing a sink (on a settings change) can get lost.
+     */
+    private volatile LogSink<JobContextLog> jobsLog = NoopLogSink.instance();
+    private volatile LogSink<OperationContextLog> operationsLog = NoopLogSink.instance();
+    private volatile LogSink<SlowQueryLog> slowQueriesLog = NoopLogSink.instance();
 
-    private final ReadWriteLock jobsLogRWLock = new ReentrantReadWriteLock();
-    private final ReadWriteLock operationsLogRWLock = new ReentrantReadWriteLock();
+    /**
+     * Jobs running at least this long in milliseconds are logged into the slow queries log, 0 disables it.
+     */
+    private volatile long slowQueriesThreshold = 0L;
+
+    /**
+     * Records the statements arriving on this node if a capture file is configured, null otherwise.
+     */
+    @Nullable
+    private volatile WorkloadCapture workloadCapture = null;
 
     private final LongAdder activeRequests = new LongAdder();
     private final BooleanSupplier enabled;
     private final ClassifiedMetrics classifiedMetrics = new ClassifiedMetrics();
+    private final StatementMetrics statementMetrics = new StatementMetrics(0);
 
     public JobsLogs(BooleanSupplier enabled) {
         this.enabled = enabled;
@@ -89,6 +112,14 @@ public class JobsLogs {
         return enabled.getAsBoolean();
     }
 
+    /**
+     * Indicates if slow queries are logged, only then the plan of a job needs to be provided
+     * to {@link #logExecutionStart(UUID, String, User, StatementClassifier.Classification, Supplier)}.
+     */
+    public boolean isSlowQueriesLogEnabled() {
+        return slowQueriesThreshold > 0 && isEnabled();
+    }
+
     /**
      * Generate a unique ID for an operation based on jobId and operationId.
      */
@@ -103,11 +134,56 @@ public class JobsLogs {
      * If {@link #isEnabled()} is false this method won't do anything.
      */
     public void logExecutionStart(UUID jobId, String statement, User user, StatementClassifier.Classification classification) {
+        logExecutionStart(jobId, statement, user, classification, null);
+    }
+
+    /**
+     * Track a job. If the job has finished {@link #logExecutionEnd(java.util.UUID, String)}
+     * must be called.
+     * <p>
+     * If {@link #isEnabled()} is false this method won't do anything.
+     *
+     * @param explainPlan renders the plan of the job, only invoked if the job is logged as a slow query.
+     */
+    public void logExecutionStart(UUID jobId,
+                                  String statement,
+                                  User user,
+                                  StatementClassifier.Classification classification,
+                                  @Nullable Supplier<Map<String, Object>> explainPlan) {
         activeRequests.increment();
         if (!isEnabled()) {
             return;
         }
-        jobsTable.put(jobId, new JobContext(jobId, statement, System.currentTimeMillis(), user, classification));
+        jobsTable.put(jobId, new JobContext(
+            jobId,
+            statement,
+            System.currentTimeMillis(),
+            user,
+            classification,
+            slowQueriesThreshold > 0 ? explainPlan : null));
+    }
+
+    /**
+     * Record a statement together with its parameters and the settings of the session
+     * into the workload capture, so that it can be replayed later on.
+     * <p>
+     * If {@link #isEnabled()} is false or no capture file is configured this method won't do anything.
+     */
+    public void captureStatement(String statement, Row params, SessionContext sessionContext) {
+        WorkloadCapture capture = workloadCapture;
+        if (capture == null || !isEnabled()) {
+            return;
+        }
+        capture.capture(new CapturedStatement(
+            System.currentTimeMillis(),
+            sessionContext.id(),
+            sessionContext.user().name(),
+            ImmutableList.copyOf(sessionContext.searchPath()),
+            sessionContext.isHashJoinEnabled(),
+            sessionContext.getSemiJoinsRewriteEnabled(),
+            statement,
+            params.materialize()
+        ));
     }
 
     /**
@@ -116,28 +192,118 @@ public class JobsLogs {
      * If {@link #isEnabled()} is false this method won't do anything.
      */
     public void logExecutionEnd(UUID jobId, @Nullable String errorMessage) {
+        logExecutionEnd(jobId, errorMessage, 0L);
+    }
+
+    /**
+     * mark a job as finished.
+     * <p>
+     * If {@link #isEnabled()} is false this method won't do anything.
+     *
+     * @param rowCount the number of rows returned to the client
+     */
+    public void logExecutionEnd(UUID jobId, @Nullable String errorMessage, long rowCount) {
         activeRequests.decrement();
         JobContext jobContext = jobsTable.remove(jobId);
         if (!isEnabled() || jobContext == null) {
             return;
         }
+        addResourcesOfRunningOperations(jobContext);
+        Supplier<Map<String, Object>> explainPlan = jobContext.takeExplainPlan();
         JobContextLog jobContextLog = new JobContextLog(jobContext, errorMessage);
-        recordMetrics(jobContextLog);
-        jobsLogRWLock.readLock().lock();
-        try {
-            jobsLog.add(jobContextLog);
-        } finally {
-            jobsLogRWLock.readLock().unlock();
+        recordMetrics(jobContextLog, rowCount);
+        jobsLog.add(jobContextLog);
+        long threshold = slowQueriesThreshold;
+        if (threshold > 0 && jobContextLog.ended() - jobContextLog.started() >= threshold) {
+            slowQueriesLog.add(slowQueryLog(jobContext, jobContextLog, explainPlan));
         }
     }
 
-    private void recordMetrics(JobContextLog log) {
+    /**
+     * Captures the plan and the operations of a slow job. This is only done once a job has been found to be slow,
+     * so fast jobs don't pay for it.
+     */
+    private SlowQueryLog slowQueryLog(JobContext jobContext,
+                                      JobContextLog jobContextLog,
+                                      @Nullable Supplier<Map<String, Object>> explainPlan) {
+        Map<String, Object> plan = null;
+        if (explainPlan != null) {
+            try {
+                plan = explainPlan.get();
+            } catch (Exception e) {
+                // the plan is informational, the job is logged without it
+            }
+        }
+        UUID jobId = jobContext.id();
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (OperationContextLog operationContextLog : operationsLog) {
+            if (operationContextLog.jobId().equals(jobId)) {
+                operations.add(operationMap(
+                    operationContextLog.id(),
+                    operationContextLog.name(),
+                    operationContextLog.started(),
+                    operationContextLog.ended(),
+                    operationContextLog.usedBytes(),
+                    operationContextLog.cpuTime(),
+                    operationContextLog.allocatedBytes()));
+            }
+        }
+        for (OperationContext operationContext : operationsTable.values()) {
+            if (operationContext.jobId.equals(jobId)) {
+                operations.add(operationMap(
+                    operationContext.id,
+                    operationContext.name,
+                    operationContext.started,
+                    null,
+                    operationContext.usedBytes,
+                    operationContext.progress.cpuTime(),
+                    operationContext.progress.allocatedBytes()));
+            }
+        }
+        return new SlowQueryLog(jobContextLog, plan, operations);
+    }
+
+    private static Map<String, Object> operationMap(int id,
+                                                    String name,
+                                                    long started,
+                                                    @Nullable Long ended,
+                                                    long usedBytes,
+                                                    long cpuTime,
+                                                    long allocatedBytes) {
+        Map<String, Object> operation = new HashMap<>();
+        operation.put("id", id);
+        operation.put("name", name);
+        operation.put("started", started);
+        operation.put("ended", ended);
+        operation.put("used_bytes", usedBytes);
+        operation.put("cpu_time", cpuTime);
+        operation.put("allocated_bytes", allocatedBytes);
+        return operation;
+    }
+
+    /**
+     * Operations of the job may still be finishing (e.g. releasing their resources) after the
+     * result has been sent; their resources used so far are added as they can't be added on finish anymore.
+     */
+    private void addResourcesOfRunningOperations(JobContext jobContext) {
+        for (OperationContext operationContext : operationsTable.values()) {
+            if (operationContext.jobId.equals(jobContext.id())) {
+                OperationProgress progress = operationContext.progress;
+                jobContext.addResources(progress.cpuTime(), progress.allocatedBytes());
+            }
+        }
+    }
+
+    private void recordMetrics(JobContextLog log, long rowCount) {
         StatementClassifier.Classification classification = log.classification();
         assert classification != null : "A job must have a classification";
+        long duration = log.ended() - log.started();
         if (log.errorMessage() == null) {
-            classifiedMetrics.recordValue(classification, log.ended() - log.started());
+            classifiedMetrics.recordValue(classification, duration);
+            statementMetrics.recordValue(log.statement(), duration, rowCount, log.ended());
         } else {
-            classifiedMetrics.recordFailedExecution(classification, log.ended() - log.started());
+            classifiedMetrics.recordFailedExecution(classification, duration);
+            statementMetrics.recordFailedExecution(log.statement(), duration, log.ended());
         }
     }
 
@@ -151,20 +317,21 @@ public class JobsLogs {
     public void logPreExecutionFailure(UUID jobId, String stmt, String errorMessage, User user) {
         JobContextLog jobContextLog = new JobContextLog(
             new JobContext(jobId, stmt, System.currentTimeMillis(), user, new StatementClassifier.Classification(UNDEFINED)), errorMessage);
-        jobsLogRWLock.readLock().lock();
-        try {
-            jobsLog.add(jobContextLog);
-        } finally {
-            jobsLogRWLock.readLock().unlock();
+        jobsLog.add(jobContextLog);
+        if (isEnabled()) {
+            recordMetrics(jobContextLog, 0L);
         }
-        recordMetrics(jobContextLog);
     }
 
     public void operationStarted(int operationId, UUID jobId, String name) {
+        operationStarted(operationId, jobId, name, new OperationProgress());
+    }
+
+    public void operationStarted(int operationId, UUID jobId, String name, OperationProgress progress) {
         if (isEnabled()) {
             operationsTable.put(
                 uniqueOperationId(operationId, jobId),
-                new OperationContext(operationId, jobId, name, System.currentTimeMillis()));
+                new OperationContext(operationId, jobId, name, System.currentTimeMillis(), progress));
         }
     }
 
@@ -172,6 +339,10 @@ public class JobsLogs {
         return classifiedMetrics;
     }
 
+    public Iterable<StatementMetrics.Metrics> statementMetrics() {
+        return statementMetrics;
+    }
+
     public void operationFinished(int operationId, UUID jobId, @Nullable String errorMessage, long usedBytes) {
         if (!isEnabled()) {
             return;
@@ -183,13 +354,13 @@ public class JobsLogs {
             return;
         }
         operationContext.usedBytes = usedBytes;
-        OperationContextLog operationContextLog = new OperationContextLog(operationContext, errorMessage);
-        operationsLogRWLock.readLock().lock();
-        try {
-            operationsLog.add(operationContextLog);
-        } finally {
-            operationsLogRWLock.readLock().unlock();
+        JobContext jobContext = jobsTable.get(jobId);
+        if (jobContext != null) {
+            OperationProgress progress = operationContext.progress;
+            jobContext.addResources(progress.cpuTime(), progress.allocatedBytes());
         }
+        OperationContextLog operationContextLog = new OperationContextLog(operationContext, errorMessage);
+        operationsLog.add(operationContextLog);
     }
 
     public Iterable<JobContext> activeJobs() {
@@ -197,12 +368,7 @@ public class JobsLogs {
     }
 
     public Iterable<JobContextLog> jobsLog() {
-        jobsLogRWLock.readLock().lock();
-        try {
-            return jobsLog;
-        } finally {
-            jobsLogRWLock.readLock().unlock();
-        }
+        return jobsLog;
     }
 
     public Iterable<OperationContext> activeOperations() {
@@ -210,46 +376,60 @@ public class JobsLogs {
     }
 
     public Iterable<OperationContextLog> operationsLog() {
-        operationsLogRWLock.readLock().lock();
-        try {
-            return operationsLog;
-        } finally {
-            operationsLogRWLock.readLock().unlock();
-        }
+        return operationsLog;
+    }
+
+    public Iterable<SlowQueryLog> slowQueriesLog() {
+        return slowQueriesLog;
     }
 
     public long activeRequests() {
         return activeRequests.longValue();
     }
 
-    void updateOperationsLog(LogSink<OperationContextLog> sink) {
-        operationsLogRWLock.writeLock().lock();
-        try {
-            sink.addAll(operationsLog);
-            operationsLog.close();
-            operationsLog = sink;
-        } finally {
-            operationsLogRWLock.writeLock().unlock();
-        }
+    synchronized void updateOperationsLog(LogSink<OperationContextLog> sink) {
+        sink.addAll(operationsLog);
+        operationsLog.close();
+        operationsLog = sink;
     }
 
-    void updateJobsLog(LogSink<JobContextLog> sink) {
-        jobsLogRWLock.writeLock().lock();
-        try {
-            sink.addAll(jobsLog);
-            jobsLog.close();
-            jobsLog = sink;
-        } finally {
-            jobsLogRWLock.writeLock().unlock();
+    synchronized void updateJobsLog(LogSink<JobContextLog> sink) {
+        sink.addAll(jobsLog);
+        jobsLog.close();
+        jobsLog = sink;
+    }
+
+    synchronized void updateSlowQueriesLog(LogSink<SlowQueryLog> sink) {
+        sink.addAll(slowQueriesLog);
+        slowQueriesLog.close();
+        slowQueriesLog = sink;
+    }
+
+    void updateSlowQueriesThreshold(long thresholdMillis) {
+        slowQueriesThreshold = thresholdMillis;
+    }
+
+    synchronized void updateWorkloadCapture(@Nullable WorkloadCapture capture) {
+        WorkloadCapture previous = workloadCapture;
+        workloadCapture = capture;
+        if (previous != null) {
+            previous.close();
         }
     }
 
+    void updateStatementMetricsSize(int size) {
+        statementMetrics.maxEntries(size);
+    }
+
     void resetMetrics() {
         classifiedMetrics.reset();
+        statementMetrics.reset();
     }
 
     public void close() {
         jobsLog.close();
         operationsLog.close();
+        slowQueriesLog.close();
+        updateWorkloadCapture(null);
     }
 }
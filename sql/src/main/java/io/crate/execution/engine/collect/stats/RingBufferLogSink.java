@@ -0,0 +1,146 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.breaker.SizeEstimator;
+import io.crate.expression.reference.sys.job.ContextLog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A size bounded log which can be written by many threads without contending on a lock.
+ *
+ * The entries are written into a single ring buffer; a global sequence assigns each entry its slot, so the buffer
+ * always holds the last {@code size} added entries and a full buffer overwrites its oldest entry.
+ *
+ * The memory of the entries is only added to the breaker in batches.
+ * If the limit of the breaker is exceeded the log is cleared, like {@link RamAccountingQueue} does.
+ */
+public final class RingBufferLogSink<T extends ContextLog> implements LogSink<T> {
+
+    private static final Logger LOGGER = LogManager.getLogger(RingBufferLogSink.class);
+
+    static final long ACCOUNTING_BATCH_SIZE = 64 * 1024;
+
+    private final AtomicReferenceArray<T> entries;
+    private final AtomicLong writeIndex = new AtomicLong(0);
+    private final AtomicLong unaccountedBytes = new AtomicLong(0);
+    private final CircuitBreaker breaker;
+    private final SizeEstimator<T> sizeEstimator;
+    private volatile RamAccountingContext context;
+
+    /**
+     * @param size the number of entries retained by the log
+     */
+    public RingBufferLogSink(int size, CircuitBreaker breaker, SizeEstimator<T> sizeEstimator) {
+        assert size > 0 : "size must be greater than 0";
+        this.entries = new AtomicReferenceArray<>(size);
+        this.breaker = breaker;
+        this.sizeEstimator = sizeEstimator;
+        this.context = new RamAccountingContext(contextId(), breaker);
+    }
+
+    private static String contextId() {
+        return String.format(Locale.ENGLISH, "RingBufferLogSink[%s]", UUID.randomUUID().toString());
+    }
+
+    @Override
+    public void add(T item) {
+        int idx = (int) (writeIndex.getAndIncrement() % entries.length());
+        T evicted = entries.getAndSet(idx, item);
+        long bytes = sizeEstimator.estimateSize(item);
+        if (evicted != null) {
+            bytes -= sizeEstimator.estimateSize(evicted);
+        }
+        if (unaccountedBytes.addAndGet(bytes) >= ACCOUNTING_BATCH_SIZE) {
+            account(unaccountedBytes.getAndSet(0));
+        }
+    }
+
+    private void account(long bytes) {
+        RamAccountingContext ctx = context;
+        ctx.addBytesWithoutBreaking(bytes);
+        if (ctx.exceededBreaker()) {
+            synchronized (this) {
+                if (ctx != context) {
+                    // cleared concurrently
+                    return;
+                }
+                if (LOGGER.isWarnEnabled()) {
+                    LOGGER.warn("Memory limit for breaker [{}] was exceeded. Log [{}] is cleared.",
+                        breaker.getName(), ctx.contextId());
+                }
+                clear();
+                context = new RamAccountingContext(contextId(), breaker);
+            }
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+        unaccountedBytes.set(0);
+        context.close();
+    }
+
+    @Override
+    public void addAll(Iterable<T> iterable) {
+        for (T t : iterable) {
+            add(t);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the most recent entries, from the oldest to the most recently added one.
+     * Entries added concurrently to the iteration may or may not be included.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        int capacity = entries.length();
+        List<T> result = new ArrayList<>(capacity);
+        int start = (int) (writeIndex.get() % capacity);
+        for (int i = 0; i < capacity; i++) {
+            T entry = entries.get((start + i) % capacity);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The read and write load of a shard.
+ * <p>
+ * Counts the indexed, collected and fetched documents, the primary key lookups and the time spent executing
+ * queries on the shard. Next to the totals, a rate per second is maintained for each of them as an exponentially
+ * weighted moving average over the last minute, in the same way as the unix load average.
+ * </p>
+ * The counters are {@link LongAdder}s so that recording is cheap even if many threads operate on the same shard.
+ * The moving averages are updated in {@link #TICK_INTERVAL_SECONDS} intervals whenever load is recorded or read,
+ * so that the load recorded between two reads is attributed to the intervals in which it occurred.
+ */
+public final class ShardLoad {
+
+    static final int TICK_INTERVAL_SECONDS = 5;
+    private static final long TICK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(TICK_INTERVAL_SECONDS);
+    private static final double ONE_MINUTE_ALPHA = 1 - Math.exp(-TICK_INTERVAL_SECONDS / 60.0);
+
+    private final LongSupplier nanoTime;
+    private final AtomicLong lastTick;
+
+    private final Meter indexedDocs = new Meter();
+    private final Meter collectedDocs = new Meter();
+    private final Meter fetchedDocs = new Meter();
+    private final Meter pkLookups = new Meter();
+    private final Meter queryTime = new Meter();
+
+    public ShardLoad() {
+        this(System::nanoTime);
+    }
+
+    ShardLoad(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.lastTick = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    public void docsIndexed(long numDocs) {
+        tickIfNecessary();
+        indexedDocs.mark(numDocs);
+    }
+
+    public void docsCollected(long numDocs) {
+        tickIfNecessary();
+        collectedDocs.mark(numDocs);
+    }
+
+    public void docsFetched(long numDocs) {
+        tickIfNecessary();
+        fetchedDocs.mark(numDocs);
+    }
+
+    public void pkLookups(long numLookups) {
+        tickIfNecessary();
+        pkLookups.mark(numLookups);
+    }
+
+    public void queryTime(long nanos) {
+        tickIfNecessary();
+        queryTime.mark(nanos);
+    }
+
+    public long indexedDocs() {
+        return indexedDocs.count();
+    }
+
+    public long collectedDocs() {
+        return collectedDocs.count();
+    }
+
+    public long fetchedDocs() {
+        return fetchedDocs.count();
+    }
+
+    public long pkLookups() {
+        return pkLookups.count();
+    }
+
+    /**
+     * @return the total time spent executing queries in ms
+     */
+    public long queryTime() {
+        return TimeUnit.NANOSECONDS.toMillis(queryTime.count());
+    }
+
+    /**
+     * @return the number of indexed documents per second
+     */
+    public double indexedDocsRate() {
+        tickIfNecessary();
+        return indexedDocs.rate();
+    }
+
+    /**
+     * @return the number of collected documents per second
+     */
+    public double collectedDocsRate() {
+        tickIfNecessary();
+        return collectedDocs.rate();
+    }
+
+    /**
+     * @return the number of fetched documents per second
+     */
+    public double fetchedDocsRate() {
+        tickIfNecessary();
+        return fetchedDocs.rate();
+    }
+
+    /**
+     * @return the number of primary key lookups per second
+     */
+    public double pkLookupsRate() {
+        tickIfNecessary();
+        return pkLookups.rate();
+    }
+
+    /**
+     * @return the time spent executing queries in ms per second
+     */
+    public double queryTimeRate() {
+        tickIfNecessary();
+        return queryTime.rate() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private void tickIfNecessary() {
+        long oldTick = lastTick.get();
+        long newTick = nanoTime.getAsLong();
+        long age = newTick - oldTick;
+        if (age < TICK_INTERVAL_NANOS) {
+            return;
+        }
+        long newIntervalStartTick = newTick - age % TICK_INTERVAL_NANOS;
+        if (lastTick.compareAndSet(oldTick, newIntervalStartTick)) {
+            long requiredTicks = age / TICK_INTERVAL_NANOS;
+            for (long i = 0; i < requiredTicks; i++) {
+                indexedDocs.tick();
+                collectedDocs.tick();
+                fetchedDocs.tick();
+                pkLookups.tick();
+                queryTime.tick();
+            }
+        }
+    }
+
+    private static final class Meter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder uncounted = new LongAdder();
+        private volatile boolean initialized = false;
+        private volatile double rate = 0.0;
+
+        void mark(long n) {
+            count.add(n);
+            uncounted.add(n);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double rate() {
+            return rate;
+        }
+
+        void tick() {
+            double intervalRate = uncounted.sumThenReset() / (double) TICK_INTERVAL_SECONDS;
+            if (initialized) {
+                rate += ONE_MINUTE_ALPHA * (intervalRate - rate);
+            } else {
+                rate = intervalRate;
+                initialized = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.index.shard.ShardId;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ShardLoad} of the shards allocated on this node.
+ * <p>
+ * Entries are added once a shard is created and removed once it is closed,
+ * see {@link io.crate.execution.engine.collect.sources.ShardCollectSource}.
+ */
+@Singleton
+public class ShardLoadStats {
+
+    private final Map<ShardId, ShardLoad> loads = new ConcurrentHashMap<>();
+
+    public void add(ShardId shardId) {
+        loads.putIfAbsent(shardId, new ShardLoad());
+    }
+
+    /**
+     * @return the load of the shard or a detached instance if the shard is unknown, e.g. because it got closed
+     *         concurrently. Doesn't create an entry to not leak the load of closed shards.
+     */
+    public ShardLoad get(ShardId shardId) {
+        ShardLoad load = loads.get(shardId);
+        return load == null ? new ShardLoad() : load;
+    }
+
+    public void remove(ShardId shardId) {
+        loads.remove(shardId);
+    }
+
+    public Map<ShardId, ShardLoad> loads() {
+        return Collections.unmodifiableMap(loads);
+    }
+}
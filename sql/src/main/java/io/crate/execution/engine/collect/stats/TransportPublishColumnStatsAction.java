@@ -0,0 +1,94 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import io.crate.action.FutureActionListener;
+import io.crate.execution.support.MultiActionListener;
+import io.crate.execution.support.NodeAction;
+import io.crate.execution.support.NodeActionRequestHandler;
+import io.crate.planner.TableStats;
+import org.elasticsearch.action.ActionListenerResponseHandler;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.TransportService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Distributes the column statistics collected by {@code ANALYZE} to the {@link TableStats} of all nodes,
+ * so that every node plans with the same statistics, independent of the node which ran {@code ANALYZE}.
+ */
+@Singleton
+public class TransportPublishColumnStatsAction implements NodeAction<PublishColumnStatsRequest, AcknowledgedResponse> {
+
+    private static final String ACTION_NAME = "internal:crate:sql/stats/publish_column_stats";
+    private static final String EXECUTOR = ThreadPool.Names.MANAGEMENT;
+
+    private final ClusterService clusterService;
+    private final TransportService transportService;
+    private final TableStats tableStats;
+
+    @Inject
+    public TransportPublishColumnStatsAction(ClusterService clusterService,
+                                             TransportService transportService,
+                                             TableStats tableStats) {
+        this.clusterService = clusterService;
+        this.transportService = transportService;
+        this.tableStats = tableStats;
+        transportService.registerRequestHandler(ACTION_NAME,
+            EXECUTOR,
+            PublishColumnStatsRequest::new,
+            new NodeActionRequestHandler<>(this)
+        );
+    }
+
+    /**
+     * Sends the statistics to all nodes of the cluster, including the local one.
+     *
+     * @return a future completed once all nodes applied the statistics
+     */
+    public CompletableFuture<Long> broadcast(PublishColumnStatsRequest request) {
+        DiscoveryNodes nodes = clusterService.state().nodes();
+        FutureActionListener<Long, Long> listener = FutureActionListener.newInstance();
+        MultiActionListener<AcknowledgedResponse, ?, Long> multiListener =
+            new MultiActionListener<>(nodes.getSize(), Collectors.counting(), listener);
+        ActionListenerResponseHandler<AcknowledgedResponse> responseHandler =
+            new ActionListenerResponseHandler<>(multiListener, AcknowledgedResponse::new);
+        for (DiscoveryNode node : nodes) {
+            transportService.sendRequest(node, ACTION_NAME, request, responseHandler);
+        }
+        return listener;
+    }
+
+    @Override
+    public CompletableFuture<AcknowledgedResponse> nodeOperation(PublishColumnStatsRequest request) {
+        tableStats.updateColumnStats(request.relationName(), request.statsByColumn());
+        return CompletableFuture.completedFuture(new AcknowledgedResponse(true));
+    }
+}
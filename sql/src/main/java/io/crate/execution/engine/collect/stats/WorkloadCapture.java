@@ -0,0 +1,204 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.InputStreamStreamInput;
+import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the statements executed on this node into a file, so that the workload can be replayed later on.
+ * <p>
+ * The file starts with a header followed by length prefixed {@link CapturedStatement} entries.
+ * {@link JobsLogService} opens a new {@code workload-<timestamp>.capture} file each time the capture is enabled.
+ * An entry which was cut off, because the node stopped while writing it, is ignored when reading the file.
+ * <p>
+ * {@link #capture(CapturedStatement)} only offers the statement to a bounded queue, it never blocks the caller.
+ * A background thread serializes the queued statements and writes them to the file.
+ * If the writer can't keep up, statements are dropped; the number of dropped statements is logged on close.
+ * If writing fails the capture stops and the failure is logged once.
+ */
+public class WorkloadCapture implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(WorkloadCapture.class);
+
+    static final int MAGIC = 0x43574B4C; // CWKL
+    static final int VERSION = 2;
+
+    static final int QUEUE_SIZE = 10_000;
+    private static final long CLOSE_TIMEOUT_MS = 10_000L;
+
+    private final Path path;
+    private final OutputStreamStreamOutput out;
+    private final BlockingQueue<CapturedStatement> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final AtomicLong dropped = new AtomicLong(0L);
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    public static WorkloadCapture open(Path path) throws IOException {
+        boolean isNew = !Files.exists(path) || Files.size(path) == 0L;
+        OutputStreamStreamOutput out = new OutputStreamStreamOutput(new BufferedOutputStream(
+            Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        if (isNew) {
+            out.writeInt(MAGIC);
+            out.writeVInt(VERSION);
+        }
+        return new WorkloadCapture(path, out);
+    }
+
+    private WorkloadCapture(Path path, OutputStreamStreamOutput out) {
+        this.path = path;
+        this.out = out;
+        this.writer = EsExecutors.daemonThreadFactory("workload_capture").newThread(this::writeLoop);
+        this.writer.start();
+    }
+
+    public void capture(CapturedStatement statement) {
+        if (closed) {
+            return;
+        }
+        if (queue.offer(statement) == false) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void writeLoop() {
+        List<CapturedStatement> batch = new ArrayList<>();
+        try {
+            while (true) {
+                CapturedStatement first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (CapturedStatement statement : batch) {
+                    write(statement);
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't write to workload capture file " + path + ", stopping the capture", e);
+            closed = true;
+            queue.clear();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOGGER.warn("Couldn't close workload capture file " + path, e);
+            }
+        }
+    }
+
+    private void write(CapturedStatement statement) throws IOException {
+        BytesStreamOutput entry = new BytesStreamOutput();
+        try {
+            statement.writeTo(entry);
+        } catch (IOException e) {
+            // the parameters contain a type which can't be serialized
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Couldn't capture statement: " + statement.statement(), e);
+            }
+            return;
+        }
+        out.writeBytesReference(entry.bytes());
+    }
+
+    /**
+     * Stops the capture. Statements which were queued before are still written to the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed && writer.isAlive() == false) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOGGER.warn("Workload capture file " + path + " wasn't closed within " + CLOSE_TIMEOUT_MS + "ms");
+            writer.interrupt();
+        }
+        long numDropped = dropped.getAndSet(0L);
+        if (numDropped > 0) {
+            LOGGER.warn("Dropped " + numDropped + " statements of the workload capture into " + path +
+                        " because the file couldn't be written fast enough");
+        }
+    }
+
+    /**
+     * Reads all statements of a capture file, ordered as they were captured.
+     */
+    public static List<CapturedStatement> read(Path path) throws IOException {
+        List<CapturedStatement> statements = new ArrayList<>();
+        try (StreamInput in = new InputStreamStreamInput(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a workload capture file: " + path);
+            }
+            int version = in.readVInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported workload capture file version " + version + ": " + path);
+            }
+            while (true) {
+                CapturedStatement statement;
+                try {
+                    statement = new CapturedStatement(in.readBytesReference().streamInput());
+                } catch (EOFException e) {
+                    break;
+                }
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+}
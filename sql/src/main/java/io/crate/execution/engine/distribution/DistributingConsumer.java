@@ -23,6 +23,7 @@
 package io.crate.execution.engine.distribution;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
@@ -34,7 +35,9 @@ import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -183,6 +186,9 @@ public class DistributingConsumer implements RowConsumer {
                 countdownAndMaybeContinue(it, numActiveRequests, true);
                 continue;
             }
+            downstream.pagesSent++;
+            downstream.rowsSent += buckets[i].size();
+            downstream.bytesSent += buckets[i].sizeInBytes();
             if (traceEnabled) {
                 logger.trace("forwardResults targetNode={} jobId={} targetPhase={}/{} bucket={} isLast={}",
                     downstream.nodeId, jobId, targetPhaseId, inputId, bucketIdx, isLast);
@@ -239,10 +245,28 @@ public class DistributingConsumer implements RowConsumer {
         }
     }
 
+    /**
+     * @return the number of pages, rows and bytes sent to each downstream node
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> statsByNode = new HashMap<>(downstreams.size());
+        for (Downstream downstream : downstreams) {
+            statsByNode.put(downstream.nodeId, ImmutableMap.of(
+                "Pages", downstream.pagesSent,
+                "Rows", downstream.rowsSent,
+                "Bytes", downstream.bytesSent
+            ));
+        }
+        return ImmutableMap.of("Name", getClass().getSimpleName(), "Downstreams", statsByNode);
+    }
+
     private static class Downstream {
 
         private final String nodeId;
         private boolean needsMoreData = true;
+        private long pagesSent = 0L;
+        private long rowsSent = 0L;
+        private long bytesSent = 0L;
 
         Downstream(String nodeId) {
             this.nodeId = nodeId;
@@ -23,7 +23,6 @@
 package io.crate.execution.engine.distribution;
 
 import io.crate.Streamer;
-import io.crate.data.RowConsumer;
 import io.crate.execution.dsl.phases.ExecutionPhases;
 import io.crate.execution.dsl.phases.NodeOperation;
 import io.crate.execution.jobs.PageBucketReceiver;
@@ -65,10 +64,10 @@ public class DistributingConsumerFactory extends AbstractComponent {
         distributingDownstreamLogger = LogManager.getLogger(DistributingConsumer.class);
     }
 
-    public RowConsumer create(NodeOperation nodeOperation,
-                              DistributionInfo distributionInfo,
-                              UUID jobId,
-                              int pageSize) {
+    public DistributingConsumer create(NodeOperation nodeOperation,
+                                       DistributionInfo distributionInfo,
+                                       UUID jobId,
+                                       int pageSize) {
         Streamer<?>[] streamers = StreamerVisitor.streamersFromOutputs(nodeOperation.executionPhase());
         assert !ExecutionPhases.hasDirectResponseDownstream(nodeOperation.downstreamNodes())
             : "trying to build a DistributingDownstream but nodeOperation has a directResponse downstream";
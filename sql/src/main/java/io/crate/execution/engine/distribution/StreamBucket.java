@@ -108,6 +108,13 @@ public class StreamBucket implements Bucket, Writeable {
         return size;
     }
 
+    /**
+     * @return the size of the serialized rows in bytes
+     */
+    public long sizeInBytes() {
+        return bytes == null ? 0L : bytes.length();
+    }
+
     public void streamers(Streamer<?>[] streamers) {
         assert validStreamers(streamers) : "streamers must not be null and they shouldn't be of undefinedType";
         this.streamers = streamers;
@@ -151,12 +151,13 @@ public class TransportDistributedResultAction extends AbstractComponent implemen
         Throwable throwable = request.throwable();
         if (throwable == null) {
             SendResponsePageResultListener pageResultListener = new SendResponsePageResultListener();
-            pageBucketReceiver.setBucket(
+            // consuming the bucket may drive the downstream projections, account it to the receiving operation
+            rxTask.progress().accounted(() -> pageBucketReceiver.setBucket(
                 request.bucketIdx(),
                 request.readRows(pageBucketReceiver.streamers()),
                 request.isLast(),
                 pageResultListener
-            );
+            )).run();
             return pageResultListener.future;
         } else {
             pageBucketReceiver.kill(throwable);
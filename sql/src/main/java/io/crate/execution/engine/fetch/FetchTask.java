@@ -198,11 +198,20 @@ public class FetchTask extends AbstractTask {
 
     @Nonnull
     public IndexService indexService(int readerId) {
+        return sharedShardContext(readerId).indexService();
+    }
+
+    @Nonnull
+    public ShardId shardId(int readerId) {
+        return sharedShardContext(readerId).shardId();
+    }
+
+    private SharedShardContext sharedShardContext(int readerId) {
         SharedShardContext sharedShardContext = shardContexts.get(readerId);
         if (sharedShardContext == null) {
             throw new IllegalArgumentException(String.format(Locale.ENGLISH, "Reader with id %d not found", readerId));
         }
-        return sharedShardContext.indexService();
+        return sharedShardContext;
     }
 
     @Override
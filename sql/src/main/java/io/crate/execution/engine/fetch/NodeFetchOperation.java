@@ -29,7 +29,10 @@ import io.crate.Streamer;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.exceptions.SQLExceptions;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.engine.collect.stats.ShardLoad;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.engine.distribution.StreamBucket;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.execution.jobs.RootTask;
 import io.crate.execution.jobs.TasksService;
 import io.crate.execution.support.ThreadPools;
@@ -61,6 +64,7 @@ public class NodeFetchOperation {
     private final JobsLogs jobsLogs;
     private final TasksService tasksService;
     private final CircuitBreaker circuitBreaker;
+    private final ShardLoadStats shardLoadStats;
 
     private static class TableFetchInfo {
 
@@ -97,12 +101,14 @@ public class NodeFetchOperation {
                               int numProcessors,
                               JobsLogs jobsLogs,
                               TasksService tasksService,
-                              CircuitBreaker circuitBreaker) {
+                              CircuitBreaker circuitBreaker,
+                              ShardLoadStats shardLoadStats) {
         this.executor = executor;
         this.numProcessors = numProcessors;
         this.jobsLogs = jobsLogs;
         this.tasksService = tasksService;
         this.circuitBreaker = circuitBreaker;
+        this.shardLoadStats = shardLoadStats;
     }
 
     public CompletableFuture<IntObjectMap<StreamBucket>> fetch(UUID jobId,
@@ -110,7 +116,8 @@ public class NodeFetchOperation {
                                                                @Nullable IntObjectMap<? extends IntContainer> docIdsToFetch,
                                                                boolean closeTaskOnFinish) {
         CompletableFuture<IntObjectMap<StreamBucket>> resultFuture = new CompletableFuture<>();
-        logStartAndSetupLogFinished(jobId, phaseId, resultFuture);
+        OperationProgress progress = new OperationProgress();
+        logStartAndSetupLogFinished(jobId, phaseId, progress, resultFuture);
 
         if (docIdsToFetch == null) {
             if (closeTaskOnFinish) {
@@ -123,7 +130,7 @@ public class NodeFetchOperation {
         RootTask context = tasksService.getTask(jobId);
         FetchTask fetchTask = context.getTask(phaseId);
         try {
-            doFetch(fetchTask, resultFuture, docIdsToFetch);
+            doFetch(fetchTask, progress, resultFuture, docIdsToFetch);
         } catch (Throwable t) {
             resultFuture.completeExceptionally(t);
         }
@@ -133,8 +140,11 @@ public class NodeFetchOperation {
         return resultFuture;
     }
 
-    private void logStartAndSetupLogFinished(final UUID jobId, final int phaseId, CompletableFuture<?> resultFuture) {
-        jobsLogs.operationStarted(phaseId, jobId, "fetch");
+    private void logStartAndSetupLogFinished(final UUID jobId,
+                                             final int phaseId,
+                                             OperationProgress progress,
+                                             CompletableFuture<?> resultFuture) {
+        jobsLogs.operationStarted(phaseId, jobId, "fetch", progress);
         resultFuture.whenComplete((r, t) -> {
             if (t == null) {
                 jobsLogs.operationFinished(phaseId, jobId, null, 0);
@@ -164,6 +174,7 @@ public class NodeFetchOperation {
     }
 
     private void doFetch(FetchTask fetchTask,
+                         OperationProgress progress,
                          CompletableFuture<IntObjectMap<StreamBucket>> resultFuture,
                          IntObjectMap<? extends IntContainer> toFetch) throws Exception {
 
@@ -194,10 +205,12 @@ public class NodeFetchOperation {
                 lastThrowable,
                 threadLatch,
                 resultFuture,
-                fetchTask.isKilled()
+                fetchTask.isKilled(),
+                shardLoadStats.get(fetchTask.shardId(readerId))
             );
+            Runnable accountedRunnable = progress.accounted(collectRunnable);
             collectors.add(() -> {
-                collectRunnable.run();
+                accountedRunnable.run();
                 return null;
             });
         }
@@ -224,6 +237,7 @@ public class NodeFetchOperation {
         private final AtomicInteger threadLatch;
         private final CompletableFuture<IntObjectMap<StreamBucket>> resultFuture;
         private final AtomicBoolean contextKilledRef;
+        private final ShardLoad shardLoad;
 
         CollectRunnable(FetchCollector collector,
                         IntContainer docIds,
@@ -232,7 +246,8 @@ public class NodeFetchOperation {
                         AtomicReference<Throwable> lastThrowable,
                         AtomicInteger threadLatch,
                         CompletableFuture<IntObjectMap<StreamBucket>> resultFuture,
-                        AtomicBoolean contextKilledRef) {
+                        AtomicBoolean contextKilledRef,
+                        ShardLoad shardLoad) {
             this.collector = collector;
             this.docIds = docIds;
             this.fetched = fetched;
@@ -241,12 +256,16 @@ public class NodeFetchOperation {
             this.threadLatch = threadLatch;
             this.resultFuture = resultFuture;
             this.contextKilledRef = contextKilledRef;
+            this.shardLoad = shardLoad;
         }
 
         @Override
         public void run() {
             try {
+                long startNanos = System.nanoTime();
                 StreamBucket bucket = collector.collect(docIds);
+                shardLoad.queryTime(System.nanoTime() - startNanos);
+                shardLoad.docsFetched(docIds.size());
                 synchronized (fetched) {
                     fetched.put(readerId, bucket);
                 }
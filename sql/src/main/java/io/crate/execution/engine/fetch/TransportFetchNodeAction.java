@@ -27,6 +27,7 @@ import io.crate.Streamer;
 import io.crate.breaker.CrateCircuitBreakerService;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.engine.distribution.StreamBucket;
 import io.crate.execution.jobs.TasksService;
 import io.crate.execution.support.NodeAction;
@@ -60,14 +61,16 @@ public class TransportFetchNodeAction implements NodeAction<NodeFetchRequest, No
                                     ThreadPool threadPool,
                                     JobsLogs jobsLogs,
                                     TasksService tasksService,
-                                    CrateCircuitBreakerService circuitBreakerService) {
+                                    CrateCircuitBreakerService circuitBreakerService,
+                                    ShardLoadStats shardLoadStats) {
         this.transports = transports;
         this.nodeFetchOperation = new NodeFetchOperation(
             (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.SEARCH),
             EsExecutors.numberOfProcessors(settings),
             jobsLogs,
             tasksService,
-            circuitBreakerService.getBreaker(CrateCircuitBreakerService.QUERY)
+            circuitBreakerService.getBreaker(CrateCircuitBreakerService.QUERY),
+            shardLoadStats
         );
 
         transportService.registerRequestHandler(
@@ -22,6 +22,7 @@
 
 package io.crate.execution.engine.indexing;
 
+import io.crate.analyze.Id;
 import io.crate.data.BatchIterator;
 import io.crate.data.CollectingBatchIterator;
 import io.crate.data.Input;
@@ -33,6 +34,7 @@ import io.crate.execution.dml.upsert.ShardUpsertRequest.DuplicateKeyAction;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.RowShardResolver;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.InputRow;
 import io.crate.expression.symbol.Assignments;
 import io.crate.expression.symbol.Symbol;
@@ -78,7 +80,8 @@ public class ColumnIndexWriterProjector implements Projector {
                                       @Nullable Map<Reference, Symbol> updateAssignments,
                                       int bulkActions,
                                       boolean autoCreateIndices,
-                                      UUID jobId) {
+                                      UUID jobId,
+                                      @Nullable OperationProgress progress) {
         RowShardResolver rowShardResolver = new RowShardResolver(
             txnCtx, functions, primaryKeyIdents, primaryKeySymbols, clusteredByColumn, routingSymbol);
         assert columnReferences.size() == insertInputs.size()
@@ -107,8 +110,14 @@ public class ColumnIndexWriterProjector implements Projector {
         );
 
         InputRow insertValues = new InputRow(insertInputs);
-        Function<String, ShardUpsertRequest.Item> itemFactory = id -> new ShardUpsertRequest.Item(
-            id, assignments, insertValues.materialize(), null);
+        boolean autoGeneratedIds = Id.isAutoGenerated(primaryKeyIdents);
+        Function<String, ShardUpsertRequest.Item> itemFactory = id -> {
+            ShardUpsertRequest.Item item = new ShardUpsertRequest.Item(id, assignments, insertValues.materialize(), null);
+            if (autoGeneratedIds) {
+                item.autoGeneratedTimestamp(Math.max(0, System.currentTimeMillis()));
+            }
+            return item;
+        };
 
         shardingUpsertExecutor = new ShardingUpsertExecutor(
             clusterService,
@@ -127,7 +136,8 @@ public class ColumnIndexWriterProjector implements Projector {
             transportActionProvider.transportBulkCreateIndicesAction(),
             targetTableNumShards,
             targetTableNumReplicas,
-            UpsertResultContext.forRowCount()
+            UpsertResultContext.forRowCount(),
+            progress
         );
     }
 
@@ -22,6 +22,7 @@
 
 package io.crate.execution.engine.indexing;
 
+import io.crate.analyze.Id;
 import io.crate.data.BatchIterator;
 import io.crate.data.CollectingBatchIterator;
 import io.crate.data.Input;
@@ -32,6 +33,7 @@ import io.crate.execution.dml.upsert.ShardUpsertRequest.DuplicateKeyAction;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.RowShardResolver;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.Functions;
@@ -89,7 +91,8 @@ public class IndexWriterProjector implements Projector {
                                 boolean autoCreateIndices,
                                 boolean overwriteDuplicates,
                                 UUID jobId,
-                                UpsertResultContext upsertResultContext) {
+                                UpsertResultContext upsertResultContext,
+                                @Nullable OperationProgress progress) {
         Input<String> source;
         if (includes == null && excludes == null) {
             //noinspection unchecked
@@ -111,8 +114,14 @@ public class IndexWriterProjector implements Projector {
             jobId,
             false);
 
-        Function<String, ShardUpsertRequest.Item> itemFactory = id ->
-            new ShardUpsertRequest.Item(id, null, new Object[]{source.value()}, null);
+        boolean autoGeneratedIds = Id.isAutoGenerated(primaryKeyIdents);
+        Function<String, ShardUpsertRequest.Item> itemFactory = id -> {
+            ShardUpsertRequest.Item item = new ShardUpsertRequest.Item(id, null, new Object[]{source.value()}, null);
+            if (autoGeneratedIds) {
+                item.autoGeneratedTimestamp(Math.max(0, System.currentTimeMillis()));
+            }
+            return item;
+        };
 
         shardingUpsertExecutor = new ShardingUpsertExecutor(
             clusterService,
@@ -131,7 +140,8 @@ public class IndexWriterProjector implements Projector {
             transportCreatePartitionsAction,
             targetTableNumShards,
             targetTableNumReplicas,
-            upsertResultContext
+            upsertResultContext,
+            progress
         );
     }
 
@@ -32,6 +32,7 @@ import io.crate.execution.dml.upsert.ShardUpsertRequest;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.RowShardResolver;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.execution.support.RetryListener;
 import io.crate.settings.CrateSetting;
 import io.crate.types.DataTypes;
@@ -87,6 +88,8 @@ public class ShardingUpsertExecutor
     private final BulkShardCreationLimiter bulkShardCreationLimiter;
     private final UpsertResultCollector resultCollector;
     private final boolean isDebugEnabled;
+    @Nullable
+    private final OperationProgress progress;
     private volatile boolean createPartitionsRequestOngoing = false;
 
     ShardingUpsertExecutor(ClusterService clusterService,
@@ -105,8 +108,10 @@ public class ShardingUpsertExecutor
                            TransportCreatePartitionsAction createPartitionsAction,
                            int targetTableNumShards,
                            int targetTableNumReplicas,
-                           UpsertResultContext upsertResultContext) {
+                           UpsertResultContext upsertResultContext,
+                           @Nullable OperationProgress progress) {
         this.nodeJobsCounter = nodeJobsCounter;
+        this.progress = progress;
         this.scheduler = scheduler;
         this.executor = executor;
         this.bulkSize = bulkSize;
@@ -203,6 +208,8 @@ public class ShardingUpsertExecutor
                     if (isDebugEnabled) {
                         LOGGER.debug("Executing retry Listener for nodeId: {} request: {}", nodeId, request);
                     }
+                    // items with auto generated ids may have been indexed already; the engine must not append them again
+                    request.onRetry();
                     requestExecutor.execute(request, l);
                 },
                 listener,
@@ -304,6 +311,9 @@ public class ShardingUpsertExecutor
         @Override
         public void onResponse(ShardResponse shardResponse) {
             nodeJobsCounter.decrement(operationNodeId);
+            if (progress != null) {
+                progress.addWrittenRows(shardResponse.successRowCount());
+            }
             resultAccumulator.accept(upsertResults, shardResponse, rowSourceInfos);
             maybeSetInterrupt(shardResponse.failure());
             countdown();
@@ -27,6 +27,7 @@ import io.crate.data.BatchIterator;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.engine.profile.PhaseProfiler;
 import io.crate.metadata.TransactionContext;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 
@@ -53,6 +54,8 @@ public class ProjectingRowConsumer implements RowConsumer {
 
     private final RowConsumer consumer;
     private final Projectors projectors;
+    @Nullable
+    private final PhaseProfiler profiler;
 
     /**
      * Wraps the {@param lastConsumer} with a ProjectingRowConsumer which applies the applicable projections.
@@ -82,10 +85,25 @@ public class ProjectingRowConsumer implements RowConsumer {
                                      TransactionContext txnCtx,
                                      RamAccountingContext ramAccountingContext,
                                      ProjectorFactory projectorFactory) {
-        if (projections.isEmpty()) {
+        return create(lastConsumer, projections, jobId, txnCtx, ramAccountingContext, projectorFactory, null);
+    }
+
+    /**
+     * Like {@link #create(RowConsumer, Collection, UUID, TransactionContext, RamAccountingContext, ProjectorFactory)},
+     * but if a {@param profiler} is given, the statistics of the source and of each projector are collected.
+     */
+    public static RowConsumer create(RowConsumer lastConsumer,
+                                     Collection<? extends Projection> projections,
+                                     UUID jobId,
+                                     TransactionContext txnCtx,
+                                     RamAccountingContext ramAccountingContext,
+                                     ProjectorFactory projectorFactory,
+                                     @Nullable PhaseProfiler profiler) {
+        if (projections.isEmpty() && profiler == null) {
             return lastConsumer;
         }
-        return new ProjectingRowConsumer(lastConsumer, projections, jobId, txnCtx, ramAccountingContext, projectorFactory);
+        return new ProjectingRowConsumer(
+            lastConsumer, projections, jobId, txnCtx, ramAccountingContext, projectorFactory, profiler);
     }
 
     private ProjectingRowConsumer(RowConsumer consumer,
@@ -93,16 +111,18 @@ public class ProjectingRowConsumer implements RowConsumer {
                                   UUID jobId,
                                   TransactionContext txnCtx,
                                   RamAccountingContext ramAccountingContext,
-                                  ProjectorFactory projectorFactory) {
+                                  ProjectorFactory projectorFactory,
+                                  @Nullable PhaseProfiler profiler) {
         this.consumer = consumer;
         this.projectors = new Projectors(projections, jobId, txnCtx, ramAccountingContext, projectorFactory);
+        this.profiler = profiler;
     }
 
     @Override
     public void accept(BatchIterator<Row> iterator, @Nullable Throwable failure) {
         if (failure == null) {
             try {
-                iterator = projectors.wrap(iterator);
+                iterator = projectors.wrap(iterator, profiler);
             } catch (Throwable t) {
                 consumer.accept(null, t);
                 return;
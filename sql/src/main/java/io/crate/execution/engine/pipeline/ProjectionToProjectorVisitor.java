@@ -46,6 +46,7 @@ import io.crate.execution.dsl.projection.OrderedTopNProjection;
 import io.crate.execution.dsl.projection.ProjectSetProjection;
 import io.crate.execution.dsl.projection.Projection;
 import io.crate.execution.dsl.projection.ProjectionVisitor;
+import io.crate.execution.dsl.projection.SortedGroupProjection;
 import io.crate.execution.dsl.projection.SourceIndexWriterProjection;
 import io.crate.execution.dsl.projection.SourceIndexWriterReturnSummaryProjection;
 import io.crate.execution.dsl.projection.SysUpdateProjection;
@@ -57,6 +58,7 @@ import io.crate.execution.engine.aggregation.AggregationContext;
 import io.crate.execution.engine.aggregation.AggregationFunction;
 import io.crate.execution.engine.aggregation.AggregationPipe;
 import io.crate.execution.engine.aggregation.GroupingProjector;
+import io.crate.execution.engine.aggregation.SortedGroupingProjector;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.NestableCollectExpression;
 import io.crate.execution.engine.export.FileWriterProjector;
@@ -77,6 +79,7 @@ import io.crate.execution.engine.window.AggregateToWindowFunctionAdapter;
 import io.crate.execution.engine.window.WindowFunction;
 import io.crate.execution.engine.window.WindowProjector;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.InputFactory;
 import io.crate.expression.RowFilter;
 import io.crate.expression.eval.EvaluatingNormalizer;
@@ -286,6 +289,24 @@ public class ProjectionToProjectorVisitor
         );
     }
 
+    @Override
+    public Projector visitSortedGroupProjection(SortedGroupProjection projection, Context context) {
+        InputFactory.Context<CollectExpression<Row, ?>> ctx = inputFactory.ctxForAggregations(context.txnCtx);
+
+        ctx.add(projection.keys());
+        ctx.add(projection.values());
+
+        return new SortedGroupingProjector(
+            ctx.topLevelInputs(),
+            Iterables.toArray(ctx.expressions(), CollectExpression.class),
+            projection.mode(),
+            ctx.aggregations().toArray(new AggregationContext[0]),
+            context.ramAccountingContext,
+            indexVersionCreated,
+            bigArrays
+        );
+    }
+
     @Override
     public Projector visitMergeCountProjection(MergeCountProjection projection, Context context) {
         return new MergeCountProjector();
@@ -419,7 +440,8 @@ public class ProjectionToProjectorVisitor
             projection.autoCreateIndices(),
             projection.overwriteDuplicates(),
             context.jobId,
-            upsertResultContext
+            upsertResultContext,
+            context.progress
         );
     }
 
@@ -464,7 +486,8 @@ public class ProjectionToProjectorVisitor
             projection.onDuplicateKeyAssignments(),
             projection.bulkActions(),
             projection.autoCreateIndices(),
-            context.jobId
+            context.jobId,
+            context.progress
         );
     }
 
@@ -665,7 +688,16 @@ public class ProjectionToProjectorVisitor
                             TransactionContext txnCtx,
                             RamAccountingContext ramAccountingContext,
                             UUID jobId) {
-        return process(projection, new Context(txnCtx, ramAccountingContext, jobId));
+        return create(projection, txnCtx, ramAccountingContext, jobId, null);
+    }
+
+    @Override
+    public Projector create(Projection projection,
+                            TransactionContext txnCtx,
+                            RamAccountingContext ramAccountingContext,
+                            UUID jobId,
+                            @Nullable OperationProgress progress) {
+        return process(projection, new Context(txnCtx, ramAccountingContext, jobId, progress));
     }
 
     @Override
@@ -678,11 +710,17 @@ public class ProjectionToProjectorVisitor
         private final RamAccountingContext ramAccountingContext;
         private final UUID jobId;
         private final TransactionContext txnCtx;
+        @Nullable
+        private final OperationProgress progress;
 
-        public Context(TransactionContext txnCtx, RamAccountingContext ramAccountingContext, UUID jobId) {
+        public Context(TransactionContext txnCtx,
+                       RamAccountingContext ramAccountingContext,
+                       UUID jobId,
+                       @Nullable OperationProgress progress) {
             this.txnCtx = txnCtx;
             this.ramAccountingContext = ramAccountingContext;
             this.jobId = jobId;
+            this.progress = progress;
         }
     }
 }
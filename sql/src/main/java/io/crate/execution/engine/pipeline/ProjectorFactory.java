@@ -25,9 +25,11 @@ package io.crate.execution.engine.pipeline;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.data.Projector;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.RowGranularity;
 
+import javax.annotation.Nullable;
 import java.util.UUID;
 
 public interface ProjectorFactory {
@@ -37,5 +39,17 @@ public interface ProjectorFactory {
                      RamAccountingContext ramAccountingContext,
                      UUID jobId);
 
+    /**
+     * Like {@link #create(Projection, TransactionContext, RamAccountingContext, UUID)},
+     * but projectors which write rows report them to the progress of the operation.
+     */
+    default Projector create(Projection projection,
+                             TransactionContext txnCtx,
+                             RamAccountingContext ramAccountingContext,
+                             UUID jobId,
+                             @Nullable OperationProgress progress) {
+        return create(projection, txnCtx, ramAccountingContext, jobId);
+    }
+
     RowGranularity supportedGranularity();
 }
@@ -28,8 +28,11 @@ import io.crate.data.BatchIterator;
 import io.crate.data.Projector;
 import io.crate.data.Row;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.engine.profile.PhaseProfiler;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.metadata.TransactionContext;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
@@ -49,13 +52,22 @@ public final class Projectors {
                       TransactionContext txnCtx,
                       RamAccountingContext ramAccountingContext,
                       ProjectorFactory projectorFactory) {
+        this(projections, jobId, txnCtx, ramAccountingContext, projectorFactory, null);
+    }
+
+    public Projectors(Collection<? extends Projection> projections,
+                      UUID jobId,
+                      TransactionContext txnCtx,
+                      RamAccountingContext ramAccountingContext,
+                      ProjectorFactory projectorFactory,
+                      @Nullable OperationProgress progress) {
         boolean independentScroll = false;
         this.projectors = new ArrayList<>(projections.size());
         for (Projection projection : projections) {
             if (projection.requiredGranularity().ordinal() > projectorFactory.supportedGranularity().ordinal()) {
                 continue;
             }
-            Projector projector = projectorFactory.create(projection, txnCtx, ramAccountingContext, jobId);
+            Projector projector = projectorFactory.create(projection, txnCtx, ramAccountingContext, jobId, progress);
             projectors.add(projector);
             independentScroll = independentScroll || projector.providesIndependentScroll();
         }
@@ -72,12 +84,26 @@ public final class Projectors {
                                           RamAccountingContext ramAccountingContext,
                                           ProjectorFactory projectorFactory,
                                           BatchIterator<Row> source) {
+        return wrap(projections, jobId, txnCtx, ramAccountingContext, projectorFactory, null, source);
+    }
+
+    /**
+     * Like {@link #wrap(Collection, UUID, TransactionContext, RamAccountingContext, ProjectorFactory, BatchIterator)},
+     * but projectors which write rows report them to the given progress.
+     */
+    public static BatchIterator<Row> wrap(Collection<? extends Projection> projections,
+                                          UUID jobId,
+                                          TransactionContext txnCtx,
+                                          RamAccountingContext ramAccountingContext,
+                                          ProjectorFactory projectorFactory,
+                                          @Nullable OperationProgress progress,
+                                          BatchIterator<Row> source) {
         BatchIterator<Row> result = source;
         for (Projection projection : projections) {
             if (projection.requiredGranularity().ordinal() > projectorFactory.supportedGranularity().ordinal()) {
                 continue;
             }
-            result = projectorFactory.create(projection, txnCtx, ramAccountingContext, jobId).apply(result);
+            result = projectorFactory.create(projection, txnCtx, ramAccountingContext, jobId, progress).apply(result);
         }
         return result;
     }
@@ -90,6 +116,20 @@ public final class Projectors {
         return result;
     }
 
+    /**
+     * Like {@link #wrap(BatchIterator)}, but if a profiler is given the source and each projector are profiled.
+     */
+    public BatchIterator<Row> wrap(BatchIterator<Row> source, @Nullable PhaseProfiler profiler) {
+        if (profiler == null) {
+            return wrap(source);
+        }
+        BatchIterator<Row> result = profiler.profileSource(source);
+        for (Projector projector : projectors) {
+            result = profiler.profile(projector.getClass().getSimpleName(), projector.apply(result));
+        }
+        return result;
+    }
+
     public boolean providesIndependentScroll() {
         return independentScroll;
     }
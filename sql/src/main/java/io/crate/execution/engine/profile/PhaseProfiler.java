@@ -0,0 +1,70 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.profile;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.execution.dsl.phases.ExecutionPhase;
+import io.crate.profile.ProfilingContext;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registers the statistics of the operators of an execution phase in the {@link ProfilingContext} of the job.
+ */
+public final class PhaseProfiler {
+
+    private final ProfilingContext profilingContext;
+    private final String phaseKey;
+    private final String sourceName;
+    private final RamAccountingContext ramAccountingContext;
+
+    /**
+     * @param sourceName the name of the operator which provides the rows of the phase, e.g. a collector or a join
+     */
+    public PhaseProfiler(ProfilingContext profilingContext,
+                         ExecutionPhase phase,
+                         String sourceName,
+                         RamAccountingContext ramAccountingContext) {
+        this.profilingContext = profilingContext;
+        this.phaseKey = ProfilingContext.generateProfilingKey(phase.phaseId(), phase.name());
+        this.sourceName = sourceName;
+        this.ramAccountingContext = ramAccountingContext;
+    }
+
+    public BatchIterator<Row> profileSource(BatchIterator<Row> source) {
+        return profile(sourceName, source);
+    }
+
+    public BatchIterator<Row> profile(String operatorName, BatchIterator<Row> iterator) {
+        ProfilingBatchIterator profilingIterator = new ProfilingBatchIterator(iterator, operatorName, ramAccountingContext);
+        profilingContext.addOperatorStats(phaseKey, profilingIterator::stats);
+        return profilingIterator;
+    }
+
+    public void addOperatorStats(Supplier<Map<String, Object>> operatorStats) {
+        profilingContext.addOperatorStats(phaseKey, operatorStats);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.profile;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.ForwardingBatchIterator;
+import io.crate.data.Row;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BatchIterator which counts the rows and batches of the operator it wraps and measures the time spent in it.
+ * <p>
+ * The time includes the time spent in the upstream operators because the operators pull the rows from their
+ * upstream within {@link #moveNext()} and {@link #loadNextBatch()}.
+ * </p>
+ * <p>
+ * Used by EXPLAIN ANALYZE; like the BatchIterator it wraps, it is not thread-safe.
+ * </p>
+ */
+public final class ProfilingBatchIterator extends ForwardingBatchIterator<Row> {
+
+    private static final double NS_TO_MS_FACTOR = 1_000_000.0d;
+
+    private final BatchIterator<Row> delegate;
+    private final String name;
+    private final RamAccountingContext ramAccountingContext;
+
+    private long rows = 0L;
+    private long batches = 0L;
+    private long nanos = 0L;
+    private long peakAccountedBytes = 0L;
+
+    public ProfilingBatchIterator(BatchIterator<Row> delegate, String name, RamAccountingContext ramAccountingContext) {
+        this.delegate = delegate;
+        this.name = name;
+        this.ramAccountingContext = ramAccountingContext;
+    }
+
+    @Override
+    protected BatchIterator<Row> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean moveNext() {
+        long startNanos = System.nanoTime();
+        boolean moved = delegate.moveNext();
+        nanos += System.nanoTime() - startNanos;
+        if (moved) {
+            rows++;
+        } else {
+            updatePeakAccountedBytes();
+        }
+        return moved;
+    }
+
+    @Override
+    public CompletionStage<?> loadNextBatch() {
+        long startNanos = System.nanoTime();
+        batches++;
+        CompletionStage<?> batchLoaded = delegate.loadNextBatch();
+        nanos += System.nanoTime() - startNanos;
+        return batchLoaded;
+    }
+
+    @Override
+    public void close() {
+        updatePeakAccountedBytes();
+        super.close();
+    }
+
+    private void updatePeakAccountedBytes() {
+        peakAccountedBytes = Math.max(peakAccountedBytes, ramAccountingContext.totalBytes());
+    }
+
+    /**
+     * @return the statistics of the operator:
+     *  the number of rows it emitted, the number of batches it loaded, the time in ms spent in it and the peak memory
+     *  accounted for the phase observed while the operator emitted its rows.
+     */
+    public Map<String, Object> stats() {
+        return ImmutableMap.<String, Object>builder()
+            .put("Name", name)
+            .put("Rows", rows)
+            .put("Batches", batches)
+            .put("Time", nanos / NS_TO_MS_FACTOR)
+            .put("PeakAccountedBytes", peakAccountedBytes)
+            .build();
+    }
+}
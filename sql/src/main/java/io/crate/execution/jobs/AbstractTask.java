@@ -31,6 +31,8 @@ public abstract class AbstractTask implements Task {
 
     protected final int id;
 
+    private final OperationProgress progress = new OperationProgress();
+
     private final AtomicBoolean firstClose = new AtomicBoolean(false);
     private final CompletionState completionState = new CompletionState();
     private final CompletableFuture<CompletionState> future = new CompletableFuture<>();
@@ -43,6 +45,11 @@ public abstract class AbstractTask implements Task {
         return id;
     }
 
+    @Override
+    public OperationProgress progress() {
+        return progress;
+    }
+
     protected static BiConsumer<? super Object, Throwable> closeOrKill(AbstractTask t) {
         return (result, err) -> {
             if (err == null) {
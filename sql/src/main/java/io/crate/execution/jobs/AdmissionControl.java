@@ -0,0 +1,501 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.crate.breaker.CrateCircuitBreakerService;
+import io.crate.data.RowConsumer;
+import io.crate.execution.support.ThreadPools;
+import io.crate.planner.Plan;
+import io.crate.settings.CrateSetting;
+import io.crate.types.DataTypes;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import javax.annotation.concurrent.GuardedBy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of statements executed concurrently from the current node.
+ * <p>
+ * Statements are classified by their {@link Plan.StatementType}. If more statements of a class or of a user are
+ * running than allowed, or if the memory used by queries exceeds the configured threshold of the query circuit breaker,
+ * a statement has to wait until it is admitted.
+ * Waiting statements are queued per user and the queues are served round-robin, so that a single user can't starve
+ * the statements of other users. Statements which wait longer than the queue timeout are rejected.
+ * </p>
+ * <p>
+ * Only statements which run jobs on the cluster are subject to admission control. DDL and management statements
+ * (e.g. {@code KILL} or {@code SET GLOBAL}) are always admitted immediately.
+ * </p>
+ */
+@Singleton
+public class AdmissionControl {
+
+    public static final CrateSetting<Integer> MAX_CONCURRENT_STATEMENTS_SETTING = CrateSetting.of(Setting.intSetting(
+        "admission_control.max_concurrent_statements", 0, 0, Setting.Property.NodeScope, Setting.Property.Dynamic),
+        DataTypes.INTEGER);
+    public static final CrateSetting<Integer> MAX_CONCURRENT_STATEMENTS_PER_USER_SETTING = CrateSetting.of(Setting.intSetting(
+        "admission_control.max_concurrent_statements_per_user", 0, 0, Setting.Property.NodeScope, Setting.Property.Dynamic),
+        DataTypes.INTEGER);
+    public static final CrateSetting<Double> MEMORY_THRESHOLD_SETTING = CrateSetting.of(Setting.doubleSetting(
+        "admission_control.memory_threshold", 1.0, 0.0, 1.0, Setting.Property.NodeScope, Setting.Property.Dynamic),
+        DataTypes.DOUBLE);
+    public static final CrateSetting<TimeValue> QUEUE_TIMEOUT_SETTING = CrateSetting.of(Setting.timeSetting(
+        "admission_control.queue_timeout", TimeValue.timeValueSeconds(30), TimeValue.timeValueMillis(0),
+        Setting.Property.NodeScope, Setting.Property.Dynamic), DataTypes.STRING);
+
+    private static final Set<Plan.StatementType> ADMITTED_TYPES = EnumSet.of(
+        Plan.StatementType.SELECT,
+        Plan.StatementType.INSERT,
+        Plan.StatementType.UPDATE,
+        Plan.StatementType.DELETE,
+        Plan.StatementType.COPY
+    );
+
+    /**
+     * Interval in which queued statements are re-checked if they're waiting for memory to be released
+     */
+    private static final long MEMORY_RECHECK_INTERVAL_MS = 100L;
+
+    public interface Permit {
+
+        /**
+         * Releases the permit; Calling it more than once has no effect.
+         */
+        void release();
+    }
+
+    private static final Permit NO_OP_PERMIT = () -> {};
+
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Supplier<CircuitBreaker> queryBreaker;
+
+    private volatile int maxConcurrentStatements;
+    private volatile int maxConcurrentStatementsPerUser;
+    private volatile double memoryThreshold;
+    private volatile TimeValue queueTimeout;
+
+    @GuardedBy("this")
+    private final Map<Plan.StatementType, Integer> runningByType = new EnumMap<>(Plan.StatementType.class);
+    @GuardedBy("this")
+    private final Map<String, Integer> runningByUser = new HashMap<>();
+    @GuardedBy("this")
+    private final LinkedHashMap<String, ArrayDeque<Ticket>> queuesByUser = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private final Map<QueueKey, QueueStats> stats = new HashMap<>();
+    @GuardedBy("this")
+    private ScheduledFuture<?> memoryRecheck = null;
+
+    @Inject
+    public AdmissionControl(Settings settings,
+                            ClusterSettings clusterSettings,
+                            ThreadPool threadPool,
+                            CrateCircuitBreakerService breakerService) {
+        this(settings,
+            clusterSettings,
+            threadPool.scheduler(),
+            threadPool.generic(),
+            () -> breakerService.getBreaker(CrateCircuitBreakerService.QUERY));
+    }
+
+    @VisibleForTesting
+    public AdmissionControl(Settings settings,
+                            ClusterSettings clusterSettings,
+                            ScheduledExecutorService scheduler,
+                            Executor executor,
+                            Supplier<CircuitBreaker> queryBreaker) {
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.queryBreaker = queryBreaker;
+        maxConcurrentStatements = MAX_CONCURRENT_STATEMENTS_SETTING.setting().get(settings);
+        maxConcurrentStatementsPerUser = MAX_CONCURRENT_STATEMENTS_PER_USER_SETTING.setting().get(settings);
+        memoryThreshold = MEMORY_THRESHOLD_SETTING.setting().get(settings);
+        queueTimeout = QUEUE_TIMEOUT_SETTING.setting().get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MAX_CONCURRENT_STATEMENTS_SETTING.setting(), value -> {
+            maxConcurrentStatements = value;
+            admitWaiting();
+        });
+        clusterSettings.addSettingsUpdateConsumer(MAX_CONCURRENT_STATEMENTS_PER_USER_SETTING.setting(), value -> {
+            maxConcurrentStatementsPerUser = value;
+            admitWaiting();
+        });
+        clusterSettings.addSettingsUpdateConsumer(MEMORY_THRESHOLD_SETTING.setting(), value -> {
+            memoryThreshold = value;
+            admitWaiting();
+        });
+        clusterSettings.addSettingsUpdateConsumer(QUEUE_TIMEOUT_SETTING.setting(), value -> queueTimeout = value);
+    }
+
+    private boolean isEnabled() {
+        return maxConcurrentStatements > 0 || maxConcurrentStatementsPerUser > 0 || memoryThreshold < 1.0;
+    }
+
+    /**
+     * Runs {@code execution} once the statement is admitted.
+     * <p>
+     * If the statement can be admitted immediately, {@code execution} is run in the calling thread.
+     * Otherwise it is run once the statement is admitted, and failures, including the rejection of the statement
+     * if it waited longer than the queue timeout, are propagated to {@code consumer}.
+     * </p>
+     *
+     * @param completionFuture future which completes once the statement is finished; the permit is released then.
+     */
+    public void execute(String user,
+                        Plan.StatementType type,
+                        RowConsumer consumer,
+                        CompletableFuture<?> completionFuture,
+                        Runnable execution) {
+        CompletableFuture<Permit> admission = acquire(user, type);
+        if (admission.isDone() && !admission.isCompletedExceptionally()) {
+            Permit permit = admission.join();
+            completionFuture.whenComplete((r, t) -> permit.release());
+            try {
+                execution.run();
+            } catch (Throwable t) {
+                permit.release();
+                throw t;
+            }
+            return;
+        }
+        admission.whenComplete((permit, failure) -> {
+            if (failure != null) {
+                consumer.accept(null, failure);
+                return;
+            }
+            completionFuture.whenComplete((r, t) -> permit.release());
+            try {
+                execution.run();
+            } catch (Throwable t) {
+                consumer.accept(null, t);
+            }
+        });
+    }
+
+    /**
+     * @return a future which completes with a permit once the statement is admitted, or which fails with a
+     *         {@link EsRejectedExecutionException} if the statement isn't admitted within the queue timeout.
+     *         The permit must be released once the statement is finished.
+     */
+    public CompletableFuture<Permit> acquire(String user, Plan.StatementType type) {
+        if (!ADMITTED_TYPES.contains(type) || !isEnabled()) {
+            return CompletableFuture.completedFuture(NO_OP_PERMIT);
+        }
+        Ticket ticket;
+        synchronized (this) {
+            QueueStats queueStats = stats.computeIfAbsent(new QueueKey(user, type), k -> new QueueStats(k.user, k.type));
+            ArrayDeque<Ticket> queue = queuesByUser.get(user);
+            if ((queue == null || queue.isEmpty()) && canAdmit(user, type)) {
+                queueStats.admitted++;
+                return CompletableFuture.completedFuture(admit(queueStats));
+            }
+            ticket = new Ticket(user, type, queueStats);
+            queuesByUser.computeIfAbsent(user, u -> new ArrayDeque<>()).add(ticket);
+            queueStats.queued++;
+            long timeoutMs = queueTimeout.millis();
+            ticket.timeout = scheduler.schedule(() -> timeout(ticket), timeoutMs, TimeUnit.MILLISECONDS);
+            scheduleMemoryRecheckIfNeeded();
+        }
+        return ticket.future;
+    }
+
+    @GuardedBy("this")
+    private boolean canAdmit(String user, Plan.StatementType type) {
+        int maxStatements = maxConcurrentStatements;
+        if (maxStatements > 0 && runningByType.getOrDefault(type, 0) >= maxStatements) {
+            return false;
+        }
+        int maxPerUser = maxConcurrentStatementsPerUser;
+        if (maxPerUser > 0 && runningByUser.getOrDefault(user, 0) >= maxPerUser) {
+            return false;
+        }
+        return hasMemoryAvailable();
+    }
+
+    private boolean hasMemoryAvailable() {
+        double threshold = memoryThreshold;
+        if (threshold >= 1.0) {
+            return true;
+        }
+        CircuitBreaker breaker = queryBreaker.get();
+        long limit = breaker.getLimit();
+        return limit <= 0 || breaker.getUsed() < limit * threshold;
+    }
+
+    @GuardedBy("this")
+    private Permit admit(QueueStats queueStats) {
+        queueStats.running++;
+        runningByType.merge(queueStats.type, 1, Integer::sum);
+        runningByUser.merge(queueStats.user, 1, Integer::sum);
+        AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release(queueStats);
+            }
+        };
+    }
+
+    private void release(QueueStats queueStats) {
+        synchronized (this) {
+            queueStats.running--;
+            runningByType.computeIfPresent(queueStats.type, (t, count) -> count > 1 ? count - 1 : null);
+            runningByUser.computeIfPresent(queueStats.user, (u, count) -> count > 1 ? count - 1 : null);
+        }
+        admitWaiting();
+    }
+
+    /**
+     * Admits the queued statements which fit into the budgets.
+     * The users are visited round-robin, a user whose statement got admitted moves to the end of the queue.
+     */
+    private void admitWaiting() {
+        List<Runnable> grants = new ArrayList<>();
+        synchronized (this) {
+            boolean admittedAny = true;
+            while (admittedAny) {
+                admittedAny = false;
+                Iterator<Map.Entry<String, ArrayDeque<Ticket>>> it = queuesByUser.entrySet().iterator();
+                String admittedUser = null;
+                ArrayDeque<Ticket> admittedQueue = null;
+                while (it.hasNext()) {
+                    Map.Entry<String, ArrayDeque<Ticket>> entry = it.next();
+                    ArrayDeque<Ticket> queue = entry.getValue();
+                    Ticket ticket = queue.peekFirst();
+                    if (ticket == null) {
+                        it.remove();
+                        continue;
+                    }
+                    if (canAdmit(ticket.user, ticket.type)) {
+                        queue.pollFirst();
+                        it.remove();
+                        admittedUser = entry.getKey();
+                        admittedQueue = queue;
+                        grants.add(grant(ticket));
+                        admittedAny = true;
+                        break;
+                    }
+                }
+                if (admittedUser != null && !admittedQueue.isEmpty()) {
+                    queuesByUser.put(admittedUser, admittedQueue);
+                }
+            }
+            scheduleMemoryRecheckIfNeeded();
+        }
+        for (Runnable grant : grants) {
+            ThreadPools.forceExecute(executor, grant);
+        }
+    }
+
+    @GuardedBy("this")
+    private Runnable grant(Ticket ticket) {
+        ticket.timeout.cancel(false);
+        long waitTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ticket.queuedAtNanos);
+        QueueStats queueStats = ticket.stats;
+        queueStats.queued--;
+        queueStats.admitted++;
+        queueStats.sumOfWaitTimes += waitTimeMs;
+        queueStats.maxWaitTime = Math.max(queueStats.maxWaitTime, waitTimeMs);
+        Permit permit = admit(queueStats);
+        return () -> {
+            if (!ticket.future.complete(permit)) {
+                permit.release();
+            }
+        };
+    }
+
+    private void timeout(Ticket ticket) {
+        synchronized (this) {
+            ArrayDeque<Ticket> queue = queuesByUser.get(ticket.user);
+            if (queue == null || !queue.remove(ticket)) {
+                // got admitted in the meantime
+                return;
+            }
+            if (queue.isEmpty()) {
+                queuesByUser.remove(ticket.user);
+            }
+            ticket.stats.queued--;
+            ticket.stats.timedOut++;
+        }
+        ticket.future.completeExceptionally(new EsRejectedExecutionException(String.format(Locale.ENGLISH,
+            "Statement of user \"%s\" was not admitted within %s, too many statements are running. See \"%s\"",
+            ticket.user,
+            queueTimeout,
+            QUEUE_TIMEOUT_SETTING.getKey()
+        )));
+    }
+
+    @GuardedBy("this")
+    private void scheduleMemoryRecheckIfNeeded() {
+        if (memoryThreshold >= 1.0 || queuesByUser.isEmpty() || (memoryRecheck != null && !memoryRecheck.isDone())) {
+            return;
+        }
+        // Memory is also released by statements which aren't coordinated by this node, so the queues can't rely
+        // on being notified about released memory.
+        memoryRecheck = scheduler.schedule(this::admitWaiting, MEMORY_RECHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a snapshot of the statistics of the queues of all users and statement types seen so far.
+     */
+    public List<QueueStats> queues() {
+        synchronized (this) {
+            List<QueueStats> result = new ArrayList<>(stats.size());
+            for (QueueStats queueStats : stats.values()) {
+                result.add(queueStats.copy());
+            }
+            return result;
+        }
+    }
+
+    private static final class Ticket {
+
+        private final String user;
+        private final Plan.StatementType type;
+        private final QueueStats stats;
+        private final long queuedAtNanos = System.nanoTime();
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+        private ScheduledFuture<?> timeout;
+
+        Ticket(String user, Plan.StatementType type, QueueStats stats) {
+            this.user = user;
+            this.type = type;
+            this.stats = stats;
+        }
+    }
+
+    private static final class QueueKey {
+
+        private final String user;
+        private final Plan.StatementType type;
+
+        QueueKey(String user, Plan.StatementType type) {
+            this.user = user;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QueueKey queueKey = (QueueKey) o;
+            return user.equals(queueKey.user) && type == queueKey.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(user, type);
+        }
+    }
+
+    /**
+     * Statistics of the statements of a user and statement type
+     */
+    public static final class QueueStats {
+
+        private final String user;
+        private final Plan.StatementType type;
+        private int running;
+        private int queued;
+        private long admitted;
+        private long timedOut;
+        private long sumOfWaitTimes;
+        private long maxWaitTime;
+
+        private QueueStats(String user, Plan.StatementType type) {
+            this.user = user;
+            this.type = type;
+        }
+
+        private QueueStats copy() {
+            QueueStats copy = new QueueStats(user, type);
+            copy.running = running;
+            copy.queued = queued;
+            copy.admitted = admitted;
+            copy.timedOut = timedOut;
+            copy.sumOfWaitTimes = sumOfWaitTimes;
+            copy.maxWaitTime = maxWaitTime;
+            return copy;
+        }
+
+        public String user() {
+            return user;
+        }
+
+        public Plan.StatementType type() {
+            return type;
+        }
+
+        public int running() {
+            return running;
+        }
+
+        public int queued() {
+            return queued;
+        }
+
+        public long admitted() {
+            return admitted;
+        }
+
+        public long timedOut() {
+            return timedOut;
+        }
+
+        /**
+         * @return the sum of the times the admitted statements waited in the queue in ms
+         */
+        public long sumOfWaitTimes() {
+            return sumOfWaitTimes;
+        }
+
+        public long maxWaitTime() {
+            return maxWaitTime;
+        }
+    }
+}
@@ -123,8 +123,12 @@ public class CumulativePageBucketReceiver implements PageBucketReceiver {
     @Override
     public void setBucket(int bucketIdx, Bucket rows, boolean isLast, PageResultListener pageResultListener) {
         final boolean isLastOrHasError;
+        final boolean isDone;
         synchronized (listenersByBucketIdx) {
-            isLastOrHasError = isLast || lastThrowable != null;
+            // The consumer may have stopped early (e.g. a limit was reached), in that case the upstream
+            // has to stop sending pages instead of waiting for a needMore call which would never happen.
+            isDone = processingFuture.isDone();
+            isLastOrHasError = isLast || lastThrowable != null || isDone;
             if (!isLastOrHasError) {
                 listenersByBucketIdx.put(bucketIdx, pageResultListener);
             }
@@ -132,6 +136,9 @@ public class CumulativePageBucketReceiver implements PageBucketReceiver {
         if (isLastOrHasError) {
             pageResultListener.needMore(false);
         }
+        if (isDone) {
+            return;
+        }
         final boolean allBucketsOfPageReceived;
         synchronized (lock) {
             traceLog("method=setBucket", bucketIdx);
@@ -38,6 +38,7 @@ public class DistResultRXTask implements Task, DownstreamRXTask {
     private final int numBuckets;
     private final PageBucketReceiver pageBucketReceiver;
     private final CompletableFuture<CompletionState> completionFuture;
+    private final OperationProgress progress = new OperationProgress();
 
     public DistResultRXTask(int id,
                             String name,
@@ -95,6 +96,11 @@ public class DistResultRXTask implements Task, DownstreamRXTask {
         return id;
     }
 
+    @Override
+    public OperationProgress progress() {
+        return progress;
+    }
+
     @Override
     public String toString() {
         return "DistResultRXTask{" +
@@ -30,4 +30,6 @@ public interface DownstreamRXTask {
 
     @Nullable
     PageBucketReceiver getBucketReceiver(byte inputId);
+
+    OperationProgress progress();
 }
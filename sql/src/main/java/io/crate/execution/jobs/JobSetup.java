@@ -43,6 +43,7 @@ import io.crate.data.Paging;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.IncrementalPageBucketReceiver;
+import io.crate.execution.PartitionedPageBucketReceiver;
 import io.crate.execution.TransportActionProvider;
 import io.crate.execution.dsl.phases.CollectPhase;
 import io.crate.execution.dsl.phases.CountPhase;
@@ -60,6 +61,7 @@ import io.crate.execution.dsl.phases.UpstreamPhase;
 import io.crate.execution.dsl.projection.AggregationProjection;
 import io.crate.execution.dsl.projection.GroupProjection;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.dsl.projection.SortedGroupProjection;
 import io.crate.execution.engine.aggregation.AggregationPipe;
 import io.crate.execution.engine.aggregation.GroupingProjector;
 import io.crate.execution.engine.collect.CollectTask;
@@ -68,6 +70,8 @@ import io.crate.execution.engine.collect.PKLookupOperation;
 import io.crate.execution.engine.collect.count.CountOperation;
 import io.crate.execution.engine.collect.sources.ShardCollectSource;
 import io.crate.execution.engine.collect.sources.SystemCollectSource;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
+import io.crate.execution.engine.distribution.DistributingConsumer;
 import io.crate.execution.engine.distribution.DistributingConsumerFactory;
 import io.crate.execution.engine.distribution.SingleBucketBuilder;
 import io.crate.execution.engine.distribution.StreamBucket;
@@ -78,15 +82,19 @@ import io.crate.execution.engine.join.NestedLoopOperation;
 import io.crate.execution.engine.pipeline.ProjectingRowConsumer;
 import io.crate.execution.engine.pipeline.ProjectionToProjectorVisitor;
 import io.crate.execution.engine.pipeline.ProjectorFactory;
+import io.crate.execution.engine.profile.PhaseProfiler;
 import io.crate.expression.InputFactory;
 import io.crate.expression.RowFilter;
 import io.crate.expression.eval.EvaluatingNormalizer;
+import io.crate.expression.symbol.InputColumn;
+import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.Functions;
 import io.crate.metadata.Routing;
 import io.crate.metadata.SearchPath;
 import io.crate.metadata.TransactionContext;
 import io.crate.planner.distribution.DistributionType;
 import io.crate.planner.node.StreamerVisitor;
+import io.crate.profile.ProfilingContext;
 import io.crate.types.DataTypes;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.cluster.service.ClusterService;
@@ -97,6 +105,7 @@ import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.Singleton;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.indices.IndicesService;
 import org.elasticsearch.threadpool.ThreadPool;
 
@@ -104,17 +113,21 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 
 import static io.crate.execution.dsl.projection.Projections.nodeProjections;
 import static io.crate.execution.dsl.projection.Projections.shardProjections;
+import static io.crate.execution.support.ThreadPools.numIdleThreads;
 
 @Singleton
 public class JobSetup extends AbstractComponent {
@@ -129,6 +142,7 @@ public class JobSetup extends AbstractComponent {
     private final ProjectorFactory projectorFactory;
     private final PKLookupOperation pkLookupOperation;
     private final ExecutorService searchTp;
+    private final IntSupplier availableThreads;
 
     @Inject
     public JobSetup(Settings settings,
@@ -144,17 +158,26 @@ public class JobSetup extends AbstractComponent {
                     Functions functions,
                     SystemCollectSource systemCollectSource,
                     ShardCollectSource shardCollectSource,
+                    ShardLoadStats shardLoadStats,
                     BigArrays bigArrays) {
         super(settings);
         this.collectOperation = collectOperation;
         this.clusterService = clusterService;
         this.countOperation = countOperation;
-        this.pkLookupOperation = new PKLookupOperation(indicesService, shardCollectSource);
+        ThreadPoolExecutor getTp = (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.GET);
+        this.pkLookupOperation = new PKLookupOperation(
+            indicesService,
+            shardCollectSource,
+            getTp,
+            numIdleThreads(getTp, EsExecutors.numberOfProcessors(settings)),
+            shardLoadStats
+        );
         this.circuitBreakerService = circuitBreakerService;
         this.distributingConsumerFactory = distributingConsumerFactory;
         innerPreparer = new InnerPreparer();
         inputFactory = new InputFactory(functions);
         searchTp = threadPool.executor(ThreadPool.Names.SEARCH);
+        availableThreads = numIdleThreads((ThreadPoolExecutor) searchTp, EsExecutors.numberOfProcessors(settings));
         EvaluatingNormalizer normalizer = EvaluatingNormalizer.functionOnlyNormalizer(functions);
         this.projectorFactory = new ProjectionToProjectorVisitor(
             clusterService,
@@ -478,9 +501,14 @@ public class JobSetup extends AbstractComponent {
             switch (distributionType) {
                 case BROADCAST:
                 case MODULO:
-                    RowConsumer consumer = distributingConsumerFactory.create(
+                    DistributingConsumer consumer = distributingConsumerFactory.create(
                         nodeOperation, phase.distributionInfo(), jobId(), pageSize);
                     traceGetBatchConsumer(phase, distributionType.toString(), nodeOperation, consumer);
+                    ProfilingContext profilingContext = taskBuilder.profilingContext();
+                    if (profilingContext != null) {
+                        profilingContext.addOperatorStats(
+                            ProfilingContext.generateProfilingKey(phase.phaseId(), phase.name()), consumer::stats);
+                    }
                     return consumer;
 
                 default:
@@ -542,6 +570,18 @@ public class JobSetup extends AbstractComponent {
             taskBuilder.addTask(subContext);
         }
 
+        /**
+         * @return a profiler for the operators of the phase if profiling is enabled, otherwise null
+         */
+        @Nullable
+        PhaseProfiler profiler(ExecutionPhase phase, String sourceName, RamAccountingContext ramAccountingContext) {
+            ProfilingContext profilingContext = taskBuilder.profilingContext();
+            if (profilingContext == null) {
+                return null;
+            }
+            return new PhaseProfiler(profilingContext, phase, sourceName, ramAccountingContext);
+        }
+
         void registerLeaf(ExecutionPhase phase, RowConsumer consumer) {
             handlerConsumersByPhaseId.put(phase.phaseId(), consumer);
             leafs.add(phase);
@@ -586,7 +626,8 @@ public class JobSetup extends AbstractComponent {
                 pkLookupPhase.jobId(),
                 context.txnCtx(),
                 ramAccountingContext,
-                projectorFactory
+                projectorFactory,
+                context.profiler(pkLookupPhase, pkLookupPhase.type().name(), ramAccountingContext)
             );
             context.registerSubContext(new PKLookupTask(
                 pkLookupPhase.jobId(),
@@ -622,7 +663,8 @@ public class JobSetup extends AbstractComponent {
                     phase.jobId(),
                     context.txnCtx(),
                     ramAccountingContext,
-                    projectorFactory
+                    projectorFactory,
+                    context.profiler(phase, phase.type().name(), ramAccountingContext)
                 );
                 context.registerBatchConsumer(phase.phaseId(), consumer);
                 context.registerRamAccountingContext(phase.phaseId(), ramAccountingContext);
@@ -630,16 +672,34 @@ public class JobSetup extends AbstractComponent {
             }
 
             Collector<Row, ?, Iterable<Row>> collector = null;
+            List<Collector<Row, ?, Iterable<Row>>> partitionCollectors = null;
+            int[] partitionKeyPositions = null;
+            String sourceName = phase.type().name();
             List<Projection> projections = phase.projections();
             if (projections.size() > 0) {
                 Projection firstProjection = projections.get(0);
 
-                if (firstProjection instanceof GroupProjection) {
+                // A SortedGroupProjection relies on the order of the rows and can't consume the buckets as they arrive
+                if (firstProjection instanceof GroupProjection && !(firstProjection instanceof SortedGroupProjection)) {
                     GroupProjection groupProjection = (GroupProjection) firstProjection;
 
-                    GroupingProjector groupingProjector = (GroupingProjector) projectorFactory.create(
-                        groupProjection, context.txnCtx(), ramAccountingContext, phase.jobId());
-                    collector = groupingProjector.getCollector();
+                    // The groups are partitioned by their keys, so that each partition can be aggregated by a
+                    // different thread into its own set of groups.
+                    partitionKeyPositions = inputColumnPositions(groupProjection.keys());
+                    int numPartitions = partitionKeyPositions == null ? 1 : availableThreads.getAsInt();
+                    if (numPartitions > 1) {
+                        partitionCollectors = new ArrayList<>(numPartitions);
+                        for (int i = 0; i < numPartitions; i++) {
+                            GroupingProjector groupingProjector = (GroupingProjector) projectorFactory.create(
+                                groupProjection, context.txnCtx(), ramAccountingContext, phase.jobId());
+                            partitionCollectors.add(groupingProjector.getCollector());
+                        }
+                    } else {
+                        GroupingProjector groupingProjector = (GroupingProjector) projectorFactory.create(
+                            groupProjection, context.txnCtx(), ramAccountingContext, phase.jobId());
+                        collector = groupingProjector.getCollector();
+                    }
+                    sourceName = GroupingProjector.class.getSimpleName();
                     projections = projections.subList(1, projections.size());
                 } else if (firstProjection instanceof AggregationProjection) {
                     AggregationProjection aggregationProjection = (AggregationProjection) firstProjection;
@@ -648,6 +708,7 @@ public class JobSetup extends AbstractComponent {
                         aggregationProjection, context.txnCtx(), ramAccountingContext, phase.jobId());
 
                     collector = aggregationPipe.getCollector();
+                    sourceName = AggregationPipe.class.getSimpleName();
                     projections = projections.subList(1, projections.size());
                 }
             }
@@ -658,11 +719,20 @@ public class JobSetup extends AbstractComponent {
                 phase.jobId(),
                 context.txnCtx(),
                 ramAccountingContext,
-                projectorFactory
+                projectorFactory,
+                context.profiler(phase, sourceName, ramAccountingContext)
             );
 
             PageBucketReceiver pageBucketReceiver;
-            if (collector == null) {
+            if (partitionCollectors != null) {
+                pageBucketReceiver = new PartitionedPageBucketReceiver(
+                    partitionCollectors,
+                    PartitionedPageBucketReceiver.hashOf(partitionKeyPositions),
+                    consumer,
+                    searchTp,
+                    DataTypes.getStreamers(phase.inputTypes()),
+                    phase.numUpstreams());
+            } else if (collector == null) {
                 pageBucketReceiver = new CumulativePageBucketReceiver(
                     nodeName(),
                     phase.phaseId(),
@@ -706,6 +776,7 @@ public class JobSetup extends AbstractComponent {
             if (ramAccountingContext == null) {
                 ramAccountingContext = RamAccountingContext.forExecutionPhase(breaker(), phase);
             }
+            consumer = profiled(phase, consumer, ramAccountingContext, context);
 
             context.registerSubContext(new CollectTask(
                 phase,
@@ -718,10 +789,33 @@ public class JobSetup extends AbstractComponent {
             return true;
         }
 
+        /**
+         * Profiles the rows the collect phase emits, including the projections applied by the collect operation.
+         */
+        private RowConsumer profiled(CollectPhase phase,
+                                     RowConsumer consumer,
+                                     RamAccountingContext ramAccountingContext,
+                                     Context context) {
+            PhaseProfiler profiler = context.profiler(phase, phase.type().name(), ramAccountingContext);
+            if (profiler == null) {
+                return consumer;
+            }
+            return ProjectingRowConsumer.create(
+                consumer,
+                Collections.emptyList(),
+                phase.jobId(),
+                context.txnCtx(),
+                ramAccountingContext,
+                projectorFactory,
+                profiler
+            );
+        }
+
         @Override
         public Boolean visitCollectPhase(CollectPhase phase, Context context) {
             RamAccountingContext ramAccountingContext = RamAccountingContext.forExecutionPhase(breaker(), phase);
-            RowConsumer consumer = context.getRowConsumer(phase, Paging.PAGE_SIZE);
+            RowConsumer consumer = profiled(
+                phase, context.getRowConsumer(phase, Paging.PAGE_SIZE), ramAccountingContext, context);
             context.registerSubContext(new CollectTask(
                 phase,
                 context.txnCtx(),
@@ -767,7 +861,13 @@ public class JobSetup extends AbstractComponent {
             RowConsumer lastConsumer = context.getRowConsumer(phase, Paging.PAGE_SIZE);
 
             RowConsumer firstConsumer = ProjectingRowConsumer.create(
-                lastConsumer, phase.projections(), phase.jobId(), context.txnCtx(), ramAccountingContext, projectorFactory);
+                lastConsumer,
+                phase.projections(),
+                phase.jobId(),
+                context.txnCtx(),
+                ramAccountingContext,
+                projectorFactory,
+                context.profiler(phase, phase.type().name(), ramAccountingContext));
             Predicate<Row> joinCondition = RowFilter.create(context.transactionContext, inputFactory, phase.joinCondition());
 
             NestedLoopOperation joinOperation = new NestedLoopOperation(
@@ -821,7 +921,13 @@ public class JobSetup extends AbstractComponent {
             RowConsumer lastConsumer = context.getRowConsumer(phase, Paging.PAGE_SIZE);
 
             RowConsumer firstConsumer = ProjectingRowConsumer.create(
-                lastConsumer, phase.projections(), phase.jobId(), context.txnCtx(), ramAccountingContext, projectorFactory);
+                lastConsumer,
+                phase.projections(),
+                phase.jobId(),
+                context.txnCtx(),
+                ramAccountingContext,
+                projectorFactory,
+                context.profiler(phase, phase.type().name(), ramAccountingContext));
             Predicate<Row> joinCondition = RowFilter.create(context.transactionContext, inputFactory, phase.joinCondition());
 
             HashJoinOperation joinOperation = new HashJoinOperation(
@@ -891,7 +997,8 @@ public class JobSetup extends AbstractComponent {
                     mergePhase.jobId(),
                     ctx.txnCtx(),
                     ramAccountingContext,
-                    projectorFactory
+                    projectorFactory,
+                    ctx.profiler(mergePhase, mergePhase.type().name(), ramAccountingContext)
                 );
             }
 
@@ -926,6 +1033,22 @@ public class JobSetup extends AbstractComponent {
         return (l << 32) | (inputId & 0xffffffffL);
     }
 
+    /**
+     * @return the positions of the input columns or null if any of the symbols isn't an {@link InputColumn}
+     */
+    @Nullable
+    private static int[] inputColumnPositions(List<Symbol> symbols) {
+        int[] positions = new int[symbols.size()];
+        for (int i = 0; i < positions.length; i++) {
+            Symbol symbol = symbols.get(i);
+            if (!(symbol instanceof InputColumn)) {
+                return null;
+            }
+            positions[i] = ((InputColumn) symbol).index();
+        }
+        return positions;
+    }
+
     private CircuitBreaker breaker() {
         return circuitBreakerService.getBreaker(CrateCircuitBreakerService.QUERY);
     }
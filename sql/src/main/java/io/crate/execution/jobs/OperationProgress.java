@@ -0,0 +1,139 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress counters of an operation, exposed in ``sys.operations``.
+ *
+ * The counters are updated by the components doing the work of the operation while it is running.
+ * Components processing many rows should add them in chunks instead of updating the counters for every row.
+ *
+ * The CPU time and the allocated bytes are measured around the units of work of the operation
+ * which are wrapped using {@link #accounted(Runnable)} or {@link #accounted(Executor)}.
+ */
+public final class OperationProgress {
+
+    public static final int UNKNOWN = -1;
+
+    private final AtomicLong processedRows = new AtomicLong(0);
+    private final AtomicLong processedBytes = new AtomicLong(0);
+    private final AtomicLong writtenRows = new AtomicLong(0);
+    private final AtomicInteger completedShards = new AtomicInteger(0);
+    private final AtomicLong cpuTime = new AtomicLong(0);
+    private final AtomicLong allocatedBytes = new AtomicLong(0);
+    private volatile int numShards = UNKNOWN;
+    private volatile long estimatedRows = UNKNOWN;
+
+    public void addProcessedRows(long rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    public void addProcessedBytes(long bytes) {
+        processedBytes.addAndGet(bytes);
+    }
+
+    public void addWrittenRows(long rows) {
+        writtenRows.addAndGet(rows);
+    }
+
+    public void numShards(int numShards) {
+        this.numShards = numShards;
+    }
+
+    public void shardCompleted() {
+        completedShards.incrementAndGet();
+    }
+
+    public void estimatedRows(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    /**
+     * Wraps the runnable so that the CPU time and the bytes allocated by the thread running it
+     * are accounted to this operation.
+     */
+    public Runnable accounted(Runnable runnable) {
+        return () -> {
+            long cpuTimeBefore = ThreadResources.cpuTime();
+            long allocatedBytesBefore = ThreadResources.allocatedBytes();
+            try {
+                runnable.run();
+            } finally {
+                cpuTime.addAndGet(ThreadResources.cpuTime() - cpuTimeBefore);
+                allocatedBytes.addAndGet(ThreadResources.allocatedBytes() - allocatedBytesBefore);
+            }
+        };
+    }
+
+    /**
+     * Wraps the executor so that the resources used by the tasks it runs are accounted to this operation.
+     */
+    public Executor accounted(Executor executor) {
+        return command -> executor.execute(accounted(command));
+    }
+
+    public long processedRows() {
+        return processedRows.get();
+    }
+
+    public long processedBytes() {
+        return processedBytes.get();
+    }
+
+    public long writtenRows() {
+        return writtenRows.get();
+    }
+
+    /**
+     * @return the number of shards the operation processes or {@link #UNKNOWN} if the operation doesn't process shards.
+     */
+    public int numShards() {
+        return numShards;
+    }
+
+    public int completedShards() {
+        return completedShards.get();
+    }
+
+    /**
+     * @return the CPU time in nanoseconds used by the operation so far
+     */
+    public long cpuTime() {
+        return cpuTime.get();
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return the estimated number of rows the operation processes or {@link #UNKNOWN} if there is no estimate.
+     */
+    public long estimatedRows() {
+        return estimatedRows;
+    }
+}
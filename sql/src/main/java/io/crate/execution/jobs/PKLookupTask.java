@@ -25,6 +25,7 @@ package io.crate.execution.jobs;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.data.BatchIterator;
 import io.crate.data.BatchIterators;
+import io.crate.data.ListenableBatchIterator;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.dsl.projection.Projection;
@@ -40,10 +41,12 @@ import io.crate.metadata.TransactionContext;
 import io.crate.planner.operators.PKAndVersion;
 import org.elasticsearch.index.shard.ShardId;
 
+import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public final class PKLookupTask extends AbstractTask {
 
@@ -59,6 +62,8 @@ public final class PKLookupTask extends AbstractTask {
     private final List<CollectExpression<Doc, ?>> expressions;
     private final String name;
 
+    private BatchIterator<Row> rows = null;
+
     PKLookupTask(UUID jobId,
                  int phaseId,
                  String name,
@@ -93,21 +98,38 @@ public final class PKLookupTask extends AbstractTask {
     @Override
     protected void innerStart() {
         if (shardProjections.isEmpty()) {
-            BatchIterator<Doc> batchIterator = pkLookupOperation.lookup(ignoreMissing, idsByShard, consumer.requiresScroll());
-            consumer.accept(BatchIterators.map(batchIterator, this::resultToRow), null);
+            rows = BatchIterators.map(
+                pkLookupOperation.lookup(ignoreMissing, idsByShard, ramAccountingContext),
+                this::resultToRow
+            );
         } else {
-            pkLookupOperation.runWithShardProjections(
+            rows = pkLookupOperation.lookupWithShardProjections(
                 jobId,
                 txnCtx,
                 ramAccountingContext,
                 ignoreMissing,
                 idsByShard,
                 shardProjections,
-                consumer,
                 this::resultToRow
             );
         }
-        close();
+        // the documents are looked up while the rows are consumed, so the task is done once the consumer closes the rows
+        CompletableFuture<Void> rowsClosed = new CompletableFuture<>();
+        rowsClosed.whenComplete(closeOrKill(this));
+        consumer.accept(new ListenableBatchIterator<>(rows, rowsClosed), null);
+    }
+
+    @Override
+    protected void innerClose() {
+        ramAccountingContext.close();
+    }
+
+    @Override
+    protected void innerKill(@Nonnull Throwable t) {
+        if (rows != null) {
+            rows.kill(t);
+        }
+        ramAccountingContext.close();
     }
 
     private Row resultToRow(Doc getResult) {
@@ -103,6 +103,11 @@ public class RootTask implements CompletionListenable<Void> {
             return this;
         }
 
+        @Nullable
+        ProfilingContext profilingContext() {
+            return profilingContext;
+        }
+
         public void addTask(Task task) {
             tasks.add(task);
         }
@@ -190,7 +195,7 @@ public class RootTask implements CompletionListenable<Void> {
         for (int i = 0; i < orderedTaskIds.size(); i++) {
             int id = orderedTaskIds.get(i);
             Task task = orderedTasks.get(i);
-            jobsLogs.operationStarted(id, jobId, task.name());
+            jobsLogs.operationStarted(id, jobId, task.name(), task.progress());
             try {
                 task.prepare();
             } catch (Exception e) {
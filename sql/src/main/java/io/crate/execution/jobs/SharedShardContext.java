@@ -89,6 +89,10 @@ public class SharedShardContext {
         return readerId;
     }
 
+    public ShardId shardId() {
+        return shardId;
+    }
+
     private static class RefCountSearcher extends Engine.Searcher {
 
         private final AtomicInteger refs = new AtomicInteger();
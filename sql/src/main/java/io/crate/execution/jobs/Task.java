@@ -44,4 +44,9 @@ public interface Task extends CompletionListenable<CompletionState>, Killable {
     String name();
 
     int id();
+
+    /**
+     * The progress counters of the task, updated while it is running.
+     */
+    OperationProgress progress();
 }
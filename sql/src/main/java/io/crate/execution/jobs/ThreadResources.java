@@ -0,0 +1,87 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Access to the CPU time and the allocated bytes of the current thread.
+ *
+ * Both are cumulative, the resources used by a piece of code are the difference
+ * of the values taken before and after it ran.
+ * If the JVM doesn't support the measurement the values are always 0.
+ */
+final class ThreadResources {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+    private static final Method GET_THREAD_ALLOCATED_BYTES = getAllocatedBytesMethod();
+
+    private ThreadResources() {
+    }
+
+    /**
+     * @return the CPU time of the current thread in nanoseconds
+     */
+    static long cpuTime() {
+        if (CPU_TIME_SUPPORTED) {
+            // -1 if the measurement is disabled
+            return Math.max(0L, THREAD_MX_BEAN.getCurrentThreadCpuTime());
+        }
+        return 0L;
+    }
+
+    /**
+     * @return the number of bytes allocated on the heap by the current thread
+     */
+    static long allocatedBytes() {
+        if (GET_THREAD_ALLOCATED_BYTES == null) {
+            return 0L;
+        }
+        try {
+            return Math.max(0L, (long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId()));
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Returns the getThreadAllocatedBytes method of the com.sun.management.ThreadMXBean,
+     * or null if it is not available or the allocated memory measurement is disabled.
+     */
+    private static Method getAllocatedBytesMethod() {
+        try {
+            Class<?> clazz = Class.forName("com.sun.management.ThreadMXBean");
+            if (clazz.isInstance(THREAD_MX_BEAN)
+                && (boolean) clazz.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN)) {
+                return clazz.getMethod("getThreadAllocatedBytes", long.class);
+            }
+            return null;
+        } catch (Exception e) {
+            // not available
+            return null;
+        }
+    }
+}
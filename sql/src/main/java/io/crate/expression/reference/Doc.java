@@ -31,21 +31,34 @@ import java.util.function.Supplier;
 
 public final class Doc {
 
-    private final Map<String, Object> source;
+    private final Supplier<Map<String, Object>> sourceSupplier;
     private final Supplier<String> raw;
     private final String index;
     private final String id;
     private final long version;
+    private Map<String, Object> source;
 
     public Doc(String index,
                String id,
                long version,
                Map<String, Object> source,
                Supplier<String> raw) {
+        this(index, id, version, () -> source, raw);
+    }
+
+    /**
+     * Creates a Doc whose source map is only created on the first {@link #getSource()} call.
+     * This avoids parsing the source if only system columns like `_id` or `_version` are accessed.
+     */
+    public Doc(String index,
+               String id,
+               long version,
+               Supplier<Map<String, Object>> sourceSupplier,
+               Supplier<String> raw) {
         this.index = index;
         this.id = id;
         this.version = version;
-        this.source = source;
+        this.sourceSupplier = sourceSupplier;
         this.raw = raw;
     }
 
@@ -62,6 +75,9 @@ public final class Doc {
     }
 
     public Map<String, Object> getSource() {
+        if (source == null) {
+            source = sourceSupplier.get();
+        }
         return source;
     }
 
@@ -0,0 +1,71 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.reference.doc.lucene;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.elasticsearch.index.fielddata.IndexFieldData;
+import org.elasticsearch.index.fielddata.SortedBinaryDocValues;
+import org.elasticsearch.index.mapper.MappedFieldType;
+
+import java.io.IOException;
+
+/**
+ * Reads all values of a string array column from the docValues column store.
+ * <p>
+ * The values are returned sorted and de-duplicated, see {@link NumericArrayColumnReference} for the restrictions
+ * this implies.
+ * </p>
+ */
+public class BytesRefArrayColumnReference extends FieldCacheExpression<IndexFieldData<?>, Object[]> {
+
+    private SortedBinaryDocValues values;
+    private Object[] value;
+
+    public BytesRefArrayColumnReference(MappedFieldType mappedFieldType) {
+        super(mappedFieldType);
+    }
+
+    @Override
+    public Object[] value() {
+        return value;
+    }
+
+    @Override
+    public void setNextDocId(int docId) throws IOException {
+        super.setNextDocId(docId);
+        if (values.advanceExact(docId)) {
+            Object[] strings = new Object[values.docValueCount()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = values.nextValue().utf8ToString();
+            }
+            value = strings;
+        } else {
+            value = null;
+        }
+    }
+
+    @Override
+    public void setNextReader(LeafReaderContext context) throws IOException {
+        super.setNextReader(context);
+        values = indexFieldData.load(context).getBytesValues();
+    }
+}
@@ -24,16 +24,30 @@ package io.crate.expression.reference.doc.lucene;
 import io.crate.exceptions.GroupByOnArrayUnsupportedException;
 import io.crate.exceptions.ValidationException;
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
 import org.elasticsearch.index.fielddata.IndexOrdinalsFieldData;
-import org.elasticsearch.index.fielddata.SortedBinaryDocValues;
 import org.elasticsearch.index.mapper.MappedFieldType;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
+/**
+ * Reads string values via the ordinals of the column.
+ * <p>
+ * The UTF-8 bytes of a value are only decoded into a {@link String} if {@link #value()} is called, and the decoded
+ * value is re-used as long as subsequent documents of the same segment have the same ordinal.
+ * This avoids decoding values of rows which are never consumed and repeated decoding of the same value
+ * for low cardinality columns or data which is sorted by the column.
+ * </p>
+ */
 public class BytesRefColumnReference extends FieldCacheExpression<IndexOrdinalsFieldData, String> {
 
+    private static final long NULL_ORD = -1L;
+
     private final String columnName;
-    private SortedBinaryDocValues values;
+    private SortedSetDocValues values;
+    private long ord = NULL_ORD;
+    private long decodedOrd = NULL_ORD;
     private String value;
 
     public BytesRefColumnReference(String columnName, MappedFieldType mappedFieldType) {
@@ -43,6 +57,17 @@ public class BytesRefColumnReference extends FieldCacheExpression<IndexOrdinalsF
 
     @Override
     public String value() throws ValidationException {
+        if (ord == NULL_ORD) {
+            return null;
+        }
+        if (ord != decodedOrd) {
+            try {
+                value = values.lookupOrd(ord).utf8ToString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            decodedOrd = ord;
+        }
         return value;
     }
 
@@ -50,13 +75,12 @@ public class BytesRefColumnReference extends FieldCacheExpression<IndexOrdinalsF
     public void setNextDocId(int docId) throws IOException {
         super.setNextDocId(docId);
         if (values.advanceExact(docId)) {
-            if (values.docValueCount() == 1) {
-                value = values.nextValue().utf8ToString();
-            } else {
+            ord = values.nextOrd();
+            if (values.nextOrd() != SortedSetDocValues.NO_MORE_ORDS) {
                 throw new GroupByOnArrayUnsupportedException(columnName);
             }
         } else {
-            value = null;
+            ord = NULL_ORD;
         }
     }
 
@@ -64,9 +88,11 @@ public class BytesRefColumnReference extends FieldCacheExpression<IndexOrdinalsF
     public void setNextReader(LeafReaderContext context) throws IOException {
         super.setNextReader(context);
         // String columns created via CREATE TABLE use docValues so we could use
-        //  `FieldData.maybeSlowRandomAccessOrds(DocValues.getSortedSet(reader, field));` for those.
+        //  `DocValues.getSortedSet(reader, field)` for those.
         // But dynamic columns don't use docValues so we need to use the fieldData abstraction layer.
-        values = indexFieldData.load(context).getBytesValues();
+        values = indexFieldData.load(context).getOrdinalsValues();
+        ord = NULL_ORD;
+        decodedOrd = NULL_ORD;
+        value = null;
     }
 }
-
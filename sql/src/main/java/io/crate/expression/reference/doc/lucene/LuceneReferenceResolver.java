@@ -58,10 +58,21 @@ public class LuceneReferenceResolver implements ReferenceResolver<LuceneCollecto
     private static final Set<DataType<?>> NO_FIELD_TYPES = ImmutableSet.of(DataTypes.OBJECT, DataTypes.GEO_SHAPE);
     private final FieldTypeLookup fieldTypeLookup;
     private final IndexSettings indexSettings;
+    private final boolean unorderedArrays;
 
     public LuceneReferenceResolver(FieldTypeLookup fieldTypeLookup, IndexSettings indexSettings) {
+        this(fieldTypeLookup, indexSettings, false);
+    }
+
+    /**
+     * @param unorderedArrays if true, array columns are read from the docValues column store instead of the source.
+     *                        The values of such arrays are sorted, may be de-duplicated and don't contain null elements,
+     *                        so this must only be used if the consumers of the values don't depend on those properties.
+     */
+    public LuceneReferenceResolver(FieldTypeLookup fieldTypeLookup, IndexSettings indexSettings, boolean unorderedArrays) {
         this.fieldTypeLookup = fieldTypeLookup;
         this.indexSettings = indexSettings;
+        this.unorderedArrays = unorderedArrays;
     }
 
     @Override
@@ -101,11 +112,13 @@ public class LuceneReferenceResolver implements ReferenceResolver<LuceneCollecto
                 return new VersionCollectorExpression();
 
             default:
-                return typeSpecializedExpression(fieldTypeLookup, ref);
+                return typeSpecializedExpression(fieldTypeLookup, ref, unorderedArrays);
         }
     }
 
-    private static LuceneCollectorExpression<?> typeSpecializedExpression(FieldTypeLookup fieldTypeLookup, Reference ref) {
+    private static LuceneCollectorExpression<?> typeSpecializedExpression(FieldTypeLookup fieldTypeLookup,
+                                                                          Reference ref,
+                                                                          boolean unorderedArrays) {
         String fqn = ref.column().fqn();
         MappedFieldType fieldType = fieldTypeLookup.get(fqn);
         if (fieldType == null) {
@@ -139,6 +152,10 @@ public class LuceneReferenceResolver implements ReferenceResolver<LuceneCollecto
             case GeoPointType.ID:
                 return new GeoPointColumnReference(fqn, fieldType);
             case ArrayType.ID:
+                if (unorderedArrays) {
+                    return arrayDocValuesExpression(fieldType, ref);
+                }
+                return DocCollectorExpression.create(toSourceLookup(ref));
             case SetType.ID:
                 return DocCollectorExpression.create(toSourceLookup(ref));
             default:
@@ -146,6 +163,24 @@ public class LuceneReferenceResolver implements ReferenceResolver<LuceneCollecto
         }
     }
 
+    private static LuceneCollectorExpression<?> arrayDocValuesExpression(MappedFieldType fieldType, Reference ref) {
+        DataType<?> innerType = ((ArrayType) ref.valueType()).innerType();
+        switch (innerType.id()) {
+            case ByteType.ID:
+            case ShortType.ID:
+            case IntegerType.ID:
+            case LongType.ID:
+            case TimestampType.ID:
+            case FloatType.ID:
+            case DoubleType.ID:
+                return new NumericArrayColumnReference(fieldType, innerType);
+            case StringType.ID:
+                return new BytesRefArrayColumnReference(fieldType);
+            default:
+                return DocCollectorExpression.create(toSourceLookup(ref));
+        }
+    }
+
     private static class NullValueCollectorExpression extends LuceneCollectorExpression<Void> {
 
         @Override
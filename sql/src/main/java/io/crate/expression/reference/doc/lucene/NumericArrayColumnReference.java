@@ -0,0 +1,95 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.reference.doc.lucene;
+
+import io.crate.types.DataType;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.elasticsearch.index.fielddata.AtomicNumericFieldData;
+import org.elasticsearch.index.fielddata.IndexNumericFieldData;
+import org.elasticsearch.index.fielddata.SortedNumericDoubleValues;
+import org.elasticsearch.index.mapper.MappedFieldType;
+
+import java.io.IOException;
+
+/**
+ * Reads all values of a numeric array column from the docValues column store.
+ * <p>
+ * DocValues store the values of a multi-valued field sorted and without null elements.
+ * This expression must therefore only be used if neither the order of the elements nor null elements matter,
+ * e.g. to evaluate {@code x = ANY(arrayColumn)}. A document without any value results in {@code null}.
+ * </p>
+ */
+public class NumericArrayColumnReference extends FieldCacheExpression<IndexNumericFieldData, Object[]> {
+
+    private final DataType<?> innerType;
+    private SortedNumericDocValues longValues;
+    private SortedNumericDoubleValues doubleValues;
+    private Object[] value;
+
+    public NumericArrayColumnReference(MappedFieldType mappedFieldType, DataType<?> innerType) {
+        super(mappedFieldType);
+        this.innerType = innerType;
+    }
+
+    @Override
+    public Object[] value() {
+        return value;
+    }
+
+    @Override
+    public void setNextDocId(int docId) throws IOException {
+        super.setNextDocId(docId);
+        if (doubleValues != null) {
+            if (doubleValues.advanceExact(docId)) {
+                Object[] values = new Object[doubleValues.docValueCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = innerType.value(doubleValues.nextValue());
+                }
+                value = values;
+            } else {
+                value = null;
+            }
+        } else {
+            if (longValues.advanceExact(docId)) {
+                Object[] values = new Object[longValues.docValueCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = innerType.value(longValues.nextValue());
+                }
+                value = values;
+            } else {
+                value = null;
+            }
+        }
+    }
+
+    @Override
+    public void setNextReader(LeafReaderContext context) throws IOException {
+        super.setNextReader(context);
+        AtomicNumericFieldData fieldData = indexFieldData.load(context);
+        if (indexFieldData.getNumericType().isFloatingPoint()) {
+            doubleValues = fieldData.getDoubleValues();
+        } else {
+            longValues = fieldData.getLongValues();
+        }
+    }
+}
@@ -25,7 +25,10 @@ import io.crate.auth.user.User;
 import io.crate.planner.operators.StatementClassifier.Classification;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class JobContext {
 
@@ -35,13 +38,30 @@ public class JobContext {
     private final long started;
     @Nullable
     private final Classification classification;
+    private final LongAdder cpuTime = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    @Nullable
+    private Supplier<Map<String, Object>> explainPlan;
 
     public JobContext(UUID id, String stmt, long started, User user, @Nullable Classification classification) {
+        this(id, stmt, started, user, classification, null);
+    }
+
+    /**
+     * @param explainPlan renders the plan of the job; it is only invoked if the job turns out to be slow.
+     */
+    public JobContext(UUID id,
+                      String stmt,
+                      long started,
+                      User user,
+                      @Nullable Classification classification,
+                      @Nullable Supplier<Map<String, Object>> explainPlan) {
         this.id = id;
         this.stmt = stmt;
         this.started = started;
         this.username = user.name();
         this.classification = classification;
+        this.explainPlan = explainPlan;
     }
 
     public UUID id() {
@@ -65,6 +85,36 @@ public class JobContext {
         return classification;
     }
 
+    /**
+     * Adds the resources used by a finished operation of the job.
+     */
+    public void addResources(long cpuTime, long allocatedBytes) {
+        this.cpuTime.add(cpuTime);
+        this.allocatedBytes.add(allocatedBytes);
+    }
+
+    /**
+     * @return the CPU time in nanoseconds used by the finished operations of the job on this node
+     */
+    public long cpuTime() {
+        return cpuTime.longValue();
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes.longValue();
+    }
+
+    /**
+     * Returns the supplier of the plan and drops the reference to it, so that the plan and the planner context
+     * it captures aren't retained by the jobs log once the job finished.
+     */
+    @Nullable
+    public Supplier<Map<String, Object>> takeExplainPlan() {
+        Supplier<Map<String, Object>> plan = explainPlan;
+        explainPlan = null;
+        return plan;
+    }
+
     @Override
     public String toString() {
         return "JobContext{" +
@@ -71,6 +71,14 @@ public class JobContextLog implements ContextLog {
         return jobContext.classification();
     }
 
+    public long cpuTime() {
+        return jobContext.cpuTime();
+    }
+
+    public long allocatedBytes() {
+        return jobContext.allocatedBytes();
+    }
+
     @Override
     public long ended() {
         return ended;
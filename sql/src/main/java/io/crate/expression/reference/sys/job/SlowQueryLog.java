@@ -0,0 +1,105 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.reference.sys.job;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A job which took longer than the slow query threshold, together with its plan and the operations it ran on
+ * the handler node.
+ */
+public class SlowQueryLog implements ContextLog {
+
+    private final JobContextLog jobContextLog;
+    @Nullable
+    private final Map<String, Object> plan;
+    private final List<Map<String, Object>> operations;
+
+    public SlowQueryLog(JobContextLog jobContextLog,
+                        @Nullable Map<String, Object> plan,
+                        List<Map<String, Object>> operations) {
+        this.jobContextLog = jobContextLog;
+        this.plan = plan;
+        this.operations = operations;
+    }
+
+    public JobContextLog jobContextLog() {
+        return jobContextLog;
+    }
+
+    public UUID id() {
+        return jobContextLog.id();
+    }
+
+    public String username() {
+        return jobContextLog.username();
+    }
+
+    public String statement() {
+        return jobContextLog.statement();
+    }
+
+    public long started() {
+        return jobContextLog.started();
+    }
+
+    @Override
+    public long ended() {
+        return jobContextLog.ended();
+    }
+
+    public long duration() {
+        return jobContextLog.ended() - jobContextLog.started();
+    }
+
+    @Nullable
+    public String errorMessage() {
+        return jobContextLog.errorMessage();
+    }
+
+    public long cpuTime() {
+        return jobContextLog.cpuTime();
+    }
+
+    public long allocatedBytes() {
+        return jobContextLog.allocatedBytes();
+    }
+
+    /**
+     * The explain output of the plan, null if the statement doesn't have a logical plan (e.g. DDL and bulk statements).
+     */
+    @Nullable
+    public Map<String, Object> plan() {
+        return plan;
+    }
+
+    /**
+     * The operations of the job on this node, each with its id, name, started, ended, used_bytes, cpu_time and
+     * allocated_bytes. ended is null for operations which were still running when the job finished.
+     */
+    public List<Map<String, Object>> operations() {
+        return operations;
+    }
+}
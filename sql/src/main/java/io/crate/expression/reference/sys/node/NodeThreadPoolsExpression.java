@@ -25,6 +25,7 @@ package io.crate.expression.reference.sys.node;
 import io.crate.expression.reference.sys.ArrayTypeNestableContextCollectExpression;
 import org.elasticsearch.threadpool.ThreadPoolStats;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
 
@@ -41,6 +42,8 @@ public class NodeThreadPoolsExpression
     private static final String COMPLETED = "completed";
     private static final String THREADS = "threads";
     private static final String QUEUE = "queue";
+    private static final String QUEUE_TIME = "queue_time_";
+    private static final String RUN_TIME = "run_time_";
 
     public NodeThreadPoolsExpression() {
     }
@@ -52,7 +55,7 @@ public class NodeThreadPoolsExpression
 
     @Override
     protected Object valueForItem(ThreadPoolStats.Stats stats) {
-        HashMap<String, Object> result = new HashMap<>(7);
+        HashMap<String, Object> result = new HashMap<>(15);
         result.put(POOL_NAME, stats.getName());
         result.put(ACTIVE, stats.getActive());
         result.put(COMPLETED, stats.getCompleted());
@@ -60,9 +63,20 @@ public class NodeThreadPoolsExpression
         result.put(LARGEST, stats.getLargest());
         result.put(QUEUE, stats.getQueue());
         result.put(THREADS, stats.getThreads());
+        putTaskTimes(result, QUEUE_TIME, stats.getQueueTimes());
+        putTaskTimes(result, RUN_TIME, stats.getRunTimes());
         return result;
     }
 
+    private static void putTaskTimes(HashMap<String, Object> result,
+                                     String prefix,
+                                     @Nullable ThreadPoolStats.TaskTimes taskTimes) {
+        result.put(prefix + "p50", taskTimes == null ? null : taskTimes.getP50());
+        result.put(prefix + "p95", taskTimes == null ? null : taskTimes.getP95());
+        result.put(prefix + "p99", taskTimes == null ? null : taskTimes.getP99());
+        result.put(prefix + "max", taskTimes == null ? null : taskTimes.getMax());
+    }
+
     @Override
     public void setNextRow(NodeStatsContext nodeStatsContext) {
         value = null;
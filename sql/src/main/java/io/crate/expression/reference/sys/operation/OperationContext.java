@@ -21,6 +21,8 @@
 
 package io.crate.expression.reference.sys.operation;
 
+import io.crate.execution.jobs.OperationProgress;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -31,13 +33,19 @@ public class OperationContext {
     public final String name;
 
     public final long started;
+    public final OperationProgress progress;
     public long usedBytes;
 
     public OperationContext(int id, UUID jobId, String name, long started) {
+        this(id, jobId, name, started, new OperationProgress());
+    }
+
+    public OperationContext(int id, UUID jobId, String name, long started, OperationProgress progress) {
         this.id = id;
         this.jobId = jobId;
         this.name = name;
         this.started = started;
+        this.progress = progress;
     }
 
     public int id() {
@@ -60,6 +68,10 @@ public class OperationContext {
         return usedBytes;
     }
 
+    public OperationProgress progress() {
+        return progress;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -65,6 +65,14 @@ public class OperationContextLog implements ContextLog {
         return operationContext.usedBytes;
     }
 
+    public long cpuTime() {
+        return operationContext.progress.cpuTime();
+    }
+
+    public long allocatedBytes() {
+        return operationContext.progress.allocatedBytes();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
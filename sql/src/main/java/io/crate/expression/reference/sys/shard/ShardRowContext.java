@@ -24,6 +24,7 @@ package io.crate.expression.reference.sys.shard;
 
 import com.google.common.base.Suppliers;
 import io.crate.blob.v2.BlobShard;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.metadata.IndexParts;
 import io.crate.metadata.PartitionName;
 import io.crate.metadata.RelationName;
@@ -43,6 +44,7 @@ public class ShardRowContext {
     private final BlobShard blobShard;
     private final ClusterService clusterService;
     private final Supplier<Long> sizeSupplier;
+    private final ShardLoad load;
     private final IndexParts indexParts;
     private final String partitionIdent;
     private final int id;
@@ -54,8 +56,8 @@ public class ShardRowContext {
     @Nullable
     private final String templateName;
 
-    public ShardRowContext(IndexShard indexShard, ClusterService clusterService) {
-        this(indexShard, null, clusterService, Suppliers.memoizeWithExpiration(() -> {
+    public ShardRowContext(IndexShard indexShard, ClusterService clusterService, ShardLoad load) {
+        this(indexShard, null, clusterService, load, Suppliers.memoizeWithExpiration(() -> {
             StoreStats storeStats = indexShard.storeStats();
             if (storeStats == null) {
                 // will return null if already closed due to shard deletion
@@ -65,17 +67,19 @@ public class ShardRowContext {
         }, 10, TimeUnit.SECONDS));
     }
 
-    public ShardRowContext(BlobShard blobShard, ClusterService clusterService) {
-        this(blobShard.indexShard(), blobShard, clusterService, blobShard::getTotalSize);
+    public ShardRowContext(BlobShard blobShard, ClusterService clusterService, ShardLoad load) {
+        this(blobShard.indexShard(), blobShard, clusterService, load, blobShard::getTotalSize);
     }
 
     private ShardRowContext(IndexShard indexShard,
                             @Nullable BlobShard blobShard,
                             ClusterService clusterService,
+                            ShardLoad load,
                             Supplier<Long> sizeSupplier) {
         this.indexShard = indexShard;
         this.blobShard = blobShard;
         this.clusterService = clusterService;
+        this.load = load;
         this.sizeSupplier = sizeSupplier;
         ShardId shardId = indexShard.shardId();
         String indexName = shardId.getIndexName();
@@ -116,6 +120,10 @@ public class ShardRowContext {
         return sizeSupplier.get();
     }
 
+    public ShardLoad load() {
+        return load;
+    }
+
     public String partitionIdent() {
         return partitionIdent;
     }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.expression.reference.sys.shard;
+
+import io.crate.metadata.IndexParts;
+import org.apache.lucene.util.Accountable;
+import org.elasticsearch.index.engine.Segment;
+import org.elasticsearch.index.shard.ShardId;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+public class SysSegment {
+
+    private final ShardId shardId;
+    private final IndexParts indexParts;
+    private final boolean primary;
+    private final Segment segment;
+
+    public SysSegment(ShardId shardId, boolean primary, Segment segment) {
+        this.shardId = shardId;
+        this.indexParts = new IndexParts(shardId.getIndexName());
+        this.primary = primary;
+        this.segment = segment;
+    }
+
+    public String tableSchema() {
+        return indexParts.getSchema();
+    }
+
+    public String tableName() {
+        return indexParts.getTable();
+    }
+
+    @Nullable
+    public String partitionIdent() {
+        return indexParts.isPartitioned() ? indexParts.getPartitionIdent() : null;
+    }
+
+    public int shardId() {
+        return shardId.id();
+    }
+
+    public boolean primary() {
+        return primary;
+    }
+
+    public String segmentName() {
+        return segment.getName();
+    }
+
+    public long generation() {
+        return segment.getGeneration();
+    }
+
+    public int numDocs() {
+        return segment.getNumDocs();
+    }
+
+    public int deletedDocs() {
+        return segment.getDeletedDocs();
+    }
+
+    public long size() {
+        return segment.getSizeInBytes();
+    }
+
+    public long memory() {
+        return segment.getMemoryInBytes();
+    }
+
+    public long docValuesMemory() {
+        return childMemory("docvalues");
+    }
+
+    public long normsMemory() {
+        return childMemory("norms");
+    }
+
+    public boolean committed() {
+        return segment.isCommitted();
+    }
+
+    public boolean searchable() {
+        return segment.isSearch();
+    }
+
+    @Nullable
+    public Boolean compound() {
+        return segment.isCompound();
+    }
+
+    @Nullable
+    public String version() {
+        return segment.getVersion() == null ? null : segment.getVersion().toString();
+    }
+
+    @Nullable
+    public Map<String, String> attributes() {
+        return segment.getAttributes();
+    }
+
+    public String fqn() {
+        return indexParts.toFullyQualifiedName();
+    }
+
+    /**
+     * The memory of the resources of the segment reader, which are named like "docvalues [...]", see
+     * {@link org.apache.lucene.index.SegmentReader#getChildResources()}.
+     * 0 if the segment is not searchable and so has no reader.
+     */
+    private long childMemory(String name) {
+        Accountable ramTree = segment.ramTree;
+        if (ramTree == null) {
+            return 0L;
+        }
+        long bytes = 0L;
+        for (Accountable child : ramTree.getChildResources()) {
+            if (child.toString().startsWith(name)) {
+                bytes += child.ramBytesUsed();
+            }
+        }
+        return bytes;
+    }
+}
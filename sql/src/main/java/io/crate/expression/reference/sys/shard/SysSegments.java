@@ -0,0 +1,76 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.expression.reference.sys.shard;
+
+import io.crate.metadata.IndexParts;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.index.IndexService;
+import org.elasticsearch.index.engine.Segment;
+import org.elasticsearch.index.shard.IllegalIndexShardStateException;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.indices.IndicesService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The Lucene segments of the shards allocated on this node.
+ */
+@Singleton
+public class SysSegments implements Iterable<SysSegment> {
+
+    private final IndicesService indicesService;
+
+    @Inject
+    public SysSegments(IndicesService indicesService) {
+        this.indicesService = indicesService;
+    }
+
+    @Override
+    public Iterator<SysSegment> iterator() {
+        List<SysSegment> segments = new ArrayList<>();
+        for (IndexService indexService : indicesService) {
+            if (IndexParts.isDangling(indexService.index().getName())) {
+                continue;
+            }
+            for (IndexShard indexShard : indexService) {
+                List<Segment> shardSegments;
+                try {
+                    // verbose to expose the memory used by doc values and norms
+                    shardSegments = indexShard.segments(true);
+                } catch (AlreadyClosedException | IllegalIndexShardStateException e) {
+                    // shard is being closed or not started yet
+                    continue;
+                }
+                boolean primary = indexShard.routingEntry().primary();
+                for (Segment segment : shardSegments) {
+                    segments.add(new SysSegment(indexShard.shardId(), primary, segment));
+                }
+            }
+        }
+        return segments.iterator();
+    }
+}
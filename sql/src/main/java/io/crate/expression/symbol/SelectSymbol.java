@@ -40,7 +40,12 @@ public class SelectSymbol extends Symbol {
 
     public enum ResultType {
         SINGLE_COLUMN_SINGLE_VALUE,
-        SINGLE_COLUMN_MULTIPLE_VALUES
+        SINGLE_COLUMN_MULTIPLE_VALUES,
+
+        /**
+         * {@code EXISTS (subquery)}; the value is true if the subquery returns at least one row
+         */
+        EXISTS
     }
 
     public SelectSymbol(QueriedRelation relation, ArrayType dataType, ResultType resultType) {
@@ -90,7 +95,7 @@ public class SelectSymbol extends Symbol {
 
     @Override
     public DataType valueType() {
-        if (resultType == ResultType.SINGLE_COLUMN_SINGLE_VALUE) {
+        if (resultType == ResultType.SINGLE_COLUMN_SINGLE_VALUE || resultType == ResultType.EXISTS) {
             return dataType.innerType();
         }
         return dataType;
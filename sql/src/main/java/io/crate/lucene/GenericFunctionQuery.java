@@ -68,6 +68,10 @@ class GenericFunctionQuery extends Query {
         this.condition = condition;
     }
 
+    LuceneCollectorExpression[] expressions() {
+        return expressions;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -42,6 +42,7 @@ import io.crate.expression.operator.OrOperator;
 import io.crate.expression.operator.RegexpMatchCaseInsensitiveOperator;
 import io.crate.expression.operator.RegexpMatchOperator;
 import io.crate.expression.operator.any.AnyLikeOperator;
+import io.crate.expression.operator.any.AnyOperator;
 import io.crate.expression.operator.any.AnyOperators;
 import io.crate.expression.predicate.IsNullPredicate;
 import io.crate.expression.predicate.MatchPredicate;
@@ -60,6 +61,7 @@ import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.SymbolType;
 import io.crate.expression.symbol.SymbolVisitor;
+import io.crate.expression.symbol.SymbolVisitors;
 import io.crate.expression.symbol.format.SymbolFormatter;
 import io.crate.expression.symbol.format.SymbolPrinter;
 import io.crate.metadata.CoordinatorTxnCtx;
@@ -70,6 +72,7 @@ import io.crate.metadata.Functions;
 import io.crate.metadata.Reference;
 import io.crate.metadata.doc.DocSysColumns;
 import io.crate.metadata.table.ColumnPolicy;
+import io.crate.types.ArrayType;
 import io.crate.types.DataTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -155,6 +158,7 @@ public class LuceneQueryBuilder {
         final Map<String, Object> filteredFieldValues = new HashMap<>();
 
         final DocInputFactory docInputFactory;
+        final DocInputFactory unorderedArraysDocInputFactory;
         final MapperService mapperService;
         final IndexCache indexCache;
         private final TransactionContext txnCtx;
@@ -172,6 +176,10 @@ public class LuceneQueryBuilder {
                 functions,
                 typeLookup,
                 new LuceneReferenceResolver(typeLookup, mapperService.getIndexSettings()));
+            this.unorderedArraysDocInputFactory = new DocInputFactory(
+                functions,
+                typeLookup,
+                new LuceneReferenceResolver(typeLookup, mapperService.getIndexSettings(), true));
             this.mapperService = mapperService;
             this.indexCache = indexCache;
         }
@@ -560,7 +568,15 @@ public class LuceneQueryBuilder {
             r -> r.columnPolicy() == ColumnPolicy.IGNORED
                  || r.valueType() == DataTypes.GEO_POINT);
 
-        final InputFactory.Context<? extends LuceneCollectorExpression<?>> ctx = context.docInputFactory.getCtx(context.txnCtx);
+        // `x = ANY(arrayColumn)` neither depends on the order of the array elements nor on duplicates,
+        // so the array values can be read from the docValues column store instead of parsing the source.
+        // Null elements don't matter either as a `null` result of the condition won't match the same as `false` does.
+        // `literal = ANY(arrayColumn)` is already turned into a term query, so this applies if the left side
+        // is a column or another expression, e.g. `x = ANY(arrayColumn)`.
+        DocInputFactory docInputFactory = isAnyOnArrayColumn(function)
+            ? context.unorderedArraysDocInputFactory
+            : context.docInputFactory;
+        final InputFactory.Context<? extends LuceneCollectorExpression<?>> ctx = docInputFactory.getCtx(context.txnCtx);
         @SuppressWarnings("unchecked")
         final Input<Boolean> condition = (Input<Boolean>) ctx.add(function);
         @SuppressWarnings("unchecked")
@@ -576,6 +592,20 @@ public class LuceneQueryBuilder {
         return new GenericFunctionQuery(function, expressions, collectorContext, condition);
     }
 
+    private static boolean isAnyOnArrayColumn(Function function) {
+        List<Symbol> args = function.arguments();
+        return function.info().ident().name().startsWith(AnyOperator.OPERATOR_PREFIX)
+               && args.size() == 2
+               && args.get(1) instanceof Reference
+               && args.get(1).valueType().id() == ArrayType.ID
+               // array columns on the left side would be read unordered as well
+               && !SymbolVisitors.any(LuceneQueryBuilder::isArrayReference, args.get(0));
+    }
+
+    private static boolean isArrayReference(Symbol symbol) {
+        return symbol instanceof Reference && symbol.valueType().id() == ArrayType.ID;
+    }
+
     private static void raiseUnsupported(Function function) {
         throw new UnsupportedOperationException(
             SymbolFormatter.format("Cannot convert function %s into a query", function));
@@ -0,0 +1,167 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+package io.crate.metadata.pgcatalog;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.WhereClause;
+import io.crate.execution.engine.collect.NestableCollectExpression;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.RoutingProvider;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.expressions.RowCollectExpressionFactory;
+import io.crate.metadata.table.ColumnRegistrar;
+import io.crate.metadata.table.StaticTableInfo;
+import io.crate.planner.ColumnStats;
+import io.crate.planner.TableStats;
+import io.crate.types.ArrayType;
+import io.crate.types.DataTypes;
+import org.elasticsearch.cluster.ClusterState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the column statistics collected by {@code ANALYZE}.
+ * The statistics are kept in memory of the node which executed {@code ANALYZE},
+ * so the table is always routed to the local node.
+ */
+public class PgStatsTable extends StaticTableInfo {
+
+    public static final RelationName IDENT = new RelationName(PgCatalogSchemaInfo.NAME, "pg_stats");
+
+    static class Columns {
+        static final ColumnIdent SCHEMANAME = new ColumnIdent("schemaname");
+        static final ColumnIdent TABLENAME = new ColumnIdent("tablename");
+        static final ColumnIdent ATTNAME = new ColumnIdent("attname");
+        static final ColumnIdent INHERITED = new ColumnIdent("inherited");
+        static final ColumnIdent NULL_FRAC = new ColumnIdent("null_frac");
+        static final ColumnIdent AVG_WIDTH = new ColumnIdent("avg_width");
+        static final ColumnIdent N_DISTINCT = new ColumnIdent("n_distinct");
+        static final ColumnIdent MOST_COMMON_VALS = new ColumnIdent("most_common_vals");
+        static final ColumnIdent MOST_COMMON_FREQS = new ColumnIdent("most_common_freqs");
+        static final ColumnIdent HISTOGRAM_BOUNDS = new ColumnIdent("histogram_bounds");
+        static final ColumnIdent CORRELATION = new ColumnIdent("correlation");
+    }
+
+    public static class Entry {
+
+        final RelationName relationName;
+        final ColumnIdent column;
+        final ColumnStats stats;
+
+        Entry(RelationName relationName, ColumnIdent column, ColumnStats stats) {
+            this.relationName = relationName;
+            this.column = column;
+            this.stats = stats;
+        }
+
+        public RelationName relationName() {
+            return relationName;
+        }
+    }
+
+    static Iterable<Entry> entries(TableStats tableStats) {
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<RelationName, Map<ColumnIdent, ColumnStats>> table : tableStats.columnStats().entrySet()) {
+            for (Map.Entry<ColumnIdent, ColumnStats> column : table.getValue().entrySet()) {
+                entries.add(new Entry(table.getKey(), column.getKey(), column.getValue()));
+            }
+        }
+        return entries;
+    }
+
+    public static Map<ColumnIdent, RowCollectExpressionFactory<Entry>> expressions() {
+        return ImmutableMap.<ColumnIdent, RowCollectExpressionFactory<Entry>>builder()
+            .put(Columns.SCHEMANAME, () -> NestableCollectExpression.forFunction(e -> e.relationName.schema()))
+            .put(Columns.TABLENAME, () -> NestableCollectExpression.forFunction(e -> e.relationName.name()))
+            .put(Columns.ATTNAME, () -> NestableCollectExpression.forFunction(e -> e.column.fqn()))
+            .put(Columns.INHERITED, () -> NestableCollectExpression.constant(false))
+            .put(Columns.NULL_FRAC, () -> NestableCollectExpression.forFunction(e -> (float) e.stats.nullFraction()))
+            .put(Columns.AVG_WIDTH, () -> NestableCollectExpression.constant(null))
+            .put(Columns.N_DISTINCT, () -> NestableCollectExpression.forFunction(e -> (float) e.stats.approxDistinct()))
+            .put(Columns.MOST_COMMON_VALS, () -> NestableCollectExpression.forFunction(
+                e -> toStringArray(e.stats.mostCommonValues())))
+            .put(Columns.MOST_COMMON_FREQS, () -> NestableCollectExpression.forFunction(PgStatsTable::mostCommonFreqs))
+            .put(Columns.HISTOGRAM_BOUNDS, () -> NestableCollectExpression.forFunction(
+                e -> toStringArray(e.stats.histogramBounds())))
+            .put(Columns.CORRELATION, () -> NestableCollectExpression.constant(null))
+            .build();
+    }
+
+    private static String[] toStringArray(List<Object> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        String[] strings = new String[values.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = DataTypes.STRING.value(values.get(i));
+        }
+        return strings;
+    }
+
+    private static Float[] mostCommonFreqs(Entry entry) {
+        double[] freqs = entry.stats.mostCommonFreqs();
+        if (freqs.length == 0) {
+            return null;
+        }
+        Float[] values = new Float[freqs.length];
+        for (int i = 0; i < freqs.length; i++) {
+            values[i] = (float) freqs[i];
+        }
+        return values;
+    }
+
+    PgStatsTable() {
+        super(IDENT, new ColumnRegistrar(IDENT, RowGranularity.DOC)
+                .register(Columns.SCHEMANAME.name(), DataTypes.STRING, null)
+                .register(Columns.TABLENAME.name(), DataTypes.STRING, null)
+                .register(Columns.ATTNAME.name(), DataTypes.STRING, null)
+                .register(Columns.INHERITED.name(), DataTypes.BOOLEAN, null)
+                .register(Columns.NULL_FRAC.name(), DataTypes.FLOAT, null)
+                .register(Columns.AVG_WIDTH.name(), DataTypes.INTEGER, null)
+                .register(Columns.N_DISTINCT.name(), DataTypes.FLOAT, null)
+                .register(Columns.MOST_COMMON_VALS.name(), DataTypes.STRING_ARRAY, null)
+                .register(Columns.MOST_COMMON_FREQS.name(), new ArrayType(DataTypes.FLOAT), null)
+                .register(Columns.HISTOGRAM_BOUNDS.name(), DataTypes.STRING_ARRAY, null)
+                .register(Columns.CORRELATION.name(), DataTypes.FLOAT, null),
+            Collections.emptyList());
+    }
+
+    @Override
+    public Routing getRouting(ClusterState state,
+                              RoutingProvider routingProvider,
+                              WhereClause whereClause,
+                              RoutingProvider.ShardSelection shardSelection,
+                              SessionContext sessionContext) {
+        return Routing.forTableOnSingleNode(IDENT, state.getNodes().getLocalNodeId());
+    }
+
+    @Override
+    public RowGranularity rowGranularity() {
+        return RowGranularity.DOC;
+    }
+}
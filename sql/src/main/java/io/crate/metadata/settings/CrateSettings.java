@@ -28,6 +28,7 @@ import io.crate.breaker.CrateCircuitBreakerService;
 import io.crate.cluster.gracefulstop.DecommissioningService;
 import io.crate.execution.engine.collect.stats.JobsLogService;
 import io.crate.execution.engine.indexing.ShardingUpsertExecutor;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.expression.NestableInput;
 import io.crate.expression.reference.NestedObjectExpression;
 import io.crate.planner.TableStatsService;
@@ -78,8 +79,12 @@ public final class CrateSettings implements ClusterStateListener {
             JobsLogService.STATS_JOBS_LOG_EXPIRATION_SETTING,
             JobsLogService.STATS_JOBS_LOG_FILTER,
             JobsLogService.STATS_JOBS_LOG_PERSIST_FILTER,
+            JobsLogService.STATS_JOBS_STATEMENTS_SIZE_SETTING,
             JobsLogService.STATS_OPERATIONS_LOG_SIZE_SETTING,
             JobsLogService.STATS_OPERATIONS_LOG_EXPIRATION_SETTING,
+            JobsLogService.STATS_SLOW_QUERIES_THRESHOLD_SETTING,
+            JobsLogService.STATS_SLOW_QUERIES_SIZE_SETTING,
+            JobsLogService.STATS_WORKLOAD_CAPTURE_ENABLED_SETTING,
             TableStatsService.STATS_SERVICE_REFRESH_INTERVAL_SETTING,
             CrateCircuitBreakerService.JOBS_LOG_CIRCUIT_BREAKER_LIMIT_SETTING,
             CrateCircuitBreakerService.JOBS_LOG_CIRCUIT_BREAKER_OVERHEAD_SETTING,
@@ -93,6 +98,12 @@ public final class CrateSettings implements ClusterStateListener {
             // BULK
             ShardingUpsertExecutor.BULK_REQUEST_TIMEOUT_SETTING,
 
+            // ADMISSION CONTROL
+            AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING,
+            AdmissionControl.MAX_CONCURRENT_STATEMENTS_PER_USER_SETTING,
+            AdmissionControl.MEMORY_THRESHOLD_SETTING,
+            AdmissionControl.QUEUE_TIMEOUT_SETTING,
+
             // GRACEFUL STOP
             DecommissioningService.DECOMMISSION_INTERNAL_SETTING_GROUP,
             DecommissioningService.GRACEFUL_STOP_MIN_AVAILABILITY_SETTING,
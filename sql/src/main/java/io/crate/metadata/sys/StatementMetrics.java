@@ -0,0 +1,206 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.metadata.sys;
+
+import io.crate.sql.parser.StatementNormalizer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+import org.elasticsearch.common.hash.MurmurHash3;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency statistics per normalized statement (see {@link StatementNormalizer}).
+ *
+ * The number of tracked statements is bounded, if the limit is reached
+ * the least recently executed statement is evicted.
+ * Recording the execution of a tracked statement doesn't lock, only adding a new statement
+ * takes a lock to evict entries; concurrently added statements can exceed the limit briefly.
+ */
+public class StatementMetrics implements Iterable<StatementMetrics.Metrics> {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Lower precision than {@link ClassifiedMetrics} as there can be many more
+     * entries; this keeps the histogram of an entry at around 14kb.
+     */
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final ConcurrentHashMap<String, Metrics> metrics = new ConcurrentHashMap<>();
+    private final AtomicLong accessSequence = new AtomicLong();
+    private volatile int maxEntries;
+
+    public static class Metrics {
+
+        private final String fingerprint;
+        private final String statement;
+        private final Histogram histogram;
+        private final LongAdder sumOfDurations = new LongAdder();
+        private final LongAdder failedCount = new LongAdder();
+        private final LongAdder rowCount = new LongAdder();
+        private volatile long lastExecuted;
+        private volatile long lastAccess;
+
+        Metrics(String statement) {
+            this.statement = statement;
+            this.fingerprint = fingerprint(statement);
+            this.histogram = new SynchronizedHistogram(HIGHEST_TRACKABLE_VALUE, NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        }
+
+        void recordValue(long duration, long rows, long ended) {
+            // see ClassifiedMetrics.Metrics#recordValue, the duration can be negative if the system time is adjusted
+            histogram.recordValue(Math.min(Math.max(0, duration), HIGHEST_TRACKABLE_VALUE));
+            sumOfDurations.add(Math.max(0, duration));
+            rowCount.add(rows);
+            lastExecuted = ended;
+        }
+
+        void recordFailedExecution(long duration, long ended) {
+            recordValue(duration, 0, ended);
+            failedCount.increment();
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        public String statement() {
+            return statement;
+        }
+
+        public Histogram histogram() {
+            return histogram;
+        }
+
+        public long sumOfDurations() {
+            return sumOfDurations.longValue();
+        }
+
+        public long failedCount() {
+            return failedCount.longValue();
+        }
+
+        public long rowCount() {
+            return rowCount.longValue();
+        }
+
+        public long lastExecuted() {
+            return lastExecuted;
+        }
+    }
+
+    public StatementMetrics(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param statement the statement as it was sent by the client, it is normalized before it is recorded.
+     */
+    public void recordValue(String statement, long duration, long rowCount, long ended) {
+        Metrics entry = getOrCreate(statement);
+        if (entry != null) {
+            entry.recordValue(duration, rowCount, ended);
+        }
+    }
+
+    /**
+     * @param statement the statement as it was sent by the client, it is normalized before it is recorded.
+     */
+    public void recordFailedExecution(String statement, long duration, long ended) {
+        Metrics entry = getOrCreate(statement);
+        if (entry != null) {
+            entry.recordFailedExecution(duration, ended);
+        }
+    }
+
+    private Metrics getOrCreate(String statement) {
+        if (maxEntries == 0) {
+            return null;
+        }
+        String normalized = StatementNormalizer.normalize(statement);
+        Metrics entry = metrics.get(normalized);
+        if (entry == null) {
+            entry = metrics.computeIfAbsent(normalized, key -> {
+                Metrics newEntry = new Metrics(key);
+                newEntry.lastAccess = accessSequence.incrementAndGet();
+                return newEntry;
+            });
+            if (metrics.size() > maxEntries) {
+                evictExceedingEntries();
+            }
+        } else {
+            entry.lastAccess = accessSequence.incrementAndGet();
+        }
+        return entry;
+    }
+
+    private synchronized void evictExceedingEntries() {
+        while (metrics.size() > maxEntries) {
+            Metrics leastRecentlyExecuted = null;
+            for (Metrics entry : metrics.values()) {
+                if (leastRecentlyExecuted == null || entry.lastAccess < leastRecentlyExecuted.lastAccess) {
+                    leastRecentlyExecuted = entry;
+                }
+            }
+            if (leastRecentlyExecuted == null) {
+                return;
+            }
+            metrics.remove(leastRecentlyExecuted.statement, leastRecentlyExecuted);
+        }
+    }
+
+    public void maxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        evictExceedingEntries();
+    }
+
+    public void reset() {
+        metrics.clear();
+    }
+
+    static String fingerprint(String normalizedStatement) {
+        byte[] bytes = normalizedStatement.getBytes(StandardCharsets.UTF_8);
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        return String.format(Locale.ENGLISH, "%016x", hash.h1);
+    }
+
+    /**
+     * @return the entries from the least to the most recently executed one
+     */
+    @Override
+    public Iterator<Metrics> iterator() {
+        List<Metrics> entries = new ArrayList<>(metrics.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+        return entries.iterator();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.metadata.sys;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.WhereClause;
+import io.crate.execution.jobs.AdmissionControl.QueueStats;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.RoutingProvider;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.expressions.RowCollectExpressionFactory;
+import io.crate.metadata.table.ColumnRegistrar;
+import io.crate.metadata.table.StaticTableInfo;
+import io.crate.types.DataTypes;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.crate.execution.engine.collect.NestableCollectExpression.forFunction;
+
+public class SysAdmissionQueuesTableInfo extends StaticTableInfo {
+
+    public static final RelationName IDENT = new RelationName(SysSchemaInfo.NAME, "admission_queues");
+
+    static class Columns {
+        static final ColumnIdent USERNAME = new ColumnIdent("username");
+        static final ColumnIdent TYPE = new ColumnIdent("type");
+        static final ColumnIdent RUNNING = new ColumnIdent("running");
+        static final ColumnIdent QUEUED = new ColumnIdent("queued");
+        static final ColumnIdent ADMITTED_COUNT = new ColumnIdent("admitted_count");
+        static final ColumnIdent TIMED_OUT_COUNT = new ColumnIdent("timed_out_count");
+        static final ColumnIdent SUM_OF_WAIT_TIMES = new ColumnIdent("sum_of_wait_times");
+        static final ColumnIdent MAX_WAIT_TIME = new ColumnIdent("max_wait_time");
+        static final ColumnIdent NODE = new ColumnIdent("node");
+        static final ColumnIdent NODE_ID = new ColumnIdent("node", "id");
+        static final ColumnIdent NODE_NAME = new ColumnIdent("node", "name");
+    }
+
+    SysAdmissionQueuesTableInfo() {
+        super(IDENT,
+            new ColumnRegistrar(IDENT, RowGranularity.DOC)
+                .register(Columns.USERNAME, DataTypes.STRING)
+                .register(Columns.TYPE, DataTypes.STRING)
+                .register(Columns.RUNNING, DataTypes.INTEGER)
+                .register(Columns.QUEUED, DataTypes.INTEGER)
+                .register(Columns.ADMITTED_COUNT, DataTypes.LONG)
+                .register(Columns.TIMED_OUT_COUNT, DataTypes.LONG)
+                .register(Columns.SUM_OF_WAIT_TIMES, DataTypes.LONG)
+                .register(Columns.MAX_WAIT_TIME, DataTypes.LONG)
+                .register(Columns.NODE, DataTypes.OBJECT)
+                .register(Columns.NODE_ID, DataTypes.STRING)
+                .register(Columns.NODE_NAME, DataTypes.STRING),
+            Collections.emptyList()
+        );
+    }
+
+    public static Map<ColumnIdent, RowCollectExpressionFactory<QueueStats>> expressions(Supplier<DiscoveryNode> localNode) {
+        return ImmutableMap.<ColumnIdent, RowCollectExpressionFactory<QueueStats>>builder()
+            .put(Columns.USERNAME, () -> forFunction(QueueStats::user))
+            .put(Columns.TYPE, () -> forFunction(q -> q.type().name()))
+            .put(Columns.RUNNING, () -> forFunction(QueueStats::running))
+            .put(Columns.QUEUED, () -> forFunction(QueueStats::queued))
+            .put(Columns.ADMITTED_COUNT, () -> forFunction(QueueStats::admitted))
+            .put(Columns.TIMED_OUT_COUNT, () -> forFunction(QueueStats::timedOut))
+            .put(Columns.SUM_OF_WAIT_TIMES, () -> forFunction(QueueStats::sumOfWaitTimes))
+            .put(Columns.MAX_WAIT_TIME, () -> forFunction(QueueStats::maxWaitTime))
+            .put(Columns.NODE, () -> forFunction(ignored -> ImmutableMap.builder()
+                .put("id", localNode.get().getId())
+                .put("name", localNode.get().getName())
+                .build()
+            ))
+            .put(Columns.NODE_ID, () -> forFunction(ignored -> localNode.get().getId()))
+            .put(Columns.NODE_NAME, () -> forFunction(ignored -> localNode.get().getName()))
+            .build();
+    }
+
+    @Override
+    public Routing getRouting(ClusterState state,
+                              RoutingProvider routingProvider,
+                              WhereClause whereClause,
+                              RoutingProvider.ShardSelection shardSelection,
+                              SessionContext sessionContext) {
+        return Routing.forTableOnAllNodes(IDENT, state.getNodes());
+    }
+
+    @Override
+    public RowGranularity rowGranularity() {
+        return RowGranularity.DOC;
+    }
+}
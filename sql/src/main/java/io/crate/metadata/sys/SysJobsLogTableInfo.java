@@ -60,6 +60,8 @@ public class SysJobsLogTableInfo extends StaticTableInfo {
         static final ColumnIdent CLASS = new ColumnIdent("classification");
         static final ColumnIdent CLASS_TYPE = new ColumnIdent("classification", "type");
         static final ColumnIdent CLASS_LABELS = new ColumnIdent("classification", "labels");
+        static final ColumnIdent CPU_TIME = new ColumnIdent("cpu_time");
+        static final ColumnIdent ALLOCATED_BYTES = new ColumnIdent("allocated_bytes");
     }
 
     public static ImmutableMap<ColumnIdent, RowCollectExpressionFactory<JobContextLog>> expressions() {
@@ -77,6 +79,8 @@ public class SysJobsLogTableInfo extends StaticTableInfo {
             ))
             .put(Columns.CLASS_TYPE, () -> withNullableProperty(JobContextLog::classification, c -> c.type().name()))
             .put(Columns.CLASS_LABELS, () -> withNullableProperty(JobContextLog::classification, c -> c.labels().toArray(new String[0])))
+            .put(Columns.CPU_TIME, () -> forFunction(JobContextLog::cpuTime))
+            .put(Columns.ALLOCATED_BYTES, () -> forFunction(JobContextLog::allocatedBytes))
             .build();
     }
 
@@ -90,7 +94,9 @@ public class SysJobsLogTableInfo extends StaticTableInfo {
             .register(Columns.ERROR, DataTypes.STRING)
             .register(Columns.CLASS, DataTypes.OBJECT)
             .register(Columns.CLASS_TYPE, DataTypes.STRING)
-            .register(Columns.CLASS_LABELS, DataTypes.STRING_ARRAY),
+            .register(Columns.CLASS_LABELS, DataTypes.STRING_ARRAY)
+            .register(Columns.CPU_TIME, DataTypes.LONG)
+            .register(Columns.ALLOCATED_BYTES, DataTypes.LONG),
             PRIMARY_KEYS);
     }
 
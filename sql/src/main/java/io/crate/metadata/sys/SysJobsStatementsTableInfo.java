@@ -0,0 +1,138 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.metadata.sys;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.WhereClause;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.RoutingProvider;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.expressions.RowCollectExpressionFactory;
+import io.crate.metadata.sys.StatementMetrics.Metrics;
+import io.crate.metadata.table.ColumnRegistrar;
+import io.crate.metadata.table.StaticTableInfo;
+import io.crate.types.DataTypes;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.crate.execution.engine.collect.NestableCollectExpression.forFunction;
+
+public class SysJobsStatementsTableInfo extends StaticTableInfo {
+
+    public static final RelationName NAME = new RelationName(SysSchemaInfo.NAME, "jobs_statements");
+
+    static class Columns {
+        static final ColumnIdent FINGERPRINT = new ColumnIdent("fingerprint");
+        static final ColumnIdent STMT = new ColumnIdent("stmt");
+        static final ColumnIdent TOTAL_COUNT = new ColumnIdent("total_count");
+        static final ColumnIdent FAILED_COUNT = new ColumnIdent("failed_count");
+        static final ColumnIdent ROW_COUNT = new ColumnIdent("row_count");
+        static final ColumnIdent SUM_OF_DURATIONS = new ColumnIdent("sum_of_durations");
+        static final ColumnIdent MEAN = new ColumnIdent("mean");
+        static final ColumnIdent STDEV = new ColumnIdent("stdev");
+        static final ColumnIdent MAX = new ColumnIdent("max");
+        static final ColumnIdent MIN = new ColumnIdent("min");
+        static final ColumnIdent PERCENTILES = new ColumnIdent("percentiles");
+        static final ColumnIdent P50 = new ColumnIdent("percentiles", "50");
+        static final ColumnIdent P95 = new ColumnIdent("percentiles", "95");
+        static final ColumnIdent P99 = new ColumnIdent("percentiles", "99");
+        static final ColumnIdent LAST_EXECUTED = new ColumnIdent("last_executed");
+        static final ColumnIdent NODE = new ColumnIdent("node");
+        static final ColumnIdent NODE_ID = new ColumnIdent("node", "id");
+        static final ColumnIdent NODE_NAME = new ColumnIdent("node", "name");
+    }
+
+    SysJobsStatementsTableInfo() {
+        super(NAME,
+            new ColumnRegistrar(NAME, RowGranularity.DOC)
+                .register(Columns.FINGERPRINT, DataTypes.STRING)
+                .register(Columns.STMT, DataTypes.STRING)
+                .register(Columns.TOTAL_COUNT, DataTypes.LONG)
+                .register(Columns.FAILED_COUNT, DataTypes.LONG)
+                .register(Columns.ROW_COUNT, DataTypes.LONG)
+                .register(Columns.SUM_OF_DURATIONS, DataTypes.LONG)
+                .register(Columns.MEAN, DataTypes.DOUBLE)
+                .register(Columns.STDEV, DataTypes.DOUBLE)
+                .register(Columns.MAX, DataTypes.LONG)
+                .register(Columns.MIN, DataTypes.LONG)
+                .register(Columns.PERCENTILES, DataTypes.OBJECT)
+                .register(Columns.P50, DataTypes.LONG)
+                .register(Columns.P95, DataTypes.LONG)
+                .register(Columns.P99, DataTypes.LONG)
+                .register(Columns.LAST_EXECUTED, DataTypes.TIMESTAMP)
+                .register(Columns.NODE, DataTypes.OBJECT)
+                .register(Columns.NODE_ID, DataTypes.STRING)
+                .register(Columns.NODE_NAME, DataTypes.STRING),
+            Collections.emptyList()
+        );
+    }
+
+    public static Map<ColumnIdent, RowCollectExpressionFactory<Metrics>> expressions(Supplier<DiscoveryNode> localNode) {
+        return ImmutableMap.<ColumnIdent, RowCollectExpressionFactory<Metrics>>builder()
+            .put(Columns.FINGERPRINT, () -> forFunction(Metrics::fingerprint))
+            .put(Columns.STMT, () -> forFunction(Metrics::statement))
+            .put(Columns.TOTAL_COUNT, () -> forFunction(h -> h.histogram().getTotalCount()))
+            .put(Columns.FAILED_COUNT, () -> forFunction(Metrics::failedCount))
+            .put(Columns.ROW_COUNT, () -> forFunction(Metrics::rowCount))
+            .put(Columns.SUM_OF_DURATIONS, () -> forFunction(Metrics::sumOfDurations))
+            .put(Columns.MEAN, () -> forFunction(h -> h.histogram().getMean()))
+            .put(Columns.STDEV, () -> forFunction(h -> h.histogram().getStdDeviation()))
+            .put(Columns.MAX, () -> forFunction(h -> h.histogram().getMaxValue()))
+            .put(Columns.MIN, () -> forFunction(h -> h.histogram().getMinValue() == Long.MAX_VALUE ? 0L : h.histogram().getMinValue()))
+            .put(Columns.PERCENTILES, () -> forFunction(h -> ImmutableMap.builder()
+                .put("50", h.histogram().getValueAtPercentile(50.0))
+                .put("95", h.histogram().getValueAtPercentile(95.0))
+                .put("99", h.histogram().getValueAtPercentile(99.0))
+                .build()
+            ))
+            .put(Columns.P50, () -> forFunction(h -> h.histogram().getValueAtPercentile(50.0)))
+            .put(Columns.P95, () -> forFunction(h -> h.histogram().getValueAtPercentile(95.0)))
+            .put(Columns.P99, () -> forFunction(h -> h.histogram().getValueAtPercentile(99.0)))
+            .put(Columns.LAST_EXECUTED, () -> forFunction(Metrics::lastExecuted))
+            .put(Columns.NODE, () -> forFunction(ignored -> ImmutableMap.builder()
+                .put("id", localNode.get().getId())
+                .put("name", localNode.get().getName())
+                .build()
+            ))
+            .put(Columns.NODE_ID, () -> forFunction(ignored -> localNode.get().getId()))
+            .put(Columns.NODE_NAME, () -> forFunction(ignored -> localNode.get().getName()))
+            .build();
+    }
+
+    @Override
+    public Routing getRouting(ClusterState state, RoutingProvider routingProvider, WhereClause whereClause, RoutingProvider.ShardSelection shardSelection, SessionContext sessionContext) {
+        return Routing.forTableOnAllNodes(NAME, state.getNodes());
+    }
+
+    @Override
+    public RowGranularity rowGranularity() {
+        return RowGranularity.DOC;
+    }
+}
@@ -65,6 +65,8 @@ import org.elasticsearch.monitor.fs.FsInfo;
 import org.elasticsearch.threadpool.ThreadPoolStats;
 
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import static io.crate.execution.engine.collect.NestableCollectExpression.forFunction;
 
@@ -139,6 +141,14 @@ public class SysNodesTableInfo extends StaticTableInfo {
         static final ColumnIdent THREAD_POOLS_COMPLETED = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("completed"));
         static final ColumnIdent THREAD_POOLS_THREADS = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("threads"));
         static final ColumnIdent THREAD_POOLS_QUEUE = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("queue"));
+        static final ColumnIdent THREAD_POOLS_QUEUE_TIME_P50 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("queue_time_p50"));
+        static final ColumnIdent THREAD_POOLS_QUEUE_TIME_P95 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("queue_time_p95"));
+        static final ColumnIdent THREAD_POOLS_QUEUE_TIME_P99 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("queue_time_p99"));
+        static final ColumnIdent THREAD_POOLS_QUEUE_TIME_MAX = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("queue_time_max"));
+        static final ColumnIdent THREAD_POOLS_RUN_TIME_P50 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("run_time_p50"));
+        static final ColumnIdent THREAD_POOLS_RUN_TIME_P95 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("run_time_p95"));
+        static final ColumnIdent THREAD_POOLS_RUN_TIME_P99 = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("run_time_p99"));
+        static final ColumnIdent THREAD_POOLS_RUN_TIME_MAX = new ColumnIdent(SYS_COL_THREAD_POOLS, ImmutableList.of("run_time_max"));
 
         public static final ColumnIdent NETWORK = new ColumnIdent(SYS_COL_NETWORK);
         static final ColumnIdent NETWORK_PROBE_TS = new ColumnIdent(SYS_COL_NETWORK, ImmutableList.of("probe_timestamp"));
@@ -299,6 +309,22 @@ public class SysNodesTableInfo extends StaticTableInfo {
                     return stats.getQueue();
                 }
             })
+            .put(Columns.THREAD_POOLS_QUEUE_TIME_P50,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getQueueTimes, ThreadPoolStats.TaskTimes::getP50))
+            .put(Columns.THREAD_POOLS_QUEUE_TIME_P95,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getQueueTimes, ThreadPoolStats.TaskTimes::getP95))
+            .put(Columns.THREAD_POOLS_QUEUE_TIME_P99,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getQueueTimes, ThreadPoolStats.TaskTimes::getP99))
+            .put(Columns.THREAD_POOLS_QUEUE_TIME_MAX,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getQueueTimes, ThreadPoolStats.TaskTimes::getMax))
+            .put(Columns.THREAD_POOLS_RUN_TIME_P50,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getRunTimes, ThreadPoolStats.TaskTimes::getP50))
+            .put(Columns.THREAD_POOLS_RUN_TIME_P95,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getRunTimes, ThreadPoolStats.TaskTimes::getP95))
+            .put(Columns.THREAD_POOLS_RUN_TIME_P99,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getRunTimes, ThreadPoolStats.TaskTimes::getP99))
+            .put(Columns.THREAD_POOLS_RUN_TIME_MAX,
+                () -> taskTimeExpression(ThreadPoolStats.Stats::getRunTimes, ThreadPoolStats.TaskTimes::getMax))
             .put(Columns.NETWORK, NodeNetworkStatsExpression::new)
             .put(Columns.OS, NodeOsStatsExpression::new)
             .put(Columns.OS_INFO, NodeOsInfoStatsExpression::new)
@@ -385,6 +411,18 @@ public class SysNodesTableInfo extends StaticTableInfo {
             .build();
     }
 
+    private static NodeStatsThreadPoolExpression<Long> taskTimeExpression(
+        Function<ThreadPoolStats.Stats, ThreadPoolStats.TaskTimes> taskTimes,
+        ToLongFunction<ThreadPoolStats.TaskTimes> percentile) {
+        return new NodeStatsThreadPoolExpression<Long>() {
+            @Override
+            protected Long valueForItem(ThreadPoolStats.Stats stats) {
+                ThreadPoolStats.TaskTimes times = taskTimes.apply(stats);
+                return times == null ? null : percentile.applyAsLong(times);
+            }
+        };
+    }
+
     private static ObjectCollectExpression<NodeStatsContext> createConnectionsExpression() {
         return new ObjectCollectExpression<>(
             ImmutableMap.of(
@@ -471,6 +509,14 @@ public class SysNodesTableInfo extends StaticTableInfo {
                 .register(Columns.THREAD_POOLS_COMPLETED, DataTypes.LONG)
                 .register(Columns.THREAD_POOLS_THREADS, DataTypes.INTEGER)
                 .register(Columns.THREAD_POOLS_QUEUE, DataTypes.INTEGER)
+                .register(Columns.THREAD_POOLS_QUEUE_TIME_P50, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_QUEUE_TIME_P95, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_QUEUE_TIME_P99, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_QUEUE_TIME_MAX, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_RUN_TIME_P50, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_RUN_TIME_P95, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_RUN_TIME_P99, DataTypes.LONG)
+                .register(Columns.THREAD_POOLS_RUN_TIME_MAX, DataTypes.LONG)
 
                 .register(Columns.NETWORK, DataTypes.OBJECT)
                 .register(Columns.NETWORK_PROBE_TS, DataTypes.TIMESTAMP)
@@ -49,6 +49,8 @@ public class SysOperationsLogTableInfo extends StaticTableInfo {
         public static final ColumnIdent STARTED = new ColumnIdent("started");
         static final ColumnIdent ENDED = new ColumnIdent("ended");
         static final ColumnIdent USED_BYTES = new ColumnIdent("used_bytes");
+        static final ColumnIdent CPU_TIME = new ColumnIdent("cpu_time");
+        static final ColumnIdent ALLOCATED_BYTES = new ColumnIdent("allocated_bytes");
         public static final ColumnIdent ERROR = new ColumnIdent("error");
     }
 
@@ -71,6 +73,10 @@ public class SysOperationsLogTableInfo extends StaticTableInfo {
                 }
                 return usedBytes;
             }))
+            .put(SysOperationsLogTableInfo.Columns.CPU_TIME,
+                () -> NestableCollectExpression.forFunction(OperationContextLog::cpuTime))
+            .put(SysOperationsLogTableInfo.Columns.ALLOCATED_BYTES,
+                () -> NestableCollectExpression.forFunction(OperationContextLog::allocatedBytes))
             .put(SysOperationsLogTableInfo.Columns.ERROR,
                 () -> NestableCollectExpression.forFunction(OperationContextLog::errorMessage))
             .put(SysOperationsLogTableInfo.Columns.ENDED,
@@ -86,6 +92,8 @@ public class SysOperationsLogTableInfo extends StaticTableInfo {
             .register(Columns.STARTED, DataTypes.TIMESTAMP)
             .register(Columns.ENDED, DataTypes.TIMESTAMP)
             .register(Columns.USED_BYTES, DataTypes.LONG)
+            .register(Columns.CPU_TIME, DataTypes.LONG)
+            .register(Columns.ALLOCATED_BYTES, DataTypes.LONG)
             .register(Columns.ERROR, DataTypes.STRING), Collections.emptyList());
     }
 
@@ -25,6 +25,7 @@ import com.google.common.collect.ImmutableMap;
 import io.crate.action.sql.SessionContext;
 import io.crate.analyze.WhereClause;
 import io.crate.execution.engine.collect.NestableCollectExpression;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.reference.sys.operation.OperationContext;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.RelationName;
@@ -52,6 +53,14 @@ public class SysOperationsTableInfo extends StaticTableInfo {
         public static final ColumnIdent NAME = new ColumnIdent("name");
         public static final ColumnIdent STARTED = new ColumnIdent("started");
         static final ColumnIdent USED_BYTES = new ColumnIdent("used_bytes");
+        static final ColumnIdent PROCESSED_ROWS = new ColumnIdent("processed_rows");
+        static final ColumnIdent PROCESSED_BYTES = new ColumnIdent("processed_bytes");
+        static final ColumnIdent WRITTEN_ROWS = new ColumnIdent("written_rows");
+        static final ColumnIdent NUM_SHARDS = new ColumnIdent("num_shards");
+        static final ColumnIdent COMPLETED_SHARDS = new ColumnIdent("completed_shards");
+        static final ColumnIdent ESTIMATED_ROWS = new ColumnIdent("estimated_rows");
+        static final ColumnIdent CPU_TIME = new ColumnIdent("cpu_time");
+        static final ColumnIdent ALLOCATED_BYTES = new ColumnIdent("allocated_bytes");
         static final ColumnIdent NODE = new ColumnIdent("node");
         static final ColumnIdent NODE_ID = new ColumnIdent("node", "id");
         static final ColumnIdent NODE_NAME = new ColumnIdent("node", "name");
@@ -73,6 +82,30 @@ public class SysOperationsTableInfo extends StaticTableInfo {
                 }
                 return r.usedBytes;
             }))
+            .put(Columns.PROCESSED_ROWS,
+                () -> NestableCollectExpression.forFunction(r -> r.progress().processedRows()))
+            .put(Columns.PROCESSED_BYTES,
+                () -> NestableCollectExpression.forFunction(r -> r.progress().processedBytes()))
+            .put(Columns.WRITTEN_ROWS,
+                () -> NestableCollectExpression.forFunction(r -> r.progress().writtenRows()))
+            .put(Columns.NUM_SHARDS, () -> NestableCollectExpression.forFunction(r -> {
+                int numShards = r.progress().numShards();
+                return numShards == OperationProgress.UNKNOWN ? null : numShards;
+            }))
+            .put(Columns.COMPLETED_SHARDS, () -> NestableCollectExpression.forFunction(r -> {
+                if (r.progress().numShards() == OperationProgress.UNKNOWN) {
+                    return null;
+                }
+                return r.progress().completedShards();
+            }))
+            .put(Columns.ESTIMATED_ROWS, () -> NestableCollectExpression.forFunction(r -> {
+                long estimatedRows = r.progress().estimatedRows();
+                return estimatedRows == OperationProgress.UNKNOWN ? null : estimatedRows;
+            }))
+            .put(Columns.CPU_TIME,
+                () -> NestableCollectExpression.forFunction(r -> r.progress().cpuTime()))
+            .put(Columns.ALLOCATED_BYTES,
+                () -> NestableCollectExpression.forFunction(r -> r.progress().allocatedBytes()))
             .put(Columns.NODE, () -> NestableCollectExpression.forFunction(ignored -> ImmutableMap.of(
                 "id", localNode.get().getId(),
                 "name", localNode.get().getName()
@@ -89,6 +122,14 @@ public class SysOperationsTableInfo extends StaticTableInfo {
                 .register(Columns.NAME, DataTypes.STRING)
                 .register(Columns.STARTED, DataTypes.TIMESTAMP)
                 .register(Columns.USED_BYTES, DataTypes.LONG)
+                .register(Columns.PROCESSED_ROWS, DataTypes.LONG)
+                .register(Columns.PROCESSED_BYTES, DataTypes.LONG)
+                .register(Columns.WRITTEN_ROWS, DataTypes.LONG)
+                .register(Columns.NUM_SHARDS, DataTypes.INTEGER)
+                .register(Columns.COMPLETED_SHARDS, DataTypes.INTEGER)
+                .register(Columns.ESTIMATED_ROWS, DataTypes.LONG)
+                .register(Columns.CPU_TIME, DataTypes.LONG)
+                .register(Columns.ALLOCATED_BYTES, DataTypes.LONG)
                 .register(Columns.NODE, DataTypes.OBJECT)
                 .register(Columns.NODE_ID, DataTypes.STRING)
                 .register(Columns.NODE_NAME, DataTypes.STRING),
@@ -56,6 +56,10 @@ public class SysSchemaInfo implements SchemaInfo {
         tableInfos.put(SysAllocationsTableInfo.IDENT.name(), new SysAllocationsTableInfo());
         tableInfos.put(SysHealthTableInfo.IDENT.name(), new SysHealthTableInfo());
         tableInfos.put(SysMetricsTableInfo.NAME.name(), new SysMetricsTableInfo());
+        tableInfos.put(SysJobsStatementsTableInfo.NAME.name(), new SysJobsStatementsTableInfo());
+        tableInfos.put(SysAdmissionQueuesTableInfo.IDENT.name(), new SysAdmissionQueuesTableInfo());
+        tableInfos.put(SysSegmentsTableInfo.IDENT.name(), new SysSegmentsTableInfo());
+        tableInfos.put(SysSlowQueriesTableInfo.IDENT.name(), new SysSlowQueriesTableInfo());
     }
 
     @Override
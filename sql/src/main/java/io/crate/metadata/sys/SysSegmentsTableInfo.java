@@ -0,0 +1,145 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.metadata.sys;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.WhereClause;
+import io.crate.expression.reference.sys.shard.SysSegment;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.RoutingProvider;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.expressions.RowCollectExpressionFactory;
+import io.crate.metadata.table.ColumnRegistrar;
+import io.crate.metadata.table.StaticTableInfo;
+import io.crate.types.DataTypes;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.crate.execution.engine.collect.NestableCollectExpression.forFunction;
+
+public class SysSegmentsTableInfo extends StaticTableInfo {
+
+    public static final RelationName IDENT = new RelationName(SysSchemaInfo.NAME, "segments");
+
+    static class Columns {
+        static final ColumnIdent TABLE_SCHEMA = new ColumnIdent("table_schema");
+        static final ColumnIdent TABLE_NAME = new ColumnIdent("table_name");
+        static final ColumnIdent PARTITION_IDENT = new ColumnIdent("partition_ident");
+        static final ColumnIdent SHARD_ID = new ColumnIdent("shard_id");
+        static final ColumnIdent PRIMARY = new ColumnIdent("primary");
+        static final ColumnIdent NODE = new ColumnIdent("node");
+        static final ColumnIdent NODE_ID = new ColumnIdent("node", "id");
+        static final ColumnIdent NODE_NAME = new ColumnIdent("node", "name");
+        static final ColumnIdent SEGMENT_NAME = new ColumnIdent("segment_name");
+        static final ColumnIdent GENERATION = new ColumnIdent("generation");
+        static final ColumnIdent NUM_DOCS = new ColumnIdent("num_docs");
+        static final ColumnIdent DELETED_DOCS = new ColumnIdent("deleted_docs");
+        static final ColumnIdent SIZE = new ColumnIdent("size");
+        static final ColumnIdent MEMORY = new ColumnIdent("memory");
+        static final ColumnIdent DOC_VALUES_MEMORY = new ColumnIdent("doc_values_memory");
+        static final ColumnIdent NORMS_MEMORY = new ColumnIdent("norms_memory");
+        static final ColumnIdent COMMITTED = new ColumnIdent("committed");
+        static final ColumnIdent SEARCH = new ColumnIdent("search");
+        static final ColumnIdent COMPOUND = new ColumnIdent("compound");
+        static final ColumnIdent VERSION = new ColumnIdent("version");
+        static final ColumnIdent ATTRIBUTES = new ColumnIdent("attributes");
+    }
+
+    SysSegmentsTableInfo() {
+        super(IDENT,
+            new ColumnRegistrar(IDENT, RowGranularity.DOC)
+                .register(Columns.TABLE_SCHEMA, DataTypes.STRING)
+                .register(Columns.TABLE_NAME, DataTypes.STRING)
+                .register(Columns.PARTITION_IDENT, DataTypes.STRING)
+                .register(Columns.SHARD_ID, DataTypes.INTEGER)
+                .register(Columns.PRIMARY, DataTypes.BOOLEAN)
+                .register(Columns.NODE, DataTypes.OBJECT)
+                .register(Columns.NODE_ID, DataTypes.STRING)
+                .register(Columns.NODE_NAME, DataTypes.STRING)
+                .register(Columns.SEGMENT_NAME, DataTypes.STRING)
+                .register(Columns.GENERATION, DataTypes.LONG)
+                .register(Columns.NUM_DOCS, DataTypes.INTEGER)
+                .register(Columns.DELETED_DOCS, DataTypes.INTEGER)
+                .register(Columns.SIZE, DataTypes.LONG)
+                .register(Columns.MEMORY, DataTypes.LONG)
+                .register(Columns.DOC_VALUES_MEMORY, DataTypes.LONG)
+                .register(Columns.NORMS_MEMORY, DataTypes.LONG)
+                .register(Columns.COMMITTED, DataTypes.BOOLEAN)
+                .register(Columns.SEARCH, DataTypes.BOOLEAN)
+                .register(Columns.COMPOUND, DataTypes.BOOLEAN)
+                .register(Columns.VERSION, DataTypes.STRING)
+                .register(Columns.ATTRIBUTES, DataTypes.OBJECT),
+            Collections.emptyList()
+        );
+    }
+
+    public static Map<ColumnIdent, RowCollectExpressionFactory<SysSegment>> expressions(Supplier<DiscoveryNode> localNode) {
+        return ImmutableMap.<ColumnIdent, RowCollectExpressionFactory<SysSegment>>builder()
+            .put(Columns.TABLE_SCHEMA, () -> forFunction(SysSegment::tableSchema))
+            .put(Columns.TABLE_NAME, () -> forFunction(SysSegment::tableName))
+            .put(Columns.PARTITION_IDENT, () -> forFunction(SysSegment::partitionIdent))
+            .put(Columns.SHARD_ID, () -> forFunction(SysSegment::shardId))
+            .put(Columns.PRIMARY, () -> forFunction(SysSegment::primary))
+            .put(Columns.NODE, () -> forFunction(ignored -> ImmutableMap.of(
+                "id", localNode.get().getId(),
+                "name", localNode.get().getName()
+            )))
+            .put(Columns.NODE_ID, () -> forFunction(ignored -> localNode.get().getId()))
+            .put(Columns.NODE_NAME, () -> forFunction(ignored -> localNode.get().getName()))
+            .put(Columns.SEGMENT_NAME, () -> forFunction(SysSegment::segmentName))
+            .put(Columns.GENERATION, () -> forFunction(SysSegment::generation))
+            .put(Columns.NUM_DOCS, () -> forFunction(SysSegment::numDocs))
+            .put(Columns.DELETED_DOCS, () -> forFunction(SysSegment::deletedDocs))
+            .put(Columns.SIZE, () -> forFunction(SysSegment::size))
+            .put(Columns.MEMORY, () -> forFunction(SysSegment::memory))
+            .put(Columns.DOC_VALUES_MEMORY, () -> forFunction(SysSegment::docValuesMemory))
+            .put(Columns.NORMS_MEMORY, () -> forFunction(SysSegment::normsMemory))
+            .put(Columns.COMMITTED, () -> forFunction(SysSegment::committed))
+            .put(Columns.SEARCH, () -> forFunction(SysSegment::searchable))
+            .put(Columns.COMPOUND, () -> forFunction(SysSegment::compound))
+            .put(Columns.VERSION, () -> forFunction(SysSegment::version))
+            .put(Columns.ATTRIBUTES, () -> forFunction(SysSegment::attributes))
+            .build();
+    }
+
+    @Override
+    public RowGranularity rowGranularity() {
+        return RowGranularity.DOC;
+    }
+
+    @Override
+    public Routing getRouting(ClusterState state,
+                              RoutingProvider routingProvider,
+                              WhereClause whereClause,
+                              RoutingProvider.ShardSelection shardSelection,
+                              SessionContext sessionContext) {
+        return Routing.forTableOnAllNodes(IDENT, state.getNodes());
+    }
+}
@@ -30,6 +30,7 @@ import io.crate.analyze.WhereClause;
 import io.crate.analyze.user.Privilege;
 import io.crate.auth.user.User;
 import io.crate.execution.engine.collect.NestableCollectExpression;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.NestableInput;
 import io.crate.expression.reference.sys.shard.NodeNestableInput;
 import io.crate.expression.reference.sys.shard.ShardMinLuceneVersionExpression;
@@ -123,6 +124,18 @@ public class SysShardsTableInfo extends StaticTableInfo {
         static final ColumnIdent NODE = new ColumnIdent("node");
         static final ColumnIdent NODE_ID = new ColumnIdent("node", "id");
         static final ColumnIdent NODE_NAME = new ColumnIdent("node", "name");
+
+        static final ColumnIdent LOAD = new ColumnIdent("load");
+        static final ColumnIdent LOAD_INDEXED_DOCS = new ColumnIdent("load", "indexed_docs");
+        static final ColumnIdent LOAD_INDEXED_DOCS_RATE = new ColumnIdent("load", "indexed_docs_rate");
+        static final ColumnIdent LOAD_COLLECTED_DOCS = new ColumnIdent("load", "collected_docs");
+        static final ColumnIdent LOAD_COLLECTED_DOCS_RATE = new ColumnIdent("load", "collected_docs_rate");
+        static final ColumnIdent LOAD_FETCHED_DOCS = new ColumnIdent("load", "fetched_docs");
+        static final ColumnIdent LOAD_FETCHED_DOCS_RATE = new ColumnIdent("load", "fetched_docs_rate");
+        static final ColumnIdent LOAD_PK_LOOKUPS = new ColumnIdent("load", "pk_lookups");
+        static final ColumnIdent LOAD_PK_LOOKUPS_RATE = new ColumnIdent("load", "pk_lookups_rate");
+        static final ColumnIdent LOAD_QUERY_TIME = new ColumnIdent("load", "query_time");
+        static final ColumnIdent LOAD_QUERY_TIME_RATE = new ColumnIdent("load", "query_time_rate");
     }
 
     public static Map<ColumnIdent, RowCollectExpressionFactory<ShardRowContext>> expressions() {
@@ -151,6 +164,41 @@ public class SysShardsTableInfo extends StaticTableInfo {
             .put(Columns.BLOB_PATH, () -> NestableCollectExpression.forFunction(ShardRowContext::blobPath))
             .put(Columns.MIN_LUCENE_VERSION, ShardMinLuceneVersionExpression::new)
             .put(Columns.NODE, NodeNestableInput::new)
+            .put(Columns.LOAD, () -> NestableCollectExpression.forFunction(r -> {
+                ShardLoad load = r.load();
+                return ImmutableMap.<String, Object>builder()
+                    .put("indexed_docs", load.indexedDocs())
+                    .put("indexed_docs_rate", load.indexedDocsRate())
+                    .put("collected_docs", load.collectedDocs())
+                    .put("collected_docs_rate", load.collectedDocsRate())
+                    .put("fetched_docs", load.fetchedDocs())
+                    .put("fetched_docs_rate", load.fetchedDocsRate())
+                    .put("pk_lookups", load.pkLookups())
+                    .put("pk_lookups_rate", load.pkLookupsRate())
+                    .put("query_time", load.queryTime())
+                    .put("query_time_rate", load.queryTimeRate())
+                    .build();
+            }))
+            .put(Columns.LOAD_INDEXED_DOCS,
+                () -> NestableCollectExpression.forFunction(r -> r.load().indexedDocs()))
+            .put(Columns.LOAD_INDEXED_DOCS_RATE,
+                () -> NestableCollectExpression.forFunction(r -> r.load().indexedDocsRate()))
+            .put(Columns.LOAD_COLLECTED_DOCS,
+                () -> NestableCollectExpression.forFunction(r -> r.load().collectedDocs()))
+            .put(Columns.LOAD_COLLECTED_DOCS_RATE,
+                () -> NestableCollectExpression.forFunction(r -> r.load().collectedDocsRate()))
+            .put(Columns.LOAD_FETCHED_DOCS,
+                () -> NestableCollectExpression.forFunction(r -> r.load().fetchedDocs()))
+            .put(Columns.LOAD_FETCHED_DOCS_RATE,
+                () -> NestableCollectExpression.forFunction(r -> r.load().fetchedDocsRate()))
+            .put(Columns.LOAD_PK_LOOKUPS,
+                () -> NestableCollectExpression.forFunction(r -> r.load().pkLookups()))
+            .put(Columns.LOAD_PK_LOOKUPS_RATE,
+                () -> NestableCollectExpression.forFunction(r -> r.load().pkLookupsRate()))
+            .put(Columns.LOAD_QUERY_TIME,
+                () -> NestableCollectExpression.forFunction(r -> r.load().queryTime()))
+            .put(Columns.LOAD_QUERY_TIME_RATE,
+                () -> NestableCollectExpression.forFunction(r -> r.load().queryTimeRate()))
             .build();
     }
 
@@ -214,6 +262,21 @@ public class SysShardsTableInfo extends StaticTableInfo {
                     return this;
                 }
             })
+            .put(Columns.LOAD, () -> new NestableCollectExpression<UnassignedShard, Object>() {
+                @Override
+                public void setNextRow(UnassignedShard unassignedShard) {
+                }
+
+                @Override
+                public Object value() {
+                    return null;
+                }
+
+                @Override
+                public NestableInput<?> getChild(String name) {
+                    return this;
+                }
+            })
             .build();
     }
 
@@ -260,7 +323,19 @@ public class SysShardsTableInfo extends StaticTableInfo {
                 .register(Columns.MIN_LUCENE_VERSION, StringType.INSTANCE)
                 .register(Columns.NODE, DataTypes.OBJECT)
                 .register(Columns.NODE_ID, DataTypes.STRING)
-                .register(Columns.NODE_NAME, DataTypes.STRING),
+                .register(Columns.NODE_NAME, DataTypes.STRING)
+
+                .register(Columns.LOAD, DataTypes.OBJECT)
+                .register(Columns.LOAD_INDEXED_DOCS, DataTypes.LONG)
+                .register(Columns.LOAD_INDEXED_DOCS_RATE, DataTypes.DOUBLE)
+                .register(Columns.LOAD_COLLECTED_DOCS, DataTypes.LONG)
+                .register(Columns.LOAD_COLLECTED_DOCS_RATE, DataTypes.DOUBLE)
+                .register(Columns.LOAD_FETCHED_DOCS, DataTypes.LONG)
+                .register(Columns.LOAD_FETCHED_DOCS_RATE, DataTypes.DOUBLE)
+                .register(Columns.LOAD_PK_LOOKUPS, DataTypes.LONG)
+                .register(Columns.LOAD_PK_LOOKUPS_RATE, DataTypes.DOUBLE)
+                .register(Columns.LOAD_QUERY_TIME, DataTypes.LONG)
+                .register(Columns.LOAD_QUERY_TIME_RATE, DataTypes.DOUBLE),
             PRIMARY_KEY);
     }
 
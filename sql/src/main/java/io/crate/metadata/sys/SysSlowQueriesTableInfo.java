@@ -0,0 +1,110 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.metadata.sys;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.WhereClause;
+import io.crate.expression.reference.sys.job.SlowQueryLog;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.RoutingProvider;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.expressions.RowCollectExpressionFactory;
+import io.crate.metadata.table.ColumnRegistrar;
+import io.crate.metadata.table.StaticTableInfo;
+import io.crate.types.DataTypes;
+import org.elasticsearch.cluster.ClusterState;
+
+import java.util.List;
+
+import static io.crate.execution.engine.collect.NestableCollectExpression.forFunction;
+
+public class SysSlowQueriesTableInfo extends StaticTableInfo {
+
+    public static final RelationName IDENT = new RelationName(SysSchemaInfo.NAME, "slow_queries");
+
+    private static final List<ColumnIdent> PRIMARY_KEYS = ImmutableList.of(Columns.ID);
+
+    static class Columns {
+        static final ColumnIdent ID = new ColumnIdent("id");
+        static final ColumnIdent USERNAME = new ColumnIdent("username");
+        static final ColumnIdent STMT = new ColumnIdent("stmt");
+        static final ColumnIdent STARTED = new ColumnIdent("started");
+        static final ColumnIdent ENDED = new ColumnIdent("ended");
+        static final ColumnIdent DURATION = new ColumnIdent("duration");
+        static final ColumnIdent ERROR = new ColumnIdent("error");
+        static final ColumnIdent CPU_TIME = new ColumnIdent("cpu_time");
+        static final ColumnIdent ALLOCATED_BYTES = new ColumnIdent("allocated_bytes");
+        static final ColumnIdent PLAN = new ColumnIdent("plan");
+        static final ColumnIdent OPERATIONS = new ColumnIdent("operations");
+    }
+
+    public static ImmutableMap<ColumnIdent, RowCollectExpressionFactory<SlowQueryLog>> expressions() {
+        return ImmutableMap.<ColumnIdent, RowCollectExpressionFactory<SlowQueryLog>>builder()
+            .put(Columns.ID, () -> forFunction(log -> log.id().toString()))
+            .put(Columns.USERNAME, () -> forFunction(SlowQueryLog::username))
+            .put(Columns.STMT, () -> forFunction(SlowQueryLog::statement))
+            .put(Columns.STARTED, () -> forFunction(SlowQueryLog::started))
+            .put(Columns.ENDED, () -> forFunction(SlowQueryLog::ended))
+            .put(Columns.DURATION, () -> forFunction(SlowQueryLog::duration))
+            .put(Columns.ERROR, () -> forFunction(SlowQueryLog::errorMessage))
+            .put(Columns.CPU_TIME, () -> forFunction(SlowQueryLog::cpuTime))
+            .put(Columns.ALLOCATED_BYTES, () -> forFunction(SlowQueryLog::allocatedBytes))
+            .put(Columns.PLAN, () -> forFunction(SlowQueryLog::plan))
+            .put(Columns.OPERATIONS, () -> forFunction(log -> log.operations().toArray()))
+            .build();
+    }
+
+    SysSlowQueriesTableInfo() {
+        super(IDENT, new ColumnRegistrar(IDENT, RowGranularity.DOC)
+            .register(Columns.ID, DataTypes.STRING)
+            .register(Columns.USERNAME, DataTypes.STRING)
+            .register(Columns.STMT, DataTypes.STRING)
+            .register(Columns.STARTED, DataTypes.TIMESTAMP)
+            .register(Columns.ENDED, DataTypes.TIMESTAMP)
+            .register(Columns.DURATION, DataTypes.LONG)
+            .register(Columns.ERROR, DataTypes.STRING)
+            .register(Columns.CPU_TIME, DataTypes.LONG)
+            .register(Columns.ALLOCATED_BYTES, DataTypes.LONG)
+            .register(Columns.PLAN, DataTypes.OBJECT)
+            .register(Columns.OPERATIONS, DataTypes.OBJECT_ARRAY),
+            PRIMARY_KEYS);
+    }
+
+    @Override
+    public RowGranularity rowGranularity() {
+        return RowGranularity.DOC;
+    }
+
+    @Override
+    public Routing getRouting(ClusterState clusterState,
+                              RoutingProvider routingProvider,
+                              WhereClause whereClause,
+                              RoutingProvider.ShardSelection shardSelection,
+                              SessionContext sessionContext) {
+        return Routing.forTableOnAllNodes(IDENT, clusterState.getNodes());
+    }
+}
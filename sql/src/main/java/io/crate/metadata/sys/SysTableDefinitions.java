@@ -25,11 +25,13 @@ package io.crate.metadata.sys;
 import io.crate.analyze.user.Privilege;
 import io.crate.execution.engine.collect.files.SummitsIterable;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.expression.reference.StaticTableDefinition;
 import io.crate.expression.reference.sys.check.SysCheck;
 import io.crate.expression.reference.sys.check.SysChecker;
 import io.crate.expression.reference.sys.check.node.SysNodeChecks;
 import io.crate.expression.reference.sys.shard.SysAllocations;
+import io.crate.expression.reference.sys.shard.SysSegments;
 import io.crate.expression.reference.sys.snapshot.SysSnapshots;
 import io.crate.metadata.RelationName;
 import org.elasticsearch.cluster.service.ClusterService;
@@ -54,7 +56,9 @@ public class SysTableDefinitions {
                                RepositoriesService repositoriesService,
                                SysSnapshots sysSnapshots,
                                SysAllocations sysAllocations,
-                               TableHealthService tableHealthService) {
+                               TableHealthService tableHealthService,
+                               AdmissionControl admissionControl,
+                               SysSegments sysSegments) {
         tableDefinitions.put(SysJobsTableInfo.IDENT, new StaticTableDefinition<>(
             () -> completedFuture(jobsLogs.activeJobs()),
             SysJobsTableInfo.expressions(clusterService::localNode)
@@ -112,6 +116,23 @@ public class SysTableDefinitions {
             () -> completedFuture(jobsLogs.metrics()),
             SysMetricsTableInfo.expressions(clusterService::localNode)
         ));
+        tableDefinitions.put(SysJobsStatementsTableInfo.NAME, new StaticTableDefinition<>(
+            () -> completedFuture(jobsLogs.statementMetrics()),
+            SysJobsStatementsTableInfo.expressions(clusterService::localNode)
+        ));
+        tableDefinitions.put(SysAdmissionQueuesTableInfo.IDENT, new StaticTableDefinition<>(
+            () -> completedFuture(admissionControl.queues()),
+            SysAdmissionQueuesTableInfo.expressions(clusterService::localNode)
+        ));
+        tableDefinitions.put(SysSegmentsTableInfo.IDENT, new StaticTableDefinition<>(
+            () -> sysSegments,
+            (user, segment) -> user.hasAnyPrivilege(Privilege.Clazz.TABLE, segment.fqn()),
+            SysSegmentsTableInfo.expressions(clusterService::localNode)
+        ));
+        tableDefinitions.put(SysSlowQueriesTableInfo.IDENT, new StaticTableDefinition<>(
+            () -> completedFuture(jobsLogs.slowQueriesLog()),
+            SysSlowQueriesTableInfo.expressions()
+        ));
     }
 
     public StaticTableDefinition<?> get(RelationName relationName) {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+package io.crate.planner;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistics of a single column, collected by running {@code ANALYZE}.
+ */
+public final class ColumnStats implements Writeable {
+
+    private final double nullFraction;
+    private final double approxDistinct;
+    private final List<Object> histogramBounds;
+    private final List<Object> mostCommonValues;
+    private final double[] mostCommonFreqs;
+
+    public ColumnStats(double nullFraction, double approxDistinct, List<Object> histogramBounds) {
+        this(nullFraction, approxDistinct, histogramBounds, Collections.emptyList(), new double[0]);
+    }
+
+    /**
+     * @param nullFraction the fraction of rows where the column is null
+     * @param approxDistinct the (approximate) number of distinct non-null values
+     * @param histogramBounds the bounds of an equi-depth histogram, in ascending order;
+     *                        Empty if there is no histogram for the column.
+     * @param mostCommonValues the most common non-null values, the most frequent first
+     * @param mostCommonFreqs the fraction of rows containing the value at the same position of {@code mostCommonValues}
+     */
+    public ColumnStats(double nullFraction,
+                       double approxDistinct,
+                       List<Object> histogramBounds,
+                       List<Object> mostCommonValues,
+                       double[] mostCommonFreqs) {
+        assert mostCommonValues.size() == mostCommonFreqs.length
+            : "there must be a frequency for each of the most common values";
+        this.nullFraction = nullFraction;
+        this.approxDistinct = approxDistinct;
+        this.histogramBounds = histogramBounds;
+        this.mostCommonValues = mostCommonValues;
+        this.mostCommonFreqs = mostCommonFreqs;
+    }
+
+    public ColumnStats(StreamInput in) throws IOException {
+        nullFraction = in.readDouble();
+        approxDistinct = in.readDouble();
+        histogramBounds = readValues(in);
+        mostCommonValues = readValues(in);
+        mostCommonFreqs = in.readDoubleArray();
+    }
+
+    private static List<Object> readValues(StreamInput in) throws IOException {
+        int numValues = in.readVInt();
+        List<Object> values = new ArrayList<>(numValues);
+        for (int i = 0; i < numValues; i++) {
+            values.add(in.readGenericValue());
+        }
+        return values;
+    }
+
+    private static void writeValues(StreamOutput out, List<Object> values) throws IOException {
+        out.writeVInt(values.size());
+        for (Object value : values) {
+            out.writeGenericValue(value);
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeDouble(nullFraction);
+        out.writeDouble(approxDistinct);
+        writeValues(out, histogramBounds);
+        writeValues(out, mostCommonValues);
+        out.writeDoubleArray(mostCommonFreqs);
+    }
+
+    public double nullFraction() {
+        return nullFraction;
+    }
+
+    public double approxDistinct() {
+        return approxDistinct;
+    }
+
+    public List<Object> histogramBounds() {
+        return histogramBounds;
+    }
+
+    public List<Object> mostCommonValues() {
+        return mostCommonValues;
+    }
+
+    public double[] mostCommonFreqs() {
+        return mostCommonFreqs;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStats{" +
+               "nullFraction=" + nullFraction +
+               ", approxDistinct=" + approxDistinct +
+               ", histogramBounds=" + histogramBounds +
+               ", mostCommonValues=" + mostCommonValues +
+               ", mostCommonFreqs=" + Arrays.toString(mostCommonFreqs) +
+               '}';
+    }
+}
@@ -31,6 +31,7 @@ import io.crate.execution.ddl.views.TransportCreateViewAction;
 import io.crate.execution.ddl.views.TransportDropViewAction;
 import io.crate.execution.dsl.projection.builder.ProjectionBuilder;
 import io.crate.execution.engine.PhasesTaskFactory;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.license.LicenseService;
 import io.crate.metadata.Functions;
 import org.elasticsearch.cluster.service.ClusterService;
@@ -61,6 +62,8 @@ public class DependencyCarrier {
     private final TransportDropViewAction dropViewAction;
     private final TransportSwapRelationsAction swapRelationsAction;
     private final LicenseService licenseService;
+    private final TableStatsService tableStatsService;
+    private final AdmissionControl admissionControl;
 
     @Inject
     public DependencyCarrier(Settings settings,
@@ -75,7 +78,9 @@ public class DependencyCarrier {
                              TransportDropTableAction transportDropTableAction,
                              TransportCreateViewAction createViewAction,
                              TransportDropViewAction dropViewAction,
-                             TransportSwapRelationsAction swapRelationsAction) {
+                             TransportSwapRelationsAction swapRelationsAction,
+                             TableStatsService tableStatsService,
+                             AdmissionControl admissionControl) {
         this.settings = settings;
         this.transportActionProvider = transportActionProvider;
         this.phasesTaskFactory = phasesTaskFactory;
@@ -90,12 +95,22 @@ public class DependencyCarrier {
         this.createViewAction = createViewAction;
         this.dropViewAction = dropViewAction;
         this.swapRelationsAction = swapRelationsAction;
+        this.tableStatsService = tableStatsService;
+        this.admissionControl = admissionControl;
     }
 
     public TransportSwapRelationsAction swapRelationsAction() {
         return swapRelationsAction;
     }
 
+    public TableStatsService tableStatsService() {
+        return tableStatsService;
+    }
+
+    public AdmissionControl admissionControl() {
+        return admissionControl;
+    }
+
     public DDLStatementDispatcher ddlAction() {
         return ddlAnalysisDispatcherProvider;
     }
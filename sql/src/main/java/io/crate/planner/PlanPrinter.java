@@ -212,10 +212,14 @@ public final class PlanPrinter {
 
         @Override
         public ImmutableMap.Builder<String, Object> visitJoin(Join plan, Void context) {
-            return createMap(plan, createSubMap()
+            ImmutableMap.Builder<String, Object> b = createSubMap()
                 .put("left", process(plan.left(), context).build())
                 .put("right", process(plan.right(), context).build())
-                .put("joinPhase", phaseMap(plan.joinPhase())));
+                .put("joinPhase", phaseMap(plan.joinPhase()));
+            if (plan.numExpectedRows() >= 0) {
+                b.put("estimatedRows", plan.numExpectedRows());
+            }
+            return createMap(plan, b);
         }
 
         @Override
@@ -25,8 +25,14 @@ package io.crate.planner;
 import com.carrotsearch.hppc.ObjectObjectHashMap;
 import com.carrotsearch.hppc.ObjectObjectMap;
 import com.google.common.annotations.VisibleForTesting;
+import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.RelationName;
 
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Holds table statistics that are updated periodically by {@link TableStatsService}.
  */
@@ -35,9 +41,46 @@ public class TableStats {
     private static final Stats EMPTY_STATS = new Stats();
 
     private volatile ObjectObjectMap<RelationName, Stats> tableStats = new ObjectObjectHashMap<>(0);
+    private volatile Map<RelationName, Map<ColumnIdent, ColumnStats>> columnStats = Collections.emptyMap();
 
     public void updateTableStats(ObjectObjectMap<RelationName, Stats> tableStats) {
         this.tableStats = tableStats;
+        removeColumnStatsOfUnknownTables(tableStats);
+    }
+
+    /**
+     * Replaces the column statistics of a table.
+     */
+    public synchronized void updateColumnStats(RelationName relationName, Map<ColumnIdent, ColumnStats> statsByColumn) {
+        HashMap<RelationName, Map<ColumnIdent, ColumnStats>> newColumnStats = new HashMap<>(columnStats);
+        newColumnStats.put(relationName, Collections.unmodifiableMap(statsByColumn));
+        columnStats = Collections.unmodifiableMap(newColumnStats);
+    }
+
+    private synchronized void removeColumnStatsOfUnknownTables(ObjectObjectMap<RelationName, Stats> tableStats) {
+        HashMap<RelationName, Map<ColumnIdent, ColumnStats>> newColumnStats = new HashMap<>(columnStats);
+        if (newColumnStats.keySet().removeIf(relationName -> !tableStats.containsKey(relationName))) {
+            columnStats = Collections.unmodifiableMap(newColumnStats);
+        }
+    }
+
+    /**
+     * Returns the statistics of a column or null if the table hasn't been analyzed yet.
+     */
+    @Nullable
+    public ColumnStats columnStats(RelationName relationName, ColumnIdent column) {
+        Map<ColumnIdent, ColumnStats> statsByColumn = columnStats.get(relationName);
+        if (statsByColumn == null) {
+            return null;
+        }
+        return statsByColumn.get(column);
+    }
+
+    /**
+     * Returns the column statistics of all analyzed tables.
+     */
+    public Map<RelationName, Map<ColumnIdent, ColumnStats>> columnStats() {
+        return columnStats;
     }
 
     /**
@@ -23,6 +23,7 @@
 package io.crate.planner;
 
 
+import com.carrotsearch.hppc.IntArrayList;
 import com.carrotsearch.hppc.ObjectObjectHashMap;
 import com.carrotsearch.hppc.ObjectObjectMap;
 import com.google.common.annotations.VisibleForTesting;
@@ -30,10 +31,16 @@ import io.crate.action.sql.BaseResultReceiver;
 import io.crate.action.sql.SQLOperations;
 import io.crate.action.sql.Session;
 import io.crate.data.Row;
+import io.crate.execution.engine.collect.stats.PublishColumnStatsRequest;
+import io.crate.execution.engine.collect.stats.TransportPublishColumnStatsAction;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.Reference;
 import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
 import io.crate.settings.CrateSetting;
 import io.crate.sql.parser.SqlParser;
 import io.crate.sql.tree.Statement;
+import io.crate.types.DataType;
 import io.crate.types.DataTypes;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.cluster.service.ClusterService;
@@ -48,7 +55,16 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Periodically refresh {@link TableStats} based on {@link #refreshInterval}.
@@ -64,10 +80,48 @@ public class TableStatsService extends AbstractComponent implements Runnable {
                                "from sys.shards where primary=true group by 3, 4";
     private static final Statement PARSED_STMT = SqlParser.createStatement(STMT);
 
+    /**
+     * The number of buckets of the equi-depth histograms of numeric columns.
+     */
+    private static final int HISTOGRAM_BUCKETS = 10;
+
+    /**
+     * Fractions used to compute the bounds of the equi-depth histograms of numeric columns.
+     */
+    private static final String HISTOGRAM_FRACTIONS = IntStream.rangeClosed(0, HISTOGRAM_BUCKETS)
+        .mapToObj(i -> String.valueOf((double) i / HISTOGRAM_BUCKETS))
+        .collect(Collectors.joining(", ", "[", "]"));
+
+    /**
+     * The maximum number of rows which are sampled per table.
+     * The rows are collected on the node which runs {@code ANALYZE}, so the size is kept small,
+     * like the default sample size of PostgreSQL.
+     */
+    static final int SAMPLE_SIZE = 30_000;
+
+    /**
+     * If more than this fraction of the sampled values is distinct, the number of distinct values
+     * is extrapolated to all rows of the table.
+     */
+    private static final double DISTINCT_SCALE_THRESHOLD = 0.1;
+
+    /**
+     * The maximum number of most common values which are kept per column.
+     */
+    private static final int MAX_MOST_COMMON_VALUES = 10;
+
+    /**
+     * A value is only considered one of the most common values if it occurs more often than the average
+     * value of the sample times this factor.
+     */
+    private static final double MOST_COMMON_THRESHOLD = 1.25;
+
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
+    private final TableStats tableStats;
     private final TableStatsResultReceiver resultReceiver;
     private final Session session;
+    private final TransportPublishColumnStatsAction publishColumnStatsAction;
 
     @VisibleForTesting
     ThreadPool.Cancellable refreshScheduledTask;
@@ -79,10 +133,13 @@ public class TableStatsService extends AbstractComponent implements Runnable {
                              ThreadPool threadPool,
                              ClusterService clusterService,
                              TableStats tableStats,
-                             SQLOperations sqlOperations) {
+                             SQLOperations sqlOperations,
+                             TransportPublishColumnStatsAction publishColumnStatsAction) {
         super(settings);
+        this.publishColumnStatsAction = publishColumnStatsAction;
         this.threadPool = threadPool;
         this.clusterService = clusterService;
+        this.tableStats = tableStats;
         resultReceiver = new TableStatsResultReceiver(tableStats::updateTableStats);
         refreshInterval = STATS_SERVICE_REFRESH_INTERVAL_SETTING.setting().get(settings);
         refreshScheduledTask = scheduleRefresh(refreshInterval);
@@ -114,6 +171,280 @@ public class TableStatsService extends AbstractComponent implements Runnable {
         }
     }
 
+    /**
+     * Collects the {@link ColumnStats} of all columns of the given tables which are stored in the column store
+     * and publishes them to all nodes of the cluster.
+     * Tables are analyzed one after another to limit the load on the cluster.
+     * <p>
+     * The statistics of all columns of a table are computed from a random sample of up to {@link #SAMPLE_SIZE} rows
+     * which is read by a single statement.
+     * </p>
+     *
+     * @param approximateDistinct if true, the null fraction, the number of distinct values and the histograms are
+     *                            computed over all rows by a single aggregation per table, estimating the number of
+     *                            distinct values using {@code hyperloglog_distinct}.
+     *                            Only the most common values are taken from the sample in this case.
+     * @return a future containing the number of analyzed tables
+     */
+    public CompletableFuture<Long> analyze(List<DocTableInfo> tables, boolean approximateDistinct) {
+        CompletableFuture<Long> numAnalyzed = CompletableFuture.completedFuture(0L);
+        for (DocTableInfo table : tables) {
+            numAnalyzed = numAnalyzed.thenCompose(
+                num -> analyze(table, approximateDistinct).thenApply(ignored -> num + 1));
+        }
+        return numAnalyzed;
+    }
+
+    private CompletableFuture<Long> analyze(DocTableInfo table, boolean approximateDistinct) {
+        RelationName relationName = table.ident();
+        List<Reference> columns = new ArrayList<>();
+        for (Reference column : table.columns()) {
+            if (DataTypes.PRIMITIVE_TYPES.contains(column.valueType()) && !column.isColumnStoreDisabled()) {
+                columns.add(column);
+            }
+        }
+        CompletableFuture<Map<ColumnIdent, ColumnStats>> statsByColumn;
+        if (columns.isEmpty()) {
+            statsByColumn = CompletableFuture.completedFuture(Collections.emptyMap());
+        } else {
+            long numDocs = tableStats.numDocs(relationName);
+            SampleResultReceiver sampleReceiver = new SampleResultReceiver(columns, numDocs);
+            statsByColumn = execute(sampleStatement(relationName, columns, numDocs), sampleReceiver)
+                .thenApply(ignored -> sampleReceiver.columnStats());
+            if (approximateDistinct) {
+                statsByColumn = statsByColumn.thenCompose(sampleStats -> {
+                    ColumnStatsResultReceiver resultReceiver = new ColumnStatsResultReceiver(columns, sampleStats);
+                    return execute(columnStatsStatement(relationName, columns), resultReceiver)
+                        .thenApply(ignored -> resultReceiver.columnStats());
+                });
+            }
+        }
+        return statsByColumn.thenCompose(
+            stats -> publishColumnStatsAction.broadcast(new PublishColumnStatsRequest(relationName, stats)));
+    }
+
+    private CompletableFuture<Void> execute(String stmt, BaseResultReceiver resultReceiver) {
+        try {
+            session.quickExec(stmt, SqlParser::createStatement, resultReceiver, Row.EMPTY);
+        } catch (Throwable t) {
+            resultReceiver.fail(t);
+        }
+        return resultReceiver.completionFuture();
+    }
+
+    /**
+     * Creates the statement which reads a sample of the rows of a table.
+     * If the table has more than {@link #SAMPLE_SIZE} rows, each row is picked with the probability
+     * which results in about {@link #SAMPLE_SIZE} rows, so that the sample isn't biased towards the rows
+     * which happen to be read first. If the number of rows is unknown, the first rows are used.
+     *
+     * @param numDocs the number of rows of the table or -1 if unknown
+     */
+    @VisibleForTesting
+    static String sampleStatement(RelationName relationName, List<Reference> columns, long numDocs) {
+        StringBuilder sb = new StringBuilder("select ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(columns.get(i).column().quotedOutputName());
+        }
+        sb.append(" from ").append(relationName.sqlFqn());
+        if (numDocs > SAMPLE_SIZE) {
+            sb.append(" where random() < ").append((double) SAMPLE_SIZE / numDocs);
+        }
+        sb.append(" limit ").append(SAMPLE_SIZE);
+        return sb.toString();
+    }
+
+    /**
+     * Creates the statement which aggregates the statistics of all given columns over all rows of a table.
+     */
+    @VisibleForTesting
+    static String columnStatsStatement(RelationName relationName, List<Reference> columns) {
+        StringBuilder sb = new StringBuilder("select count(*)");
+        for (Reference column : columns) {
+            String name = column.column().quotedOutputName();
+            sb.append(", count(").append(name).append("), hyperloglog_distinct(").append(name).append(")");
+            if (DataTypes.NUMERIC_PRIMITIVE_TYPES.contains(column.valueType())) {
+                sb.append(", percentile(").append(name).append(", ").append(HISTOGRAM_FRACTIONS).append(")");
+            }
+        }
+        sb.append(" from ").append(relationName.sqlFqn());
+        return sb.toString();
+    }
+
+    /**
+     * Estimates the number of distinct values of a column from the number of distinct values in a sample.
+     * If many of the sampled values are distinct, the number of distinct values is assumed to grow with
+     * the number of rows; otherwise the sample is assumed to contain all distinct values.
+     *
+     * @param numDocs the number of rows of the table or -1 if the sample covers all rows
+     */
+    @VisibleForTesting
+    static double estimateDistinct(long sampleNonNull, long sampleDistinct, double nullFraction, long numDocs) {
+        if (numDocs <= 0 || sampleNonNull == 0 || sampleDistinct <= sampleNonNull * DISTINCT_SCALE_THRESHOLD) {
+            return sampleDistinct;
+        }
+        double numNonNull = numDocs * (1.0 - nullFraction);
+        return Math.max(sampleDistinct, (double) sampleDistinct / sampleNonNull * numNonNull);
+    }
+
+    /**
+     * Computes the statistics of a column from the non-null values of a sample.
+     *
+     * @param values the non-null values of the sample; sorted in place
+     * @param numRows the number of rows of the sample, including the rows where the column is null
+     * @param numDocs the number of rows of the table or -1 if the sample covers all rows
+     */
+    @VisibleForTesting
+    @SuppressWarnings("unchecked")
+    static ColumnStats sampleStats(DataType<?> type, List<Object> values, int numRows, long numDocs) {
+        DataType<Object> valueType = (DataType<Object>) type;
+        values.sort(valueType::compareValueTo);
+        int numNonNull = values.size();
+        double nullFraction = numRows == 0 ? 0.0 : (double) (numRows - numNonNull) / numRows;
+
+        List<Object> distinctValues = new ArrayList<>();
+        IntArrayList counts = new IntArrayList();
+        for (Object value : values) {
+            int last = distinctValues.size() - 1;
+            if (last >= 0 && valueType.compareValueTo(distinctValues.get(last), value) == 0) {
+                counts.buffer[last]++;
+            } else {
+                distinctValues.add(value);
+                counts.add(1);
+            }
+        }
+        int numDistinct = distinctValues.size();
+        double approxDistinct = estimateDistinct(numNonNull, numDistinct, nullFraction, numDocs);
+
+        // if all distinct values are known, they are all kept; otherwise only the values occurring
+        // clearly more often than the average value
+        boolean keepAll = numDistinct <= MAX_MOST_COMMON_VALUES && approxDistinct == numDistinct;
+        double minCount = keepAll ? 0.0 : Math.max(1.0, MOST_COMMON_THRESHOLD * numNonNull / numDistinct);
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < numDistinct; i++) {
+            if (counts.get(i) > minCount) {
+                candidates.add(i);
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(counts.get(b), counts.get(a)));
+        int numMostCommon = Math.min(candidates.size(), MAX_MOST_COMMON_VALUES);
+        List<Object> mostCommonValues = new ArrayList<>(numMostCommon);
+        double[] mostCommonFreqs = new double[numMostCommon];
+        for (int i = 0; i < numMostCommon; i++) {
+            int idx = candidates.get(i);
+            mostCommonValues.add(distinctValues.get(idx));
+            mostCommonFreqs[i] = (double) counts.get(idx) / numRows;
+        }
+
+        List<Object> histogramBounds = Collections.emptyList();
+        if (numNonNull > 0 && DataTypes.NUMERIC_PRIMITIVE_TYPES.contains(type)) {
+            histogramBounds = new ArrayList<>(HISTOGRAM_BUCKETS + 1);
+            for (int i = 0; i <= HISTOGRAM_BUCKETS; i++) {
+                int idx = (int) Math.round((double) i * (numNonNull - 1) / HISTOGRAM_BUCKETS);
+                histogramBounds.add(((Number) values.get(idx)).doubleValue());
+            }
+        }
+        return new ColumnStats(nullFraction, approxDistinct, histogramBounds, mostCommonValues, mostCommonFreqs);
+    }
+
+    /**
+     * Receives the rows of the {@link #sampleStatement(RelationName, List, long)} of a table.
+     */
+    static class SampleResultReceiver extends BaseResultReceiver {
+
+        private final List<Reference> columns;
+        private final long numDocs;
+        private final List<List<Object>> valuesByColumn;
+        private int numRows = 0;
+
+        /**
+         * @param numDocs the number of rows of the table or -1 if unknown
+         */
+        SampleResultReceiver(List<Reference> columns, long numDocs) {
+            this.columns = columns;
+            this.numDocs = numDocs;
+            valuesByColumn = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                valuesByColumn.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void setNextRow(Row row) {
+            numRows++;
+            for (int i = 0; i < valuesByColumn.size(); i++) {
+                Object value = row.get(i);
+                if (value != null) {
+                    valuesByColumn.get(i).add(value);
+                }
+            }
+        }
+
+        Map<ColumnIdent, ColumnStats> columnStats() {
+            boolean coversAllRows = numDocs <= SAMPLE_SIZE && numRows < SAMPLE_SIZE;
+            Map<ColumnIdent, ColumnStats> statsByColumn = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                Reference column = columns.get(i);
+                statsByColumn.put(
+                    column.column(),
+                    sampleStats(column.valueType(), valuesByColumn.get(i), numRows, coversAllRows ? -1L : numDocs));
+            }
+            return statsByColumn;
+        }
+    }
+
+    /**
+     * Receives the row of the {@link #columnStatsStatement(RelationName, List)} of a table.
+     */
+    static class ColumnStatsResultReceiver extends BaseResultReceiver {
+
+        private final List<Reference> columns;
+        private final Map<ColumnIdent, ColumnStats> sampleStats;
+        private final Map<ColumnIdent, ColumnStats> statsByColumn = new HashMap<>();
+
+        /**
+         * @param sampleStats the statistics computed from a sample, used for the most common values
+         */
+        ColumnStatsResultReceiver(List<Reference> columns, Map<ColumnIdent, ColumnStats> sampleStats) {
+            this.columns = columns;
+            this.sampleStats = sampleStats;
+        }
+
+        @Override
+        public void setNextRow(Row row) {
+            long numRows = (long) row.get(0);
+            int idx = 1;
+            for (Reference column : columns) {
+                long numNonNull = (long) row.get(idx++);
+                long numDistinct = (long) row.get(idx++);
+                List<Object> histogramBounds = Collections.emptyList();
+                if (DataTypes.NUMERIC_PRIMITIVE_TYPES.contains(column.valueType())) {
+                    Object[] percentiles = (Object[]) row.get(idx++);
+                    if (percentiles != null) {
+                        histogramBounds = Arrays.asList(percentiles);
+                    }
+                }
+                double nullFraction = numRows == 0 ? 0.0 : (double) (numRows - numNonNull) / numRows;
+                List<Object> mostCommonValues = Collections.emptyList();
+                double[] mostCommonFreqs = new double[0];
+                ColumnStats sampled = sampleStats.get(column.column());
+                if (sampled != null) {
+                    mostCommonValues = sampled.mostCommonValues();
+                    mostCommonFreqs = sampled.mostCommonFreqs();
+                }
+                statsByColumn.put(column.column(), new ColumnStats(
+                    nullFraction, numDistinct, histogramBounds, mostCommonValues, mostCommonFreqs));
+            }
+        }
+
+        Map<ColumnIdent, ColumnStats> columnStats() {
+            return statsByColumn;
+        }
+    }
+
     static class TableStatsResultReceiver extends BaseResultReceiver {
 
         private static final Logger LOGGER = LogManager.getLogger(TableStatsResultReceiver.class);
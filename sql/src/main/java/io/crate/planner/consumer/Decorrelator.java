@@ -0,0 +1,471 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.planner.consumer;
+
+import com.google.common.collect.ImmutableSet;
+import io.crate.analyze.MultiSourceSelect;
+import io.crate.analyze.QueriedTable;
+import io.crate.analyze.QuerySpec;
+import io.crate.analyze.WhereClause;
+import io.crate.analyze.relations.AbstractTableRelation;
+import io.crate.analyze.relations.AnalyzedRelation;
+import io.crate.analyze.relations.JoinPair;
+import io.crate.analyze.relations.QueriedRelation;
+import io.crate.analyze.relations.RelationNormalizer;
+import io.crate.execution.engine.aggregation.impl.ArbitraryAggregation;
+import io.crate.execution.engine.aggregation.impl.AverageAggregation;
+import io.crate.execution.engine.aggregation.impl.GeometricMeanAggregation;
+import io.crate.execution.engine.aggregation.impl.MaximumAggregation;
+import io.crate.execution.engine.aggregation.impl.MinimumAggregation;
+import io.crate.execution.engine.aggregation.impl.PercentileAggregation;
+import io.crate.execution.engine.aggregation.impl.StandardDeviationAggregation;
+import io.crate.execution.engine.aggregation.impl.SumAggregation;
+import io.crate.execution.engine.aggregation.impl.VarianceAggregation;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.operator.Operators;
+import io.crate.expression.predicate.NotPredicate;
+import io.crate.expression.symbol.Field;
+import io.crate.expression.symbol.FieldsVisitor;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.RefReplacer;
+import io.crate.expression.symbol.SelectSymbol;
+import io.crate.expression.symbol.Symbol;
+import io.crate.expression.symbol.SymbolVisitors;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.FunctionInfo;
+import io.crate.metadata.Functions;
+import io.crate.metadata.table.Operation;
+import io.crate.planner.node.dql.join.JoinType;
+import io.crate.sql.tree.QualifiedName;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.transform;
+import static io.crate.expression.symbol.SelectSymbol.ResultType.EXISTS;
+import static io.crate.expression.symbol.SelectSymbol.ResultType.SINGLE_COLUMN_SINGLE_VALUE;
+
+/**
+ * Rewrites correlated subqueries into joins, so that they don't have to be evaluated per row of the parent relation:
+ *
+ * <pre>
+ *     select * from t1 where exists (select 1 from t2 where t2.k = t1.k)
+ *               |
+ *               v
+ *     select t1.* from t1 INNER JOIN (select t2.k from t2 group by t2.k) S0 on t1.k = S0.k
+ *
+ *
+ *     select * from t1 where t1.x > (select avg(y) from t2 where t2.k = t1.k)
+ *               |
+ *               v
+ *     select t1.* from t1 INNER JOIN (select t2.k, avg(y) from t2 group by t2.k) S0 on t1.k = S0.k
+ *     where t1.x > S0.avg
+ * </pre>
+ *
+ * {@code NOT EXISTS} becomes an ANTI join.
+ *
+ * Supported are subqueries on a single table which are correlated with the parent relation using equality
+ * conditions in their WHERE clause and which are used as conjunct in the WHERE clause of the parent relation.
+ * Scalar subqueries must select a single aggregate which returns NULL for an empty input, e.g. not {@code count} or
+ * {@code collect_set}: A missing group in the join must have the same effect as the NULL value the subquery would
+ * return for it.
+ */
+public final class Decorrelator {
+
+    /**
+     * Aggregates returning NULL if there are no rows to aggregate. Other aggregates, including those of plugins,
+     * may return a value for an empty input and are not decorrelated.
+     */
+    private static final Set<String> NULL_ON_EMPTY_INPUT_AGGREGATES = ImmutableSet.<String>builder()
+        .add(ArbitraryAggregation.NAME)
+        .add(AverageAggregation.NAMES)
+        .add(GeometricMeanAggregation.NAME)
+        .add(MaximumAggregation.NAME)
+        .add(MinimumAggregation.NAME)
+        .add(PercentileAggregation.NAME)
+        .add(StandardDeviationAggregation.NAME)
+        .add(SumAggregation.NAME)
+        .add(VarianceAggregation.NAME)
+        .build();
+
+    private final RelationNormalizer relationNormalizer;
+
+    Decorrelator(Functions functions) {
+        relationNormalizer = new RelationNormalizer(functions);
+    }
+
+    /**
+     * Ensures that all subqueries within {@code query} which are correlated with {@code outerRelation}
+     * can be rewritten into joins.
+     *
+     * @throws UnsupportedOperationException if a correlated subquery can't be rewritten
+     */
+    public static void ensureDecorrelatable(Symbol query, AbstractTableRelation<?> outerRelation) {
+        List<SelectSymbol> correlatedSubqueries = correlatedSubqueries(query, outerRelation);
+        if (correlatedSubqueries.isEmpty()) {
+            return;
+        }
+        if (gatherCandidates(query, outerRelation).size() < correlatedSubqueries.size()) {
+            throw new UnsupportedOperationException(String.format(Locale.ENGLISH,
+                "Cannot use relation \"%s\" in this context. It is only accessible in the parent context",
+                outerRelation.getQualifiedName()));
+        }
+    }
+
+    /**
+     * @return true if the relation contains columns of a relation that isn't part of its own sources.
+     */
+    public static boolean isCorrelated(QueriedRelation relation) {
+        if (!(relation instanceof QueriedTable)) {
+            return false;
+        }
+        AbstractTableRelation<?> tableRelation = ((QueriedTable<?>) relation).tableRelation();
+        boolean[] correlated = new boolean[] { false };
+        FieldsVisitor.visitFields(symbols(relation), f -> {
+            if (!tableRelation.equals(f.relation())) {
+                correlated[0] = true;
+            }
+        });
+        return correlated[0];
+    }
+
+    /**
+     * Try to rewrite the correlated subqueries within the WHERE clause of a QueriedTable into joins.
+     *
+     * @return the rewritten relation or null if there are no correlated subqueries.
+     */
+    @Nullable
+    QueriedRelation tryRewrite(QueriedRelation rel, CoordinatorTxnCtx transactionCtx) {
+        if (!(rel instanceof QueriedTable) || !rel.where().hasQuery()) {
+            return null;
+        }
+        AbstractTableRelation<?> sourceRel = ((QueriedTable<?>) rel).tableRelation();
+        List<Candidate> candidates = gatherCandidates(rel.where().query(), sourceRel);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        // Function to turn Ref(x) back into Field(rel, x); it's required for the MultiSourceSelect structure
+        java.util.function.Function<? super Symbol, ? extends Symbol> refsToFields =
+            RefReplacer.replaceRefs(r -> sourceRel.getField(r.column(), Operation.READ));
+
+        HashMap<QualifiedName, AnalyzedRelation> sources = new LinkedHashMap<>();
+        sources.put(rel.getQualifiedName(), sourceRel);
+        ArrayList<JoinPair> joinPairs = new ArrayList<>(candidates.size());
+        IdentityHashMap<Symbol, Symbol> replacements = new IdentityHashMap<>(candidates.size());
+        int count = 0;
+        for (Candidate candidate : candidates) {
+            QueriedTable<?> groupedRelation = candidate.groupedRelation();
+            QualifiedName name = candidate.subQuery.relation().getQualifiedName().withPrefix("S" + count);
+            count++;
+            sources.put(name, groupedRelation);
+
+            List<Field> fields = groupedRelation.fields();
+            List<Symbol> conditions = new ArrayList<>(candidate.outerKeys.size());
+            for (int i = 0; i < candidate.outerKeys.size(); i++) {
+                conditions.add(EqOperator.createFunction(candidate.outerKeys.get(i), fields.get(i)));
+            }
+            joinPairs.add(JoinPair.of(
+                rel.getQualifiedName(),
+                name,
+                candidate.kind == Kind.NOT_EXISTS ? JoinType.ANTI : JoinType.INNER,
+                AndOperator.join(conditions)
+            ));
+            if (candidate.kind == Kind.SCALAR) {
+                Field aggregate = fields.get(fields.size() - 1);
+                replacements.put(
+                    candidate.conjunct, refsToFields.apply(replace(candidate.conjunct, candidate.subQuery, aggregate)));
+            } else {
+                replacements.put(candidate.conjunct, Literal.BOOLEAN_TRUE);
+            }
+        }
+
+        List<Symbol> conjuncts = new ArrayList<>();
+        for (Symbol conjunct : splitConjunction(rel.where().query())) {
+            Symbol replacement = replacements.get(conjunct);
+            conjuncts.add(replacement == null ? refsToFields.apply(conjunct) : replacement);
+        }
+        QuerySpec newTopQS = rel.querySpec()
+            .copyAndReplace(refsToFields)
+            .where(new WhereClause(AndOperator.join(conjuncts)));
+
+        MultiSourceSelect mss = new MultiSourceSelect(
+            rel.isDistinct(),
+            sources,
+            transform(rel.fields(), Field::path),
+            newTopQS,
+            joinPairs
+        );
+        return (QueriedRelation) relationNormalizer.normalize(mss, transactionCtx);
+    }
+
+    enum Kind {
+        EXISTS,
+        NOT_EXISTS,
+        SCALAR
+    }
+
+    static class Candidate {
+
+        final Symbol conjunct;
+        final SelectSymbol subQuery;
+        final Kind kind;
+        final List<Symbol> innerKeys;
+        final List<Symbol> outerKeys;
+        final List<Symbol> localConjuncts;
+
+        Candidate(Symbol conjunct,
+                  SelectSymbol subQuery,
+                  Kind kind,
+                  List<Symbol> innerKeys,
+                  List<Symbol> outerKeys,
+                  List<Symbol> localConjuncts) {
+            this.conjunct = conjunct;
+            this.subQuery = subQuery;
+            this.kind = kind;
+            this.innerKeys = innerKeys;
+            this.outerKeys = outerKeys;
+            this.localConjuncts = localConjuncts;
+        }
+
+        /**
+         * select innerKeys [, aggregate] from inner where localConjuncts group by innerKeys
+         */
+        QueriedTable<?> groupedRelation() {
+            QueriedTable<?> subRelation = (QueriedTable<?>) subQuery.relation();
+            List<Symbol> outputs = new ArrayList<>(innerKeys);
+            List<ColumnIdent> outputNames = new ArrayList<>(innerKeys.size() + 1);
+            for (int i = 0; i < innerKeys.size(); i++) {
+                outputNames.add(new ColumnIdent("k" + i));
+            }
+            if (kind == Kind.SCALAR) {
+                outputs.add(subRelation.outputs().get(0));
+                outputNames.add(new ColumnIdent("agg"));
+            }
+            QuerySpec querySpec = new QuerySpec()
+                .outputs(outputs)
+                .where(localConjuncts.isEmpty() ? WhereClause.MATCH_ALL : new WhereClause(AndOperator.join(localConjuncts)))
+                .groupBy(innerKeys)
+                .hasAggregates(kind == Kind.SCALAR);
+            return new QueriedTable<>(false, subRelation.tableRelation(), outputNames, querySpec);
+        }
+    }
+
+    static List<Candidate> gatherCandidates(Symbol query, AbstractTableRelation<?> outerRelation) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Symbol conjunct : splitConjunction(query)) {
+            Candidate candidate = toCandidate(conjunct, outerRelation);
+            if (candidate != null) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    @Nullable
+    private static Candidate toCandidate(Symbol conjunct, AbstractTableRelation<?> outerRelation) {
+        SelectSymbol subQuery = null;
+        Kind kind = null;
+        if (conjunct instanceof SelectSymbol) {
+            subQuery = (SelectSymbol) conjunct;
+            kind = Kind.EXISTS;
+        } else if (conjunct instanceof Function) {
+            Function function = (Function) conjunct;
+            String name = function.info().ident().name();
+            if (name.equals(NotPredicate.NAME) && function.arguments().get(0) instanceof SelectSymbol) {
+                subQuery = (SelectSymbol) function.arguments().get(0);
+                kind = Kind.NOT_EXISTS;
+            } else if (Operators.COMPARISON_OPERATORS.contains(name)) {
+                Symbol left = function.arguments().get(0);
+                Symbol right = function.arguments().get(1);
+                subQuery = SemiJoins.getSubqueryOrNull(right);
+                Symbol other = left;
+                if (subQuery == null) {
+                    subQuery = SemiJoins.getSubqueryOrNull(left);
+                    other = right;
+                }
+                if (subQuery == null || containsSubquery(other)) {
+                    return null;
+                }
+                kind = Kind.SCALAR;
+            }
+        }
+        if (subQuery == null
+            || subQuery.getResultType() != (kind == Kind.SCALAR ? SINGLE_COLUMN_SINGLE_VALUE : EXISTS)
+            || !(subQuery.relation() instanceof QueriedTable)) {
+            return null;
+        }
+        QueriedTable<?> subRelation = (QueriedTable<?>) subQuery.relation();
+        AbstractTableRelation<?> innerRelation = subRelation.tableRelation();
+        QuerySpec qs = subRelation.querySpec();
+        if (!qs.where().hasQuery()
+            || !qs.groupBy().isEmpty()
+            || qs.having() != null
+            || qs.orderBy() != null
+            || qs.limit() != null
+            || qs.offset() != null
+            || subRelation.isDistinct()
+            || referencesRelation(qs.outputs(), outerRelation)) {
+            return null;
+        }
+        if (kind == Kind.SCALAR) {
+            if (qs.outputs().size() != 1 || !isDecorrelatableAggregate(qs.outputs().get(0))) {
+                return null;
+            }
+        } else if (qs.hasAggregates()) {
+            return null;
+        }
+
+        List<Symbol> innerKeys = new ArrayList<>();
+        List<Symbol> outerKeys = new ArrayList<>();
+        List<Symbol> localConjuncts = new ArrayList<>();
+        for (Symbol innerConjunct : splitConjunction(qs.where().query())) {
+            if (!referencesRelation(innerConjunct, outerRelation)) {
+                if (!correlatedSubqueries(innerConjunct, innerRelation).isEmpty()) {
+                    return null;
+                }
+                localConjuncts.add(innerConjunct);
+                continue;
+            }
+            if (!(innerConjunct instanceof Function)
+                || !((Function) innerConjunct).info().ident().name().equals(EqOperator.NAME)) {
+                return null;
+            }
+            Symbol left = ((Function) innerConjunct).arguments().get(0);
+            Symbol right = ((Function) innerConjunct).arguments().get(1);
+            if (onlyReferences(left, outerRelation) && onlyReferences(right, innerRelation)) {
+                outerKeys.add(left);
+                innerKeys.add(right);
+            } else if (onlyReferences(right, outerRelation) && onlyReferences(left, innerRelation)) {
+                outerKeys.add(right);
+                innerKeys.add(left);
+            } else {
+                return null;
+            }
+        }
+        if (innerKeys.isEmpty()) {
+            return null;
+        }
+        return new Candidate(conjunct, subQuery, kind, innerKeys, outerKeys, localConjuncts);
+    }
+
+    private static boolean isDecorrelatableAggregate(Symbol output) {
+        if (!(output instanceof Function)) {
+            return false;
+        }
+        FunctionInfo info = ((Function) output).info();
+        return info.type() == FunctionInfo.Type.AGGREGATE && NULL_ON_EMPTY_INPUT_AGGREGATES.contains(info.ident().name());
+    }
+
+    private static List<SelectSymbol> correlatedSubqueries(Symbol query, AnalyzedRelation outerRelation) {
+        List<SelectSymbol> subQueries = new ArrayList<>();
+        SymbolVisitors.any(s -> {
+            if (s instanceof SelectSymbol && referencesRelation(symbols(((SelectSymbol) s).relation()), outerRelation)) {
+                subQueries.add((SelectSymbol) s);
+            }
+            return false;
+        }, query);
+        return subQueries;
+    }
+
+    private static List<Symbol> symbols(QueriedRelation relation) {
+        QuerySpec qs = relation.querySpec();
+        List<Symbol> symbols = new ArrayList<>(qs.outputs());
+        if (qs.where().hasQuery()) {
+            symbols.add(qs.where().query());
+        }
+        symbols.addAll(qs.groupBy());
+        if (qs.having() != null && qs.having().hasQuery()) {
+            symbols.add(qs.having().query());
+        }
+        if (qs.orderBy() != null) {
+            symbols.addAll(qs.orderBy().orderBySymbols());
+        }
+        if (relation instanceof MultiSourceSelect) {
+            for (JoinPair joinPair : ((MultiSourceSelect) relation).joinPairs()) {
+                if (joinPair.condition() != null) {
+                    symbols.add(joinPair.condition());
+                }
+            }
+        }
+        return symbols;
+    }
+
+    private static boolean referencesRelation(Symbol symbol, AnalyzedRelation relation) {
+        return SymbolVisitors.any(s -> s instanceof Field && relation.equals(((Field) s).relation()), symbol);
+    }
+
+    private static boolean referencesRelation(List<Symbol> symbols, AnalyzedRelation relation) {
+        return SymbolVisitors.any(s -> s instanceof Field && relation.equals(((Field) s).relation()), symbols);
+    }
+
+    private static boolean onlyReferences(Symbol symbol, AnalyzedRelation relation) {
+        return referencesRelation(symbol, relation)
+               && !containsSubquery(symbol)
+               && !SymbolVisitors.any(s -> s instanceof Field && !relation.equals(((Field) s).relation()), symbol);
+    }
+
+    private static boolean containsSubquery(Symbol symbol) {
+        return SymbolVisitors.any(s -> s instanceof SelectSymbol, symbol);
+    }
+
+    private static List<Symbol> splitConjunction(Symbol query) {
+        List<Symbol> conjuncts = new ArrayList<>();
+        splitConjunction(query, conjuncts);
+        return conjuncts;
+    }
+
+    private static void splitConjunction(Symbol query, List<Symbol> conjuncts) {
+        if (query instanceof Function && ((Function) query).info().ident().name().equals(AndOperator.NAME)) {
+            for (Symbol arg : ((Function) query).arguments()) {
+                splitConjunction(arg, conjuncts);
+            }
+        } else {
+            conjuncts.add(query);
+        }
+    }
+
+    private static Symbol replace(Symbol symbol, SelectSymbol subQuery, Symbol replacement) {
+        if (symbol == subQuery) {
+            return replacement;
+        }
+        if (!(symbol instanceof Function)) {
+            return symbol;
+        }
+        Function function = (Function) symbol;
+        List<Symbol> newArgs = new ArrayList<>(function.arguments().size());
+        for (Symbol arg : function.arguments()) {
+            newArgs.add(replace(arg, subQuery, replacement));
+        }
+        return new Function(function.info(), newArgs);
+    }
+}
@@ -42,15 +42,17 @@ public final class OptimizingRewriter {
      * Return the relation as is or a re-written relation
      */
     public QueriedRelation optimize(QueriedRelation relation, CoordinatorTxnCtx coordinatorTxnCtx) {
-        return new Visitor(new SemiJoins(functions), coordinatorTxnCtx).process(relation, null);
+        return new Visitor(new Decorrelator(functions), new SemiJoins(functions), coordinatorTxnCtx).process(relation, null);
     }
 
     private static class Visitor extends AnalyzedRelationVisitor<Void, QueriedRelation> {
 
+        private final Decorrelator decorrelator;
         private final SemiJoins semiJoins;
         private final CoordinatorTxnCtx coordinatorTxnCtx;
 
-        public Visitor(SemiJoins semiJoins, CoordinatorTxnCtx coordinatorTxnCtx) {
+        public Visitor(Decorrelator decorrelator, SemiJoins semiJoins, CoordinatorTxnCtx coordinatorTxnCtx) {
+            this.decorrelator = decorrelator;
             this.semiJoins = semiJoins;
             this.coordinatorTxnCtx = coordinatorTxnCtx;
         }
@@ -72,6 +74,10 @@ public final class OptimizingRewriter {
 
         @Override
         public QueriedRelation visitQueriedTable(QueriedTable<?> queriedTable, Void context) {
+            QueriedRelation decorrelated = decorrelator.tryRewrite(queriedTable, coordinatorTxnCtx);
+            if (decorrelated != null) {
+                return decorrelated;
+            }
             return maybeApplySemiJoinRewrite(queriedTable);
         }
 
@@ -68,6 +68,7 @@ public class Join implements ExecutionPlan, ResultDescription {
     private final int maxRowsPerNode;
     @Nullable
     private PositionalOrderBy orderBy;
+    private final long numExpectedRows;
 
     public Join(JoinPhase joinPhase,
                 ExecutionPlan left,
@@ -76,7 +77,8 @@ public class Join implements ExecutionPlan, ResultDescription {
                 int offset,
                 int maxRowsPerNode,
                 int numOutputs,
-                @Nullable PositionalOrderBy orderBy) {
+                @Nullable PositionalOrderBy orderBy,
+                long numExpectedRows) {
         this.left = left;
         this.right = right;
         this.joinPhase = joinPhase;
@@ -85,6 +87,7 @@ public class Join implements ExecutionPlan, ResultDescription {
         this.maxRowsPerNode = maxRowsPerNode;
         this.orderBy = orderBy;
         this.numOutputs = numOutputs;
+        this.numExpectedRows = numExpectedRows;
     }
 
     public ExecutionPlan left() {
@@ -163,6 +166,13 @@ public class Join implements ExecutionPlan, ResultDescription {
         return numOutputs;
     }
 
+    /**
+     * @return the estimated number of rows produced by the join or -1 if unknown
+     */
+    public long numExpectedRows() {
+        return numExpectedRows;
+    }
+
     @Override
     public List<DataType> streamOutputs() {
         return joinPhase.outputTypes();
@@ -181,6 +191,7 @@ public class Join implements ExecutionPlan, ResultDescription {
                offset == join.offset &&
                numOutputs == join.numOutputs &&
                maxRowsPerNode == join.maxRowsPerNode &&
+               numExpectedRows == join.numExpectedRows &&
                Objects.equals(left, join.left) &&
                Objects.equals(right, join.right) &&
                Objects.equals(joinPhase, join.joinPhase) &&
@@ -189,6 +200,6 @@ public class Join implements ExecutionPlan, ResultDescription {
 
     @Override
     public int hashCode() {
-        return Objects.hash(left, right, joinPhase, limit, offset, numOutputs, maxRowsPerNode, orderBy);
+        return Objects.hash(left, right, joinPhase, limit, offset, numOutputs, maxRowsPerNode, orderBy, numExpectedRows);
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to Crate.IO GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.planner.node.management;
+
+import io.crate.data.Row;
+import io.crate.data.Row1;
+import io.crate.data.RowConsumer;
+import io.crate.execution.support.OneRowActionListener;
+import io.crate.metadata.FunctionIdent;
+import io.crate.metadata.Functions;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.planner.DependencyCarrier;
+import io.crate.planner.Plan;
+import io.crate.planner.PlannerContext;
+import io.crate.planner.operators.SubQueryResults;
+import io.crate.types.DataTypes;
+
+import java.util.Collections;
+import java.util.List;
+
+public class AnalyzePlan implements Plan {
+
+    private static final FunctionIdent HLL_DISTINCT_IDENT =
+        new FunctionIdent("hyperloglog_distinct", Collections.singletonList(DataTypes.STRING));
+
+    private final List<DocTableInfo> tables;
+
+    public AnalyzePlan(List<DocTableInfo> tables) {
+        this.tables = tables;
+    }
+
+    public List<DocTableInfo> tables() {
+        return tables;
+    }
+
+    @Override
+    public StatementType type() {
+        return StatementType.MANAGEMENT;
+    }
+
+    @Override
+    public void executeOrFail(DependencyCarrier dependencies,
+                              PlannerContext plannerContext,
+                              RowConsumer consumer,
+                              Row params,
+                              SubQueryResults subQueryResults) {
+        dependencies.tableStatsService()
+            .analyze(tables, isHllDistinctAvailable(dependencies.functions()))
+            .whenComplete(new OneRowActionListener<>(consumer, Row1::new));
+    }
+
+    /**
+     * hyperloglog_distinct is only available if the enterprise functions are enabled,
+     * otherwise the number of distinct values is extrapolated from a sample of the rows.
+     */
+    private static boolean isHllDistinctAvailable(Functions functions) {
+        return functions.getQualified(HLL_DISTINCT_IDENT) != null;
+    }
+}
@@ -107,7 +107,7 @@ public class ExplainPlan implements Plan {
             if (plan.dependencies().isEmpty()) {
                 UUID jobId = plannerContext.jobId();
                 BaseResultReceiver resultReceiver = new BaseResultReceiver();
-                RowConsumer noopRowConsumer = new RowConsumerToResultReceiver(resultReceiver, 0, t -> {});
+                RowConsumer noopRowConsumer = new RowConsumerToResultReceiver(resultReceiver, 0, (t, rowCount) -> {});
 
                 Timer timer = context.createTimer(Phase.Execute.name());
                 timer.start();
@@ -191,15 +191,16 @@ public class ExplainPlan implements Plan {
         // So we'll transform the response from what the nodes send which looks like this:
         //
         // "Execute": {
-        //      "nodeId1": {"0-collect": 23, "2-fetchPhase": 334, "QueryBreakDown": {...}}
-        //      "nodeId2": {"0-collect": 12, "2-fetchPhase": 222, "QueryBreakDown": {...}}
+        //      "nodeId1": {"0-collect": 23, "2-fetchPhase": 334, "QueryBreakDown": {...}, "Operators": {"0-collect": [...]}}
+        //      "nodeId2": {"0-collect": 12, "2-fetchPhase": 222, "QueryBreakDown": {...}, "Operators": {"0-collect": [...]}}
         //  }
         //
         // To:
         // "Execute": {
         //      "Phases": {
         //         "0-collect": {
-        //              "nodes": {"nodeId1": 23, "nodeId2": 12}
+        //              "nodes": {"nodeId1": 23, "nodeId2": 12},
+        //              "operators": {"nodeId1": [...], "nodeId2": [...]}
         //          },
         //         "2-fetchPhase": {
         //              "nodes": {"nodeId1": 334, "nodeId2": 222}
@@ -241,8 +242,31 @@ public class ExplainPlan implements Plan {
         Map<String, Object> phaseTimingsAcrossNodes = getPhaseTimingsAcrossNodes(phaseName, timingsByNodeId);
 
         if (!phaseTimingsAcrossNodes.isEmpty()) {
-            allPhases.put(phaseName, ImmutableMap.of("nodes", phaseTimingsAcrossNodes));
+            Map<String, Object> operatorsAcrossNodes = getPhaseOperatorsAcrossNodes(phaseName, timingsByNodeId);
+            if (operatorsAcrossNodes.isEmpty()) {
+                allPhases.put(phaseName, ImmutableMap.of("nodes", phaseTimingsAcrossNodes));
+            } else {
+                allPhases.put(phaseName, ImmutableMap.of(
+                    "nodes", phaseTimingsAcrossNodes,
+                    "operators", operatorsAcrossNodes));
+            }
+        }
+    }
+
+    private static Map<String, Object> getPhaseOperatorsAcrossNodes(String phaseName,
+                                                                    Map<String, Map<String, Object>> timingsByNodeId) {
+        Map<String, Object> operatorsForPhaseAcrossNodes = new HashMap<>();
+        for (Map.Entry<String, Map<String, Object>> nodeToTimingsEntry : timingsByNodeId.entrySet()) {
+            Map<String, Object> timingsForNode = nodeToTimingsEntry.getValue();
+            if (timingsForNode != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> operatorsByPhase = (Map<String, Object>) timingsForNode.get(ProfilingContext.OPERATORS);
+                if (operatorsByPhase != null && operatorsByPhase.get(phaseName) != null) {
+                    operatorsForPhaseAcrossNodes.put(nodeToTimingsEntry.getKey(), operatorsByPhase.get(phaseName));
+                }
+            }
         }
+        return Collections.unmodifiableMap(operatorsForPhaseAcrossNodes);
     }
 
     private static Map<String, Object> getPhaseTimingsAcrossNodes(String phaseName,
@@ -273,6 +297,7 @@ public class ExplainPlan implements Plan {
             for (String phaseToRemove : phasesNames) {
                 timings.remove(phaseToRemove);
             }
+            timings.remove(ProfilingContext.OPERATORS);
         }
 
         return Collections.unmodifiableMap(nodeTimingsWithoutPhases);
@@ -0,0 +1,280 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.planner.operators;
+
+import io.crate.analyze.relations.AbstractTableRelation;
+import io.crate.analyze.relations.AnalyzedRelation;
+import io.crate.analyze.relations.QueriedRelation;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.operator.GtOperator;
+import io.crate.expression.operator.GteOperator;
+import io.crate.expression.operator.LtOperator;
+import io.crate.expression.operator.LteOperator;
+import io.crate.expression.operator.OrOperator;
+import io.crate.expression.predicate.IsNullPredicate;
+import io.crate.expression.predicate.NotPredicate;
+import io.crate.expression.symbol.Field;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.Reference;
+import io.crate.planner.ColumnStats;
+import io.crate.planner.TableStats;
+import io.crate.planner.node.dql.join.JoinType;
+import io.crate.types.DataType;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Estimates the number of rows produced by filters and joins.
+ * <p>
+ * The estimates are based on the row counts of {@link TableStats} and the column statistics collected by
+ * {@code ANALYZE}. A predicate for which no statistics are available doesn't change the estimate, so without
+ * column statistics the estimates are the same as the plain row counts.
+ */
+final class CardinalityEstimator {
+
+    private static final double UNKNOWN = -1.0;
+
+    /**
+     * Selectivity of range predicates on columns with statistics but without histogram
+     */
+    private static final double DEFAULT_RANGE_SELECTIVITY = 1.0 / 3.0;
+
+    private CardinalityEstimator() {
+    }
+
+    /**
+     * @return the estimated number of rows remaining after applying {@code query} on {@code numRows} rows,
+     *         or {@code numRows} if the selectivity of the query is unknown.
+     */
+    static long filteredRows(long numRows, @Nullable Symbol query, TableStats tableStats) {
+        if (numRows <= 0 || query == null) {
+            return numRows;
+        }
+        double selectivity = selectivity(query, tableStats);
+        if (selectivity < 0) {
+            return numRows;
+        }
+        return Math.max(1L, Math.round(numRows * selectivity));
+    }
+
+    /**
+     * @return the estimated number of rows of a join.
+     *         If any of the inputs is unknown (negative) or the selectivity of the join condition can't be estimated,
+     *         the result is the product of both sides for cross joins and the bigger side otherwise.
+     */
+    static long joinRows(long lhsRows,
+                         long rhsRows,
+                         JoinType joinType,
+                         @Nullable Symbol joinCondition,
+                         TableStats tableStats) {
+        if (joinType == JoinType.CROSS) {
+            return saturatedMultiply(lhsRows, rhsRows);
+        }
+        if (lhsRows < 0 || rhsRows < 0 || joinCondition == null) {
+            return Math.max(lhsRows, rhsRows);
+        }
+        double selectivity = selectivity(joinCondition, tableStats);
+        if (selectivity < 0) {
+            return Math.max(lhsRows, rhsRows);
+        }
+        long innerRows = Math.max(1L, Math.round(Math.min((double) lhsRows * rhsRows * selectivity, Long.MAX_VALUE)));
+        switch (joinType) {
+            case INNER:
+                return innerRows;
+            case LEFT:
+                return Math.max(innerRows, lhsRows);
+            case RIGHT:
+                return Math.max(innerRows, rhsRows);
+            case FULL:
+                return Math.max(innerRows, Math.max(lhsRows, rhsRows));
+            default:
+                return Math.max(lhsRows, rhsRows);
+        }
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long result = a * b;
+        if (a != 0 && (result / a != b || (a == -1 && b == Long.MIN_VALUE))) {
+            return Long.MAX_VALUE;
+        }
+        return result;
+    }
+
+    /**
+     * @return the fraction of rows matching the predicate (between 0.0 and 1.0) or {@link #UNKNOWN}
+     */
+    static double selectivity(Symbol predicate, TableStats tableStats) {
+        if (!(predicate instanceof Function)) {
+            return UNKNOWN;
+        }
+        Function function = (Function) predicate;
+        List<Symbol> args = function.arguments();
+        switch (function.info().ident().name()) {
+            case AndOperator.NAME: {
+                double result = 1.0;
+                boolean known = false;
+                for (Symbol arg : args) {
+                    double s = selectivity(arg, tableStats);
+                    if (s >= 0) {
+                        result *= s;
+                        known = true;
+                    }
+                }
+                return known ? result : UNKNOWN;
+            }
+            case OrOperator.NAME: {
+                double left = selectivity(args.get(0), tableStats);
+                double right = selectivity(args.get(1), tableStats);
+                if (left < 0 || right < 0) {
+                    return UNKNOWN;
+                }
+                return left + right - left * right;
+            }
+            case NotPredicate.NAME: {
+                double s = selectivity(args.get(0), tableStats);
+                return s < 0 ? UNKNOWN : 1.0 - s;
+            }
+            case IsNullPredicate.NAME: {
+                ColumnStats stats = columnStats(args.get(0), tableStats);
+                return stats == null ? UNKNOWN : stats.nullFraction();
+            }
+            case EqOperator.NAME:
+                return eqSelectivity(args.get(0), args.get(1), tableStats);
+            case LtOperator.NAME:
+            case LteOperator.NAME:
+                return rangeSelectivity(args.get(0), args.get(1), true, tableStats);
+            case GtOperator.NAME:
+            case GteOperator.NAME:
+                return rangeSelectivity(args.get(0), args.get(1), false, tableStats);
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private static double eqSelectivity(Symbol left, Symbol right, TableStats tableStats) {
+        ColumnStats leftStats = columnStats(left, tableStats);
+        ColumnStats rightStats = columnStats(right, tableStats);
+        if (leftStats != null && rightStats != null) {
+            // join condition: each value of the side with less distinct values matches on the other side
+            double ndv = Math.max(1.0, Math.max(leftStats.approxDistinct(), rightStats.approxDistinct()));
+            return (1.0 - leftStats.nullFraction()) * (1.0 - rightStats.nullFraction()) / ndv;
+        }
+        ColumnStats stats = leftStats == null ? rightStats : leftStats;
+        Symbol other = leftStats == null ? left : right;
+        if (stats == null || !(other instanceof Literal)) {
+            return UNKNOWN;
+        }
+        Literal<?> literal = (Literal<?>) other;
+        if (literal.value() == null) {
+            return 0.0;
+        }
+        List<Object> mostCommonValues = stats.mostCommonValues();
+        double[] mostCommonFreqs = stats.mostCommonFreqs();
+        @SuppressWarnings("unchecked")
+        DataType<Object> type = (DataType<Object>) literal.valueType();
+        for (int i = 0; i < mostCommonValues.size(); i++) {
+            if (type.compareValueTo(type.value(mostCommonValues.get(i)), literal.value()) == 0) {
+                return mostCommonFreqs[i];
+            }
+        }
+        // the remaining rows are spread evenly over the values which are not one of the most common values
+        double sumMostCommonFreqs = 0.0;
+        for (double freq : mostCommonFreqs) {
+            sumMostCommonFreqs += freq;
+        }
+        double remainingFraction = Math.max(0.0, 1.0 - stats.nullFraction() - sumMostCommonFreqs);
+        return remainingFraction / Math.max(1.0, stats.approxDistinct() - mostCommonValues.size());
+    }
+
+    /**
+     * @param lessThan true for {@code col < value} or {@code col <= value}
+     */
+    private static double rangeSelectivity(Symbol left, Symbol right, boolean lessThan, TableStats tableStats) {
+        ColumnStats stats = columnStats(left, tableStats);
+        Symbol value = right;
+        if (stats == null) {
+            // value < col  is the same as  col > value
+            stats = columnStats(right, tableStats);
+            value = left;
+            lessThan = !lessThan;
+        }
+        if (stats == null || !(value instanceof Literal)) {
+            return UNKNOWN;
+        }
+        Object literalValue = ((Literal) value).value();
+        if (literalValue == null) {
+            return 0.0;
+        }
+        double notNull = 1.0 - stats.nullFraction();
+        List<Object> bounds = stats.histogramBounds();
+        if (bounds.size() < 2 || !(literalValue instanceof Number)) {
+            return notNull * DEFAULT_RANGE_SELECTIVITY;
+        }
+        double fractionBelow = fractionBelow(bounds, ((Number) literalValue).doubleValue());
+        return notNull * (lessThan ? fractionBelow : 1.0 - fractionBelow);
+    }
+
+    /**
+     * @return the fraction of values of an equi-depth histogram which are lower than {@code value}
+     */
+    static double fractionBelow(List<Object> bounds, double value) {
+        int numBuckets = bounds.size() - 1;
+        double lowest = ((Number) bounds.get(0)).doubleValue();
+        if (value <= lowest) {
+            return 0.0;
+        }
+        for (int i = 0; i < numBuckets; i++) {
+            double lower = ((Number) bounds.get(i)).doubleValue();
+            double upper = ((Number) bounds.get(i + 1)).doubleValue();
+            if (value < upper) {
+                double withinBucket = upper > lower ? (value - lower) / (upper - lower) : 0.0;
+                return (i + withinBucket) / numBuckets;
+            }
+        }
+        return 1.0;
+    }
+
+    @Nullable
+    private static ColumnStats columnStats(Symbol symbol, TableStats tableStats) {
+        while (symbol instanceof Field) {
+            Field field = (Field) symbol;
+            AnalyzedRelation relation = field.relation();
+            if (relation instanceof QueriedRelation) {
+                symbol = ((QueriedRelation) relation).outputs().get(field.index());
+            } else if (relation instanceof AbstractTableRelation) {
+                symbol = ((AbstractTableRelation<?>) relation).resolveField(field);
+            } else {
+                return null;
+            }
+        }
+        if (symbol instanceof Reference) {
+            Reference ref = (Reference) symbol;
+            return tableStats.columnStats(ref.ident().tableIdent(), ref.column());
+        }
+        return null;
+    }
+}
@@ -103,7 +103,8 @@ class Collect extends ZeroInputPlan {
             toCollect,
             where,
             usedColumns,
-            tableStats.numDocs(relation.tableRelation().tableInfo().ident()),
+            CardinalityEstimator.filteredRows(
+                tableStats.numDocs(relation.tableRelation().tableInfo().ident()), where.query(), tableStats),
             tableStats.estimatedSizePerRow(relation.tableRelation().tableInfo().ident()));
     }
 
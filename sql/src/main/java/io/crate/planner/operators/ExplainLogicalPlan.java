@@ -32,11 +32,14 @@ import io.crate.expression.symbol.SelectSymbol;
 import io.crate.expression.symbol.format.SymbolPrinter;
 import io.crate.planner.ExecutionPlan;
 import io.crate.planner.ExplainLeaf;
+import io.crate.planner.Plan;
 import io.crate.planner.PlanPrinter;
 import io.crate.planner.PlannerContext;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class ExplainLogicalPlan {
 
@@ -65,6 +68,20 @@ public class ExplainLogicalPlan {
         }
     }
 
+    /**
+     * Defers {@link #explainMap(LogicalPlan, PlannerContext, ProjectionBuilder)} until the map is needed,
+     * e.g. once a statement turned out to be slow. Null if the plan is not a {@link LogicalPlan}.
+     */
+    @Nullable
+    public static Supplier<Map<String, Object>> lazyExplainMap(Plan plan,
+                                                               PlannerContext plannerContext,
+                                                               ProjectionBuilder projectionBuilder) {
+        if (plan instanceof LogicalPlan) {
+            return () -> explainMap((LogicalPlan) plan, plannerContext, projectionBuilder);
+        }
+        return null;
+    }
+
     private static Map<String, Object> explainMap(LogicalPlan logicalPlan, Context context) {
         return explainMap(logicalPlan, context.plannerContext, context.projectionBuilder);
     }
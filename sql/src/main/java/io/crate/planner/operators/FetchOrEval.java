@@ -460,7 +460,7 @@ class FetchOrEval extends OneInputPlan {
 
     @Override
     public LogicalPlan tryOptimize(@Nullable LogicalPlan ancestor, SymbolMapper mapper) {
-        if (ancestor instanceof Order) {
+        if (ancestor instanceof Order || ancestor instanceof Limit) {
             LogicalPlan newPlan = source.tryOptimize(ancestor, mapper);
             if (newPlan != null && newPlan != source) {
                 return updateSource(newPlan, mapper);
@@ -109,6 +109,10 @@ class Filter extends OneInputPlan {
     public LogicalPlan tryOptimize(@Nullable LogicalPlan ancestor, SymbolMapper mapper) {
         // OrderBy is not pushed-down through a Filter as the Filter can potentially shrink the
         // data set and ordering a bigger data set before filtering can lead to worse performance.
+        // For the same reason a Limit can't be pushed-down through a Filter.
+        if (ancestor instanceof Limit) {
+            return null;
+        }
 
         Filter currentFilter = this;
         if (ancestor instanceof Filter) {
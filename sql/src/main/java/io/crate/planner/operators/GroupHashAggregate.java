@@ -43,11 +43,13 @@ import io.crate.planner.distribution.DistributionInfo;
 import io.crate.planner.node.dql.GroupByConsumer;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static io.crate.planner.operators.LogicalPlanner.NO_LIMIT;
 import static io.crate.planner.operators.LogicalPlanner.extractColumns;
@@ -89,6 +91,13 @@ public class GroupHashAggregate extends OneInputPlan {
             executionPlan = Merge.ensureOnHandler(executionPlan, plannerContext);
         }
         List<Symbol> sourceOutputs = source.outputs();
+        if (isSourceSortedByGroupKeys()
+            && ExecutionPhases.executesOnHandler(plannerContext.handlerNode(), executionPlan.resultDescription().nodeIds())) {
+            // The rows arrive as a single stream sorted by the group keys, each group is complete once the key changes
+            executionPlan.addProjection(projectionBuilder.sortedGroupProjection(
+                sourceOutputs, groupKeys, aggregates, AggregateMode.ITER_FINAL, RowGranularity.NODE));
+            return executionPlan;
+        }
         if (shardsContainAllGroupKeyValues()) {
             GroupProjection groupProjection = projectionBuilder.groupProjection(
                 sourceOutputs,
@@ -179,6 +188,61 @@ public class GroupHashAggregate extends OneInputPlan {
                    groupKeys);
     }
 
+    /**
+     * @return true if the rows of the source are guaranteed to be sorted by all group keys, for example
+     *         because the source is a sub-query with an ORDER BY on the group keys.
+     */
+    private boolean isSourceSortedByGroupKeys() {
+        List<Symbol> sourceOutputs = source.outputs();
+        Set<Integer> keyPositions = new HashSet<>();
+        for (Symbol groupKey : groupKeys) {
+            int position = sourceOutputs.indexOf(groupKey);
+            if (position < 0) {
+                return false;
+            }
+            keyPositions.add(position);
+        }
+        List<Integer> sortedPositions = sortedOutputPositions(source);
+        return sortedPositions.size() >= keyPositions.size()
+               && keyPositions.equals(new HashSet<>(sortedPositions.subList(0, keyPositions.size())));
+    }
+
+    /**
+     * @return the positions of the outputs of {@code plan} by which the rows of the plan are sorted,
+     *         starting with the most significant one. Empty if the order of the rows is unknown.
+     */
+    static List<Integer> sortedOutputPositions(LogicalPlan plan) {
+        if (plan instanceof Order) {
+            List<Symbol> outputs = plan.outputs();
+            List<Integer> positions = new ArrayList<>();
+            for (Symbol orderBySymbol : ((Order) plan).orderBy.orderBySymbols()) {
+                int position = outputs.indexOf(orderBySymbol);
+                if (position < 0) {
+                    break;
+                }
+                positions.add(position);
+            }
+            return positions;
+        }
+        if (plan instanceof Limit || plan instanceof RelationBoundary) {
+            // outputs match the outputs of the source position by position
+            return sortedOutputPositions(((OneInputPlan) plan).source);
+        }
+        if (plan instanceof FetchOrEval) {
+            LogicalPlan source = ((FetchOrEval) plan).source;
+            List<Integer> positions = new ArrayList<>();
+            for (Integer sourcePosition : sortedOutputPositions(source)) {
+                int position = plan.outputs().indexOf(source.outputs().get(sourcePosition));
+                if (position < 0) {
+                    break;
+                }
+                positions.add(position);
+            }
+            return positions;
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     protected LogicalPlan updateSource(LogicalPlan newSource, SymbolMapper mapper) {
         return new GroupHashAggregate(newSource, groupKeys, aggregates);
@@ -194,7 +194,8 @@ class HashJoin extends TwoInputPlan {
             0,
             TopN.NO_LIMIT,
             outputs.size(),
-            null
+            null,
+            lhs.numExpectedRows() < 0 || rhs.numExpectedRows() < 0 ? -1 : numExpectedRows()
         );
     }
 
@@ -222,8 +223,8 @@ class HashJoin extends TwoInputPlan {
 
     @Override
     public long numExpectedRows() {
-        // We don't have any cardinality estimates, so just take the bigger table
-        return Math.max(lhs.numExpectedRows(), rhs.numExpectedRows());
+        return CardinalityEstimator.joinRows(
+            lhs.numExpectedRows(), rhs.numExpectedRows(), JoinType.INNER, joinCondition, tableStats);
     }
 
     @Override
@@ -24,13 +24,20 @@ package io.crate.planner.operators;
 
 import com.carrotsearch.hppc.ObjectIntHashMap;
 import com.google.common.annotations.VisibleForTesting;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.symbol.Symbol;
+import io.crate.planner.TableStats;
+import io.crate.planner.node.dql.join.JoinType;
 import io.crate.sql.tree.QualifiedName;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -39,9 +46,173 @@ import java.util.Set;
  */
 final class JoinOrdering {
 
+    /**
+     * Up to this number of relations all left-deep join trees are considered,
+     * above it the order is built greedily.
+     */
+    private static final int MAX_RELATIONS_EXHAUSTIVE_SEARCH = 8;
+
     private JoinOrdering() {
     }
 
+    /**
+     * Returns the order of the relations for a left-deep join tree with the lowest estimated cost.
+     * The cost of a join tree is the sum of the estimated number of rows of all intermediate joins.
+     * <p>
+     * Up to {@link #MAX_RELATIONS_EXHAUSTIVE_SEARCH} relations the best order is found using dynamic programming
+     * over the subsets of relations, otherwise the cheapest relation to join next is picked greedily.
+     * On equal costs, the original order of the relations is retained.
+     * <p>
+     * Only orders in which every relation is joined using a condition are considered, so no cross join is introduced.
+     *
+     * @param relations      all relations, e.g. [t1, t2, t3]
+     * @param rowsByRelation the estimated number of rows of each relation, all must be known
+     * @param conditions     the conditions which involve more than one relation, by the names of these relations
+     * @return the ordered relations or null if the relations can't be joined without a cross join
+     */
+    @Nullable
+    static List<QualifiedName> orderByCost(List<QualifiedName> relations,
+                                           Map<QualifiedName, Long> rowsByRelation,
+                                           Map<Set<QualifiedName>, Symbol> conditions,
+                                           TableStats tableStats) {
+        int numRelations = relations.size();
+        if (numRelations > MAX_RELATIONS_EXHAUSTIVE_SEARCH) {
+            return orderGreedy(relations, rowsByRelation, conditions, tableStats);
+        }
+        int numSubsets = 1 << numRelations;
+        double[] costs = new double[numSubsets];
+        long[] rows = new long[numSubsets];
+        int[] lastRelation = new int[numSubsets];
+        for (int subset = 1; subset < numSubsets; subset++) {
+            costs[subset] = Double.MAX_VALUE;
+        }
+        for (int i = 0; i < numRelations; i++) {
+            int subset = 1 << i;
+            costs[subset] = 0;
+            rows[subset] = rowsByRelation.get(relations.get(i));
+            lastRelation[subset] = i;
+        }
+        // subsets are visited in increasing order, so all subsets of a set are visited before the set itself
+        for (int subset = 1; subset < numSubsets; subset++) {
+            if (Integer.bitCount(subset) < 2) {
+                continue;
+            }
+            // the relations are tried as last relation in reverse order to retain the original order on equal costs
+            for (int i = numRelations - 1; i >= 0; i--) {
+                int bit = 1 << i;
+                int remaining = subset & ~bit;
+                if ((subset & bit) == 0 || costs[remaining] == Double.MAX_VALUE) {
+                    continue;
+                }
+                long joinRows = joinRows(
+                    relations, remaining, rows[remaining], i, rowsByRelation, conditions, tableStats);
+                if (joinRows < 0) {
+                    continue;
+                }
+                double cost = costs[remaining] + joinRows;
+                if (cost < costs[subset]) {
+                    costs[subset] = cost;
+                    rows[subset] = joinRows;
+                    lastRelation[subset] = i;
+                }
+            }
+        }
+        if (costs[numSubsets - 1] == Double.MAX_VALUE) {
+            return null;
+        }
+        QualifiedName[] order = new QualifiedName[numRelations];
+        int subset = numSubsets - 1;
+        for (int pos = numRelations - 1; pos >= 0; pos--) {
+            int i = lastRelation[subset];
+            order[pos] = relations.get(i);
+            subset &= ~(1 << i);
+        }
+        return Arrays.asList(order);
+    }
+
+    @Nullable
+    private static List<QualifiedName> orderGreedy(List<QualifiedName> relations,
+                                                   Map<QualifiedName, Long> rowsByRelation,
+                                                   Map<Set<QualifiedName>, Symbol> conditions,
+                                                   TableStats tableStats) {
+        Set<QualifiedName> joined = new LinkedHashSet<>();
+        long joinedRows = 0;
+        while (joined.size() < relations.size()) {
+            QualifiedName next = null;
+            long nextRows = Long.MAX_VALUE;
+            for (QualifiedName relation : relations) {
+                if (joined.contains(relation)) {
+                    continue;
+                }
+                long rows;
+                if (joined.isEmpty()) {
+                    rows = rowsByRelation.get(relation);
+                } else {
+                    Symbol condition = applicableCondition(joined, relation, conditions);
+                    if (condition == null) {
+                        continue;
+                    }
+                    rows = CardinalityEstimator.joinRows(
+                        joinedRows, rowsByRelation.get(relation), JoinType.INNER, condition, tableStats);
+                }
+                if (next == null || rows < nextRows) {
+                    next = relation;
+                    nextRows = rows;
+                }
+            }
+            if (next == null) {
+                return null;
+            }
+            joined.add(next);
+            joinedRows = nextRows;
+        }
+        return new ArrayList<>(joined);
+    }
+
+    /**
+     * @return the estimated number of rows of joining {@code next} with the relations in {@code subset}
+     *         or -1 if there is no condition to join them.
+     */
+    private static long joinRows(List<QualifiedName> relations,
+                                 int subset,
+                                 long subsetRows,
+                                 int next,
+                                 Map<QualifiedName, Long> rowsByRelation,
+                                 Map<Set<QualifiedName>, Symbol> conditions,
+                                 TableStats tableStats) {
+        Set<QualifiedName> joined = new LinkedHashSet<>();
+        for (int i = 0; i < relations.size(); i++) {
+            if ((subset & (1 << i)) != 0) {
+                joined.add(relations.get(i));
+            }
+        }
+        QualifiedName nextRelation = relations.get(next);
+        Symbol condition = applicableCondition(joined, nextRelation, conditions);
+        if (condition == null) {
+            return -1;
+        }
+        return CardinalityEstimator.joinRows(
+            subsetRows, rowsByRelation.get(nextRelation), JoinType.INNER, condition, tableStats);
+    }
+
+    /**
+     * @return the conditions which can be applied when joining {@code next} with the {@code joined} relations,
+     *         or null if there are none.
+     */
+    @Nullable
+    private static Symbol applicableCondition(Set<QualifiedName> joined,
+                                              QualifiedName next,
+                                              Map<Set<QualifiedName>, Symbol> conditions) {
+        List<Symbol> applicable = new ArrayList<>();
+        for (Map.Entry<Set<QualifiedName>, Symbol> entry : conditions.entrySet()) {
+            Set<QualifiedName> names = entry.getKey();
+            if (names.contains(next) && names.stream().allMatch(n -> n.equals(next) || joined.contains(n))) {
+                applicable.add(entry.getValue());
+            }
+        }
+        return applicable.isEmpty() ? null : AndOperator.join(applicable);
+    }
+
     static Collection<QualifiedName> getOrderedRelationNames(Collection<QualifiedName> sourceRelations,
                                                              Set<? extends Set<QualifiedName>> explicitJoinConditions,
                                                              Set<? extends Set<QualifiedName>> implicitJoinConditions) {
@@ -24,7 +24,9 @@ package io.crate.planner.operators;
 
 import io.crate.action.sql.SessionContext;
 import io.crate.analyze.MultiSourceSelect;
+import io.crate.analyze.QueriedTable;
 import io.crate.analyze.WhereClause;
+import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.analyze.relations.JoinPair;
 import io.crate.analyze.relations.QueriedRelation;
 import io.crate.analyze.relations.QuerySplitter;
@@ -34,6 +36,7 @@ import io.crate.expression.symbol.FieldsVisitor;
 import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.Functions;
 import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.RelationName;
 import io.crate.planner.SubqueryPlanner;
 import io.crate.planner.TableStats;
 import io.crate.planner.consumer.FetchMode;
@@ -42,12 +45,16 @@ import io.crate.sql.tree.QualifiedName;
 import org.elasticsearch.common.util.set.Sets;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -101,11 +108,14 @@ public class JoinPlanBuilder implements LogicalPlan.Builder {
 
         Collection<QualifiedName> orderedRelationNames;
         if (mss.sources().size() > 2) {
-            orderedRelationNames = JoinOrdering.getOrderedRelationNames(
-                mss.sources().keySet(),
-                joinPairs.keySet(),
-                queryParts.keySet()
-            );
+            orderedRelationNames = orderByCost(tableStats, joinPairs, queryParts);
+            if (orderedRelationNames == null) {
+                orderedRelationNames = JoinOrdering.getOrderedRelationNames(
+                    mss.sources().keySet(),
+                    joinPairs.keySet(),
+                    queryParts.keySet()
+                );
+            }
         } else {
             orderedRelationNames = mss.sources().keySet();
         }
@@ -187,6 +197,53 @@ public class JoinPlanBuilder implements LogicalPlan.Builder {
         return joinPlan;
     }
 
+    /**
+     * Orders the relations by the estimated cost of the join tree.
+     * This is only done if there are no outer or semi joins and all relations have been analyzed, as estimates
+     * based on the number of rows alone would reorder joins without knowing their selectivity.
+     *
+     * @return the ordered relation names or null if the relations can't be ordered by cost
+     */
+    @Nullable
+    private List<QualifiedName> orderByCost(TableStats tableStats,
+                                            Map<Set<QualifiedName>, JoinPair> joinPairs,
+                                            Map<Set<QualifiedName>, Symbol> queryParts) {
+        for (JoinPair joinPair : joinPairs.values()) {
+            if (joinPair.joinType() != JoinType.INNER && joinPair.joinType() != JoinType.CROSS) {
+                return null;
+            }
+        }
+        Map<QualifiedName, Long> rowsByRelation = new HashMap<>();
+        for (Map.Entry<QualifiedName, AnalyzedRelation> entry : mss.sources().entrySet()) {
+            if (!(entry.getValue() instanceof QueriedTable)) {
+                return null;
+            }
+            QueriedTable<?> relation = (QueriedTable<?>) entry.getValue();
+            RelationName relationName = relation.tableRelation().tableInfo().ident();
+            long numDocs = tableStats.numDocs(relationName);
+            if (numDocs < 0 || !tableStats.columnStats().containsKey(relationName)) {
+                return null;
+            }
+            long rows = CardinalityEstimator.filteredRows(numDocs, relation.where().query(), tableStats);
+            rows = CardinalityEstimator.filteredRows(
+                rows, queryParts.get(Collections.singleton(entry.getKey())), tableStats);
+            rowsByRelation.put(entry.getKey(), rows);
+        }
+        Map<Set<QualifiedName>, Symbol> conditions = new HashMap<>();
+        for (Map.Entry<Set<QualifiedName>, JoinPair> entry : joinPairs.entrySet()) {
+            if (entry.getValue().condition() != null) {
+                conditions.put(entry.getKey(), entry.getValue().condition());
+            }
+        }
+        for (Map.Entry<Set<QualifiedName>, Symbol> entry : queryParts.entrySet()) {
+            if (entry.getKey().size() > 1) {
+                conditions.merge(entry.getKey(), entry.getValue(), (a, b) -> AndOperator.join(Arrays.asList(a, b)));
+            }
+        }
+        return JoinOrdering.orderByCost(
+            new ArrayList<>(mss.sources().keySet()), rowsByRelation, conditions, tableStats);
+    }
+
     private static LogicalPlan createJoinPlan(LogicalPlan lhsPlan,
                                               LogicalPlan rhsPlan,
                                               JoinType joinType,
@@ -212,7 +269,8 @@ public class JoinPlanBuilder implements LogicalPlan.Builder {
                 joinCondition,
                 !query.symbolType().isValueSymbol(),
                 orderByCanBePushedDown,
-                lhs);
+                lhs,
+                tableStats);
         }
     }
 
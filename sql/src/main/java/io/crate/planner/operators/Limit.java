@@ -118,6 +118,40 @@ class Limit extends OneInputPlan {
         return new Limit(newSource, limit, offset);
     }
 
+    @Override
+    public LogicalPlan tryOptimize(@Nullable LogicalPlan ancestor, SymbolMapper mapper) {
+        LogicalPlan optimized = super.tryOptimize(ancestor, mapper);
+        if (!(optimized instanceof Limit)) {
+            return optimized;
+        }
+        // The limit itself stays in place, but sources which don't need to be consumed fully,
+        // like the branches of a UNION ALL, can add a limit to their own sources.
+        Limit limitPlan = (Limit) optimized;
+        LogicalPlan newSource = limitPlan.source.tryOptimize(limitPlan, mapper);
+        if (newSource == null) {
+            return limitPlan;
+        }
+        return limitPlan.updateSource(newSource, mapper);
+    }
+
+    /**
+     * Creates a Limit on top of {@code newSource} which retains all rows required to apply this limit and offset.
+     *
+     * @return the new Limit or null if the limit isn't known at planning time.
+     */
+    @Nullable
+    Limit pushDownOnto(LogicalPlan newSource) {
+        if (!(limit instanceof Literal) || !(offset instanceof Literal)) {
+            return null;
+        }
+        Long limitValue = DataTypes.LONG.value(((Literal) limit).value());
+        Long offsetValue = DataTypes.LONG.value(((Literal) offset).value());
+        if (limitValue == null || limitValue < 0 || offsetValue == null) {
+            return null;
+        }
+        return new Limit(newSource, Literal.of(limitValue + offsetValue), Literal.of(0L));
+    }
+
     @Override
     public long numExpectedRows() {
         if (limit instanceof Literal) {
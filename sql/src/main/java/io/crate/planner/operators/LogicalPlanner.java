@@ -62,6 +62,7 @@ import io.crate.planner.SelectStatementPlanner;
 import io.crate.planner.SubqueryPlanner;
 import io.crate.planner.TableStats;
 import io.crate.planner.WhereClauseOptimizer;
+import io.crate.planner.consumer.Decorrelator;
 import io.crate.planner.consumer.FetchMode;
 import io.crate.planner.consumer.InsertFromSubQueryPlanner;
 import io.crate.planner.consumer.OptimizingRewriter;
@@ -76,6 +77,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import static io.crate.expression.symbol.SelectSymbol.ResultType.EXISTS;
 import static io.crate.expression.symbol.SelectSymbol.ResultType.SINGLE_COLUMN_SINGLE_VALUE;
 
 /**
@@ -108,12 +110,20 @@ public class LogicalPlanner {
         final int softLimit, fetchSize;
         if (selectSymbol.getResultType() == SINGLE_COLUMN_SINGLE_VALUE) {
             softLimit = fetchSize = 2;
+        } else if (selectSymbol.getResultType() == EXISTS) {
+            softLimit = fetchSize = 1;
         } else {
             softLimit = plannerContext.softLimit();
             fetchSize = plannerContext.fetchSize();
         }
-        QueriedRelation relation = (QueriedRelation) relationNormalizer.normalize(
-            selectSymbol.relation(), plannerContext.transactionContext());
+        if (Decorrelator.isCorrelated(selectSymbol.relation())) {
+            // the OptimizingRewriter rewrites all correlated subqueries which pass the analysis into joins
+            throw new UnsupportedOperationException(
+                "Cannot plan correlated subquery: " + selectSymbol.relation().getQualifiedName());
+        }
+        QueriedRelation relation = optimizingRewriter.optimize(
+            (QueriedRelation) relationNormalizer.normalize(selectSymbol.relation(), plannerContext.transactionContext()),
+            plannerContext.transactionContext());
 
         PlannerContext subSelectPlannerContext = PlannerContext.forSubPlan(plannerContext, softLimit, fetchSize);
         subSelectPlannerContext.applySoftLimit(relation.querySpec());
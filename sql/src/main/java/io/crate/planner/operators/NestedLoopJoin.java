@@ -43,6 +43,7 @@ import io.crate.planner.ExecutionPlan;
 import io.crate.planner.PlannerContext;
 import io.crate.planner.PositionalOrderBy;
 import io.crate.planner.ResultDescription;
+import io.crate.planner.TableStats;
 import io.crate.planner.distribution.DistributionInfo;
 import io.crate.planner.node.dql.join.Join;
 import io.crate.planner.node.dql.join.JoinType;
@@ -71,6 +72,7 @@ class NestedLoopJoin extends TwoInputPlan {
     private final JoinType joinType;
     private final boolean noOuterJoin;
     private final boolean isFiltered;
+    private final TableStats tableStats;
     private boolean orderByWasPushedDown = false;
 
     NestedLoopJoin(LogicalPlan lhs,
@@ -79,7 +81,8 @@ class NestedLoopJoin extends TwoInputPlan {
                    @Nullable Symbol joinCondition,
                    boolean isFiltered,
                    boolean noOuterJoin,
-                   AnalyzedRelation topMostLeftRelation) {
+                   AnalyzedRelation topMostLeftRelation,
+                   TableStats tableStats) {
         super(lhs, rhs, new ArrayList<>());
         this.joinType = joinType;
         this.isFiltered = isFiltered || joinCondition != null;
@@ -92,6 +95,7 @@ class NestedLoopJoin extends TwoInputPlan {
         this.topMostLeftRelation = topMostLeftRelation;
         this.joinCondition = joinCondition;
         this.noOuterJoin = noOuterJoin;
+        this.tableStats = tableStats;
     }
 
     private NestedLoopJoin(LogicalPlan lhs,
@@ -101,8 +105,9 @@ class NestedLoopJoin extends TwoInputPlan {
                    boolean isFiltered,
                    boolean noOuterJoin,
                    AnalyzedRelation topMostLeftRelation,
+                   TableStats tableStats,
                    boolean orderByWasPushedDown) {
-        this(lhs, rhs, joinType, joinCondition, isFiltered, noOuterJoin, topMostLeftRelation);
+        this(lhs, rhs, joinType, joinCondition, isFiltered, noOuterJoin, topMostLeftRelation, tableStats);
         this.orderByWasPushedDown = orderByWasPushedDown;
     }
 
@@ -208,7 +213,8 @@ class NestedLoopJoin extends TwoInputPlan {
             0,
             TopN.NO_LIMIT,
             outputs.size(),
-            orderByFromLeft
+            orderByFromLeft,
+            lhs.numExpectedRows() < 0 || rhs.numExpectedRows() < 0 ? -1 : numExpectedRows()
         );
     }
 
@@ -261,17 +267,14 @@ class NestedLoopJoin extends TwoInputPlan {
             isFiltered,
             noOuterJoin,
             topMostLeftRelation,
+            tableStats,
             orderByWasPushedDown);
     }
 
     @Override
     public long numExpectedRows() {
-        if (joinType == JoinType.CROSS) {
-            return lhs.numExpectedRows() * rhs.numExpectedRows();
-        } else {
-            // We don't have any cardinality estimates, so just take the bigger table
-            return Math.max(lhs.numExpectedRows(), rhs.numExpectedRows());
-        }
+        return CardinalityEstimator.joinRows(
+            lhs.numExpectedRows(), rhs.numExpectedRows(), joinType, joinCondition, tableStats);
     }
 
     @Override
@@ -311,6 +314,27 @@ class NestedLoopJoin extends TwoInputPlan {
                 }
             }
         }
+        if (ancestor instanceof Limit) {
+            /* Every row of the preserved side of a LEFT or RIGHT join results in at least one row,
+             * so that side never has to provide more than limit + offset rows.
+             * The same applies to the left side of a CROSS join.
+             * (A filter applied after the join prevents the limit from reaching the join)
+             */
+            Limit limit = (Limit) ancestor;
+            switch (joinType) {
+                case CROSS:
+                case LEFT: {
+                    LogicalPlan newLhs = limit.pushDownOnto(lhs);
+                    return newLhs == null ? null : updateSources(newLhs, rhs);
+                }
+                case RIGHT: {
+                    LogicalPlan newRhs = limit.pushDownOnto(rhs);
+                    return newRhs == null ? null : updateSources(lhs, newRhs);
+                }
+                default:
+                    return null;
+            }
+        }
         return super.tryOptimize(ancestor, mapper);
     }
 
@@ -103,7 +103,7 @@ public class RelationBoundary extends OneInputPlan {
                 return updateSource(newSource, mapper);
             }
         }
-        if (ancestor instanceof Filter) {
+        if (ancestor instanceof Filter || ancestor instanceof Limit) {
             LogicalPlan newSource = source.tryOptimize(ancestor, mapper.andThen(outputs, SymbolMapper.fromMap(expressionMapping)));
             if (newSource != null && newSource != source) {
                 return updateSource(newSource, mapper);
@@ -111,8 +111,19 @@ public class Union extends TwoInputPlan {
         });
     }
 
+    /**
+     * true if the sources are limited to the limit + offset of this union (see {@link #tryOptimize}).
+     * The limit of the union is applied on the merged result, so the sources don't need to be merged beforehand.
+     */
+    private final boolean limitPushedDown;
+
     Union(LogicalPlan lhs, LogicalPlan rhs, List<Symbol> outputs) {
+        this(lhs, rhs, outputs, false);
+    }
+
+    private Union(LogicalPlan lhs, LogicalPlan rhs, List<Symbol> outputs, boolean limitPushedDown) {
         super(lhs, rhs, outputs);
+        this.limitPushedDown = limitPushedDown;
     }
 
     @Override
@@ -129,13 +140,16 @@ public class Union extends TwoInputPlan {
             ? limitAndOffset(limit, offset)
             : null;
 
+        // The offset is applied on the merged result, the branches have to provide limit + offset rows each
         ExecutionPlan left = lhs.build(
-            plannerContext, projectionBuilder, limit + offset, offset, null, childPageSizeHint, params, subQueryResults);
+            plannerContext, projectionBuilder, limitAndOffset(limit, offset), 0, null, childPageSizeHint, params, subQueryResults);
         ExecutionPlan right = rhs.build(
-            plannerContext, projectionBuilder, limit + offset, offset, null, childPageSizeHint, params, subQueryResults);
+            plannerContext, projectionBuilder, limitAndOffset(limit, offset), 0, null, childPageSizeHint, params, subQueryResults);
 
-        left = addMergeIfNeeded(left, plannerContext);
-        right = addMergeIfNeeded(right, plannerContext);
+        if (!limitPushedDown) {
+            left = addMergeIfNeeded(left, plannerContext);
+            right = addMergeIfNeeded(right, plannerContext);
+        }
 
         ResultDescription leftResultDesc = left.resultDescription();
         ResultDescription rightResultDesc = right.resultDescription();
@@ -182,12 +196,21 @@ public class Union extends TwoInputPlan {
                 return updateSources(newLhs, newRhs);
             }
         }
+        if (ancestor instanceof Limit) {
+            // Each branch has to provide at most limit + offset rows
+            Limit limit = (Limit) ancestor;
+            LogicalPlan newLhs = limit.pushDownOnto(lhs);
+            LogicalPlan newRhs = limit.pushDownOnto(rhs);
+            if (newLhs != null && newRhs != null) {
+                return new Union(newLhs, newRhs, outputs, true);
+            }
+        }
         return super.tryOptimize(ancestor, mapper);
     }
 
     @Override
     protected LogicalPlan updateSources(LogicalPlan newLeftSource, LogicalPlan newRightSource) {
-        return new Union(newLeftSource, newRightSource, outputs);
+        return new Union(newLeftSource, newRightSource, outputs, limitPushedDown);
     }
 
     @Override
@@ -23,6 +23,7 @@ package io.crate.plugin;
 
 import io.crate.action.sql.SQLOperations;
 import io.crate.execution.ddl.DDLStatementDispatcher;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.expression.udf.UserDefinedFunctionService;
 import io.crate.metadata.DanglingArtifactsService;
 import io.crate.metadata.FulltextAnalyzerResolver;
@@ -50,5 +51,6 @@ public class SQLModule extends AbstractModule {
         bind(SslContextProvider.class).asEagerSingleton();
         bind(RestSQLAction.class).asEagerSingleton();
         bind(DanglingArtifactsService.class).asEagerSingleton();
+        bind(AdmissionControl.class).asEagerSingleton();
     }
 }
@@ -31,7 +31,6 @@ import io.crate.analyze.ParameterContext;
 import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.concurrent.CountdownFutureCallback;
 import io.crate.data.Row;
-import io.crate.data.RowConsumer;
 import io.crate.data.RowN;
 import io.crate.exceptions.ReadOnlyException;
 import io.crate.exceptions.SQLExceptions;
@@ -40,6 +39,7 @@ import io.crate.expression.symbol.Field;
 import io.crate.expression.symbol.Symbols;
 import io.crate.metadata.RoutingProvider;
 import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.Planner;
 import io.crate.planner.PlannerContext;
@@ -151,6 +151,9 @@ class BatchPortal extends AbstractPortal {
     public CompletableFuture<Void> sync(Planner planner, JobsLogs jobsLogs) {
         CountdownFutureCallback completionCallback = new CountdownFutureCallback(analyzedStatements.size());
         for (int i = 0; i < analyzedStatements.size(); i++) {
+            String stmt = queries.get(i);
+            Row params = new RowN(batchParams.get(i).toArray());
+            jobsLogs.captureStatement(stmt, params, sessionContext);
             UUID jobId = UUID.randomUUID();
             RoutingProvider routingProvider = new RoutingProvider(Randomness.get().nextInt(), planner.getAwarenessAttributes());
             PlannerContext plannerContext = new PlannerContext(
@@ -163,7 +166,6 @@ class BatchPortal extends AbstractPortal {
                 0
             );
             Plan plan;
-            String stmt = queries.get(i);
             try {
                 plan = planner.plan(analyzedStatements.get(i), plannerContext);
             } catch (Throwable t) {
@@ -177,13 +179,14 @@ class BatchPortal extends AbstractPortal {
 
             resultReceiver.completionFuture().whenComplete(completionCallback);
 
-            RowConsumer consumer = new RowConsumerToResultReceiver(resultReceiver, 0, jobsLogsUpdateListener);
-            plan.execute(
-                portalContext.getExecutor(),
-                plannerContext,
+            RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(resultReceiver, 0, jobsLogsUpdateListener);
+            DependencyCarrier executor = portalContext.getExecutor();
+            executor.admissionControl().execute(
+                sessionContext.user().name(),
+                classification.type(),
                 consumer,
-                new RowN(batchParams.get(i).toArray()),
-                SubQueryResults.EMPTY
+                consumer.completionFuture(),
+                () -> plan.execute(executor, plannerContext, consumer, params, SubQueryResults.EMPTY)
             );
         }
         synced = true;
@@ -33,6 +33,7 @@ import io.crate.data.RowN;
 import io.crate.data.Rows;
 import io.crate.exceptions.SQLExceptions;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.expression.symbol.Field;
 import io.crate.metadata.RoutingProvider;
 import io.crate.metadata.CoordinatorTxnCtx;
@@ -170,7 +171,30 @@ class BulkPortal extends AbstractPortal {
         StatementClassifier.Classification classification = StatementClassifier.classify(plan);
         jobsLogs.logExecutionStart(jobId, query, sessionContext.user(), classification);
         synced = true;
-        return executeBulk(portalContext.getExecutor(), plan, plannerContext, jobId, jobsLogs, bulkParams);
+        DependencyCarrier executor = portalContext.getExecutor();
+        CompletableFuture<AdmissionControl.Permit> admission = executor.admissionControl().acquire(
+            sessionContext.user().name(), classification.type());
+        if (admission.isDone() && !admission.isCompletedExceptionally()) {
+            AdmissionControl.Permit permit = admission.join();
+            try {
+                return executeBulk(executor, plan, plannerContext, jobId, jobsLogs, bulkParams)
+                    .whenComplete((r, t) -> permit.release());
+            } catch (Throwable t) {
+                permit.release();
+                throw t;
+            }
+        }
+        return admission
+            .whenComplete((permit, t) -> {
+                if (t != null) {
+                    jobsLogs.logExecutionEnd(jobId, SQLExceptions.messageOf(t));
+                    for (ResultReceiver resultReceiver : resultReceivers) {
+                        resultReceiver.fail(t);
+                    }
+                }
+            })
+            .thenCompose(permit -> executeBulk(executor, plan, plannerContext, jobId, jobsLogs, bulkParams)
+                .whenComplete((r, t) -> permit.release()));
     }
 
     private CompletableFuture<Void> executeBulk(DependencyCarrier executor,
@@ -220,6 +244,6 @@ class BulkPortal extends AbstractPortal {
             resultReceiver.setNextRow(row);
             resultReceiver.allFinished(false);
         }
-        jobsLogs.logExecutionEnd(jobId, null);
+        jobsLogs.logExecutionEnd(jobId, null, completedResultFutures.size());
     }
 }
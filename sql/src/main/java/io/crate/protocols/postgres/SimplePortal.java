@@ -43,6 +43,7 @@ import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.Planner;
 import io.crate.planner.PlannerContext;
+import io.crate.planner.operators.ExplainLogicalPlan;
 import io.crate.planner.operators.StatementClassifier;
 import io.crate.planner.operators.SubQueryResults;
 import io.crate.sql.tree.Statement;
@@ -185,6 +186,7 @@ public class SimplePortal extends AbstractPortal {
             return resultReceiver.completionFuture();
         }
 
+        jobsLogs.captureStatement(query, rowParams, sessionContext);
         UUID jobId = UUID.randomUUID();
         RoutingProvider routingProvider = new RoutingProvider(Randomness.get().nextInt(), planner.getAwarenessAttributes());
         ClusterState clusterState = planner.currentClusterState();
@@ -220,18 +222,35 @@ public class SimplePortal extends AbstractPortal {
             );
         }
 
-        jobsLogs.logExecutionStart(jobId, query, sessionContext.user(), StatementClassifier.classify(plan));
-        consumer = new RowConsumerToResultReceiver(
+        StatementClassifier.Classification classification = StatementClassifier.classify(plan);
+        jobsLogs.logExecutionStart(
+            jobId,
+            query,
+            sessionContext.user(),
+            classification,
+            jobsLogs.isSlowQueriesLogEnabled()
+                ? ExplainLogicalPlan.lazyExplainMap(plan, plannerContext, dependencyCarrier.projectionBuilder())
+                : null
+        );
+        RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(
             resultReceiver,
             maxRows,
             new JobsLogsUpdateListener(jobId, jobsLogs)
         );
-        plan.execute(
-            dependencyCarrier,
-            plannerContext,
+        this.consumer = consumer;
+        Row params = rowParams;
+        dependencyCarrier.admissionControl().execute(
+            sessionContext.user().name(),
+            classification.type(),
             consumer,
-            rowParams,
-            SubQueryResults.EMPTY
+            consumer.completionFuture(),
+            () -> plan.execute(
+                dependencyCarrier,
+                plannerContext,
+                consumer,
+                params,
+                SubQueryResults.EMPTY
+            )
         );
         synced = true;
         return resultReceiver.completionFuture();
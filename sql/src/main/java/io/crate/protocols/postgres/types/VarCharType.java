@@ -23,6 +23,7 @@
 package io.crate.protocols.postgres.types;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 
 import javax.annotation.Nonnull;
 import java.nio.charset.StandardCharsets;
@@ -39,13 +40,17 @@ class VarCharType extends PGType {
         super(OID, TYPE_LEN, TYPE_MOD, "varchar");
     }
 
+    /**
+     * Encodes the string as UTF-8 directly into the buffer, without an intermediate byte array per value.
+     */
     @Override
     public int writeAsBinary(ByteBuf buffer, @Nonnull Object value) {
         assert value instanceof String : "value must be a string, got: " + value;
-        byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
-        buffer.writeInt(bytes.length);
-        buffer.writeBytes(bytes);
-        return INT32_BYTE_SIZE + bytes.length;
+        int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+        int length = ByteBufUtil.writeUtf8(buffer, (String) value);
+        buffer.setInt(lengthIndex, length);
+        return INT32_BYTE_SIZE + length;
     }
 
     @Override
@@ -61,9 +66,9 @@ class VarCharType extends PGType {
 
     @Override
     public Object readBinaryValue(ByteBuf buffer, int valueLength) {
-        byte[] utf8 = new byte[valueLength];
-        buffer.readBytes(utf8);
-        return new String(utf8, StandardCharsets.UTF_8);
+        String value = buffer.toString(buffer.readerIndex(), valueLength, StandardCharsets.UTF_8);
+        buffer.skipBytes(valueLength);
+        return value;
     }
 
     @Override
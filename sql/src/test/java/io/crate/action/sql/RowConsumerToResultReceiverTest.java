@@ -61,7 +61,7 @@ public class RowConsumerToResultReceiverTest {
             }
         };
         RowConsumerToResultReceiver batchConsumer =
-            new RowConsumerToResultReceiver(resultReceiver, 0, t -> {});
+            new RowConsumerToResultReceiver(resultReceiver, 0, (t, rowCount) -> {});
 
         batchConsumer.accept(batchSimulatingIterator, null);
         resultReceiver.completionFuture().get(10, TimeUnit.SECONDS);
@@ -73,7 +73,7 @@ public class RowConsumerToResultReceiverTest {
     @Test
     public void testExceptionOnAllLoadedCallIsForwardedToResultReceiver() throws Exception {
         BaseResultReceiver resultReceiver = new BaseResultReceiver();
-        RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(resultReceiver, 0, t -> {});
+        RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(resultReceiver, 0, (t, rowCount) -> {});
 
         consumer.accept(FailingBatchIterator.failOnAllLoaded(), null);
         assertThat(resultReceiver.completionFuture().isCompletedExceptionally(), is(true));
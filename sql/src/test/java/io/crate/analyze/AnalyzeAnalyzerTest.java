@@ -0,0 +1,71 @@
+/*
+ * Licensed to Crate.IO GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import io.crate.exceptions.OperationOnInaccessibleRelationException;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+
+public class AnalyzeAnalyzerTest extends CrateDummyClusterServiceUnitTest {
+
+    private SQLExecutor e;
+
+    @Before
+    public void prepare() {
+        e = SQLExecutor.builder(clusterService).enableDefaultTables().build();
+    }
+
+    private static List<String> tableNames(AnalyzeAnalyzedStatement analysis) {
+        return analysis.tables().stream()
+            .map(DocTableInfo::ident)
+            .map(Object::toString)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAnalyzeTables() {
+        AnalyzeAnalyzedStatement analysis = e.analyze("analyze users, doc.parted");
+        assertThat(tableNames(analysis), contains("doc.users", "doc.parted"));
+    }
+
+    @Test
+    public void testAnalyzeWithoutTablesAnalyzesAllUserTables() {
+        AnalyzeAnalyzedStatement analysis = e.analyze("analyze");
+        assertThat(tableNames(analysis), hasItems("doc.users", "doc.parted"));
+    }
+
+    @Test
+    public void testAnalyzeSystemTable() {
+        expectedException.expect(OperationOnInaccessibleRelationException.class);
+        expectedException.expectMessage("ANALYZE is not supported on relation \"sys.shards\"");
+        e.analyze("analyze sys.shards");
+    }
+}
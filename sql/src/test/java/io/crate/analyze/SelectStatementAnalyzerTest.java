@@ -63,6 +63,7 @@ import io.crate.metadata.doc.DocTableInfoFactory;
 import io.crate.metadata.doc.TestingDocTableInfoFactory;
 import io.crate.metadata.sys.SysNodesTableInfo;
 import io.crate.metadata.table.TestingTableInfo;
+import io.crate.planner.consumer.Decorrelator;
 import io.crate.sql.parser.ParsingException;
 import io.crate.sql.tree.QualifiedName;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
@@ -1957,6 +1958,45 @@ public class SelectStatementAnalyzerTest extends CrateDummyClusterServiceUnitTes
         analyze("select * from t1, t2 inner join t1 b on b.x = t1.x");
     }
 
+    @Test
+    public void testCorrelatedExistsSubqueryInWhereClause() {
+        QueriedRelation relation = analyze("select * from t1 where exists (select 1 from t2 where t2.y = t1.x)");
+        assertThat(relation.where().query(), instanceOf(SelectSymbol.class));
+        SelectSymbol subQuery = (SelectSymbol) relation.where().query();
+        assertThat(subQuery.getResultType(), is(SelectSymbol.ResultType.EXISTS));
+        assertThat(subQuery.valueType(), is(DataTypes.BOOLEAN));
+        assertThat(Decorrelator.isCorrelated(subQuery.relation()), is(true));
+    }
+
+    @Test
+    public void testCorrelatedAggregateSubqueryInWhereClause() {
+        QueriedRelation relation = analyze(
+            "select * from t1 where x > (select max(y) from t2 where t2.i = t1.i and t2.b = 'foo')");
+        assertThat(relation.where().query(), isFunction("op_>"));
+    }
+
+    @Test
+    public void testCorrelatedSubqueryWithCountCannotBeDecorrelated() {
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Cannot use relation \"doc.t1\" in this context. It is only accessible in the parent context");
+        analyze("select * from t1 where x > (select count(*) from t2 where t2.i = t1.i)");
+    }
+
+    @Test
+    public void testCorrelatedSubqueryWithCollectSetCannotBeDecorrelated() {
+        // collect_set returns an empty array instead of NULL for a missing group
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Cannot use relation \"doc.t1\" in this context. It is only accessible in the parent context");
+        analyze("select * from t1 where [x] = (select collect_set(y) from t2 where t2.i = t1.i)");
+    }
+
+    @Test
+    public void testCorrelatedSubqueryWithinOrCannotBeDecorrelated() {
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Cannot use relation \"doc.t1\" in this context. It is only accessible in the parent context");
+        analyze("select * from t1 where x = 1 or exists (select 1 from t2 where t2.i = t1.i)");
+    }
+
     @Test
     public void testColumnOutputWithSingleRowSubselect() {
         QueriedRelation relation = analyze("select 1 = \n (select \n 2\n)\n");
@@ -180,8 +180,12 @@ public class SetAnalyzerTest extends CrateDummyClusterServiceUnitTest {
                 "stats.jobs_log_expiration",
                 "stats.jobs_log_filter",
                 "stats.jobs_log_persistent_filter",
+                "stats.jobs_statements_size",
                 "stats.operations_log_size",
                 "stats.operations_log_expiration",
+                "stats.slow_queries_threshold",
+                "stats.slow_queries_size",
+                "stats.workload_capture_enabled",
                 "stats.service.interval")
         );
     }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.execution;
+
+import io.crate.Streamer;
+import io.crate.data.ArrayBucket;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.execution.jobs.PageResultListener;
+import io.crate.test.integration.CrateUnitTest;
+import io.crate.testing.TestingRowConsumer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+public class PartitionedPageBucketReceiverTest extends CrateUnitTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdownExecutor() throws Exception {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Counts the rows per value of the first column
+     */
+    private static Collector<Row, ?, Iterable<Row>> countByKey() {
+        return Collector.<Row, Map<Object, Long>, Iterable<Row>>of(
+            HashMap::new,
+            (counts, row) -> counts.merge(row.get(0), 1L, Long::sum),
+            (a, b) -> {
+                throw new UnsupportedOperationException("combine is not supported");
+            },
+            counts -> {
+                List<Row> rows = new ArrayList<>(counts.size());
+                counts.forEach((key, count) -> rows.add(new RowN(new Object[] { key, count })));
+                return rows;
+            }
+        );
+    }
+
+    @Test
+    public void testRowsWithSameKeyAreAccumulatedInSamePartition() throws Exception {
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        List<Collector<Row, ?, Iterable<Row>>> collectors = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            collectors.add(countByKey());
+        }
+        PartitionedPageBucketReceiver receiver = new PartitionedPageBucketReceiver(
+            collectors,
+            PartitionedPageBucketReceiver.hashOf(new int[] { 0 }),
+            consumer,
+            executor,
+            new Streamer[1],
+            2
+        );
+
+        Object[][] rows = new Object[100][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] { i % 10 };
+        }
+        receiver.setBucket(0, new ArrayBucket(rows), false, mock(PageResultListener.class));
+        receiver.setBucket(1, new ArrayBucket(rows), true, mock(PageResultListener.class));
+        receiver.setBucket(0, new ArrayBucket(rows), true, mock(PageResultListener.class));
+
+        List<Object[]> result = consumer.getResult();
+        assertThat(result.size(), is(10));
+        Object[][] expected = new Object[10][];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = new Object[] { i, 30L };
+        }
+        assertThat(result.toArray(new Object[0][]), arrayContainingInAnyOrder(expected));
+    }
+
+    @Test
+    public void testFailureInAccumulationIsPropagated() throws Exception {
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        List<Collector<Row, ?, Iterable<Row>>> collectors = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            collectors.add(Collector.of(
+                () -> null,
+                (state, row) -> {
+                    throw new IllegalStateException("accumulation failed");
+                },
+                (a, b) -> a,
+                state -> new ArrayList<>()
+            ));
+        }
+        PartitionedPageBucketReceiver receiver = new PartitionedPageBucketReceiver(
+            collectors,
+            PartitionedPageBucketReceiver.hashOf(new int[] { 0 }),
+            consumer,
+            executor,
+            new Streamer[1],
+            1
+        );
+        receiver.setBucket(0, new ArrayBucket(new Object[][] { new Object[] { 1 } }), true, mock(PageResultListener.class));
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("accumulation failed");
+        consumer.getResult();
+    }
+}
@@ -32,16 +32,19 @@ import io.crate.metadata.RowGranularity;
 import io.crate.metadata.Schemas;
 import io.crate.test.integration.CrateUnitTest;
 import io.crate.types.DataTypes;
+import org.elasticsearch.Version;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.translog.Translog;
 import org.junit.Test;
 
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
 public class ShardUpsertRequestTest extends CrateUnitTest {
 
@@ -71,11 +74,13 @@ public class ShardUpsertRequestTest extends CrateUnitTest {
         ).newRequest(shardId);
         request.validateConstraints(false);
 
-        request.add(123, new ShardUpsertRequest.Item(
+        ShardUpsertRequest.Item autoGeneratedIdItem = new ShardUpsertRequest.Item(
             "99",
             null,
             new Object[]{99, "Marvin"},
-            null));
+            null);
+        autoGeneratedIdItem.autoGeneratedTimestamp(1562000000000L);
+        request.add(123, autoGeneratedIdItem);
         request.add(42, new ShardUpsertRequest.Item(
             "99",
             new Symbol[0],
@@ -95,6 +100,62 @@ public class ShardUpsertRequestTest extends CrateUnitTest {
         request2.readFrom(in);
 
         assertThat(request, equalTo(request2));
+        assertThat(request2.items().get(0).autoGeneratedTimestamp(), is(1562000000000L));
+        assertThat(request2.items().get(1).autoGeneratedTimestamp(), is(Translog.UNSET_AUTO_GENERATED_TIMESTAMP));
+    }
+
+    private static ShardUpsertRequest newAppendOnlyRequest() {
+        ShardUpsertRequest request = new ShardUpsertRequest.Builder(
+            "dummyUser",
+            "dummySchema",
+            TimeValue.timeValueSeconds(30),
+            DuplicateKeyAction.UPDATE_OR_FAIL,
+            false,
+            null,
+            new Reference[]{ID_REF, NAME_REF},
+            UUID.randomUUID(),
+            false
+        ).newRequest(new ShardId("test", UUIDs.randomBase64UUID(), 1));
+        ShardUpsertRequest.Item item = new ShardUpsertRequest.Item("99", null, new Object[]{99, "Marvin"}, null);
+        item.autoGeneratedTimestamp(1562000000000L);
+        request.add(0, item);
+        return request;
+    }
+
+    @Test
+    public void testStreamingOfRetriedRequest() throws Exception {
+        ShardUpsertRequest request = newAppendOnlyRequest();
+        request.onRetry();
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        ShardUpsertRequest request2 = new ShardUpsertRequest();
+        request2.readFrom(out.bytes().streamInput());
+
+        assertThat(request2.isRetry(), is(true));
+        assertThat(request2, equalTo(request));
+
+        out = new BytesStreamOutput();
+        request = newAppendOnlyRequest();
+        request.writeTo(out);
+        request2 = new ShardUpsertRequest();
+        request2.readFrom(out.bytes().streamInput());
+        assertThat(request2.isRetry(), is(false));
     }
 
+    @Test
+    public void testStreamingFromOlderNodeIsTreatedAsRetryWithoutAutoGeneratedTimestamp() throws Exception {
+        ShardUpsertRequest request = newAppendOnlyRequest();
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.setVersion(Version.ES_V_6_5_1);
+        request.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        in.setVersion(Version.ES_V_6_5_1);
+        ShardUpsertRequest request2 = new ShardUpsertRequest();
+        request2.readFrom(in);
+
+        assertThat(request2.isRetry(), is(true));
+        assertThat(request2.items().get(0).autoGeneratedTimestamp(), is(Translog.UNSET_AUTO_GENERATED_TIMESTAMP));
+    }
 }
@@ -33,6 +33,7 @@ import io.crate.metadata.doc.DocTableInfo;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import io.crate.testing.SQLExecutor;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.DeprecationHandler;
 import org.elasticsearch.common.xcontent.NamedXContentRegistry;
 import org.elasticsearch.common.xcontent.json.JsonXContent;
@@ -43,6 +44,8 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.emptyList;
@@ -68,6 +71,8 @@ public class SourceFromCellsTest extends CrateDummyClusterServiceUnitTest {
             .addTable("create table t1 (x int, y int, z as x + y)")
             .addTable("create table t2 (obj object as (a int, c as obj['a'] + 3), b as obj['a'] + 1)")
             .addPartitionedTable("create table t3 (p int not null) partitioned by (p)")
+            .addTable("create table t4 (i int, s string, o object as (a int, n object as (b string)), " +
+                      "arr array(int), g as i * 2)")
             .build();
         QueriedRelation relation = e.normalize("select x, y, z from t1");
         t1 = (DocTableInfo) ((QueriedTable) relation).tableRelation().tableInfo();
@@ -137,4 +142,56 @@ public class SourceFromCellsTest extends CrateDummyClusterServiceUnitTest {
         // this must pass without error
         sourceFromCells.checkConstraints(new Object[0]);
     }
+
+    @Test
+    public void testSourceOfTopLevelColumnsIsEqualToTheSourceOfTheMergedValues() throws IOException {
+        QueriedRelation relation = e.normalize("select i, s, o, arr from t4");
+        DocTableInfo t4 = (DocTableInfo) ((QueriedTable) relation).tableRelation().tableInfo();
+        List<Reference> targets = Arrays.asList(
+            (Reference) relation.outputs().get(0),
+            (Reference) relation.outputs().get(1),
+            (Reference) relation.outputs().get(2),
+            (Reference) relation.outputs().get(3));
+        InsertSourceFromCells sourceFromCells = new InsertSourceFromCells(
+            txnCtx, e.functions(), t4, "t4", GeneratedColumns.Validation.VALUE_MATCH, targets);
+
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("b", null);
+        Map<String, Object> o = new HashMap<>();
+        o.put("a", 10);
+        o.put("n", nested);
+        List<Integer> arr = Arrays.asList(1, null, 3);
+        BytesReference source = sourceFromCells.generateSource(new Object[]{4, null, o, arr});
+
+        // the generated column is appended after the given columns
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("i", 4);
+        expected.put("s", null);
+        expected.put("o", o);
+        expected.put("arr", arr);
+        expected.put("g", 8);
+        BytesReference expectedSource = BytesReference.bytes(XContentFactory.jsonBuilder().map(expected));
+        assertThat(source.utf8ToString(), is(expectedSource.utf8ToString()));
+        assertThat(BytesReference.toBytes(source), is(BytesReference.toBytes(expectedSource)));
+    }
+
+    @Test
+    public void testSourceOfNestedColumnsIsMergedIntoTheirParents() throws IOException {
+        QueriedRelation relation = e.normalize("select i, o['a'], o['n']['b'] from t4");
+        DocTableInfo t4 = (DocTableInfo) ((QueriedTable) relation).tableRelation().tableInfo();
+        List<Reference> targets = Arrays.asList(
+            (Reference) relation.outputs().get(0),
+            (Reference) relation.outputs().get(1),
+            (Reference) relation.outputs().get(2));
+        InsertSourceFromCells sourceFromCells = new InsertSourceFromCells(
+            txnCtx, e.functions(), t4, "t4", GeneratedColumns.Validation.VALUE_MATCH, targets);
+
+        BytesReference source = sourceFromCells.generateSource(new Object[]{4, 10, "foo"});
+        Map<String, Object> map = JsonXContent.jsonXContent.createParser(
+            NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, BytesReference.toBytes(source)).map();
+        assertThat(map.get("i"), is(4));
+        assertThat(Maps.getByPath(map, "o.a"), is(10));
+        assertThat(Maps.getByPath(map, "o.n.b"), is("foo"));
+        assertThat(map.get("g"), is(8));
+    }
 }
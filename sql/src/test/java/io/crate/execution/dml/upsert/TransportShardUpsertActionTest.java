@@ -27,6 +27,7 @@ import io.crate.exceptions.InvalidColumnNameException;
 import io.crate.execution.ddl.SchemaUpdateClient;
 import io.crate.execution.dml.ShardResponse;
 import io.crate.execution.dml.upsert.ShardUpsertRequest.DuplicateKeyAction;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.jobs.TasksService;
 import io.crate.metadata.Functions;
 import io.crate.metadata.PartitionName;
@@ -46,11 +47,13 @@ import org.elasticsearch.cluster.metadata.IndexMetaData;
 import org.elasticsearch.cluster.metadata.IndexNameExpressionResolver;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.lucene.uid.Versions;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.VersionType;
+import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.engine.VersionConflictEngineException;
 import org.elasticsearch.index.mapper.ContentPath;
 import org.elasticsearch.index.mapper.Mapper;
@@ -75,6 +78,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static io.crate.testing.TestingHelpers.getFunctions;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.any;
@@ -111,7 +115,8 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
                                                  Schemas schemas,
                                                  IndexNameExpressionResolver indexNameExpressionResolver) {
             super(settings, threadPool, clusterService, transportService, schemaUpdateClient,
-                tasksService, indicesService, shardStateAction, functions, schemas, indexNameExpressionResolver);
+                tasksService, indicesService, shardStateAction, functions, schemas, indexNameExpressionResolver,
+                new ShardLoadStats());
         }
 
         @Nullable
@@ -132,6 +137,7 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
     }
 
     private TransportShardUpsertAction transportShardUpsertAction;
+    private TransportShardUpsertAction indexingTransportShardUpsertAction;
     private IndexShard indexShard;
 
     @Before
@@ -149,6 +155,7 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
         when(indicesService.indexServiceSafe(charactersIndex)).thenReturn(indexService);
         when(indicesService.indexServiceSafe(partitionIndex)).thenReturn(indexService);
         indexShard = mock(IndexShard.class);
+        when(indexShard.shardId()).thenReturn(new ShardId(charactersIndex, 0));
         when(indexService.getShard(0)).thenReturn(indexShard);
 
         // Avoid null pointer exceptions
@@ -170,6 +177,38 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
             schemas,
             mock(IndexNameExpressionResolver.class)
         );
+        indexingTransportShardUpsertAction = new TransportShardUpsertAction(
+            Settings.EMPTY,
+            mock(ThreadPool.class),
+            clusterService,
+            MockTransportService.createNewService(Settings.EMPTY, Version.ES_V_6_5_1, THREAD_POOL, clusterService.getClusterSettings()),
+            mock(SchemaUpdateClient.class),
+            mock(TasksService.class),
+            indicesService,
+            mock(ShardStateAction.class),
+            functions,
+            schemas,
+            mock(IndexNameExpressionResolver.class),
+            new ShardLoadStats()
+        );
+    }
+
+    private ShardUpsertRequest insertRequestWithAutoGeneratedId(ShardId shardId, long autoGeneratedTimestamp) {
+        ShardUpsertRequest request = new ShardUpsertRequest.Builder(
+            "dummyUser",
+            "dummySchema",
+            TimeValue.timeValueSeconds(30),
+            DuplicateKeyAction.UPDATE_OR_FAIL,
+            false,
+            null,
+            new Reference[]{ID_REF},
+            UUID.randomUUID(),
+            false
+        ).newRequest(shardId);
+        ShardUpsertRequest.Item item = new ShardUpsertRequest.Item(UUIDs.base64UUID(), null, new Object[]{1}, null);
+        item.autoGeneratedTimestamp(autoGeneratedTimestamp);
+        request.add(1, item);
+        return request;
     }
 
     @Test
@@ -281,4 +320,44 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
         verify(indexShard, times(0)).applyIndexOperationOnReplica(
             anyLong(), anyLong(), any(VersionType.class), anyLong(), anyBoolean(), any(SourceToParse.class));
     }
+
+    @Test
+    public void testRowsWithAutoGeneratedIdAreIndexedAppendOnly() throws Exception {
+        ShardId shardId = new ShardId(TABLE_IDENT.indexNameOrAlias(), charactersIndexUUID, 0);
+        ShardUpsertRequest request = insertRequestWithAutoGeneratedId(shardId, 42L);
+        when(indexShard.applyIndexOperationOnPrimary(
+            anyLong(), any(VersionType.class), any(SourceToParse.class), anyLong(), anyBoolean()))
+            .thenReturn(new Engine.IndexResult(1L, 1L, 0L, true));
+
+        TransportWriteAction.WritePrimaryResult<ShardUpsertRequest, ShardResponse> result =
+            indexingTransportShardUpsertAction.processRequestItems(indexShard, request, new AtomicBoolean(false));
+
+        assertThat(result.finalResponseIfSuccessful.failure(), nullValue());
+        // no version lookup, the document is added with the timestamp of its auto generated id
+        verify(indexShard).applyIndexOperationOnPrimary(
+            eq(Versions.MATCH_ANY), eq(VersionType.INTERNAL), any(SourceToParse.class), eq(42L), eq(false));
+        assertThat(request.items().get(0).autoGeneratedTimestamp(), is(42L));
+    }
+
+    @Test
+    public void testRetriedRequestWithAutoGeneratedIdIsIndexedAsRetry() throws Exception {
+        ShardId shardId = new ShardId(TABLE_IDENT.indexNameOrAlias(), charactersIndexUUID, 0);
+        ShardUpsertRequest request = insertRequestWithAutoGeneratedId(shardId, 42L);
+        request.onRetry();
+        when(indexShard.applyIndexOperationOnPrimary(
+            anyLong(), any(VersionType.class), any(SourceToParse.class), anyLong(), anyBoolean()))
+            .thenReturn(new Engine.IndexResult(1L, 1L, 0L, true));
+        when(indexShard.applyIndexOperationOnReplica(
+            anyLong(), anyLong(), any(VersionType.class), anyLong(), anyBoolean(), any(SourceToParse.class)))
+            .thenReturn(new Engine.IndexResult(1L, 1L, 0L, true));
+
+        indexingTransportShardUpsertAction.processRequestItems(indexShard, request, new AtomicBoolean(false));
+        // the engine must not blindly append a retried document, it could have been indexed by the first attempt
+        verify(indexShard).applyIndexOperationOnPrimary(
+            eq(Versions.MATCH_ANY), eq(VersionType.INTERNAL), any(SourceToParse.class), eq(42L), eq(true));
+
+        indexingTransportShardUpsertAction.processRequestItemsOnReplica(indexShard, request);
+        verify(indexShard).applyIndexOperationOnReplica(
+            anyLong(), anyLong(), eq(VersionType.EXTERNAL), eq(42L), eq(true), any(SourceToParse.class));
+    }
 }
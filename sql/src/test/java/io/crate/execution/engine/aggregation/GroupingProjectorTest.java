@@ -0,0 +1,152 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.aggregation;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.BatchIterators;
+import io.crate.data.Input;
+import io.crate.data.Row;
+import io.crate.execution.engine.aggregation.impl.AggregationImplModule;
+import io.crate.execution.engine.aggregation.impl.CollectSetAggregation;
+import io.crate.execution.engine.aggregation.impl.SumAggregation;
+import io.crate.execution.engine.collect.CollectExpression;
+import io.crate.execution.engine.collect.InputCollectExpression;
+import io.crate.expression.symbol.AggregateMode;
+import io.crate.expression.symbol.InputColumn;
+import io.crate.metadata.FunctionIdent;
+import io.crate.metadata.Functions;
+import io.crate.test.integration.CrateUnitTest;
+import io.crate.testing.BatchIteratorTester;
+import io.crate.testing.TestingBatchIterators;
+import io.crate.types.DataTypes;
+import org.elasticsearch.Version;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.inject.ModulesBuilder;
+import org.elasticsearch.common.util.BigArrays;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+public class GroupingProjectorTest extends CrateUnitTest {
+
+    private static final RamAccountingContext RAM_ACCOUNTING_CONTEXT =
+        new RamAccountingContext("dummy", new NoopCircuitBreaker(CircuitBreaker.FIELDDATA));
+
+    private AggregationFunction sumAgg;
+    private AggregationFunction collectSetAgg;
+
+    @Before
+    public void prepareFunctions() {
+        Functions functions = new ModulesBuilder().add(new AggregationImplModule())
+            .createInjector().getInstance(Functions.class);
+        sumAgg = (AggregationFunction) functions.getQualified(
+            new FunctionIdent(SumAggregation.NAME, Arrays.asList(DataTypes.INTEGER)));
+        collectSetAgg = (AggregationFunction) functions.getQualified(
+            new FunctionIdent(CollectSetAggregation.NAME, Arrays.asList(DataTypes.INTEGER)));
+    }
+
+    /**
+     * Creates a projector for {@code sum(x) group by x} (or {@code group by x % 2} if {@code moduloKey} is true)
+     */
+    private GroupingProjector sumGroupedBy(AggregateMode mode, boolean moduloKey, int partialSampleSize) {
+        return groupedBy(sumAgg, mode, moduloKey, partialSampleSize);
+    }
+
+    private GroupingProjector groupedBy(AggregationFunction function,
+                                        AggregateMode mode,
+                                        boolean moduloKey,
+                                        int partialSampleSize) {
+        InputCollectExpression valueInput = new InputCollectExpression(0);
+        Input<?> keyInput = moduloKey ? () -> (Integer) valueInput.value() % 2 : valueInput;
+        AggregationContext aggregation = new AggregationContext(function);
+        aggregation.addInput(valueInput);
+        return new GroupingProjector(
+            Collections.singletonList(new InputColumn(0, DataTypes.INTEGER)),
+            Collections.singletonList(keyInput),
+            new CollectExpression[]{valueInput},
+            mode,
+            new AggregationContext[]{aggregation},
+            RAM_ACCOUNTING_CONTEXT,
+            Version.CURRENT,
+            BigArrays.NON_RECYCLING_INSTANCE,
+            partialSampleSize
+        );
+    }
+
+    @Test
+    public void testPartialAggregationStreamsRowsIfGroupingDoesNotReduceRows() throws Exception {
+        GroupingProjector projector = sumGroupedBy(AggregateMode.ITER_PARTIAL, false, 4);
+        List<Object[]> expectedResult = IntStream.range(0, 10)
+            .mapToObj(i -> new Object[]{i, (long) i})
+            .collect(Collectors.toList());
+
+        BatchIteratorTester tester = new BatchIteratorTester(
+            () -> projector.apply(TestingBatchIterators.range(0, 10)));
+        tester.verifyResultAndEdgeCaseBehaviour(expectedResult, it -> {
+            assertThat(projector.providesIndependentScroll(), is(false));
+        });
+    }
+
+    @Test
+    public void testPartialAggregationKeepsGroupingIfRowsAreReduced() throws Exception {
+        GroupingProjector projector = sumGroupedBy(AggregateMode.ITER_PARTIAL, true, 4);
+        BatchIterator<Row> it = projector.apply(TestingBatchIterators.range(0, 10));
+
+        List<Object[]> rows = BatchIterators.collect(it, Collectors.mapping(Row::materialize, Collectors.toList()))
+            .get(10, TimeUnit.SECONDS);
+        assertThat(rows, containsInAnyOrder(new Object[]{0, 20L}, new Object[]{1, 25L}));
+    }
+
+    @Test
+    public void testFinalAggregationIsNeverStreamed() throws Exception {
+        GroupingProjector projector = sumGroupedBy(AggregateMode.ITER_FINAL, true, 1);
+        BatchIterator<Row> it = projector.apply(TestingBatchIterators.range(0, 10));
+
+        List<Object[]> rows = BatchIterators.collect(it, Collectors.mapping(Row::materialize, Collectors.toList()))
+            .get(10, TimeUnit.SECONDS);
+        assertThat(rows, containsInAnyOrder(new Object[]{0, 20L}, new Object[]{1, 25L}));
+        assertThat(projector.providesIndependentScroll(), is(true));
+    }
+
+    @Test
+    public void testPartialAggregationWithLargeStatesIsNeverStreamed() throws Exception {
+        GroupingProjector projector = groupedBy(collectSetAgg, AggregateMode.ITER_PARTIAL, false, 4);
+        BatchIterator<Row> it = projector.apply(TestingBatchIterators.range(0, 10));
+
+        List<Object[]> rows = BatchIterators.collect(it, Collectors.mapping(Row::materialize, Collectors.toList()))
+            .get(10, TimeUnit.SECONDS);
+        assertThat(rows.size(), is(10));
+        assertThat(projector.providesIndependentScroll(), is(true));
+    }
+}
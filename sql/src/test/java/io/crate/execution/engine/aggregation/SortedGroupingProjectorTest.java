@@ -0,0 +1,105 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.aggregation;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.execution.engine.aggregation.impl.AggregationImplModule;
+import io.crate.execution.engine.aggregation.impl.SumAggregation;
+import io.crate.execution.engine.collect.CollectExpression;
+import io.crate.execution.engine.collect.InputCollectExpression;
+import io.crate.expression.symbol.AggregateMode;
+import io.crate.metadata.FunctionIdent;
+import io.crate.metadata.Functions;
+import io.crate.test.integration.CrateUnitTest;
+import io.crate.testing.BatchIteratorTester;
+import io.crate.testing.BatchSimulatingIterator;
+import io.crate.testing.TestingBatchIterators;
+import io.crate.types.DataTypes;
+import org.elasticsearch.Version;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.inject.ModulesBuilder;
+import org.elasticsearch.common.util.BigArrays;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class SortedGroupingProjectorTest extends CrateUnitTest {
+
+    private static final RamAccountingContext RAM_ACCOUNTING_CONTEXT =
+        new RamAccountingContext("dummy", new NoopCircuitBreaker(CircuitBreaker.FIELDDATA));
+
+    private static final List<Integer> SORTED_VALUES = Arrays.asList(1, 1, 2, 3, 3, 3, 5);
+
+    private static final List<Object[]> EXPECTED_RESULT = Arrays.asList(
+        new Object[]{1, 2L},
+        new Object[]{2, 2L},
+        new Object[]{3, 9L},
+        new Object[]{5, 5L}
+    );
+
+    private SortedGroupingProjector projector;
+
+    @Before
+    public void createProjector() {
+        Functions functions = new ModulesBuilder().add(new AggregationImplModule())
+            .createInjector().getInstance(Functions.class);
+        AggregationFunction sumAgg = (AggregationFunction) functions.getQualified(
+            new FunctionIdent(SumAggregation.NAME, Arrays.asList(DataTypes.INTEGER)));
+
+        // sum(x) group by x
+        InputCollectExpression input = new InputCollectExpression(0);
+        AggregationContext aggregation = new AggregationContext(sumAgg);
+        aggregation.addInput(input);
+        projector = new SortedGroupingProjector(
+            Collections.singletonList(input),
+            new CollectExpression[]{input},
+            AggregateMode.ITER_FINAL,
+            new AggregationContext[]{aggregation},
+            RAM_ACCOUNTING_CONTEXT,
+            Version.CURRENT,
+            BigArrays.NON_RECYCLING_INSTANCE
+        );
+    }
+
+    @Test
+    public void testGroupsOfSortedSourceAreEmittedInOrder() throws Exception {
+        Supplier<BatchIterator<Row>> batchIterator = () -> projector.apply(TestingBatchIterators.ofValues(SORTED_VALUES));
+        BatchIteratorTester tester = new BatchIteratorTester(batchIterator);
+        tester.verifyResultAndEdgeCaseBehaviour(EXPECTED_RESULT);
+    }
+
+    @Test
+    public void testGroupsSpanningMultipleBatchesAreCombined() throws Exception {
+        Supplier<BatchIterator<Row>> batchIterator = () -> projector.apply(
+            new BatchSimulatingIterator<>(TestingBatchIterators.ofValues(SORTED_VALUES), 2, 4, null));
+        BatchIteratorTester tester = new BatchIteratorTester(batchIterator);
+        tester.verifyResultAndEdgeCaseBehaviour(EXPECTED_RESULT);
+    }
+}
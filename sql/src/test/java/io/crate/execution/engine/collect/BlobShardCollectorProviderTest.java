@@ -30,6 +30,7 @@ import io.crate.blob.v2.BlobIndicesService;
 import io.crate.blob.v2.BlobShard;
 import io.crate.data.Row;
 import io.crate.execution.dsl.phases.RoutedCollectPhase;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.integrationtests.SQLHttpIntegrationTest;
 import io.crate.metadata.CoordinatorTxnCtx;
 import io.crate.metadata.TransactionContext;
@@ -109,7 +110,7 @@ public class BlobShardCollectorProviderTest extends SQLHttpIntegrationTest {
                 Schemas schemas = new Schemas(Settings.EMPTY, Collections.emptyMap(), clusterService, null);
                 assertNotNull(blobShard);
                 collectorProvider = new BlobShardCollectorProvider(blobShard, clusterService, schemas, null, null, null, null, null,
-                    BigArrays.NON_RECYCLING_INSTANCE);
+                    BigArrays.NON_RECYCLING_INSTANCE, new ShardLoad());
                 assertNotNull(collectorProvider);
             } catch (Exception e) {
                 fail("Exception shouldn't be thrown: " + e.getMessage());
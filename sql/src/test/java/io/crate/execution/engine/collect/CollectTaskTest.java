@@ -22,22 +22,37 @@
 package io.crate.execution.engine.collect;
 
 import com.carrotsearch.randomizedtesting.RandomizedTest;
+import io.crate.analyze.OrderBy;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
 import io.crate.exceptions.JobKilledException;
 import io.crate.execution.dsl.phases.RoutedCollectPhase;
+import io.crate.execution.dsl.projection.GroupProjection;
+import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.dsl.projection.TopNProjection;
 import io.crate.execution.jobs.SharedShardContexts;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
 import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.Reference;
+import io.crate.metadata.ReferenceIdent;
+import io.crate.metadata.RelationName;
 import io.crate.metadata.Routing;
 import io.crate.metadata.RowGranularity;
+import io.crate.metadata.doc.DocSysColumns;
 import io.crate.testing.TestingRowConsumer;
+import io.crate.types.DataTypes;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.Collections;
+
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -172,4 +187,45 @@ public class CollectTaskTest extends RandomizedTest {
         threadPoolExecutorName = CollectTask.threadPoolName(collectPhase);
         assertThat(threadPoolExecutorName, is(ThreadPool.Names.SEARCH));
     }
+
+    @Test
+    public void testThreadPoolNameForDocTablesWithSmallLimit() throws Exception {
+        when(collectPhase.where()).thenReturn(Literal.BOOLEAN_TRUE);
+        when(collectPhase.nodePageSizeHint()).thenReturn(10);
+        when(collectPhase.projections()).thenReturn(Collections.<Projection>singletonList(mock(TopNProjection.class)));
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.GET));
+
+        when(collectPhase.nodePageSizeHint()).thenReturn(CollectTask.INTERACTIVE_MAX_ROWS + 1);
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.SEARCH));
+    }
+
+    @Test
+    public void testThreadPoolNameForDocTablesWithLimitOnSortedOrAggregatedRows() throws Exception {
+        when(collectPhase.nodePageSizeHint()).thenReturn(10);
+        when(collectPhase.orderBy()).thenReturn(mock(OrderBy.class));
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.SEARCH));
+
+        when(collectPhase.orderBy()).thenReturn(null);
+        when(collectPhase.projections()).thenReturn(Collections.<Projection>singletonList(mock(GroupProjection.class)));
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.SEARCH));
+    }
+
+    @Test
+    public void testThreadPoolNameForDocTablesWithSmallLimitOnFilteredRows() throws Exception {
+        when(collectPhase.nodePageSizeHint()).thenReturn(10);
+        when(collectPhase.projections()).thenReturn(Collections.<Projection>singletonList(mock(TopNProjection.class)));
+        RelationName relationName = new RelationName("doc", "t1");
+        Reference x = new Reference(new ReferenceIdent(relationName, "x"), RowGranularity.DOC, DataTypes.INTEGER);
+
+        // a selective filter may have to visit all documents to find the rows of the limit
+        when(collectPhase.where()).thenReturn(EqOperator.createFunction(x, Literal.of(10)));
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.SEARCH));
+
+        // filters on ids only visit the documents of the ids
+        Function idLookup = EqOperator.createFunction(DocSysColumns.forTable(relationName, DocSysColumns.ID), Literal.of("1"));
+        when(collectPhase.where()).thenReturn(idLookup);
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.GET));
+        when(collectPhase.where()).thenReturn(AndOperator.of(idLookup, EqOperator.createFunction(x, Literal.of(10))));
+        assertThat(CollectTask.threadPoolName(collectPhase), is(ThreadPool.Names.GET));
+    }
 }
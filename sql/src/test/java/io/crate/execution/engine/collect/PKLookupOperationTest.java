@@ -0,0 +1,185 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.BatchIterators;
+import io.crate.exceptions.Exceptions;
+import io.crate.exceptions.SQLExceptions;
+import io.crate.execution.engine.collect.sources.ShardCollectSource;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
+import io.crate.expression.reference.Doc;
+import io.crate.integrationtests.SQLTransportIntegrationTest;
+import io.crate.planner.operators.PKAndVersion;
+import io.crate.testing.UseRandomizedSchema;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.Randomness;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.IndexNotFoundException;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.test.ESIntegTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.crate.execution.support.ThreadPools.numIdleThreads;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+@ESIntegTestCase.ClusterScope(numDataNodes = 1)
+@UseRandomizedSchema(random = false)
+public class PKLookupOperationTest extends SQLTransportIntegrationTest {
+
+    private PKLookupOperation pkLookupOperation;
+    private RamAccountingContext ramAccountingContext;
+
+    @Before
+    public void prepare() {
+        execute("create table t (id integer primary key, x integer) " +
+                "clustered into 3 shards with (number_of_replicas = 0, refresh_interval = 0)");
+        ensureGreen();
+        Object[][] bulkArgs = new Object[10][];
+        for (int i = 0; i < bulkArgs.length; i++) {
+            bulkArgs[i] = new Object[]{i, i * 10};
+        }
+        execute("insert into t (id, x) values (?, ?)", bulkArgs);
+        refresh();
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) internalCluster()
+            .getDataNodeInstance(ThreadPool.class).executor(ThreadPool.Names.GET);
+        pkLookupOperation = new PKLookupOperation(
+            internalCluster().getDataNodeInstance(IndicesService.class),
+            mock(ShardCollectSource.class),
+            executor,
+            numIdleThreads(executor, 2),
+            new ShardLoadStats()
+        );
+        ramAccountingContext = new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy"));
+    }
+
+    private Map<ShardId, List<PKAndVersion>> idsByShard(List<String> ids) {
+        ClusterService clusterService = internalCluster().getDataNodeInstance(ClusterService.class);
+        ClusterState state = clusterService.state();
+        Map<ShardId, List<PKAndVersion>> idsByShard = new TreeMap<>();
+        for (String id : ids) {
+            ShardId shardId = clusterService.operationRouting().shardId(state, "t", id, null);
+            idsByShard.computeIfAbsent(shardId, k -> new ArrayList<>()).add(new PKAndVersion(id, Versions.MATCH_ANY));
+        }
+        return idsByShard;
+    }
+
+    private static List<Doc> lookup(BatchIterator<Doc> docs) throws Exception {
+        try {
+            return BatchIterators.collect(docs, Collectors.toList()).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Exceptions.rethrowUnchecked(SQLExceptions.unwrap(e));
+            throw e;
+        }
+    }
+
+    @Test
+    public void testDocsOfSeveralShardsAreEmittedPerShardInTheOrderOfTheIds() throws Exception {
+        List<String> ids = new ArrayList<>(Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"));
+        Collections.shuffle(ids, Randomness.get());
+        Map<ShardId, List<PKAndVersion>> idsByShard = idsByShard(ids);
+        assertThat(idsByShard.size(), greaterThan(1));
+
+        List<String> expectedIds = new ArrayList<>();
+        for (List<PKAndVersion> pkAndVersions : idsByShard.values()) {
+            for (PKAndVersion pkAndVersion : pkAndVersions) {
+                expectedIds.add(pkAndVersion.id());
+            }
+        }
+        List<Doc> docs = lookup(pkLookupOperation.lookup(false, idsByShard, ramAccountingContext));
+
+        assertThat(docs.stream().map(Doc::getId).collect(Collectors.toList()), is(expectedIds));
+        for (Doc doc : docs) {
+            assertThat(doc.getSource().get("x"), is(Integer.parseInt(doc.getId()) * 10));
+        }
+        assertThat(ramAccountingContext.totalBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void testMissingIdsAreSkipped() throws Exception {
+        List<Doc> docs = lookup(pkLookupOperation.lookup(
+            false, idsByShard(Arrays.asList("42", "3", "43", "3")), ramAccountingContext));
+
+        assertThat(docs.stream().map(Doc::getId).collect(Collectors.toList()), contains("3", "3"));
+    }
+
+    @Test
+    public void testChangesWhichAreNotRefreshedYetAreVisible() throws Exception {
+        execute("update t set x = 42 where id = 1");
+        execute("delete from t where id = 2");
+        execute("insert into t (id, x) values (10, 100)");
+
+        List<Doc> docs = lookup(pkLookupOperation.lookup(
+            false, idsByShard(Arrays.asList("1", "2", "10")), ramAccountingContext));
+
+        assertThat(docs.stream().map(Doc::getId).collect(Collectors.toList()), contains("1", "10"));
+        assertThat(docs.get(0).getSource().get("x"), is(42));
+        assertThat(docs.get(0).getVersion(), is(2L));
+        assertThat(docs.get(1).getSource().get("x"), is(100));
+    }
+
+    @Test
+    public void testLookupWithOtherVersionFailsWithVersionConflict() throws Exception {
+        Map<ShardId, List<PKAndVersion>> idsByShard = idsByShard(Collections.singletonList("1"));
+        idsByShard.replaceAll((shardId, ids) -> Collections.singletonList(new PKAndVersion("1", 2L)));
+
+        expectedException.expect(VersionConflictEngineException.class);
+        lookup(pkLookupOperation.lookup(false, idsByShard, ramAccountingContext));
+    }
+
+    @Test
+    public void testShardsOfMissingIndicesAreSkippedIfMissingIndicesAreIgnored() throws Exception {
+        Map<ShardId, List<PKAndVersion>> idsByShard = idsByShard(Arrays.asList("1", "2"));
+        ShardId missingShard = new ShardId(new Index("missing", "missing_uuid"), 0);
+        idsByShard.put(missingShard, Collections.singletonList(new PKAndVersion("1", Versions.MATCH_ANY)));
+
+        List<Doc> docs = lookup(pkLookupOperation.lookup(true, idsByShard, ramAccountingContext));
+        assertThat(docs.size(), is(2));
+
+        expectedException.expect(IndexNotFoundException.class);
+        pkLookupOperation.lookup(false, idsByShard, ramAccountingContext);
+    }
+}
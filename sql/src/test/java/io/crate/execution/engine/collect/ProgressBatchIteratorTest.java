@@ -0,0 +1,70 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect;
+
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.execution.jobs.OperationProgress;
+import io.crate.testing.BatchIteratorTester;
+import io.crate.testing.BatchSimulatingIterator;
+import io.crate.testing.TestingBatchIterators;
+import io.crate.testing.TestingRowConsumer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ProgressBatchIteratorTest {
+
+    @Test
+    public void testProgressBatchIteratorForwardsToSource() throws Exception {
+        List<Object[]> expectedResult = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expectedResult.add(new Object[] { i });
+        }
+        Supplier<BatchIterator<Row>> batchIterator = () -> new ProgressBatchIterator(
+            new BatchSimulatingIterator<>(TestingBatchIterators.range(0, 10), 3, 3, null),
+            new OperationProgress());
+        BatchIteratorTester tester = new BatchIteratorTester(batchIterator);
+        tester.verifyResultAndEdgeCaseBehaviour(expectedResult);
+    }
+
+    @Test
+    public void testRowsAndCompletedShardIsReportedToProgress() throws Exception {
+        OperationProgress progress = new OperationProgress();
+        int numRows = ProgressBatchIterator.REPORT_INTERVAL * 2 + 10;
+        BatchIterator<Row> batchIterator = ProgressBatchIterator.forShard(
+            new BatchSimulatingIterator<>(TestingBatchIterators.range(0, numRows), 100, 30, null),
+            progress);
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        consumer.accept(batchIterator, null);
+        consumer.getResult();
+
+        assertThat(progress.processedRows(), is((long) numRows));
+        assertThat(progress.completedShards(), is(1));
+    }
+}
@@ -23,6 +23,7 @@
 package io.crate.execution.engine.collect.collectors;
 
 import io.crate.breaker.RamAccountingContext;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LongColumnReference;
 import io.crate.test.integration.CrateUnitTest;
@@ -44,6 +45,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
 public class LuceneBatchIteratorTest extends CrateUnitTest {
 
     private List<LongColumnReference> columnRefs;
@@ -82,10 +86,60 @@ public class LuceneBatchIteratorTest extends CrateUnitTest {
                     ),
                     new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy")),
                     columnRefs,
-                    columnRefs
+                    columnRefs,
+                    new ShardLoad()
                 );
             }
         );
         tester.verifyResultAndEdgeCaseBehaviour(expectedResult);
     }
+
+    @Test
+    public void testCollectedDocsAreRecordedInShardLoad() throws Exception {
+        ShardLoad shardLoad = new ShardLoad();
+        LuceneBatchIterator it = new LuceneBatchIterator(
+            indexSearcher,
+            new MatchAllDocsQuery(),
+            null,
+            false,
+            new CollectorContext(mappedFieldType -> null, new CollectorFieldsVisitor(0)),
+            new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy")),
+            columnRefs,
+            columnRefs,
+            shardLoad
+        );
+        while (it.moveNext()) {
+            // consume all rows
+        }
+        assertThat(shardLoad.collectedDocs(), is(20L));
+
+        // a repeated iteration is recorded as well, close must not record the docs twice
+        it.moveToStart();
+        while (it.moveNext()) {
+            // consume all rows
+        }
+        it.close();
+        assertThat(shardLoad.collectedDocs(), is(40L));
+    }
+
+    @Test
+    public void testQueryTimeExcludesTimeSpentByTheConsumer() throws Exception {
+        ShardLoad shardLoad = new ShardLoad();
+        LuceneBatchIterator it = new LuceneBatchIterator(
+            indexSearcher,
+            new MatchAllDocsQuery(),
+            null,
+            false,
+            new CollectorContext(mappedFieldType -> null, new CollectorFieldsVisitor(0)),
+            new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy")),
+            columnRefs,
+            columnRefs,
+            shardLoad
+        );
+        while (it.moveNext()) {
+            Thread.sleep(10);
+        }
+        assertThat(shardLoad.collectedDocs(), is(20L));
+        assertThat(shardLoad.queryTime(), lessThan(100L));
+    }
 }
@@ -27,6 +27,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import io.crate.analyze.OrderBy;
 import io.crate.data.Row;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
 import io.crate.expression.reference.doc.lucene.LuceneMissingValue;
@@ -332,7 +333,8 @@ public class LuceneOrderedDocCollectorTest extends RandomizedTest {
                 f -> null,
                 new Sort(SortField.FIELD_SCORE),
                 columnReferences,
-                columnReferences
+                columnReferences,
+                new ShardLoad()
             );
     }
 }
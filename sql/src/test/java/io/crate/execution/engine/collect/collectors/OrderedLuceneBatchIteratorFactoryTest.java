@@ -31,6 +31,7 @@ import io.crate.breaker.RowAccountingWithEstimators;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
 import io.crate.exceptions.CircuitBreakingException;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.execution.engine.sort.OrderingByPosition;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
@@ -205,7 +206,8 @@ public class OrderedLuceneBatchIteratorFactoryTest extends CrateUnitTest {
             f -> null,
             new Sort(new SortedNumericSortField(columnName, SortField.Type.LONG, reverseFlags[0])),
             expressions,
-            expressions
+            expressions,
+            new ShardLoad()
         );
     }
 }
@@ -34,6 +34,7 @@ import io.crate.data.Input;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.dsl.phases.FileUriCollectPhase;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.InputFactory;
 import io.crate.expression.reference.file.FileLineReferenceResolver;
 import io.crate.expression.reference.file.SourceLineExpression;
@@ -318,7 +319,8 @@ public class FileReadingCollectorTest extends CrateUnitTest {
             false,
             1,
             0,
-            FileUriCollectPhase.InputFormat.JSON);
+            FileUriCollectPhase.InputFormat.JSON,
+            new OperationProgress());
     }
 
     private static class WriteBufferAnswer implements Answer<Integer> {
@@ -27,6 +27,7 @@ import io.crate.data.BatchIterator;
 import io.crate.data.Input;
 import io.crate.data.Row;
 import io.crate.execution.dsl.phases.FileUriCollectPhase;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.InputFactory;
 import io.crate.expression.reference.file.FileLineReferenceResolver;
 import io.crate.metadata.CoordinatorTxnCtx;
@@ -53,6 +54,7 @@ import java.util.function.Supplier;
 import static io.crate.execution.dsl.phases.FileUriCollectPhase.InputFormat.CSV;
 import static io.crate.execution.dsl.phases.FileUriCollectPhase.InputFormat.JSON;
 import static io.crate.testing.TestingHelpers.createReference;
+import static org.hamcrest.Matchers.is;
 
 public class FileReadingIteratorTest extends CrateUnitTest {
 
@@ -161,7 +163,36 @@ public class FileReadingIteratorTest extends CrateUnitTest {
         tester.verifyResultAndEdgeCaseBehaviour(expectedResult);
     }
 
+    @Test
+    public void testProcessedLinesAndReadBytesAreReportedToTheProgress() throws Exception {
+        tempFilePath = createTempFile("tempfile", ".json");
+        tmpFile = tempFilePath.toFile();
+        try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(tmpFile), StandardCharsets.UTF_8)) {
+            writer.write(JSON_AS_MAP_FIRST_LINE + "\n");
+            writer.write(JSON_AS_MAP_SECOND_LINE + "\n");
+        }
+        OperationProgress progress = new OperationProgress();
+        BatchIterator<Row> iterator = createBatchIterator(
+            Collections.singletonList(tempFilePath.toUri().toString()), null, JSON, progress);
+        int numRows = 0;
+        while (iterator.moveNext()) {
+            numRows++;
+        }
+        iterator.close();
+
+        assertThat(numRows, is(2));
+        assertThat(progress.processedRows(), is(2L));
+        assertThat(progress.processedBytes(), is(tmpFile.length()));
+    }
+
     private BatchIterator<Row> createBatchIterator(Collection<String> fileUris, String compression, FileUriCollectPhase.InputFormat format) {
+        return createBatchIterator(fileUris, compression, format, new OperationProgress());
+    }
+
+    private BatchIterator<Row> createBatchIterator(Collection<String> fileUris,
+                                                   String compression,
+                                                   FileUriCollectPhase.InputFormat format,
+                                                   OperationProgress progress) {
         Reference raw = createReference("_raw", DataTypes.STRING);
         InputFactory.Context<LineCollectorExpression<?>> ctx =
             inputFactory.ctxForRefs(txnCtx, FileLineReferenceResolver::getImplementation);
@@ -177,6 +208,7 @@ public class FileReadingIteratorTest extends CrateUnitTest {
             false,
             1,
             0,
-            format);
+            format,
+            progress);
     }
 }
@@ -23,13 +23,20 @@
 package io.crate.execution.engine.collect.stats;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import io.crate.action.sql.Option;
+import io.crate.action.sql.SessionContext;
 import io.crate.auth.user.User;
 import io.crate.breaker.CrateCircuitBreakerService;
 import io.crate.breaker.RamAccountingContext;
 import io.crate.common.collections.BlockingEvictingQueue;
+import io.crate.data.Row;
+import io.crate.data.Row1;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.reference.sys.job.JobContext;
 import io.crate.expression.reference.sys.job.JobContextLog;
+import io.crate.expression.reference.sys.job.SlowQueryLog;
 import io.crate.expression.reference.sys.operation.OperationContext;
 import io.crate.expression.reference.sys.operation.OperationContextLog;
 import io.crate.metadata.sys.ClassifiedMetrics;
@@ -53,8 +60,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
@@ -67,9 +77,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.crate.planner.Plan.StatementType.*;
 import static io.crate.testing.TestingHelpers.getFunctions;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -110,7 +123,7 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
         assertThat(stats.jobsLogExpiration, is(JobsLogService.STATS_JOBS_LOG_EXPIRATION_SETTING.getDefault()));
         assertThat(stats.operationsLogExpiration, is(JobsLogService.STATS_OPERATIONS_LOG_EXPIRATION_SETTING.getDefault()));
         assertThat(stats.get().jobsLog(), Matchers.instanceOf(FilteredLogSink.class));
-        assertThat(stats.get().operationsLog(), Matchers.instanceOf(QueueSink.class));
+        assertThat(stats.get().operationsLog(), Matchers.instanceOf(RingBufferLogSink.class));
     }
 
     @Test
@@ -178,7 +191,7 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
         assertThat(stats.jobsLogSize, is(100));
         assertThat(stats.get().jobsLog(), Matchers.instanceOf(FilteredLogSink.class));
         assertThat(stats.operationsLogSize, is(100));
-        assertThat(stats.get().operationsLog(), Matchers.instanceOf(QueueSink.class));
+        assertThat(stats.get().operationsLog(), Matchers.instanceOf(RingBufferLogSink.class));
     }
 
     @Test
@@ -192,14 +205,10 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
         Supplier<LogSink<JobContextLog>> jobsLogSink = () -> (LogSink<JobContextLog>) stats.get().jobsLog();
         Supplier<LogSink<OperationContextLog>> operationsLogSink = () -> (LogSink<OperationContextLog>) stats.get().operationsLog();
 
-        // sinks are still of type QueueSink
+        // size bounded logs are ring buffers
         assertThat(jobsLogSink.get(), Matchers.instanceOf(FilteredLogSink.class));
-        assertThat(operationsLogSink.get(), Matchers.instanceOf(QueueSink.class));
-
-        assertThat(inspectRamAccountingQueue((QueueSink) ((FilteredLogSink) jobsLogSink.get()).delegate),
-            Matchers.instanceOf(BlockingEvictingQueue.class));
-        assertThat(inspectRamAccountingQueue((QueueSink) operationsLogSink.get()),
-            Matchers.instanceOf(BlockingEvictingQueue.class));
+        assertThat(((FilteredLogSink) jobsLogSink.get()).delegate, Matchers.instanceOf(RingBufferLogSink.class));
+        assertThat(operationsLogSink.get(), Matchers.instanceOf(RingBufferLogSink.class));
 
         clusterSettings.applySettings(Settings.builder()
             .put(JobsLogService.STATS_JOBS_LOG_EXPIRATION_SETTING.getKey(), "10s")
@@ -228,11 +237,8 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
             .put(JobsLogService.STATS_ENABLED_SETTING.getKey(), true)
             .build());
         assertThat(jobsLogSink.get(), Matchers.instanceOf(FilteredLogSink.class));
-        assertThat(inspectRamAccountingQueue((QueueSink) ((FilteredLogSink<JobContextLog>) jobsLogSink.get()).delegate),
-            Matchers.instanceOf(BlockingEvictingQueue.class));
-        assertThat(operationsLogSink.get(), Matchers.instanceOf(QueueSink.class));
-        assertThat(inspectRamAccountingQueue((QueueSink) operationsLogSink.get()),
-            Matchers.instanceOf(BlockingEvictingQueue.class));
+        assertThat(((FilteredLogSink) jobsLogSink.get()).delegate, Matchers.instanceOf(RingBufferLogSink.class));
+        assertThat(operationsLogSink.get(), Matchers.instanceOf(RingBufferLogSink.class));
 
         // disable stats
         clusterSettings.applySettings(Settings.builder()
@@ -441,6 +447,153 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
         assertTrue(entries.contains(new OperationContextLog(ctxA, null)));
     }
 
+    @Test
+    public void testResourcesOfOperationsAreAddedToTheJob() {
+        JobsLogs jobsLogs = new JobsLogs(() -> true);
+        Queue<JobContextLog> q = new BlockingEvictingQueue<>(1);
+        jobsLogs.updateJobsLog(new QueueSink<>(q, ramAccountingContext::close));
+
+        UUID jobId = UUID.randomUUID();
+        jobsLogs.logExecutionStart(jobId, "select 1", User.CRATE_USER, new Classification(SELECT));
+        OperationProgress finishedProgress = new OperationProgress();
+        OperationProgress runningProgress = new OperationProgress();
+        jobsLogs.operationStarted(1, jobId, "collect", finishedProgress);
+        jobsLogs.operationStarted(2, jobId, "merge", runningProgress);
+
+        finishedProgress.accounted(() -> new StringBuilder().append(new int[1024].length)).run();
+        runningProgress.accounted(() -> new StringBuilder().append(new int[1024].length)).run();
+        jobsLogs.operationFinished(1, jobId, null, 0);
+        jobsLogs.logExecutionEnd(jobId, null);
+        jobsLogs.operationFinished(2, jobId, null, 0);
+
+        JobContextLog jobContextLog = Iterables.getOnlyElement(jobsLogs.jobsLog());
+        assertThat(jobContextLog.cpuTime(), is(finishedProgress.cpuTime() + runningProgress.cpuTime()));
+        assertThat(jobContextLog.allocatedBytes(), is(finishedProgress.allocatedBytes() + runningProgress.allocatedBytes()));
+    }
+
+    @Test
+    public void testSlowQueryIsLoggedWithPlanAndOperations() throws Exception {
+        JobsLogs jobsLogs = new JobsLogs(() -> true);
+        jobsLogs.updateOperationsLog(new QueueSink<>(new BlockingEvictingQueue<>(10), ramAccountingContext::close));
+        jobsLogs.updateSlowQueriesLog(new QueueSink<>(new BlockingEvictingQueue<>(10), ramAccountingContext::close));
+        jobsLogs.updateSlowQueriesThreshold(1L);
+
+        UUID jobId = UUID.randomUUID();
+        jobsLogs.logExecutionStart(
+            jobId, "select 1", User.CRATE_USER, new Classification(SELECT), () -> ImmutableMap.of("planType", "Collect"));
+        jobsLogs.operationStarted(1, jobId, "collect");
+        jobsLogs.operationFinished(1, jobId, null, 10);
+        Thread.sleep(5);
+        jobsLogs.logExecutionEnd(jobId, null);
+
+        SlowQueryLog slowQueryLog = Iterables.getOnlyElement(jobsLogs.slowQueriesLog());
+        assertThat(slowQueryLog.statement(), is("select 1"));
+        assertThat(slowQueryLog.duration() >= 1L, is(true));
+        assertThat(slowQueryLog.plan(), is(ImmutableMap.of("planType", "Collect")));
+        Map<String, Object> operation = Iterables.getOnlyElement(slowQueryLog.operations());
+        assertThat(operation.get("name"), is("collect"));
+        assertThat(operation.get("used_bytes"), is(10L));
+    }
+
+    @Test
+    public void testFastQueryIsNotLoggedAndPlanIsNotRendered() {
+        JobsLogs jobsLogs = new JobsLogs(() -> true);
+        jobsLogs.updateSlowQueriesLog(new QueueSink<>(new BlockingEvictingQueue<>(10), ramAccountingContext::close));
+        jobsLogs.updateSlowQueriesThreshold(TimeValue.timeValueHours(1L).millis());
+
+        UUID jobId = UUID.randomUUID();
+        AtomicBoolean planRendered = new AtomicBoolean(false);
+        jobsLogs.logExecutionStart(jobId, "select 1", User.CRATE_USER, new Classification(SELECT), () -> {
+            planRendered.set(true);
+            return Collections.emptyMap();
+        });
+        jobsLogs.logExecutionEnd(jobId, null);
+
+        assertThat(Iterables.size(jobsLogs.slowQueriesLog()), is(0));
+        assertThat(planRendered.get(), is(false));
+    }
+
+    @Test
+    public void testPlanIsNotRetainedIfSlowQueriesLogIsDisabled() {
+        JobsLogs jobsLogs = new JobsLogs(() -> true);
+        assertThat(jobsLogs.isSlowQueriesLogEnabled(), is(false));
+
+        UUID jobId = UUID.randomUUID();
+        jobsLogs.logExecutionStart(
+            jobId, "select 1", User.CRATE_USER, new Classification(SELECT), Collections::emptyMap);
+
+        JobContext jobContext = Iterables.getOnlyElement(jobsLogs.activeJobs());
+        assertThat(jobContext.takeExplainPlan(), Matchers.nullValue());
+
+        jobsLogs.updateSlowQueriesThreshold(1L);
+        assertThat(jobsLogs.isSlowQueriesLogEnabled(), is(true));
+    }
+
+    @Test
+    public void testCapturedStatementsCanBeReadBack() throws Exception {
+        Path path = createTempDir().resolve("workload.capture");
+        JobsLogs jobsLogs = new JobsLogs(() -> true);
+        SessionContext sessionContext = new SessionContext(0, Option.NONE, User.CRATE_USER, s -> { }, e -> { }, "foo");
+        sessionContext.setHashJoinEnabled(false);
+
+        jobsLogs.updateWorkloadCapture(WorkloadCapture.open(path));
+        jobsLogs.captureStatement("select * from t where id = $1", new Row1(10), sessionContext);
+        // parameters which can't be serialized are skipped
+        jobsLogs.captureStatement("select $1", new Row1(new Object()), sessionContext);
+        // re-opening the file appends to it
+        jobsLogs.updateWorkloadCapture(WorkloadCapture.open(path));
+        jobsLogs.captureStatement("select 1", Row.EMPTY, SessionContext.systemSessionContext());
+        jobsLogs.updateWorkloadCapture(null);
+        jobsLogs.captureStatement("select 2", Row.EMPTY, sessionContext);
+
+        List<CapturedStatement> statements = WorkloadCapture.read(path);
+        assertThat(statements.size(), is(2));
+        CapturedStatement first = statements.get(0);
+        assertThat(first.statement(), is("select * from t where id = $1"));
+        assertThat(first.params(), is(new Object[] { 10 }));
+        assertThat(first.username(), is("crate"));
+        assertThat(first.searchPath(), contains("pg_catalog", "foo"));
+        assertThat(first.hashJoinEnabled(), is(false));
+        assertThat(first.semiJoinsRewriteEnabled(), is(false));
+        assertThat(first.sessionId(), is(sessionContext.id()));
+        CapturedStatement second = statements.get(1);
+        assertThat(second.statement(), is("select 1"));
+        assertThat(second.params().length, is(0));
+        assertThat(second.searchPath(), contains("pg_catalog", "doc"));
+        assertThat(second.hashJoinEnabled(), is(true));
+        assertThat(second.sessionId(), Matchers.not(first.sessionId()));
+        assertThat(second.arrivalTime(), Matchers.greaterThanOrEqualTo(first.arrivalTime()));
+    }
+
+    @Test
+    public void testWorkloadIsCapturedIntoTheConfiguredDirectoryOnceEnabled() throws Exception {
+        Path dir = createTempDir().resolve("captures");
+        Settings settings = Settings.builder()
+            .put(JobsLogService.STATS_WORKLOAD_CAPTURE_PATH_SETTING.getKey(), dir.toString())
+            .build();
+        JobsLogService stats = new JobsLogService(settings, clusterSettings, getFunctions(), scheduler, breakerService);
+        stats.get().captureStatement("select 1", Row.EMPTY, SessionContext.systemSessionContext());
+        assertThat(Files.exists(dir), is(false));
+
+        clusterSettings.applySettings(Settings.builder()
+            .put(JobsLogService.STATS_WORKLOAD_CAPTURE_ENABLED_SETTING.getKey(), true)
+            .build());
+        stats.get().captureStatement("select 2", Row.EMPTY, SessionContext.systemSessionContext());
+        clusterSettings.applySettings(Settings.builder()
+            .put(JobsLogService.STATS_WORKLOAD_CAPTURE_ENABLED_SETTING.getKey(), false)
+            .build());
+        stats.get().captureStatement("select 3", Row.EMPTY, SessionContext.systemSessionContext());
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(dir)) {
+            files = entries.collect(Collectors.toList());
+        }
+        assertThat(files.size(), is(1));
+        List<CapturedStatement> statements = WorkloadCapture.read(files.get(0));
+        assertThat(statements.size(), is(1));
+        assertThat(statements.get(0).statement(), is("select 2"));
+    }
+
     @Test
     public void testLowerBoundScheduler() {
         assertThat(JobsLogService.clearInterval(TimeValue.timeValueMillis(1L)), is(1000L));
@@ -0,0 +1,161 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import io.crate.breaker.SizeEstimator;
+import io.crate.expression.reference.sys.job.ContextLog;
+import io.crate.test.integration.CrateUnitTest;
+import org.apache.logging.log4j.LogManager;
+import org.elasticsearch.common.breaker.MemoryCircuitBreaker;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static io.crate.execution.engine.collect.stats.RamAccountingQueueSinkTest.breaker;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class RingBufferLogSinkTest extends CrateUnitTest {
+
+    private static class Log implements ContextLog {
+
+        private final long ended;
+
+        Log(long ended) {
+            this.ended = ended;
+        }
+
+        @Override
+        public long ended() {
+            return ended;
+        }
+    }
+
+    private static class FixedSizeEstimator extends SizeEstimator<Log> {
+
+        private final long size;
+
+        FixedSizeEstimator(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public long estimateSize(@Nullable Log value) {
+            return size;
+        }
+    }
+
+    private static List<Long> ended(Iterable<Log> logs) {
+        return ImmutableList.copyOf(logs).stream().map(Log::ended).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testOldestEntriesAreOverwritten() {
+        RingBufferLogSink<Log> sink = new RingBufferLogSink<>(3, breaker(), new FixedSizeEstimator(0L));
+        for (long i = 1; i <= 5; i++) {
+            sink.add(new Log(i));
+        }
+        assertThat(ended(sink), contains(3L, 4L, 5L));
+    }
+
+    @Test
+    public void testLastAddedEntriesAreKeptInInsertionOrderWithConcurrentWriters() throws Exception {
+        RingBufferLogSink<Log> sink = new RingBufferLogSink<>(10, breaker(), new FixedSizeEstimator(0L));
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long offset = t * 1000;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < 20; i++) {
+                    sink.add(new Log(offset + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<Long> ended = ended(sink);
+        assertThat(ended.size(), is(10));
+        // the entries of each writer are retained in the order they were added
+        for (int t = 0; t < 4; t++) {
+            long offset = t * 1000;
+            List<Long> entriesOfWriter = ended.stream()
+                .filter(e -> e >= offset && e < offset + 1000)
+                .collect(Collectors.toList());
+            assertThat(entriesOfWriter, is(entriesOfWriter.stream().sorted().collect(Collectors.toList())));
+        }
+
+        // once the writers are done the buffer holds exactly the last added entries
+        for (long i = 0; i < 10; i++) {
+            sink.add(new Log(10_000 + i));
+        }
+        assertThat(ended(sink), contains(10_000L, 10_001L, 10_002L, 10_003L, 10_004L,
+                                         10_005L, 10_006L, 10_007L, 10_008L, 10_009L));
+    }
+
+    @Test
+    public void testConcurrentWritesAreBoundedBySize() throws Exception {
+        RingBufferLogSink<Log> sink = new RingBufferLogSink<>(15_000, breaker(), new FixedSizeEstimator(0L));
+        int numThreads = 50;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    sink.add(new Log(j));
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertThat(Iterables.size(sink), is(15_000));
+    }
+
+    @Test
+    public void testLogIsClearedIfBreakerLimitIsExceeded() {
+        MemoryCircuitBreaker breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(1, ByteSizeUnit.MB), 1.0, LogManager.getLogger(RingBufferLogSinkTest.class));
+        RingBufferLogSink<Log> sink = new RingBufferLogSink<>(
+            10, breaker, new FixedSizeEstimator(new ByteSizeValue(1, ByteSizeUnit.MB).getBytes()));
+
+        sink.add(new Log(1L));
+        assertThat(ended(sink), contains(1L));
+
+        // the accounted bytes exceed the limit of the breaker
+        sink.add(new Log(2L));
+        assertThat(Iterables.size(sink), is(0));
+        assertThat(breaker.getUsed(), is(0L));
+
+        sink.add(new Log(3L));
+        assertThat(ended(sink), contains(3L));
+        sink.close();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import io.crate.test.integration.CrateUnitTest;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+public class ShardLoadTest extends CrateUnitTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(0L);
+    private final ShardLoad load = new ShardLoad(nanoTime::get);
+
+    private void advance(long seconds) {
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void testRatesAreZeroBeforeTheFirstInterval() {
+        load.docsIndexed(10);
+        advance(ShardLoad.TICK_INTERVAL_SECONDS - 1);
+        assertThat(load.indexedDocs(), is(10L));
+        assertThat(load.indexedDocsRate(), is(0.0));
+    }
+
+    @Test
+    public void testRateOfTheFirstIntervalAndDecay() {
+        load.docsIndexed(50);
+        load.docsCollected(100);
+        load.queryTime(TimeUnit.MILLISECONDS.toNanos(500));
+        advance(ShardLoad.TICK_INTERVAL_SECONDS);
+        assertThat(load.indexedDocsRate(), closeTo(10.0, 0.0001));
+        assertThat(load.collectedDocsRate(), closeTo(20.0, 0.0001));
+        assertThat(load.queryTimeRate(), closeTo(100.0, 0.0001));
+        assertThat(load.queryTime(), is(500L));
+
+        // without further load, the one minute moving average decays by 1/e within a minute
+        advance(60);
+        assertThat(load.indexedDocsRate(), closeTo(10.0 / Math.E, 0.0001));
+        assertThat(load.collectedDocsRate(), closeTo(20.0 / Math.E, 0.0001));
+        assertThat(load.indexedDocs(), is(50L));
+    }
+
+    @Test
+    public void testRateConvergesToConstantLoad() {
+        for (int i = 0; i < 200; i++) {
+            load.pkLookups(ShardLoad.TICK_INTERVAL_SECONDS * 3);
+            load.docsFetched(ShardLoad.TICK_INTERVAL_SECONDS * 7);
+            advance(ShardLoad.TICK_INTERVAL_SECONDS);
+            load.fetchedDocsRate();
+        }
+        assertThat(load.pkLookupsRate(), closeTo(3.0, 0.0001));
+        assertThat(load.fetchedDocsRate(), closeTo(7.0, 0.0001));
+    }
+
+    @Test
+    public void testRateOfConstantLoadReadOnlyAfterSeveralMinutes() {
+        // 4 docs per second, recorded every second, but the rate is only read once per minute
+        for (int minute = 0; minute < 5; minute++) {
+            for (int second = 0; second < 60; second++) {
+                load.docsIndexed(4);
+                load.queryTime(TimeUnit.MILLISECONDS.toNanos(20));
+                advance(1);
+            }
+            assertThat(load.indexedDocsRate(), closeTo(4.0, 0.0001));
+            assertThat(load.queryTimeRate(), closeTo(20.0, 0.0001));
+        }
+        assertThat(load.indexedDocs(), is(1200L));
+    }
+}
@@ -24,6 +24,7 @@ package io.crate.execution.engine.fetch;
 
 import com.google.common.collect.Iterables;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
 import io.crate.execution.jobs.TasksService;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
@@ -49,7 +50,8 @@ public class NodeFetchOperationTest extends CrateDummyClusterServiceUnitTest {
                 2,
                 jobsLogs,
                 new TasksService(Settings.EMPTY, clusterService, jobsLogs),
-                new NoopCircuitBreaker("dummy"));
+                new NoopCircuitBreaker("dummy"),
+                new ShardLoadStats());
 
             fetchOperation.fetch(UUID.randomUUID(), 1, null, true).get(5, TimeUnit.SECONDS);
 
@@ -33,6 +33,7 @@ import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.InputCollectExpression;
 import io.crate.execution.engine.pipeline.TableSettingsResolver;
 import io.crate.execution.jobs.NodeJobsCounter;
+import io.crate.execution.jobs.OperationProgress;
 import io.crate.expression.symbol.InputColumn;
 import io.crate.expression.symbol.Symbol;
 import io.crate.integrationtests.SQLTransportIntegrationTest;
@@ -81,6 +82,7 @@ public class IndexWriterProjectorTest extends SQLTransportIntegrationTest {
         ClusterState state = clusterService().state();
         Settings tableSettings = TableSettingsResolver.get(state.getMetaData(), bulkImportIdent, false);
         ThreadPool threadPool = internalCluster().getInstance(ThreadPool.class);
+        OperationProgress progress = new OperationProgress();
         IndexWriterProjector writerProjector = new IndexWriterProjector(
             clusterService(),
             new NodeJobsCounter(),
@@ -107,7 +109,8 @@ public class IndexWriterProjectorTest extends SQLTransportIntegrationTest {
             false,
             false,
             UUID.randomUUID(),
-            UpsertResultContext.forRowCount()
+            UpsertResultContext.forRowCount(),
+            progress
         );
 
         BatchIterator rowsIterator = InMemoryBatchIterator.of(IntStream.range(0, 100)
@@ -119,6 +122,7 @@ public class IndexWriterProjectorTest extends SQLTransportIntegrationTest {
         Bucket objects = consumer.getBucket();
 
         assertThat(objects, contains(isRow(100L)));
+        assertThat(progress.writtenRows(), is(100L));
 
         execute("refresh table bulk_import");
         execute("select count(*) from bulk_import");
@@ -0,0 +1,80 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.engine.profile;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.testing.BatchIteratorTester;
+import io.crate.testing.BatchSimulatingIterator;
+import io.crate.testing.TestingBatchIterators;
+import io.crate.testing.TestingRowConsumer;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class ProfilingBatchIteratorTest {
+
+    private final RamAccountingContext ramAccountingContext =
+        new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy"));
+
+    @Test
+    public void testProfilingBatchIteratorForwardsToSource() throws Exception {
+        List<Object[]> expectedResult = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expectedResult.add(new Object[] { i });
+        }
+        Supplier<BatchIterator<Row>> batchIterator = () -> new ProfilingBatchIterator(
+            new BatchSimulatingIterator<>(TestingBatchIterators.range(0, 10), 3, 3, null),
+            "source",
+            ramAccountingContext);
+        BatchIteratorTester tester = new BatchIteratorTester(batchIterator);
+        tester.verifyResultAndEdgeCaseBehaviour(expectedResult);
+    }
+
+    @Test
+    public void testStatsContainRowsBatchesAndAccountedBytes() throws Exception {
+        ramAccountingContext.addBytes(512L);
+        ProfilingBatchIterator batchIterator = new ProfilingBatchIterator(
+            new BatchSimulatingIterator<>(TestingBatchIterators.range(0, 10), 3, 3, null),
+            "source",
+            ramAccountingContext);
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        consumer.accept(batchIterator, null);
+        consumer.getResult();
+
+        Map<String, Object> stats = batchIterator.stats();
+        assertThat(stats.get("Name"), is("source"));
+        assertThat(stats.get("Rows"), is(10L));
+        assertThat((Long) stats.get("Batches"), greaterThan(0L));
+        assertThat(stats.get("PeakAccountedBytes"), is(512L));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.RowConsumerToResultReceiver;
+import io.crate.planner.Plan;
+import io.crate.plugin.SQLPlugin;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.TestingBatchIterators;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class AdmissionControlTest extends CrateDummyClusterServiceUnitTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void createScheduler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void terminateScheduler() throws InterruptedException {
+        terminate(scheduler);
+    }
+
+    @Override
+    protected Collection<Setting<?>> additionalClusterSettings() {
+        return new SQLPlugin(Settings.EMPTY).getSettings();
+    }
+
+    private AdmissionControl newAdmissionControl(Settings settings) {
+        return new AdmissionControl(
+            settings,
+            clusterService.getClusterSettings(),
+            scheduler,
+            Runnable::run,
+            () -> new NoopCircuitBreaker("query"));
+    }
+
+    @Test
+    public void testStatementsAreAdmittedImmediatelyByDefault() {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.EMPTY);
+        for (int i = 0; i < 10; i++) {
+            assertThat(admissionControl.acquire("crate", Plan.StatementType.SELECT).isDone(), is(true));
+        }
+        assertThat(admissionControl.queues().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testStatementIsQueuedUntilRunningStatementReleasesItsPermit() throws Exception {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING.getKey(), 1)
+            .build());
+
+        CompletableFuture<AdmissionControl.Permit> first = admissionControl.acquire("crate", Plan.StatementType.SELECT);
+        CompletableFuture<AdmissionControl.Permit> second = admissionControl.acquire("crate", Plan.StatementType.SELECT);
+        assertThat(first.isDone(), is(true));
+        assertThat(second.isDone(), is(false));
+
+        List<AdmissionControl.QueueStats> queues = admissionControl.queues();
+        assertThat(queues.size(), is(1));
+        assertThat(queues.get(0).running(), is(1));
+        assertThat(queues.get(0).queued(), is(1));
+
+        first.get().release();
+        second.get(5, TimeUnit.SECONDS);
+
+        queues = admissionControl.queues();
+        assertThat(queues.get(0).running(), is(1));
+        assertThat(queues.get(0).queued(), is(0));
+        assertThat(queues.get(0).admitted(), is(2L));
+    }
+
+    @Test
+    public void testPermitOfSuspendedStatementIsReleasedOnceResumedStatementFinished() throws Exception {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING.getKey(), 1)
+            .build());
+
+        BaseResultReceiver firstReceiver = new BaseResultReceiver();
+        RowConsumerToResultReceiver consumer = new RowConsumerToResultReceiver(firstReceiver, 5, (t, rowCount) -> {});
+        admissionControl.execute(
+            "crate",
+            Plan.StatementType.SELECT,
+            consumer,
+            consumer.completionFuture(),
+            () -> consumer.accept(TestingBatchIterators.range(0, 10), null)
+        );
+        assertThat(consumer.suspended(), is(true));
+        CompletableFuture<AdmissionControl.Permit> queued = admissionControl.acquire("crate", Plan.StatementType.SELECT);
+        assertThat(queued.isDone(), is(false));
+
+        BaseResultReceiver secondReceiver = new BaseResultReceiver();
+        consumer.replaceResultReceiver(secondReceiver, 0);
+        consumer.resume();
+
+        secondReceiver.completionFuture().get(5, TimeUnit.SECONDS);
+        assertThat(firstReceiver.completionFuture().isDone(), is(false));
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testLimitIsAppliedPerStatementType() {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING.getKey(), 1)
+            .build());
+
+        assertThat(admissionControl.acquire("crate", Plan.StatementType.SELECT).isDone(), is(true));
+        assertThat(admissionControl.acquire("crate", Plan.StatementType.INSERT).isDone(), is(true));
+        assertThat(admissionControl.acquire("crate", Plan.StatementType.DDL).isDone(), is(true));
+    }
+
+    @Test
+    public void testQueuedStatementIsRejectedAfterTimeout() throws Exception {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING.getKey(), 1)
+            .put(AdmissionControl.QUEUE_TIMEOUT_SETTING.getKey(), "10ms")
+            .build());
+
+        admissionControl.acquire("crate", Plan.StatementType.SELECT);
+        CompletableFuture<AdmissionControl.Permit> queued = admissionControl.acquire("crate", Plan.StatementType.SELECT);
+        try {
+            queued.get(5, TimeUnit.SECONDS);
+            fail("Queued statement should have been rejected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(EsRejectedExecutionException.class));
+        }
+        AdmissionControl.QueueStats stats = admissionControl.queues().get(0);
+        assertThat(stats.queued(), is(0));
+        assertThat(stats.timedOut(), is(1L));
+    }
+
+    @Test
+    public void testQueuesOfUsersAreServedRoundRobin() throws Exception {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_SETTING.getKey(), 1)
+            .build());
+
+        AdmissionControl.Permit running = admissionControl.acquire("u1", Plan.StatementType.SELECT).get();
+        CompletableFuture<AdmissionControl.Permit> u1First = admissionControl.acquire("u1", Plan.StatementType.SELECT);
+        CompletableFuture<AdmissionControl.Permit> u1Second = admissionControl.acquire("u1", Plan.StatementType.SELECT);
+        CompletableFuture<AdmissionControl.Permit> u2First = admissionControl.acquire("u2", Plan.StatementType.SELECT);
+
+        running.release();
+        assertThat(u1First.isDone(), is(true));
+        assertThat(u2First.isDone(), is(false));
+
+        u1First.get().release();
+        assertThat(u2First.isDone(), is(true));
+        assertThat(u1Second.isDone(), is(false));
+
+        u2First.get().release();
+        assertThat(u1Second.isDone(), is(true));
+    }
+
+    @Test
+    public void testLimitPerUserDoesNotBlockOtherUsers() {
+        AdmissionControl admissionControl = newAdmissionControl(Settings.builder()
+            .put(AdmissionControl.MAX_CONCURRENT_STATEMENTS_PER_USER_SETTING.getKey(), 1)
+            .build());
+
+        assertThat(admissionControl.acquire("u1", Plan.StatementType.SELECT).isDone(), is(true));
+        assertThat(admissionControl.acquire("u1", Plan.StatementType.SELECT).isDone(), is(false));
+        assertThat(admissionControl.acquire("u2", Plan.StatementType.SELECT).isDone(), is(true));
+    }
+}
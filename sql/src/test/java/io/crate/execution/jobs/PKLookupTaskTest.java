@@ -0,0 +1,190 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import io.crate.breaker.RamAccountingContext;
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.data.RowConsumer;
+import io.crate.exceptions.JobKilledException;
+import io.crate.execution.engine.collect.PKLookupOperation;
+import io.crate.execution.engine.collect.sources.ShardCollectSource;
+import io.crate.execution.engine.collect.stats.ShardLoadStats;
+import io.crate.expression.InputFactory;
+import io.crate.integrationtests.SQLTransportIntegrationTest;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Reference;
+import io.crate.metadata.ReferenceIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.RowGranularity;
+import io.crate.metadata.Schemas;
+import io.crate.planner.operators.PKAndVersion;
+import io.crate.testing.TestingRowConsumer;
+import io.crate.testing.UseRandomizedSchema;
+import io.crate.types.DataTypes;
+import org.apache.logging.log4j.LogManager;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.breaker.MemoryCircuitBreaker;
+import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.test.ESIntegTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static io.crate.execution.support.ThreadPools.numIdleThreads;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+@ESIntegTestCase.ClusterScope(numDataNodes = 1)
+@UseRandomizedSchema(random = false)
+public class PKLookupTaskTest extends SQLTransportIntegrationTest {
+
+    private long originalBufferSize;
+    private MemoryCircuitBreaker breaker;
+    private RamAccountingContext ramAccountingContext;
+
+    @Before
+    public void prepare() {
+        originalBufferSize = RamAccountingContext.FLUSH_BUFFER_SIZE;
+        RamAccountingContext.FLUSH_BUFFER_SIZE = 2;
+        breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(1, ByteSizeUnit.MB), 1.0, LogManager.getLogger(PKLookupTaskTest.class));
+        ramAccountingContext = new RamAccountingContext("dummy", breaker);
+
+        execute("create table t (id integer primary key, x integer) " +
+                "clustered into 3 shards with (number_of_replicas = 0)");
+        ensureGreen();
+        execute("insert into t (id, x) values (?, ?)", new Object[][]{
+            new Object[]{1, 10},
+            new Object[]{2, 20},
+            new Object[]{3, 30},
+            new Object[]{4, 40},
+        });
+        refresh();
+    }
+
+    @After
+    public void resetFlushBufferSize() {
+        RamAccountingContext.FLUSH_BUFFER_SIZE = originalBufferSize;
+    }
+
+    private PKLookupTask createTask(RowConsumer consumer, String... ids) {
+        ClusterService clusterService = internalCluster().getDataNodeInstance(ClusterService.class);
+        ClusterState state = clusterService.state();
+        Map<ShardId, List<PKAndVersion>> idsByShard = new TreeMap<>();
+        for (String id : ids) {
+            ShardId shardId = clusterService.operationRouting().shardId(state, "t", id, null);
+            idsByShard.computeIfAbsent(shardId, k -> new ArrayList<>()).add(new PKAndVersion(id, Versions.MATCH_ANY));
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) internalCluster()
+            .getDataNodeInstance(ThreadPool.class).executor(ThreadPool.Names.GET);
+        PKLookupOperation pkLookupOperation = new PKLookupOperation(
+            internalCluster().getDataNodeInstance(IndicesService.class),
+            mock(ShardCollectSource.class),
+            executor,
+            numIdleThreads(executor, 2),
+            new ShardLoadStats()
+        );
+        Reference idRef = new Reference(
+            new ReferenceIdent(new RelationName(Schemas.DOC_SCHEMA_NAME, "t"), "_id"),
+            RowGranularity.DOC,
+            DataTypes.STRING);
+        return new PKLookupTask(
+            UUID.randomUUID(),
+            1,
+            "pkLookup",
+            ramAccountingContext,
+            CoordinatorTxnCtx.systemTransactionContext(),
+            new InputFactory(internalCluster().getDataNodeInstance(Functions.class)),
+            pkLookupOperation,
+            Collections.emptyList(),
+            Collections.singletonList(idRef),
+            idsByShard,
+            Collections.emptyList(),
+            consumer
+        );
+    }
+
+    @Test
+    public void testTaskIsClosedAndReleasesTheMemoryOnceTheConsumerClosesTheRows() throws Exception {
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        PKLookupTask task = createTask(consumer, "1", "2", "3", "4", "5");
+        task.start();
+
+        assertThat(consumer.getResult().size(), is(4));
+        task.completionFuture().get(5, TimeUnit.SECONDS);
+        assertThat(ramAccountingContext.totalBytes(), greaterThan(0L));
+        assertThat(breaker.getUsed(), is(0L));
+    }
+
+    @Test
+    public void testTaskRetainsTheMemoryUntilTheConsumerClosesTheRows() throws Exception {
+        List<BatchIterator<Row>> rows = new ArrayList<>();
+        PKLookupTask task = createTask((it, failure) -> rows.add(it), "1", "2", "3", "4");
+        task.start();
+
+        BatchIterator<Row> it = rows.get(0);
+        it.loadNextBatch().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(task.completionFuture().isDone(), is(false));
+        assertThat(breaker.getUsed(), greaterThan(0L));
+
+        it.close();
+        task.completionFuture().get(5, TimeUnit.SECONDS);
+        assertThat(breaker.getUsed(), is(0L));
+    }
+
+    @Test
+    public void testKillReleasesTheMemoryAndKillsTheRows() throws Exception {
+        List<BatchIterator<Row>> rows = new ArrayList<>();
+        PKLookupTask task = createTask((it, failure) -> rows.add(it), "1", "2", "3", "4");
+        task.start();
+
+        BatchIterator<Row> it = rows.get(0);
+        it.loadNextBatch().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(breaker.getUsed(), greaterThan(0L));
+
+        task.kill(new JobKilledException());
+        assertThat(task.completionFuture().isCompletedExceptionally(), is(true));
+        assertThat(breaker.getUsed(), is(0L));
+
+        expectedException.expect(JobKilledException.class);
+        it.moveNext();
+    }
+}
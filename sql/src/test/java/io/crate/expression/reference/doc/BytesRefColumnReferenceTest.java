@@ -0,0 +1,128 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.reference.doc;
+
+import io.crate.exceptions.GroupByOnArrayUnsupportedException;
+import io.crate.expression.reference.doc.lucene.BytesRefColumnReference;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class BytesRefColumnReferenceTest extends DocLevelExpressionsTest {
+
+    private static final String COLUMN = "b";
+
+    private BytesRefColumnReference column;
+    private List<LeafReaderContext> leaves;
+
+    public BytesRefColumnReferenceTest() {
+        super("create table t (b string)");
+    }
+
+    @Override
+    protected void insertValues(IndexWriter writer) throws Exception {
+        addDoc(writer, "a");
+        addDoc(writer, "a");
+        addDoc(writer);
+        addDoc(writer, "b");
+        writer.commit();
+
+        // the ordinal 0 of the second segment refers to a different value than in the first segment
+        addDoc(writer, "c");
+        addDoc(writer, "c", "d");
+        writer.commit();
+    }
+
+    private static void addDoc(IndexWriter writer, String... values) throws Exception {
+        Document doc = new Document();
+        for (String value : values) {
+            doc.add(new SortedSetDocValuesField(COLUMN, new BytesRef(value)));
+        }
+        writer.addDocument(doc);
+    }
+
+    @Before
+    public void prepareColumn() throws Exception {
+        MappedFieldType fieldType = KeywordFieldMapper.Defaults.FIELD_TYPE.clone();
+        fieldType.setHasDocValues(true);
+        fieldType.setName(COLUMN);
+        column = new BytesRefColumnReference(COLUMN, fieldType);
+        column.startCollect(ctx);
+        leaves = ReaderUtil.getTopLevelContext(readerContext).leaves();
+        assertThat(leaves.size(), is(2));
+    }
+
+    @Test
+    public void testValuesOfSameOrdinalAndMissingValues() throws Exception {
+        column.setNextReader(leaves.get(0));
+        column.setNextDocId(0);
+        String first = column.value();
+        assertThat(first, is("a"));
+        column.setNextDocId(1);
+        // the value decoded for the previous document with the same ordinal is re-used
+        assertThat(column.value() == first, is(true));
+        column.setNextDocId(2);
+        assertThat(column.value(), nullValue());
+        column.setNextDocId(3);
+        assertThat(column.value(), is("b"));
+    }
+
+    @Test
+    public void testOrdinalsAreNotReusedAcrossSegments() throws Exception {
+        column.setNextReader(leaves.get(0));
+        column.setNextDocId(0);
+        assertThat(column.value(), is("a"));
+
+        column.setNextReader(leaves.get(1));
+        column.setNextDocId(0);
+        assertThat(column.value(), is("c"));
+    }
+
+    @Test
+    public void testValueIsOnlyDecodedIfConsumed() throws Exception {
+        column.setNextReader(leaves.get(0));
+        column.setNextDocId(0);
+        column.setNextDocId(3);
+        assertThat(column.value(), is("b"));
+        column.setNextDocId(2);
+        assertThat(column.value(), nullValue());
+    }
+
+    @Test
+    public void testMultiValuedDocumentIsRejected() throws Exception {
+        column.setNextReader(leaves.get(1));
+        expectedException.expect(GroupByOnArrayUnsupportedException.class);
+        column.setNextDocId(1);
+    }
+}
@@ -22,14 +22,17 @@
 
 package io.crate.expression.reference.doc.lucene;
 
+import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.Reference;
 import io.crate.metadata.ReferenceIdent;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.RowGranularity;
 import io.crate.test.integration.CrateUnitTest;
+import io.crate.types.ArrayType;
 import io.crate.types.DataTypes;
 import io.crate.types.SetType;
 import org.elasticsearch.index.mapper.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
 import org.junit.Test;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -56,4 +59,43 @@ public class LuceneReferenceResolverTest extends CrateUnitTest {
         assertThat(luceneReferenceResolver.getImplementation(setRef),
             instanceOf(DocCollectorExpression.ChildDocCollectorExpression.class));
     }
+
+    @Test
+    public void testGetImplementationWithArrayColumnsReadFromDocValuesIfUnorderedArraysAreAllowed() {
+        LuceneReferenceResolver resolver = new LuceneReferenceResolver(i -> docValuesFieldType(), null, true);
+        Reference doubleArrayRef = new Reference(new ReferenceIdent(
+            new RelationName("s", "t"), "a"),
+            RowGranularity.DOC,
+            DataTypes.DOUBLE_ARRAY);
+        assertThat(resolver.getImplementation(doubleArrayRef), instanceOf(NumericArrayColumnReference.class));
+
+        Reference stringArrayRef = new Reference(new ReferenceIdent(
+            new RelationName("s", "t"), "b"),
+            RowGranularity.DOC,
+            DataTypes.STRING_ARRAY);
+        assertThat(resolver.getImplementation(stringArrayRef), instanceOf(BytesRefArrayColumnReference.class));
+
+        Reference objectArrayRef = new Reference(new ReferenceIdent(
+            new RelationName("s", "t"), "c"),
+            RowGranularity.DOC,
+            new ArrayType(DataTypes.OBJECT));
+        assertThat(resolver.getImplementation(objectArrayRef),
+            instanceOf(DocCollectorExpression.ChildDocCollectorExpression.class));
+    }
+
+    @Test
+    public void testGetImplementationOfTypedObjectSubColumnReadsFromDocValues() {
+        LuceneReferenceResolver resolver = new LuceneReferenceResolver(i -> docValuesFieldType(), null);
+        Reference subColumnRef = new Reference(new ReferenceIdent(
+            new RelationName("s", "t"), new ColumnIdent("metrics", "latency")),
+            RowGranularity.DOC,
+            DataTypes.INTEGER);
+        assertThat(resolver.getImplementation(subColumnRef), instanceOf(IntegerColumnReference.class));
+    }
+
+    private static MappedFieldType docValuesFieldType() {
+        MappedFieldType fieldType = KeywordFieldMapper.Defaults.FIELD_TYPE.clone();
+        fieldType.setHasDocValues(true);
+        return fieldType;
+    }
 }
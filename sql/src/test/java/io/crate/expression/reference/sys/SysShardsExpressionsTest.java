@@ -22,6 +22,7 @@
 package io.crate.expression.reference.sys;
 
 import com.google.common.collect.ImmutableMap;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.NestableInput;
 import io.crate.expression.reference.ReferenceResolver;
 import io.crate.expression.reference.sys.shard.ShardRecoveryStateExpression;
@@ -98,7 +99,7 @@ public class SysShardsExpressionsTest extends CrateDummyClusterServiceUnitTest {
             clusterService,
             new DocSchemaInfoFactory(new TestingDocTableInfoFactory(Collections.emptyMap()), (ident, state) -> null , functions, udfService)
         );
-        resolver = new ShardReferenceResolver(schemas, new ShardRowContext(indexShard, clusterService));
+        resolver = new ShardReferenceResolver(schemas, new ShardRowContext(indexShard, clusterService, new ShardLoad()));
     }
 
     private IndexShard mockIndexShard() {
@@ -346,7 +347,7 @@ public class SysShardsExpressionsTest extends CrateDummyClusterServiceUnitTest {
                 return recoveryState.getTimer().time();
             }
         };
-        ShardRowContext shardRowContext = new ShardRowContext(indexShard, clusterService);
+        ShardRowContext shardRowContext = new ShardRowContext(indexShard, clusterService, new ShardLoad());
         shardRecoveryStateExpression.setNextRow(shardRowContext);
 
         assertNull(shardRecoveryStateExpression.value());
@@ -357,7 +358,7 @@ public class SysShardsExpressionsTest extends CrateDummyClusterServiceUnitTest {
         IndexShard mock = mockIndexShard();
         when(mock.storeStats()).thenReturn(null);
 
-        ShardReferenceResolver resolver = new ShardReferenceResolver(schemas, new ShardRowContext(mock, clusterService));
+        ShardReferenceResolver resolver = new ShardReferenceResolver(schemas, new ShardRowContext(mock, clusterService, new ShardLoad()));
         Reference refInfo = refInfo("sys.shards.size", DataTypes.LONG, RowGranularity.SHARD);
         NestableInput<Long> shardSizeExpression = (NestableInput<Long>) resolver.getImplementation(refInfo);
         assertThat(shardSizeExpression.value(), is(0L));
@@ -79,6 +79,37 @@ public class ExplainAnalyzeIntegrationTest extends SQLTransportIntegrationTest {
         }
     }
 
+    @Test
+    public void testExplainAnalyzeReportsOperatorStatsOfPhases() {
+        execute("explain analyze select name, count(*) from locations group by name");
+
+        Map<String, Object> analysis = (Map<String, Object>) response.rows()[0][0];
+        Map<String, Object> executeAnalysis = (Map<String, Object>) analysis.get("Execute");
+        Map<String, Map<String, Object>> phasesAnalysis = (Map<String, Map<String, Object>>) executeAnalysis.get("Phases");
+
+        List<Object> operatorNames = new ArrayList<>();
+        for (Map<String, Object> phaseAnalysis : phasesAnalysis.values()) {
+            Map<String, List<Map<String, Object>>> operatorsByNode =
+                (Map<String, List<Map<String, Object>>>) phaseAnalysis.get("operators");
+            if (operatorsByNode == null) {
+                continue;
+            }
+            for (List<Map<String, Object>> operators : operatorsByNode.values()) {
+                for (Map<String, Object> operator : operators) {
+                    assertThat(operator, Matchers.hasKey("Rows"));
+                    operatorNames.add(operator.get("Name"));
+                }
+            }
+        }
+        assertThat(operatorNames, Matchers.hasItems("COLLECT", "GroupingProjector"));
+
+        for (Map.Entry<String, Object> entry : executeAnalysis.entrySet()) {
+            if (entry.getValue() instanceof Map) {
+                assertThat((Map<String, Object>) entry.getValue(), Matchers.not(Matchers.hasKey("Operators")));
+            }
+        }
+    }
+
     @Test
     public void testExplainSelectWithoutJobExecutionContexts() {
         execute("explain analyze select 1");
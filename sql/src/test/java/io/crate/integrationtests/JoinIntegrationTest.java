@@ -249,8 +249,8 @@ public class JoinIntegrationTest extends SQLTransportIntegrationTest {
         assertThat(printedTable(response.rows()),
             is("strict| blob_path\n" +
                "strict| id\n" +
-               "strict| min_lucene_version\n" +
-               "strict| node\n"));
+               "strict| load\n" +
+               "strict| load['collected_docs']\n"));
     }
 
     @Test
@@ -127,6 +127,19 @@ public class LuceneQueryBuilderIntegrationTest extends SQLTransportIntegrationTe
         assertThat((Integer) ((Object[]) response.rows()[0][0])[2], is(3));
     }
 
+    @Test
+    public void testAnyWithColumnOnLeftSideMatchesSameAsSource() throws Exception {
+        // the array is read from the column store which drops null elements, duplicates and the order
+        execute("create table t (x int, ys array(int)) clustered into 1 shards with (number_of_replicas = 0)");
+        execute("insert into t (x, ys) values (1, [3, 1, 1]), (2, [null, 2]), (3, [null, 4]), (4, []), (5, [5, 5])");
+        execute("refresh table t");
+
+        execute("select x from t where x = any(ys) order by x");
+        assertThat(printedTable(response.rows()), is("1\n2\n5\n"));
+        execute("select x from t where x != any(ys) order by x");
+        assertThat(printedTable(response.rows()), is("1\n3\n"));
+    }
+
     @Test
     public void testWhereSubstringWithSysColumn() throws Exception {
         execute("create table t (dummy string) clustered into 2 shards with (number_of_replicas = 0)");
@@ -46,6 +46,7 @@ import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 
 @ESIntegTestCase.ClusterScope(numClientNodes = 0, numDataNodes = 2, supportsDedicatedMasters = false)
@@ -113,6 +114,25 @@ public class NodeStatsTest extends SQLTransportIntegrationTest {
         assertThat((Integer) queues[0], greaterThanOrEqualTo(0));
     }
 
+    @Test
+    public void testThreadPoolTaskTimes() throws Exception {
+        SQLResponse response = execute("select thread_pools['name'], thread_pools['queue_time_p99'], " +
+                                       "thread_pools['run_time_max'] from sys.nodes limit 1");
+
+        Object[] names = (Object[]) response.rows()[0][0];
+        Object[] queueTimes = (Object[]) response.rows()[0][1];
+        Object[] runTimes = (Object[]) response.rows()[0][2];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals("search")) {
+                assertThat((Long) queueTimes[i], greaterThanOrEqualTo(0L));
+                assertThat((Long) runTimes[i], greaterThanOrEqualTo(0L));
+            } else if (names[i].equals("generic")) {
+                assertThat(queueTimes[i], nullValue());
+                assertThat(runTimes[i], nullValue());
+            }
+        }
+    }
+
     @Test
     public void testNetwork() throws Exception {
         SQLResponse response = execute("select network from sys.nodes limit 1");
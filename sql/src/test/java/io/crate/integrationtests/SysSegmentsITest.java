@@ -0,0 +1,48 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.integrationtests;
+
+import org.elasticsearch.test.ESIntegTestCase;
+import org.junit.Test;
+
+import static io.crate.testing.TestingHelpers.printedTable;
+import static org.hamcrest.Matchers.is;
+
+@ESIntegTestCase.ClusterScope(numDataNodes = 2)
+public class SysSegmentsITest extends SQLTransportIntegrationTest {
+
+    @Test
+    public void testSegmentsOfRefreshedShards() {
+        execute("create table doc.t1 (id int) clustered into 1 shards with (number_of_replicas=0)");
+        execute("insert into doc.t1 (id) values (1), (2), (3)");
+        execute("refresh table doc.t1");
+        execute("delete from doc.t1 where id = 1");
+        execute("refresh table doc.t1");
+
+        execute("select table_schema, table_name, partition_ident, shard_id, primary, " +
+                "sum(num_docs), sum(deleted_docs) " +
+                "from sys.segments where table_name = 't1' and search = true and size > 0 " +
+                "group by table_schema, table_name, partition_ident, shard_id, primary");
+        assertThat(printedTable(response.rows()), is("doc| t1| NULL| 0| true| 2| 1\n"));
+    }
+}
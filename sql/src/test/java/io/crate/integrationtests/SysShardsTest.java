@@ -163,10 +163,11 @@ public class SysShardsTest extends SQLTransportIntegrationTest {
     public void testSelectStarAllTables() throws Exception {
         SQLResponse response = execute("select * from sys.shards");
         assertEquals(26L, response.rowCount());
-        assertEquals(16, response.cols().length);
+        assertEquals(17, response.cols().length);
         assertThat(response.cols(), arrayContaining(
             "blob_path",
             "id",
+            "load",
             "min_lucene_version",
             "node",
             "num_docs",
@@ -395,6 +396,21 @@ public class SysShardsTest extends SQLTransportIntegrationTest {
         }
     }
 
+    @Test
+    public void testLoadIsRecordedPerShard() throws Exception {
+        execute("create table t1 (id integer primary key) clustered into 1 shards with (number_of_replicas=0)");
+        ensureYellow();
+        execute("insert into t1 (id) values (1), (2), (3)");
+        execute("refresh table t1");
+        execute("select * from t1");
+        execute("select * from t1 where id = 1");
+
+        execute("select load['indexed_docs'], load['collected_docs'], load['pk_lookups'], " +
+                "load['indexed_docs_rate'] >= 0.0, load['query_time'] >= 0 " +
+                "from sys.shards where table_name = 't1'");
+        assertThat(TestingHelpers.printedTable(response.rows()), is("3| 3| 1| true| true\n"));
+    }
+
     @Test
     public void testScalarEvaluatesInErrorOnSysShards() throws Exception {
         // we need at least 1 shard, otherwise the table is empty and no evaluation occurs
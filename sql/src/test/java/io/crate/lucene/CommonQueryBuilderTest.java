@@ -27,6 +27,7 @@ import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.analyze.relations.TableRelation;
 import io.crate.auth.user.User;
 import io.crate.exceptions.ConversionException;
+import io.crate.expression.reference.doc.lucene.NumericArrayColumnReference;
 import io.crate.lucene.match.CrateRegexQuery;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.Schemas;
@@ -55,9 +56,11 @@ import java.util.Arrays;
 import java.util.Map;
 
 import static io.crate.lucene.LikeQuery.convertSqlLikeToLuceneWildcard;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 
 public class CommonQueryBuilderTest extends LuceneQueryBuilderTest {
@@ -111,6 +114,22 @@ public class CommonQueryBuilderTest extends LuceneQueryBuilderTest {
         assertThat(query.toString(), is("+(+*:* -x:[10 TO 10])"));
     }
 
+    @Test
+    public void testAnyOnArrayColumnWithColumnOnLeftSideReadsArrayFromDocValues() throws Exception {
+        Query query = convert("x = any(y_array)");
+        assertThat(query, instanceOf(GenericFunctionQuery.class));
+        assertThat(Arrays.asList(((GenericFunctionQuery) query).expressions()),
+            hasItem(instanceOf(NumericArrayColumnReference.class)));
+    }
+
+    @Test
+    public void testAnyOnArrayColumnWithArrayColumnOnLeftSideReadsArraysFromSource() throws Exception {
+        Query query = convert("array_length(d_array, 1) = any(y_array)");
+        assertThat(query, instanceOf(GenericFunctionQuery.class));
+        assertThat(Arrays.asList(((GenericFunctionQuery) query).expressions()),
+            not(hasItem(instanceOf(NumericArrayColumnReference.class))));
+    }
+
     @Test
     public void testEqOnTwoArraysBecomesGenericFunctionQuery() throws Exception {
         Query query = convert("y_array = [10, 20, 30]");
@@ -0,0 +1,107 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+package io.crate.metadata.sys;
+
+import com.google.common.collect.ImmutableList;
+import io.crate.metadata.sys.StatementMetrics.Metrics;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+public class StatementMetricsTest {
+
+    @Test
+    public void testStatementsWhichOnlyDifferInLiteralsAreRecordedTogether() {
+        StatementMetrics metrics = new StatementMetrics(10);
+        metrics.recordValue("select * from t where x = 1", 10, 1, 100);
+        metrics.recordValue("SELECT * FROM t WHERE x = 20", 30, 2, 200);
+        metrics.recordFailedExecution("select * from t where x = 'foo'", 20, 300);
+
+        List<Metrics> entries = ImmutableList.copyOf(metrics);
+        assertThat(entries.size(), is(1));
+        Metrics entry = entries.get(0);
+        assertThat(entry.statement(), is("SELECT * FROM t WHERE x = ?"));
+        assertThat(entry.fingerprint(), is(StatementMetrics.fingerprint("SELECT * FROM t WHERE x = ?")));
+        assertThat(entry.histogram().getTotalCount(), is(3L));
+        assertThat(entry.failedCount(), is(1L));
+        assertThat(entry.rowCount(), is(3L));
+        assertThat(entry.sumOfDurations(), is(60L));
+        assertThat(entry.lastExecuted(), is(300L));
+    }
+
+    @Test
+    public void testLeastRecentlyExecutedStatementIsEvicted() {
+        StatementMetrics metrics = new StatementMetrics(2);
+        metrics.recordValue("select 1 from t1", 10, 1, 100);
+        metrics.recordValue("select 1 from t2", 10, 1, 100);
+        metrics.recordValue("select 2 from t1", 10, 1, 100);
+        metrics.recordValue("select 1 from t3", 10, 1, 100);
+
+        assertThat(ImmutableList.copyOf(metrics).stream().map(Metrics::statement).collect(Collectors.toList()),
+            contains("SELECT ? FROM t1", "SELECT ? FROM t3"));
+    }
+
+    @Test
+    public void testReducingTheMaxEntriesEvictsEntries() {
+        StatementMetrics metrics = new StatementMetrics(10);
+        metrics.recordValue("select 1 from t1", 10, 1, 100);
+        metrics.recordValue("select 1 from t2", 10, 1, 100);
+        metrics.maxEntries(1);
+        assertThat(ImmutableList.copyOf(metrics).size(), is(1));
+
+        metrics.maxEntries(0);
+        metrics.recordValue("select 1 from t3", 10, 1, 100);
+        assertThat(ImmutableList.copyOf(metrics).size(), is(0));
+    }
+
+    @Test
+    public void testHighDurationIsCapped() {
+        StatementMetrics metrics = new StatementMetrics(10);
+        metrics.recordValue("select 1", TimeUnit.MINUTES.toMillis(30), 1, 100);
+        assertThat(metrics.iterator().next().sumOfDurations(), is(TimeUnit.MINUTES.toMillis(30)));
+    }
+
+    @Test
+    public void testConcurrentlyRecordedStatementsStayBounded() throws Exception {
+        StatementMetrics metrics = new StatementMetrics(5);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int threadNum = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    metrics.recordValue("select 1 from t" + threadNum + "_" + i, 10, 1, 100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(ImmutableList.copyOf(metrics).size(), is(5));
+    }
+}
@@ -127,6 +127,7 @@ public class PlanPrinterTest extends CrateDummyClusterServiceUnitTest {
                "left={Collect={type=executionPlan, " +
                    "collectPhase={COLLECT={type=executionPhase, id=0, executionNodes=[n1], " +
                        "distribution={distributedByColumn=0, type=SAME_NODE}, toCollect=Ref{doc.t1.x, integer}, " +
+                       "projections=[{type=TopN, limit=10, offset=0, outputs=IC{0, integer}}], " +
                        "routing={n1={t1=[0]}}, where=true}}}}, " +
                "right={Collect={type=executionPlan, " +
                     "collectPhase={COLLECT={type=executionPhase, id=1, executionNodes=[n1], " +
@@ -151,10 +152,12 @@ public class PlanPrinterTest extends CrateDummyClusterServiceUnitTest {
                "left={Collect={type=executionPlan, " +
                    "collectPhase={COLLECT={type=executionPhase, id=0, executionNodes=[n1], " +
                        "distribution={distributedByColumn=0, type=BROADCAST}, toCollect=Ref{doc.t1.x, integer}, " +
+                       "projections=[{type=TopN, limit=10, offset=0, outputs=IC{0, integer}}], " +
                        "routing={n1={t1=[0]}}, where=true}}}}, " +
                "right={Collect={type=executionPlan, " +
                    "collectPhase={COLLECT={type=executionPhase, id=1, executionNodes=[n1], " +
                    "distribution={distributedByColumn=0, type=BROADCAST}, toCollect=Ref{doc.t2.y, integer}, " +
+                   "projections=[{type=TopN, limit=10, offset=0, outputs=IC{0, integer}}], " +
                    "routing={n1={t2=[0, 1]}}, where=true}}}}, " +
                "mergePhase={MERGE={type=executionPhase, id=2, executionNodes=[n1], " +
                    "distribution={distributedByColumn=0, type=BROADCAST}, " +
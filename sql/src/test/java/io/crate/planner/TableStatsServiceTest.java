@@ -26,10 +26,18 @@ import com.carrotsearch.hppc.ObjectObjectMap;
 import io.crate.action.sql.SQLOperations;
 import io.crate.action.sql.Session;
 import io.crate.data.RowN;
+import io.crate.execution.engine.collect.stats.PublishColumnStatsRequest;
+import io.crate.execution.engine.collect.stats.TransportPublishColumnStatsAction;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.Reference;
+import io.crate.metadata.ReferenceIdent;
 import io.crate.metadata.RelationName;
+import io.crate.metadata.RowGranularity;
 import io.crate.plugin.SQLPlugin;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.types.DataTypes;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
@@ -37,12 +45,19 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.junit.Test;
 import org.mockito.Answers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.IsNull.notNullValue;
@@ -71,7 +86,8 @@ public class TableStatsServiceTest extends CrateDummyClusterServiceUnitTest {
             THREAD_POOL,
             clusterService,
             new TableStats(),
-            mock(SQLOperations.class, Answers.RETURNS_MOCKS.get()));
+            mock(SQLOperations.class, Answers.RETURNS_MOCKS.get()),
+            mock(TransportPublishColumnStatsAction.class));
 
         assertThat(statsService.refreshInterval,
             is(TimeValue.timeValueMinutes(0)));
@@ -83,7 +99,8 @@ public class TableStatsServiceTest extends CrateDummyClusterServiceUnitTest {
             THREAD_POOL,
             clusterService,
             new TableStats(),
-            mock(SQLOperations.class, Answers.RETURNS_MOCKS.get()));
+            mock(SQLOperations.class, Answers.RETURNS_MOCKS.get()),
+            mock(TransportPublishColumnStatsAction.class));
 
         assertThat(statsService.refreshInterval,
             is(TableStatsService.STATS_SERVICE_REFRESH_INTERVAL_SETTING.getDefault()));
@@ -140,6 +157,144 @@ public class TableStatsServiceTest extends CrateDummyClusterServiceUnitTest {
         assertThat(tableStats.estimatedSizePerRow(new RelationName("notInCache", "foo")), is(-1L));
     }
 
+    @Test
+    public void testStatisticsOfAllColumnsAreCollectedByASingleStatement() {
+        RelationName relationName = new RelationName("doc", "t1");
+        Reference name = new Reference(new ReferenceIdent(relationName, "name"), RowGranularity.DOC, DataTypes.STRING);
+        Reference x = new Reference(new ReferenceIdent(relationName, "x"), RowGranularity.DOC, DataTypes.INTEGER);
+        List<Reference> columns = Arrays.asList(x, name);
+
+        assertThat(TableStatsService.columnStatsStatement(relationName, columns),
+            is("select count(*), count(x), hyperloglog_distinct(x), " +
+               "percentile(x, [0.0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0]), " +
+               "count(name), hyperloglog_distinct(name) from doc.t1"));
+        assertThat(TableStatsService.sampleStatement(relationName, columns, 300_000L),
+            is("select x, name from doc.t1 where random() < 0.1 limit 30000"));
+        // the table is small enough or the number of rows is unknown
+        assertThat(TableStatsService.sampleStatement(relationName, columns, 1_000L),
+            is("select x, name from doc.t1 limit 30000"));
+        assertThat(TableStatsService.sampleStatement(relationName, columns, -1L),
+            is("select x, name from doc.t1 limit 30000"));
+    }
+
+    @Test
+    public void testSampleToColumnStatsConversion() throws Exception {
+        RelationName relationName = new RelationName("doc", "t1");
+        Reference name = new Reference(new ReferenceIdent(relationName, "name"), RowGranularity.DOC, DataTypes.STRING);
+        Reference x = new Reference(new ReferenceIdent(relationName, "x"), RowGranularity.DOC, DataTypes.INTEGER);
+
+        TableStatsService.SampleResultReceiver receiver =
+            new TableStatsService.SampleResultReceiver(Arrays.asList(x, name), -1L);
+        for (int i = 1; i <= 10; i++) {
+            receiver.setNextRow(new RowN(new Object[]{11 - i, i <= 2 ? null : (i <= 6 ? "a" : (i <= 9 ? "b" : "c"))}));
+        }
+        receiver.allFinished(false);
+        Map<ColumnIdent, ColumnStats> stats = receiver.completionFuture()
+            .thenApply(ignored -> receiver.columnStats())
+            .get(10, TimeUnit.SECONDS);
+
+        ColumnStats nameStats = stats.get(new ColumnIdent("name"));
+        assertThat(nameStats.nullFraction(), is(0.2));
+        assertThat(nameStats.approxDistinct(), is(3.0));
+        assertThat(nameStats.mostCommonValues(), is(Arrays.<Object>asList("a", "b", "c")));
+        assertThat(nameStats.mostCommonFreqs(), is(new double[]{0.4, 0.3, 0.1}));
+        assertThat(nameStats.histogramBounds().isEmpty(), is(true));
+
+        ColumnStats xStats = stats.get(new ColumnIdent("x"));
+        assertThat(xStats.nullFraction(), is(0.0));
+        assertThat(xStats.approxDistinct(), is(10.0));
+        assertThat(xStats.mostCommonValues().size(), is(10));
+        assertThat(xStats.histogramBounds(),
+            is(Arrays.<Object>asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 6.0, 7.0, 8.0, 9.0, 10.0)));
+    }
+
+    @Test
+    public void testOnlyFrequentValuesOfASampleAreMostCommonValues() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+        }
+        for (int i = 0; i < 99; i++) {
+            values.add(42);
+            values.add(7);
+        }
+        values.add(7);
+        ColumnStats stats = TableStatsService.sampleStats(DataTypes.INTEGER, values, 1250, 100_000L);
+
+        assertThat(stats.nullFraction(), closeTo(0.0408, 0.0001));
+        assertThat(stats.mostCommonValues(), is(Arrays.<Object>asList(7, 42)));
+        assertThat(stats.mostCommonFreqs()[0], closeTo(0.0808, 0.0001));
+        assertThat(stats.mostCommonFreqs()[1], closeTo(0.08, 0.0001));
+        // the distinct values are extrapolated to the rows of the table
+        assertThat(stats.approxDistinct(), greaterThan(1000.0));
+    }
+
+    @Test
+    public void testRowToColumnStatsConversion() throws Exception {
+        RelationName relationName = new RelationName("doc", "t1");
+        Reference name = new Reference(new ReferenceIdent(relationName, "name"), RowGranularity.DOC, DataTypes.STRING);
+        Reference x = new Reference(new ReferenceIdent(relationName, "x"), RowGranularity.DOC, DataTypes.INTEGER);
+        ColumnStats sampledNameStats = new ColumnStats(
+            0.1, 3.0, Collections.emptyList(), Collections.singletonList("a"), new double[]{0.5});
+
+        TableStatsService.ColumnStatsResultReceiver receiver = new TableStatsService.ColumnStatsResultReceiver(
+            Arrays.asList(name, x), Collections.singletonMap(new ColumnIdent("name"), sampledNameStats));
+        receiver.setNextRow(new RowN(new Object[]{10L, 8L, 4L, 10L, 10L, new Object[]{1.0, 5.5, 10.0}}));
+        receiver.allFinished(false);
+        Map<ColumnIdent, ColumnStats> stats = receiver.completionFuture()
+            .thenApply(ignored -> receiver.columnStats())
+            .get(10, TimeUnit.SECONDS);
+
+        ColumnStats nameStats = stats.get(new ColumnIdent("name"));
+        assertThat(nameStats.nullFraction(), is(0.2));
+        assertThat(nameStats.approxDistinct(), is(4.0));
+        assertThat(nameStats.histogramBounds().isEmpty(), is(true));
+        assertThat(nameStats.mostCommonValues(), is(Collections.<Object>singletonList("a")));
+
+        ColumnStats xStats = stats.get(new ColumnIdent("x"));
+        assertThat(xStats.nullFraction(), is(0.0));
+        assertThat(xStats.approxDistinct(), is(10.0));
+        assertThat(xStats.histogramBounds(), is(Arrays.<Object>asList(1.0, 5.5, 10.0)));
+        assertThat(xStats.mostCommonValues().isEmpty(), is(true));
+
+        TableStats tableStats = new TableStats();
+        tableStats.updateColumnStats(relationName, Collections.singletonMap(new ColumnIdent("x"), xStats));
+        assertThat(tableStats.columnStats(relationName, new ColumnIdent("x")), is(xStats));
+        assertThat(tableStats.columnStats(new RelationName("doc", "t2"), new ColumnIdent("x")), is(nullValue()));
+    }
+
+    @Test
+    public void testDistinctValuesOfSampleAreExtrapolatedIfMostValuesAreDistinct() {
+        // few distinct values, the sample is assumed to contain all of them
+        assertThat(TableStatsService.estimateDistinct(100_000L, 20L, 0.0, 1_000_000L), is(20.0));
+        // all sampled values are distinct
+        assertThat(TableStatsService.estimateDistinct(100_000L, 100_000L, 0.5, 1_000_000L), is(500_000.0));
+        assertThat(TableStatsService.estimateDistinct(100_000L, 50_000L, 0.0, 1_000_000L), is(500_000.0));
+        // the number of rows is unknown
+        assertThat(TableStatsService.estimateDistinct(100_000L, 50_000L, 0.0, -1L), is(50_000.0));
+    }
+
+    @Test
+    public void testStreamingOfPublishColumnStatsRequest() throws Exception {
+        RelationName relationName = new RelationName("doc", "t1");
+        ColumnStats stats = new ColumnStats(
+            0.25, 42.0, Arrays.<Object>asList(1.0, 5.5, 10.0), Arrays.<Object>asList(3, 7), new double[]{0.2, 0.1});
+        PublishColumnStatsRequest request = new PublishColumnStatsRequest(
+            relationName, Collections.singletonMap(new ColumnIdent("x"), stats));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        PublishColumnStatsRequest streamed = new PublishColumnStatsRequest(out.bytes().streamInput());
+
+        assertThat(streamed.relationName(), is(relationName));
+        ColumnStats streamedStats = streamed.statsByColumn().get(new ColumnIdent("x"));
+        assertThat(streamedStats.nullFraction(), is(0.25));
+        assertThat(streamedStats.approxDistinct(), is(42.0));
+        assertThat(streamedStats.histogramBounds(), is(stats.histogramBounds()));
+        assertThat(streamedStats.mostCommonValues(), is(stats.mostCommonValues()));
+        assertThat(streamedStats.mostCommonFreqs(), is(stats.mostCommonFreqs()));
+    }
+
     @Test
     public void testStatsQueriesCorrectly() {
         SQLOperations sqlOperations = mock(SQLOperations.class);
@@ -151,7 +306,8 @@ public class TableStatsServiceTest extends CrateDummyClusterServiceUnitTest {
             THREAD_POOL,
             clusterService,
             new TableStats(),
-            sqlOperations
+            sqlOperations,
+            mock(TransportPublishColumnStatsAction.class)
         );
         statsService.run();
 
@@ -172,7 +328,8 @@ public class TableStatsServiceTest extends CrateDummyClusterServiceUnitTest {
             THREAD_POOL,
             clusterService,
             new TableStats(),
-            sqlOperations
+            sqlOperations,
+            mock(TransportPublishColumnStatsAction.class)
         );
 
         statsService.run();
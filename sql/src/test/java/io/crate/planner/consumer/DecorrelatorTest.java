@@ -0,0 +1,107 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.planner.consumer;
+
+import io.crate.action.sql.SessionContext;
+import io.crate.analyze.MultiSourceSelect;
+import io.crate.analyze.QueriedTable;
+import io.crate.analyze.relations.QueriedRelation;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.planner.node.dql.join.JoinType;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
+import io.crate.testing.T3;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static io.crate.testing.TestingHelpers.getFunctions;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class DecorrelatorTest extends CrateDummyClusterServiceUnitTest {
+
+    private SQLExecutor executor;
+    private Decorrelator decorrelator = new Decorrelator(getFunctions());
+
+    @Before
+    public void initExecutor() throws Exception {
+        executor = SQLExecutor.builder(clusterService)
+            .addDocTable(T3.T1_INFO)
+            .addDocTable(T3.T2_INFO)
+            .addDocTable(T3.T3_INFO)
+            .build();
+    }
+
+    @Test
+    public void testGatherCandidates() throws Exception {
+        QueriedTable<?> relation = executor.analyze(
+            "select * from t1 " +
+            "where exists (select 1 from t2 where t2.y = t1.x) " +
+            "   and not exists (select 1 from t3 where t3.z = t1.i) " +
+            "   and x > (select max(y) from t2 where t2.i = t1.i) " +
+            "   and a in (select 'foo')");
+        List<Decorrelator.Candidate> candidates =
+            Decorrelator.gatherCandidates(relation.where().query(), relation.tableRelation());
+
+        assertThat(candidates.size(), is(3));
+        assertThat(candidates.get(0).kind, is(Decorrelator.Kind.EXISTS));
+        assertThat(candidates.get(1).kind, is(Decorrelator.Kind.NOT_EXISTS));
+        assertThat(candidates.get(2).kind, is(Decorrelator.Kind.SCALAR));
+    }
+
+    @Test
+    public void testRewriteOfCorrelatedAggregate() throws Exception {
+        QueriedRelation relation = executor.analyze(
+            "select * from t1 where x > (select max(y) from t2 where t2.i = t1.i and t2.b = 'foo')");
+        MultiSourceSelect mss = (MultiSourceSelect) decorrelator.tryRewrite(
+            relation, new CoordinatorTxnCtx(SessionContext.systemSessionContext()));
+
+        assertThat(mss.sources().size(), is(2));
+        assertThat(mss.joinPairs().get(0).joinType(), is(JoinType.INNER));
+        QueriedRelation grouped = (QueriedRelation) mss.sources().values().toArray()[1];
+        assertThat(grouped.querySpec().groupBy().size(), is(1));
+        assertThat(grouped.querySpec().hasAggregates(), is(true));
+        assertThat(grouped.where().hasQuery(), is(true));
+    }
+
+    @Test
+    public void testRewriteOfNotExistsIsAntiJoin() throws Exception {
+        QueriedRelation relation = executor.analyze(
+            "select * from t1 where not exists (select 1 from t2 where t2.y = t1.x)");
+        MultiSourceSelect mss = (MultiSourceSelect) decorrelator.tryRewrite(
+            relation, new CoordinatorTxnCtx(SessionContext.systemSessionContext()));
+
+        assertThat(mss.joinPairs().get(0).joinType(), is(JoinType.ANTI));
+    }
+
+    @Test
+    public void testUncorrelatedSubqueryIsNotRewritten() throws Exception {
+        QueriedRelation relation = executor.analyze("select * from t1 where x = (select max(y) from t2)");
+        QueriedRelation rewritten = decorrelator.tryRewrite(
+            relation, new CoordinatorTxnCtx(SessionContext.systemSessionContext()));
+
+        assertThat(rewritten, nullValue());
+    }
+}
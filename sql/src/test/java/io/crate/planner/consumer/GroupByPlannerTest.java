@@ -32,6 +32,7 @@ import io.crate.execution.dsl.projection.FilterProjection;
 import io.crate.execution.dsl.projection.GroupProjection;
 import io.crate.execution.dsl.projection.OrderedTopNProjection;
 import io.crate.execution.dsl.projection.Projection;
+import io.crate.execution.dsl.projection.SortedGroupProjection;
 import io.crate.execution.dsl.projection.TopNProjection;
 import io.crate.execution.engine.aggregation.impl.CountAggregation;
 import io.crate.expression.symbol.AggregateMode;
@@ -71,8 +72,10 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -667,6 +670,20 @@ public class GroupByPlannerTest extends CrateDummyClusterServiceUnitTest {
         assertThat(orderBy.valueType(), is(DataTypes.TIMESTAMP));
     }
 
+    @Test
+    public void testGroupByOnSubQuerySortedByGroupKeyUsesSortedGroupProjection() throws Exception {
+        Merge merge = e.plan(
+            "select name, count(*) from (select name from users order by name limit 10) u group by name");
+        assertThat(merge.mergePhase().projections(), hasItem(instanceOf(SortedGroupProjection.class)));
+    }
+
+    @Test
+    public void testGroupByOnSubQueryNotSortedByGroupKeyUsesGroupProjection() throws Exception {
+        Merge merge = e.plan(
+            "select name, count(*) from (select id, name from users order by id limit 10) u group by name");
+        assertThat(merge.mergePhase().projections(), not(hasItem(instanceOf(SortedGroupProjection.class))));
+    }
+
     @Test
     @Ignore("Need to figure out a way to test this - the projection no longer matches the loop output")
     public void testJoinConditionFieldsAreNotPartOfNLOutputInGroupByOnJoin() throws Exception {
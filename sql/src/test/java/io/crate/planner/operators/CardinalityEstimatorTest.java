@@ -0,0 +1,133 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.planner.operators;
+
+import com.google.common.collect.ImmutableMap;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.ColumnIdent;
+import io.crate.planner.ColumnStats;
+import io.crate.planner.TableStats;
+import io.crate.planner.node.dql.join.JoinType;
+import io.crate.test.integration.CrateUnitTest;
+import io.crate.testing.SqlExpressions;
+import io.crate.testing.T3;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+public class CardinalityEstimatorTest extends CrateUnitTest {
+
+    private static final SqlExpressions SQL_EXPRESSIONS = new SqlExpressions(T3.SOURCES);
+
+    private TableStats tableStats;
+
+    @Before
+    public void setUpStats() {
+        tableStats = new TableStats();
+        tableStats.updateColumnStats(T3.T1_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("x"), new ColumnStats(0.0, 100.0, Arrays.<Object>asList(0, 25, 50, 75, 100)),
+            new ColumnIdent("i"), new ColumnStats(0.5, 10.0, Collections.emptyList())
+        ));
+        tableStats.updateColumnStats(T3.T2_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("y"), new ColumnStats(0.0, 1000.0, Collections.emptyList())
+        ));
+    }
+
+    private double selectivity(String expression) {
+        Symbol symbol = SQL_EXPRESSIONS.asSymbol(expression);
+        return CardinalityEstimator.selectivity(symbol, tableStats);
+    }
+
+    @Test
+    public void testEqSelectivityUsesNumberOfDistinctValues() {
+        assertThat(selectivity("t1.x = 10"), closeTo(0.01, 0.0001));
+        assertThat(selectivity("t1.i = 10"), closeTo(0.05, 0.0001));
+    }
+
+    @Test
+    public void testEqSelectivityUsesMostCommonValues() {
+        tableStats.updateColumnStats(T3.T1_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("i"),
+            new ColumnStats(0.5, 10.0, Collections.emptyList(), Collections.singletonList(1), new double[]{0.14})
+        ));
+        assertThat(selectivity("t1.i = 1"), closeTo(0.14, 0.0001));
+        // the other 9 values share the remaining 36% of the rows
+        assertThat(selectivity("t1.i = 10"), closeTo(0.04, 0.0001));
+    }
+
+    @Test
+    public void testRangeSelectivityUsesHistogram() {
+        assertThat(selectivity("t1.x < 25"), closeTo(0.25, 0.0001));
+        assertThat(selectivity("t1.x > 90"), closeTo(0.1, 0.0001));
+        assertThat(selectivity("10 > t1.x"), closeTo(0.1, 0.0001));
+        assertThat(selectivity("t1.x < 1000"), closeTo(1.0, 0.0001));
+    }
+
+    @Test
+    public void testRangeSelectivityWithoutHistogram() {
+        assertThat(selectivity("t1.i > 10"), closeTo(0.5 / 3, 0.0001));
+    }
+
+    @Test
+    public void testSelectivityOfCombinedPredicates() {
+        assertThat(selectivity("t1.x < 25 and t1.i is null"), closeTo(0.125, 0.0001));
+        assertThat(selectivity("t1.x < 25 or t1.x > 75"), closeTo(0.4375, 0.0001));
+        assertThat(selectivity("not t1.x < 25"), closeTo(0.75, 0.0001));
+    }
+
+    @Test
+    public void testSelectivityIsUnknownWithoutStats() {
+        assertThat(selectivity("t1.a = 'foo'"), is(-1.0));
+        assertThat(selectivity("t1.x < 25 or t1.a = 'foo'"), is(-1.0));
+        // unknown parts of a conjunction are ignored
+        assertThat(selectivity("t1.x < 25 and t1.a = 'foo'"), closeTo(0.25, 0.0001));
+    }
+
+    @Test
+    public void testFilteredRows() {
+        assertThat(CardinalityEstimator.filteredRows(1000, SQL_EXPRESSIONS.asSymbol("t1.x < 25"), tableStats), is(250L));
+        assertThat(CardinalityEstimator.filteredRows(1000, SQL_EXPRESSIONS.asSymbol("t1.a = 'foo'"), tableStats), is(1000L));
+        assertThat(CardinalityEstimator.filteredRows(-1, SQL_EXPRESSIONS.asSymbol("t1.x < 25"), tableStats), is(-1L));
+    }
+
+    @Test
+    public void testJoinRowsUsesNumberOfDistinctValuesOfJoinKeys() {
+        Symbol joinCondition = SQL_EXPRESSIONS.asSymbol("t1.x = t2.y");
+        assertThat(CardinalityEstimator.joinRows(100, 1000, JoinType.INNER, joinCondition, tableStats), is(100L));
+        assertThat(CardinalityEstimator.joinRows(100, 1000, JoinType.LEFT, joinCondition, tableStats), is(100L));
+        assertThat(CardinalityEstimator.joinRows(100, 2000, JoinType.RIGHT, joinCondition, tableStats), is(2000L));
+    }
+
+    @Test
+    public void testJoinRowsWithoutStats() {
+        Symbol joinCondition = SQL_EXPRESSIONS.asSymbol("t1.a = t2.b");
+        assertThat(CardinalityEstimator.joinRows(100, 1000, JoinType.INNER, joinCondition, tableStats), is(1000L));
+        assertThat(CardinalityEstimator.joinRows(100, 1000, JoinType.CROSS, null, tableStats), is(100_000L));
+        assertThat(CardinalityEstimator.joinRows(-1, 1000, JoinType.INNER, joinCondition, tableStats), is(1000L));
+    }
+}
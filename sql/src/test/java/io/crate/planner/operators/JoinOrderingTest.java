@@ -23,18 +23,25 @@
 package io.crate.planner.operators;
 
 import com.carrotsearch.hppc.ObjectIntHashMap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.planner.TableStats;
 import io.crate.sql.tree.QualifiedName;
 import io.crate.testing.T3;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class JoinOrderingTest {
@@ -80,4 +87,53 @@ public class JoinOrderingTest {
         );
         assertThat(qualifiedNames, contains(T3.T1, T3.T2, T3.T3));
     }
+
+    @Test
+    public void testOrderByCostAvoidsCrossJoin() {
+        // SELECT * FROM t1, t2, t3 WHERE t1.id = t3.id AND t2.id = t3.id
+        Map<QualifiedName, Long> rows = ImmutableMap.of(T3.T1, 10L, T3.T2, 1000L, T3.T3, 100L);
+        Map<Set<QualifiedName>, Symbol> conditions = ImmutableMap.of(
+            ImmutableSet.of(T3.T1, T3.T3), Literal.BOOLEAN_TRUE,
+            ImmutableSet.of(T3.T2, T3.T3), Literal.BOOLEAN_TRUE
+        );
+        List<QualifiedName> order = JoinOrdering.orderByCost(
+            Arrays.asList(T3.T1, T3.T2, T3.T3), rows, conditions, new TableStats());
+        assertThat(order, contains(T3.T1, T3.T3, T3.T2));
+    }
+
+    @Test
+    public void testOrderByCostRetainsOrderOnEqualCosts() {
+        Map<QualifiedName, Long> rows = ImmutableMap.of(T3.T1, 10L, T3.T2, 10L, T3.T3, 10L);
+        Map<Set<QualifiedName>, Symbol> conditions = ImmutableMap.of(
+            ImmutableSet.of(T3.T1, T3.T2), Literal.BOOLEAN_TRUE,
+            ImmutableSet.of(T3.T2, T3.T3), Literal.BOOLEAN_TRUE
+        );
+        List<QualifiedName> order = JoinOrdering.orderByCost(
+            Arrays.asList(T3.T1, T3.T2, T3.T3), rows, conditions, new TableStats());
+        assertThat(order, contains(T3.T1, T3.T2, T3.T3));
+    }
+
+    @Test
+    public void testOrderByCostDoesNotJoinSmallRelationsUsingCrossJoin() {
+        // SELECT * FROM t1, t2, t3 WHERE t1.id = t3.id AND t2.id = t3.id
+        Map<QualifiedName, Long> rows = ImmutableMap.of(T3.T1, 10L, T3.T2, 10L, T3.T3, 100_000L);
+        Map<Set<QualifiedName>, Symbol> conditions = ImmutableMap.of(
+            ImmutableSet.of(T3.T1, T3.T3), Literal.BOOLEAN_TRUE,
+            ImmutableSet.of(T3.T2, T3.T3), Literal.BOOLEAN_TRUE
+        );
+        List<QualifiedName> order = JoinOrdering.orderByCost(
+            Arrays.asList(T3.T1, T3.T2, T3.T3), rows, conditions, new TableStats());
+        assertThat(order, contains(T3.T1, T3.T3, T3.T2));
+    }
+
+    @Test
+    public void testOrderByCostReturnsNullIfCrossJoinIsRequired() {
+        Map<QualifiedName, Long> rows = ImmutableMap.of(T3.T1, 10L, T3.T2, 10L, T3.T3, 10L);
+        Map<Set<QualifiedName>, Symbol> conditions = ImmutableMap.of(
+            ImmutableSet.of(T3.T1, T3.T2), Literal.BOOLEAN_TRUE
+        );
+        List<QualifiedName> order = JoinOrdering.orderByCost(
+            Arrays.asList(T3.T1, T3.T2, T3.T3), rows, conditions, new TableStats());
+        assertThat(order, nullValue());
+    }
 }
@@ -22,6 +22,8 @@
 
 package io.crate.planner.operators;
 
+import com.carrotsearch.hppc.ObjectObjectHashMap;
+import com.google.common.collect.ImmutableMap;
 import io.crate.analyze.OrderBy;
 import io.crate.analyze.QueryClause;
 import io.crate.analyze.relations.QueriedRelation;
@@ -30,14 +32,17 @@ import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.SelectSymbol;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.format.SymbolPrinter;
+import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.Functions;
 import io.crate.metadata.RelationName;
+import io.crate.planner.ColumnStats;
 import io.crate.planner.PlannerContext;
 import io.crate.planner.SubqueryPlanner;
 import io.crate.planner.TableStats;
 import io.crate.planner.consumer.FetchMode;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import io.crate.testing.SQLExecutor;
+import io.crate.testing.T3;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.hamcrest.FeatureMatcher;
 import org.hamcrest.Matcher;
@@ -45,13 +50,16 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
 import static io.crate.testing.TestingHelpers.getFunctions;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 public class LogicalPlannerTest extends CrateDummyClusterServiceUnitTest {
 
@@ -313,6 +321,55 @@ public class LogicalPlannerTest extends CrateDummyClusterServiceUnitTest {
                                 "]\n"));
     }
 
+    @Test
+    public void testCorrelatedExistsSubqueryIsPlannedAsJoinOnGroupedSubquery() {
+        LogicalPlan plan = plan("select * from t1 where exists (select 1 from t2 where t2.y = t1.x and t2.b = 'foo')");
+        String printedPlan = printPlan(plan);
+        assertThat(printedPlan, containsString("HashJoin[\n"));
+        assertThat(printedPlan, containsString("GroupBy[y"));
+        assertThat(printedPlan, not(containsString("MultiPhase")));
+    }
+
+    @Test
+    public void testCorrelatedAggregateSubqueryIsPlannedAsJoinOnGroupedAggregate() {
+        LogicalPlan plan = plan("select * from t1 where x > (select max(y) from t2 where t2.i = t1.i)");
+        String printedPlan = printPlan(plan);
+        assertThat(printedPlan, containsString("HashJoin[\n"));
+        assertThat(printedPlan, containsString("GroupBy[i | max(y)]"));
+        assertThat(printedPlan, not(containsString("MultiPhase")));
+    }
+
+    @Test
+    public void testCorrelatedNotExistsSubqueryIsPlannedAsAntiJoin() {
+        LogicalPlan plan = plan("select * from t1 where not exists (select 1 from t2 where t2.y = t1.x)");
+        String printedPlan = printPlan(plan);
+        assertThat(printedPlan, containsString("NestedLoopJoin[\n"));
+        assertThat(printedPlan, containsString("--- ANTI ---"));
+    }
+
+    @Test
+    public void testJoinOrderingNeverIntroducesCrossJoin() {
+        ObjectObjectHashMap<RelationName, TableStats.Stats> rowCountByTable = new ObjectObjectHashMap<>();
+        rowCountByTable.put(T3.T1_INFO.ident(), new TableStats.Stats(10, 0));
+        rowCountByTable.put(T3.T2_INFO.ident(), new TableStats.Stats(10, 0));
+        rowCountByTable.put(T3.T3_INFO.ident(), new TableStats.Stats(100_000, 0));
+        tableStats.updateTableStats(rowCountByTable);
+        String statement = "select * from t1, t2, t3 where t1.a = t3.c and t2.b = t3.c";
+
+        // only row counts are known, the condition based order is used
+        assertThat(printPlan(plan(statement)), not(containsString("--- CROSS ---")));
+
+        tableStats.updateColumnStats(T3.T1_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("a"), new ColumnStats(0.0, 10.0, Collections.emptyList())));
+        tableStats.updateColumnStats(T3.T2_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("b"), new ColumnStats(0.0, 10.0, Collections.emptyList())));
+        tableStats.updateColumnStats(T3.T3_INFO.ident(), ImmutableMap.of(
+            new ColumnIdent("c"), new ColumnStats(0.0, 100_000.0, Collections.emptyList())));
+
+        // joining t1 and t2 first would be cheaper by the estimates, but requires a cross join
+        assertThat(printPlan(plan(statement)), not(containsString("--- CROSS ---")));
+    }
+
     public static LogicalPlan plan(String statement,
                                    SQLExecutor sqlExecutor,
                                    ClusterService clusterService,
@@ -253,4 +253,47 @@ public class PushDownTest extends CrateDummyClusterServiceUnitTest {
                 "Boundary[id, name]\n" +
                 "Collect[sys.nodes | [id, name] | (id = 'nodeName')]\n"));
     }
+
+    @Test
+    public void testLimitOnUnionIsPushedIntoBothBranches() {
+        LogicalPlan plan = plan("select name from users union all select text from users limit 10 offset 5");
+        assertThat(plan, isPlan(sqlExecutor.functions(), "Limit[10;5]\n" +
+                                                          "Boundary[name]\n" +
+                                                          "Union[\n" +
+                                                              "Limit[15;0]\n" +
+                                                              "Boundary[name]\n" +
+                                                              "Collect[doc.users | [name] | All]\n" +
+                                                          "---\n" +
+                                                              "Limit[15;0]\n" +
+                                                              "Boundary[text]\n" +
+                                                              "Collect[doc.users | [text] | All]\n" +
+                                                          "]\n"));
+    }
+
+    @Test
+    public void testLimitOnLeftJoinIsPushedToLeftSide() {
+        LogicalPlan plan = plan("select t1.a, t2.b from t1 left join t2 on t1.a = t2.b limit 10");
+        assertThat(plan, isPlan(sqlExecutor.functions(), "Limit[10;0]\n" +
+                                                          "NestedLoopJoin[\n" +
+                                                          "    Limit[10;0]\n" +
+                                                          "    Boundary[a]\n" +
+                                                          "    Collect[doc.t1 | [a] | All]\n" +
+                                                          "    --- LEFT ---\n" +
+                                                          "    Boundary[b]\n" +
+                                                          "    Collect[doc.t2 | [b] | All]\n" +
+                                                          "]\n"));
+    }
+
+    @Test
+    public void testLimitOnInnerJoinIsNotPushedDown() {
+        LogicalPlan plan = plan("select t1.a, t2.b from t1 inner join t2 on t1.a = t2.b limit 10");
+        assertThat(plan, isPlan(sqlExecutor.functions(), "Limit[10;0]\n" +
+                                                          "NestedLoopJoin[\n" +
+                                                          "    Boundary[a]\n" +
+                                                          "    Collect[doc.t1 | [a] | All]\n" +
+                                                          "    --- INNER ---\n" +
+                                                          "    Boundary[b]\n" +
+                                                          "    Collect[doc.t2 | [b] | All]\n" +
+                                                          "]\n"));
+    }
 }
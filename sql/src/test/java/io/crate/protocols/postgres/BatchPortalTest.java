@@ -29,26 +29,38 @@ import io.crate.analyze.AnalyzedStatement;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.jobs.AdmissionControl;
 import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.Planner;
 import io.crate.planner.PlannerContext;
 import io.crate.planner.TableStats;
 import io.crate.planner.operators.SubQueryResults;
+import io.crate.plugin.SQLPlugin;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import io.crate.testing.SQLExecutor;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BatchPortalTest extends CrateDummyClusterServiceUnitTest {
 
+    @Override
+    protected Collection<Setting<?>> additionalClusterSettings() {
+        return new SQLPlugin(Settings.EMPTY).getSettings();
+    }
+
     @Test
     public void testEachStatementReceivesCorrectParams() throws IOException {
         SQLExecutor sqlExecutor = SQLExecutor.builder(clusterService).enableDefaultTables().build();
@@ -77,6 +89,12 @@ public class BatchPortalTest extends CrateDummyClusterServiceUnitTest {
         };
 
         DependencyCarrier executor = mock(DependencyCarrier.class);
+        when(executor.admissionControl()).thenReturn(new AdmissionControl(
+            Settings.EMPTY,
+            clusterService.getClusterSettings(),
+            mock(ScheduledExecutorService.class),
+            Runnable::run,
+            () -> new NoopCircuitBreaker("query")));
         Session session = new Session(
             sqlExecutor.analyzer,
             planner,
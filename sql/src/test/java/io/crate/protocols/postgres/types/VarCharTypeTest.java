@@ -0,0 +1,56 @@
+/*
+ * Licensed to Crate under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.  Crate licenses this file
+ * to you under the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial
+ * agreement.
+ */
+
+package io.crate.protocols.postgres.types;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class VarCharTypeTest extends BasePGTypeTest<String> {
+
+    public VarCharTypeTest() {
+        super(VarCharType.INSTANCE);
+    }
+
+    @Test
+    public void testWriteValue() throws Exception {
+        assertBytesWritten("aä€", new byte[]{0, 0, 0, 6, 97, -61, -92, -30, -126, -84}, 10);
+    }
+
+    @Test
+    public void testWriteEmptyValue() throws Exception {
+        assertBytesWritten("", new byte[]{0, 0, 0, 0}, 4);
+    }
+
+    @Test
+    public void testReadValueBinary() throws Exception {
+        byte[] bytesToRead = "aä€".getBytes(StandardCharsets.UTF_8);
+        assertBytesReadBinary(bytesToRead, "aä€", bytesToRead.length);
+    }
+
+    @Test
+    public void testReadValueText() throws Exception {
+        byte[] bytesToRead = "aä€".getBytes(StandardCharsets.UTF_8);
+        assertBytesReadText(bytesToRead, "aä€", bytesToRead.length);
+    }
+}
@@ -31,6 +31,7 @@ import io.crate.execution.dml.upsert.GeneratedColumns;
 import io.crate.execution.dml.upsert.InsertSourceGen;
 import io.crate.execution.engine.collect.collectors.CollectorFieldsVisitor;
 import io.crate.execution.engine.collect.collectors.LuceneBatchIterator;
+import io.crate.execution.engine.collect.stats.ShardLoad;
 import io.crate.expression.InputFactory;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
@@ -172,7 +173,8 @@ public final class QueryTester implements AutoCloseable {
                 new CollectorContext(indexEnv.queryShardContext()::getForField, new CollectorFieldsVisitor(1)),
                 new RamAccountingContext("dummy", new NoopCircuitBreaker("dummy")),
                 Collections.singletonList(input),
-                ctx.expressions()
+                ctx.expressions(),
+                new ShardLoad()
             );
         }
 
@@ -0,0 +1,54 @@
+/*
+ * Licensed to CRATE Technology GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TaskTimeRecorderTest {
+
+    @Test
+    public void testDurationsOutsideOfTheWindowAreDiscarded() {
+        AtomicLong nanoTime = new AtomicLong(0L);
+        TaskTimeRecorder recorder = new TaskTimeRecorder(nanoTime::get);
+
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(recorder.histogram().getTotalCount(), is(1L));
+
+        nanoTime.set(TimeUnit.MINUTES.toNanos(2));
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(recorder.histogram().getTotalCount(), is(2L));
+
+        nanoTime.set(TimeUnit.MINUTES.toNanos(5));
+        assertThat(recorder.histogram().getTotalCount(), is(1L));
+        assertThat(recorder.histogram().getMaxValue() < 1_100L, is(true));
+
+        nanoTime.set(TimeUnit.MINUTES.toNanos(7));
+        assertThat(recorder.histogram().getTotalCount(), is(0L));
+    }
+}